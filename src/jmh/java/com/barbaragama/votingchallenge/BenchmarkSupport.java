@@ -0,0 +1,60 @@
+package com.barbaragama.votingchallenge;
+
+import com.barbaragama.votingchallenge.dto.request.AgendaRequestDTO;
+import com.barbaragama.votingchallenge.dto.request.SessionRequestDTO;
+import com.barbaragama.votingchallenge.service.AgendaService;
+import com.barbaragama.votingchallenge.service.SessionService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Boots the application without a web server, with an instant, always-eligible CPF service, so benchmarks measure
+ * this code rather than the simulated network.
+ */
+public final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    public static ConfigurableApplicationContext start(String databaseUrl) {
+        return start(databaseUrl, Map.of());
+    }
+
+    /**
+     * Same as {@link #start(String)}, with {@code overrides} replacing the defaults above (a property repeated on the
+     * command line would be bound as a list).
+     */
+    public static ConfigurableApplicationContext start(String databaseUrl, Map<String, String> overrides) {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("spring.datasource.url", databaseUrl);
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("logging.level.root", "WARN");
+        properties.put("voting.cpf-stub.median-latency", "0ms");
+        properties.put("voting.cpf-stub.invalid-rate", "0");
+        properties.put("voting.cpf-stub.unable-rate", "0");
+        properties.putAll(overrides);
+        return new SpringApplicationBuilder(VotingchallengeApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("cpf-stub")
+                .logStartupInfo(false)
+                .run(properties.entrySet().stream()
+                        .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                        .toArray(String[]::new));
+    }
+
+    public static UUID openSession(ConfigurableApplicationContext context, long durationMinutes) {
+        AgendaRequestDTO agenda = new AgendaRequestDTO();
+        agenda.setTitle("Benchmark agenda");
+        agenda.setDescription("Created by a JMH benchmark");
+        SessionRequestDTO session = new SessionRequestDTO();
+        session.setAgendaId(context.getBean(AgendaService.class).createAgenda(agenda).getId());
+        session.setDurationMinutes(durationMinutes);
+        return context.getBean(SessionService.class).openVotingSession(session).getId();
+    }
+}
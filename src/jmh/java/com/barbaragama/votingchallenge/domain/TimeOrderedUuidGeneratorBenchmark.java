@@ -0,0 +1,36 @@
+package com.barbaragama.votingchallenge.domain;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of drawing an identifier from several threads at once: the shared sequence of
+ * {@link TimeOrderedUuidGenerator} against {@link UUID#randomUUID()}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class TimeOrderedUuidGeneratorBenchmark {
+
+    @Benchmark
+    public UUID timeOrdered() {
+        return TimeOrderedUuidGenerator.next();
+    }
+
+    @Benchmark
+    public UUID random() {
+        return UUID.randomUUID();
+    }
+}
@@ -0,0 +1,63 @@
+package com.barbaragama.votingchallenge.dto.request;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean validation of a vote request as {@code @Valid} runs it in the controller, dominated by the {@code @CPF} check.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VoteRequestDTOValidationBenchmark {
+
+    @Param({"529.982.247-25", "52998224725", "529.982.247-26"})
+    public String cpf;
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private VoteRequestDTO request;
+
+    @Setup(Level.Trial)
+    public void start() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        request = new VoteRequestDTO();
+        request.setSessionId(UUID.randomUUID());
+        request.setName("Maria Silva");
+        request.setOption("YES");
+        request.setCpf(cpf);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<VoteRequestDTO>> validate() {
+        return validator.validate(request);
+    }
+}
@@ -0,0 +1,184 @@
+package com.barbaragama.votingchallenge.repositories;
+
+import com.barbaragama.votingchallenge.domain.TimeOrderedUuidGenerator;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Batch inserts into a table shaped like {@code vote} (primary key, unique associate and session, session index)
+ * already holding {@code rows} rows, with random or time-ordered identifiers.
+ *
+ * <p>The table is seeded once per combination under {@code target/jmh} and copied before each trial, so every trial
+ * starts from the same state. The seeding rate and the disk space of the table and its indexes, which is where the two
+ * key layouts differ most, are reported as secondary results next to the insert rate. Tens of millions of rows can be
+ * tried with
+ * {@code -Djmh.args="VoteIdBenchmark -p rows=30000000"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class VoteIdBenchmark {
+
+    private static final int BATCH = 1_000;
+    private static final int SEED_COMMIT = 100_000;
+    private static final int SESSIONS = 16;
+    private static final String DDL = """
+            create table vote (
+                id uuid primary key,
+                associate_id uuid not null,
+                session_id uuid not null,
+                option varchar(3) not null,
+                voted_at timestamp not null,
+                constraint uk_vote_associate_session unique (associate_id, session_id)
+            );
+            create index idx_vote_session_voted_at_id on vote (session_id, voted_at, id);
+            """;
+    private static final String INSERT = "insert into vote (id, associate_id, session_id, option, voted_at) values (?, ?, ?, ?, ?)";
+
+    @Param({"random", "time_ordered"})
+    public String ids;
+
+    @Param({"1000000", "10000000"})
+    public long rows;
+
+    private Supplier<UUID> idGenerator;
+    private UUID[] sessionIds;
+    private Path workFile;
+    private Connection connection;
+    private PreparedStatement insert;
+    private long seedRowsPerSecond;
+    private long seededKiB;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Storage {
+        public long seedRowsPerSecond;
+        public long seededKiB;
+        public long tableKiB;
+
+        @TearDown(Level.Iteration)
+        public void measure(VoteIdBenchmark benchmark) throws SQLException {
+            seedRowsPerSecond = benchmark.seedRowsPerSecond;
+            seededKiB = benchmark.seededKiB;
+            tableKiB = benchmark.diskSpaceKiB();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        idGenerator = "random".equals(ids) ? UUID::randomUUID : TimeOrderedUuidGenerator::next;
+        sessionIds = new UUID[SESSIONS];
+        for (int i = 0; i < SESSIONS; i++) {
+            sessionIds[i] = idGenerator.get();
+        }
+        Path directory = Path.of("target", "jmh").toAbsolutePath();
+        Files.createDirectories(directory);
+        String name = "vote-id-" + ids + "-" + rows;
+        Path seeded = directory.resolve(name + ".mv.db");
+        Path seedRate = directory.resolve(name + ".rate");
+        if (!Files.exists(seeded) || !Files.exists(seedRate)) {
+            Files.writeString(seedRate, Long.toString(seed(directory.resolve(name))));
+        }
+        seedRowsPerSecond = Long.parseLong(Files.readString(seedRate));
+        workFile = directory.resolve(name + "-work.mv.db");
+        Files.copy(seeded, workFile, StandardCopyOption.REPLACE_EXISTING);
+        connection = DriverManager.getConnection("jdbc:h2:file:" + directory.resolve(name + "-work"), "sa", "");
+        connection.setAutoCommit(false);
+        insert = connection.prepareStatement(INSERT);
+        seededKiB = diskSpaceKiB();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws Exception {
+        insert.close();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("shutdown");
+        }
+        connection.close();
+        Files.deleteIfExists(workFile);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int[] insertBatch(Storage storage) throws SQLException {
+        int[] counts = insertRows(insert, BATCH);
+        connection.commit();
+        return counts;
+    }
+
+    private int[] insertRows(PreparedStatement statement, int count) throws SQLException {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        for (int i = 0; i < count; i++) {
+            UUID id = idGenerator.get();
+            statement.setObject(1, id);
+            statement.setObject(2, idGenerator.get());
+            statement.setObject(3, sessionIds[(int) (id.getLeastSignificantBits() & (SESSIONS - 1))]);
+            statement.setString(4, (i & 1) == 0 ? "YES" : "NO");
+            statement.setTimestamp(5, now);
+            statement.addBatch();
+        }
+        return statement.executeBatch();
+    }
+
+    private long seed(Path database) throws SQLException {
+        long started = System.nanoTime();
+        try (Connection seedConnection = DriverManager.getConnection("jdbc:h2:file:" + database, "sa", "")) {
+            seedConnection.setAutoCommit(false);
+            try (Statement statement = seedConnection.createStatement()) {
+                statement.execute(DDL);
+            }
+            try (PreparedStatement statement = seedConnection.prepareStatement(INSERT)) {
+                for (long inserted = 0; inserted < rows; inserted += BATCH) {
+                    insertRows(statement, (int) Math.min(BATCH, rows - inserted));
+                    if ((inserted + BATCH) % SEED_COMMIT == 0) {
+                        seedConnection.commit();
+                    }
+                }
+            }
+            seedConnection.commit();
+            try (Statement statement = seedConnection.createStatement()) {
+                statement.execute("shutdown compact");
+            }
+        }
+        return rows * TimeUnit.SECONDS.toNanos(1) / (System.nanoTime() - started);
+    }
+
+    private long diskSpaceKiB() throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("select disk_space_used('VOTE')")) {
+            result.next();
+            return result.getLong(1) / 1024;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.barbaragama.votingchallenge.service;
+
+import com.barbaragama.votingchallenge.BenchmarkSupport;
+import com.barbaragama.votingchallenge.CpfGenerator;
+import com.barbaragama.votingchallenge.dto.request.VoteRequestDTO;
+import com.barbaragama.votingchallenge.dto.response.VoteResponseDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A first vote by a new associate through {@link VoteService#castVote}: session lookup, associate creation, CPF check,
+ * duplicate check and the insert, committed against an in-memory H2.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CastVoteBenchmark {
+
+    private final AtomicLong associates = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private VoteService voteService;
+    private UUID sessionId;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkSupport.start("jdbc:h2:mem:cast-vote;DB_CLOSE_DELAY=-1");
+        voteService = context.getBean(VoteService.class);
+        sessionId = BenchmarkSupport.openSession(context, TimeUnit.DAYS.toMinutes(1));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public VoteResponseDTO castVote() {
+        long associate = associates.incrementAndGet();
+        VoteRequestDTO request = new VoteRequestDTO();
+        request.setSessionId(sessionId);
+        request.setName("Associate " + associate);
+        request.setCpf(CpfGenerator.valid(associate));
+        request.setOption(associate % 2 == 0 ? "YES" : "NO");
+        return voteService.castVote(request);
+    }
+}
@@ -0,0 +1,99 @@
+package com.barbaragama.votingchallenge.service;
+
+import com.barbaragama.votingchallenge.BenchmarkSupport;
+import com.barbaragama.votingchallenge.CpfGenerator;
+import com.barbaragama.votingchallenge.dto.request.VoteRequestDTO;
+import com.barbaragama.votingchallenge.exception.AppException;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link VoteService#castVote} from 32 threads while the CPF service is healthy, slow, erroring or both. The sampled
+ * p99 should stay within two CPF client timeouts (two sequential calls per vote), whatever the service does; the
+ * counters split accepted votes from those answered with an error.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(32)
+@Fork(1)
+public class CastVoteDegradedCpfBenchmark {
+
+    private static final Map<String, Map<String, String>> SCENARIOS = Map.of(
+            "healthy", cpfService("20ms", "0.5", "0"),
+            "slow", cpfService("150ms", "1.0", "0"),
+            "erroring", cpfService("20ms", "0.5", "0.3"),
+            "degraded", cpfService("300ms", "1.2", "0.1"));
+
+    @Param({"healthy", "slow", "erroring", "degraded"})
+    private String scenario;
+
+    private final AtomicLong associates = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private VoteService voteService;
+    private UUID sessionId;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Outcomes {
+        public long accepted;
+        public long failed;
+    }
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkSupport.start("jdbc:h2:mem:cast-vote-degraded-cpf;DB_CLOSE_DELAY=-1", SCENARIOS.get(scenario));
+        voteService = context.getBean(VoteService.class);
+        sessionId = BenchmarkSupport.openSession(context, TimeUnit.DAYS.toMinutes(1));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public void castVote(Outcomes outcomes) {
+        long associate = associates.incrementAndGet();
+        VoteRequestDTO request = new VoteRequestDTO();
+        request.setSessionId(sessionId);
+        request.setName("Associate " + associate);
+        request.setCpf(CpfGenerator.valid(associate));
+        request.setOption("YES");
+        try {
+            voteService.castVote(request);
+            outcomes.accepted++;
+        } catch (AppException e) {
+            outcomes.failed++;
+        }
+    }
+
+    private static Map<String, String> cpfService(String medianLatency, String latencySigma, String errorRate) {
+        return Map.of("voting.cpf-stub.median-latency", medianLatency,
+                "voting.cpf-stub.latency-sigma", latencySigma,
+                "voting.cpf-stub.error-rate", errorRate,
+                "voting.cpf-stub.invalid-rate", "0.1",
+                "voting.cpf-stub.unable-rate", "0.2");
+    }
+}
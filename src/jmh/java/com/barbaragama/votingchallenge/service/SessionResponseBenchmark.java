@@ -0,0 +1,73 @@
+package com.barbaragama.votingchallenge.service;
+
+import com.barbaragama.votingchallenge.BenchmarkSupport;
+import com.barbaragama.votingchallenge.domain.Agenda;
+import com.barbaragama.votingchallenge.domain.Session;
+import com.barbaragama.votingchallenge.dto.response.SessionResponseDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to {@link SessionResponseDTO} mapping and its JSON serialization with the application's own ObjectMapper.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionResponseBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private SessionService sessionService;
+    private ObjectMapper objectMapper;
+    private Session session;
+    private SessionResponseDTO response;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkSupport.start("jdbc:h2:mem:session-response;DB_CLOSE_DELAY=-1");
+        sessionService = context.getBean(SessionService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        Agenda agenda = Agenda.builder().id(UUID.randomUUID()).title("Benchmark agenda").build();
+        session = new Session(agenda, 60);
+        session.setId(UUID.randomUUID());
+        response = sessionService.convertToResponseToDTO(session);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public SessionResponseDTO map() {
+        return sessionService.convertToResponseToDTO(session);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(sessionService.convertToResponseToDTO(session));
+    }
+}
@@ -0,0 +1,115 @@
+package com.barbaragama.votingchallenge.service;
+
+import com.barbaragama.votingchallenge.BenchmarkSupport;
+import com.barbaragama.votingchallenge.CpfGenerator;
+import com.barbaragama.votingchallenge.dto.request.VoteRequestDTO;
+import com.barbaragama.votingchallenge.exception.AppException;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A wave of {@code voters} simultaneous first votes through {@link VoteService#castVote}, with the CPF service answering
+ * in about 20ms, handled by Tomcat's default 200 platform threads or by one virtual thread per vote with the application
+ * in virtual mode (bounded CPF calls and connections). The score is the time to drain the wave; the counters show how
+ * many votes were recorded and how many were turned away with a 503.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ThreadModeBenchmark {
+
+    private static final int PLATFORM_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    @Param({"1000", "10000"})
+    private int voters;
+
+    private final AtomicLong associates = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private VoteService voteService;
+    private UUID sessionId;
+    private ExecutorService executor;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Outcomes {
+        public long accepted;
+        public long rejected;
+    }
+
+    @Setup(Level.Trial)
+    public void start() {
+        boolean virtual = threads.equals("virtual");
+        context = BenchmarkSupport.start("jdbc:h2:mem:thread-mode;DB_CLOSE_DELAY=-1", Map.of(
+                "spring.threads.virtual.enabled", String.valueOf(virtual),
+                "voting.cpf-stub.median-latency", "20ms"));
+        voteService = context.getBean(VoteService.class);
+        sessionId = BenchmarkSupport.openSession(context, TimeUnit.DAYS.toMinutes(1));
+        executor = virtual ? Executors.newVirtualThreadPerTaskExecutor() : Executors.newFixedThreadPool(PLATFORM_THREADS);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        executor.shutdownNow();
+        context.close();
+    }
+
+    @Benchmark
+    public void castVotes(Outcomes outcomes) throws Exception {
+        List<Future<Boolean>> wave = new ArrayList<>(voters);
+        for (int i = 0; i < voters; i++) {
+            wave.add(executor.submit(this::castVote));
+        }
+        for (Future<Boolean> vote : wave) {
+            if (vote.get()) {
+                outcomes.accepted++;
+            } else {
+                outcomes.rejected++;
+            }
+        }
+    }
+
+    private boolean castVote() {
+        long associate = associates.incrementAndGet();
+        VoteRequestDTO request = new VoteRequestDTO();
+        request.setSessionId(sessionId);
+        request.setName("Associate " + associate);
+        request.setCpf(CpfGenerator.valid(associate));
+        request.setOption("YES");
+        try {
+            voteService.castVote(request);
+            return true;
+        } catch (AppException | CannotCreateTransactionException e) {
+            return false;
+        }
+    }
+}
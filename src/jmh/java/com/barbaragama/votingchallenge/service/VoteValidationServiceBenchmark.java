@@ -0,0 +1,38 @@
+package com.barbaragama.votingchallenge.service;
+
+import com.barbaragama.votingchallenge.exception.AppException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VoteValidationServiceBenchmark {
+
+    @Param({"YES", "no", "MAYBE"})
+    public String option;
+
+    private final VoteValidationService voteValidationService = new VoteValidationService();
+
+    @Benchmark
+    public Object validateVoteOption() {
+        try {
+            return voteValidationService.validateVoteOption(option);
+        } catch (AppException e) {
+            return e;
+        }
+    }
+}
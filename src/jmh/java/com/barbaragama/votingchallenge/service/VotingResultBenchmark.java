@@ -0,0 +1,114 @@
+package com.barbaragama.votingchallenge.service;
+
+import com.barbaragama.votingchallenge.BenchmarkSupport;
+import com.barbaragama.votingchallenge.dto.response.SessionResultResponseDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SessionService#getVotingResult} for an open and a closed session holding {@code votes} votes each.
+ *
+ * <p>The seeded database is kept under {@code target/jmh} and reused by later forks and runs, so the 10^7 case is only
+ * paid for once. The application is restarted on it before measuring, so the state is what a production restart sees.
+ * Pick sizes with {@code -Djmh.args="VotingResultBenchmark -p votes=1000,100000"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class VotingResultBenchmark {
+
+    private static final UUID AGENDA_ID = UUID.fromString("00000000-0000-4000-9000-000000000001");
+    private static final UUID OPEN_SESSION_ID = UUID.fromString("00000000-0000-4000-9000-000000000002");
+    private static final UUID CLOSED_SESSION_ID = UUID.fromString("00000000-0000-4000-9000-000000000003");
+    private static final int SEED_CHUNK = 100_000;
+    private static final String ASSOCIATE_ID = "cast('00000000-0000-4000-8000-' || lpad(x, 12, '0') as uuid)";
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public long votes;
+
+    private ConfigurableApplicationContext context;
+    private SessionService sessionService;
+    private VoteTallyService voteTallyService;
+
+    @Setup(Level.Trial)
+    public void start() {
+        String databaseUrl = "jdbc:h2:file:./target/jmh/voting-result-" + votes;
+        context = BenchmarkSupport.start(databaseUrl);
+        boolean seeded = seedIfNeeded(context.getBean(JdbcTemplate.class));
+        if (seeded) {
+            context.close();
+            context = BenchmarkSupport.start(databaseUrl);
+        }
+        sessionService = context.getBean(SessionService.class);
+        voteTallyService = context.getBean(VoteTallyService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public SessionResultResponseDTO openSession() {
+        return sessionService.getVotingResult(OPEN_SESSION_ID);
+    }
+
+    @Benchmark
+    public SessionResultResponseDTO openSessionUntracked() {
+        voteTallyService.releaseSession(OPEN_SESSION_ID);
+        return sessionService.getVotingResult(OPEN_SESSION_ID);
+    }
+
+    @Benchmark
+    public SessionResultResponseDTO closedSession() {
+        return sessionService.getVotingResult(CLOSED_SESSION_ID);
+    }
+
+    private boolean seedIfNeeded(JdbcTemplate jdbc) {
+        Long existing = jdbc.queryForObject("select count(*) from vote where session_id = ?", Long.class, CLOSED_SESSION_ID);
+        if (existing != null && existing == votes) {
+            return false;
+        }
+        for (String table : List.of("vote", "session_result", "voting_session", "associate", "agenda")) {
+            jdbc.update("delete from " + table);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        jdbc.update("insert into agenda (id, title, description, created_at) values (?, ?, ?, ?)",
+                AGENDA_ID, "Benchmark agenda", "Seeded by a JMH benchmark", now);
+        jdbc.update("insert into voting_session (id, agenda_id, start_time, end_time, session_status, duration_minutes) values (?, ?, ?, ?, 'OPEN', ?)",
+                OPEN_SESSION_ID, AGENDA_ID, now, now.plusYears(1), TimeUnit.DAYS.toMinutes(365));
+        jdbc.update("insert into voting_session (id, agenda_id, start_time, end_time, session_status, duration_minutes) values (?, ?, ?, ?, 'CLOSED', 60)",
+                CLOSED_SESSION_ID, AGENDA_ID, now.minusHours(2), now.minusHours(1));
+        for (long from = 1; from <= votes; from += SEED_CHUNK) {
+            long to = Math.min(votes, from + SEED_CHUNK - 1);
+            jdbc.update("insert into associate (id, name, cpf) select " + ASSOCIATE_ID + ", 'Associate ' || x, lpad(x, 11, '0') from system_range(?, ?)",
+                    from, to);
+            for (UUID sessionId : List.of(OPEN_SESSION_ID, CLOSED_SESSION_ID)) {
+                jdbc.update("insert into vote (id, associate_id, session_id, option, voted_at) select random_uuid(), " + ASSOCIATE_ID
+                        + ", ?, case when rand() < 0.5 then 'YES' else 'NO' end, ? from system_range(?, ?)", sessionId, now, from, to);
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,71 @@
+package com.barbaragama.votingchallenge.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Latency histogram, in microseconds from the intended send time, and outcome counts of one endpoint.
+ */
+final class EndpointStats {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final String name;
+    private final Histogram latencies = new ConcurrentHistogram(3);
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    void record(long latencyNanos, String outcome) {
+        latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        count(outcome);
+    }
+
+    void count(String outcome) {
+        outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+    }
+
+    void reset() {
+        latencies.reset();
+        outcomes.clear();
+    }
+
+    void report(PrintStream out, double seconds) {
+        long requests = latencies.getTotalCount();
+        String counts = new TreeMap<>(outcomes).entrySet().stream()
+                .map(entry -> entry.getKey() + "=" + entry.getValue().sum())
+                .collect(Collectors.joining(" "));
+        out.printf("%-32s %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f   %s%n", name, requests, requests / seconds,
+                millis(50), millis(90), millis(99), millis(99.9), latencies.getMaxValue() / MICROS_PER_MILLI, counts);
+    }
+
+    void writeHistogram(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        String file = name.replaceAll("[^A-Za-z0-9]+", "_").replaceAll("^_|_$", "") + ".hgrm";
+        try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(file)))) {
+            latencies.outputPercentileDistribution(out, MICROS_PER_MILLI);
+        }
+    }
+
+    private double millis(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+
+    static void printHeader(PrintStream out) {
+        out.printf("%-32s %8s %10s %9s %9s %9s %9s %9s   %s%n", "endpoint", "requests", "req/s",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "outcomes");
+    }
+}
@@ -0,0 +1,65 @@
+package com.barbaragama.votingchallenge.load;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Options of a load run. Arguments the driver does not know are handed to the application, so
+ * {@code --spring.threads.virtual.enabled=true} or {@code --voting.ingestion.async-enabled=true} can be compared.
+ */
+record LoadOptions(
+        double rate,
+        Duration warmup,
+        Duration duration,
+        int sessions,
+        double duplicateRatio,
+        Duration pollInterval,
+        int maxInFlight,
+        Duration timeout,
+        long seed,
+        Path reportDir,
+        List<String> applicationArgs
+) {
+
+    static LoadOptions parse(String[] args) {
+        double rate = 200;
+        Duration warmup = Duration.ofSeconds(10);
+        Duration duration = Duration.ofSeconds(30);
+        int sessions = 4;
+        double duplicateRatio = 0.05;
+        Duration pollInterval = Duration.ofMillis(250);
+        int maxInFlight = 2000;
+        Duration timeout = Duration.ofSeconds(10);
+        long seed = 42;
+        Path reportDir = Path.of("target", "load");
+        List<String> applicationArgs = new ArrayList<>();
+
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            String name = separator > 0 ? arg.substring(0, separator) : arg;
+            String value = separator > 0 ? arg.substring(separator + 1) : "";
+            switch (name) {
+                case "--rate" -> rate = Double.parseDouble(value);
+                case "--warmup" -> warmup = DurationStyle.detectAndParse(value);
+                case "--duration" -> duration = DurationStyle.detectAndParse(value);
+                case "--sessions" -> sessions = Integer.parseInt(value);
+                case "--duplicate-ratio" -> duplicateRatio = Double.parseDouble(value);
+                case "--poll-interval" -> pollInterval = DurationStyle.detectAndParse(value);
+                case "--max-in-flight" -> maxInFlight = Integer.parseInt(value);
+                case "--timeout" -> timeout = DurationStyle.detectAndParse(value);
+                case "--seed" -> seed = Long.parseLong(value);
+                case "--report-dir" -> reportDir = Path.of(value);
+                default -> applicationArgs.add(arg);
+            }
+        }
+        if (rate <= 0 || sessions <= 0 || maxInFlight <= 0 || duplicateRatio < 0 || duplicateRatio >= 1) {
+            throw new IllegalArgumentException("rate, sessions and max-in-flight must be positive and duplicate-ratio in [0, 1)");
+        }
+        return new LoadOptions(rate, warmup, duration, sessions, duplicateRatio, pollInterval, maxInFlight, timeout, seed,
+                reportDir, List.copyOf(applicationArgs));
+    }
+}
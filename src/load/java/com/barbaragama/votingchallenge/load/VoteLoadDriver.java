@@ -0,0 +1,216 @@
+package com.barbaragama.votingchallenge.load;
+
+import com.barbaragama.votingchallenge.CpfGenerator;
+import com.barbaragama.votingchallenge.VotingchallengeApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model vote storm against one instance of the application.
+ *
+ * <p>Votes arrive as a Poisson process at {@code --rate} per second whatever the server's response times are, and each
+ * latency is measured from the moment the vote was due rather than when it was sent, so a stalling server shows up in
+ * the percentiles instead of slowing the generator down. Result polling runs alongside at {@code --poll-interval}.
+ * Percentiles cover the measurement window only; full histograms are written to {@code --report-dir}.
+ */
+public final class VoteLoadDriver {
+
+    private static final String VOTE_UNIQUE = "POST /api/vote (unique)";
+    private static final String VOTE_DUPLICATE = "POST /api/vote (duplicate)";
+    private static final String RESULT = "GET /api/voting/result/{id}";
+    private static final int RECENT_VOTERS = 4096;
+
+    private final LoadOptions options;
+    private final URI baseUri;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final SplittableRandom random;
+    private long nextAssociate;
+
+    private VoteLoadDriver(LoadOptions options, URI baseUri) {
+        this.options = options;
+        this.baseUri = baseUri;
+        this.random = new SplittableRandom(options.seed());
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(options.timeout())
+                .build();
+        for (String endpoint : List.of(VOTE_UNIQUE, VOTE_DUPLICATE, RESULT)) {
+            stats.put(endpoint, new EndpointStats(endpoint));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options = LoadOptions.parse(args);
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(VotingchallengeApplication.class)
+                .run(applicationArgs(options).toArray(String[]::new));
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            new VoteLoadDriver(options, URI.create("http://localhost:" + port)).run();
+        } finally {
+            context.close();
+        }
+        System.exit(0);
+    }
+
+    // Command-line arguments, so the defaults win over application.properties and the user's arguments over the defaults.
+    private static List<String> applicationArgs(LoadOptions options) {
+        Map<String, String> defaults = new LinkedHashMap<>();
+        defaults.put("server.port", "0");
+        defaults.put("spring.profiles.active", "cpf-stub");
+        defaults.put("spring.datasource.url", "jdbc:h2:mem:load;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE");
+        defaults.put("spring.jpa.show-sql", "false");
+        defaults.put("logging.level.root", "WARN");
+        // Every vote comes from this one address and duplicates reuse CPFs, so the limiter would measure itself.
+        defaults.put("voting.rate-limit.enabled", "false");
+        List<String> args = new ArrayList<>(options.applicationArgs());
+        args.forEach(arg -> defaults.remove(arg.substring(2).split("=", 2)[0]));
+        defaults.forEach((key, value) -> args.add("--" + key + "=" + value));
+        return args;
+    }
+
+    private void run() throws Exception {
+        List<Voters> sessions = openSessions();
+        System.out.printf("Sending %.0f votes/s to %d sessions: %ds warmup, %ds measured, %.0f%% duplicates%n", options.rate(),
+                sessions.size(), options.warmup().toSeconds(), options.duration().toSeconds(), options.duplicateRatio() * 100);
+
+        ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor();
+        poller.scheduleAtFixedRate(() -> sessions.forEach(voters -> send(RESULT,
+                        HttpRequest.newBuilder(baseUri.resolve("/api/voting/result/" + voters.sessionId)).GET(), System.nanoTime())),
+                0, options.pollInterval().toNanos(), TimeUnit.NANOSECONDS);
+
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup().toNanos();
+        long end = measureFrom + options.duration().toNanos();
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / options.rate();
+        boolean measuring = false;
+        long measureStart = measureFrom;
+        for (long due = start; due < end; due += (long) (-Math.log(1 - random.nextDouble()) * meanGapNanos)) {
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (!measuring && due >= measureFrom) {
+                stats.values().forEach(EndpointStats::reset);
+                measureStart = System.nanoTime();
+                measuring = true;
+            }
+            castVote(sessions.get(random.nextInt(sessions.size())), due);
+        }
+        poller.shutdownNow();
+        double seconds = (System.nanoTime() - measureStart) / 1e9;
+
+        long drainDeadline = System.nanoTime() + options.timeout().toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        report(seconds);
+    }
+
+    private List<Voters> openSessions() throws IOException, InterruptedException {
+        long minutes = (options.warmup().plus(options.duration()).toSeconds() / 60) + 2;
+        List<Voters> sessions = new ArrayList<>(options.sessions());
+        for (int i = 0; i < options.sessions(); i++) {
+            UUID agendaId = post("/api/agenda", Map.of("title", "Load agenda " + i, "description", "Created by the load driver"));
+            UUID sessionId = post("/api/voting/sessions", Map.of("agendaId", agendaId, "durationMinutes", minutes));
+            sessions.add(new Voters(sessionId));
+        }
+        return sessions;
+    }
+
+    private UUID post(String path, Object body) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(json(path, body).build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("POST " + path + " answered " + response.statusCode() + ": " + response.body());
+        }
+        return UUID.fromString(objectMapper.readTree(response.body()).get("id").asText());
+    }
+
+    private void castVote(Voters voters, long due) {
+        boolean duplicate = voters.size > 0 && random.nextDouble() < options.duplicateRatio();
+        long associate = duplicate ? voters.recent[random.nextInt(Math.min(voters.size, RECENT_VOTERS))] : ++nextAssociate;
+        if (!duplicate) {
+            voters.recent[voters.size++ % RECENT_VOTERS] = associate;
+        }
+        Map<String, Object> vote = Map.of(
+                "sessionId", voters.sessionId,
+                "name", "Associate " + associate,
+                "cpf", CpfGenerator.valid(associate),
+                "option", random.nextBoolean() ? "YES" : "NO");
+        send(duplicate ? VOTE_DUPLICATE : VOTE_UNIQUE, json("/api/vote", vote), due);
+    }
+
+    private HttpRequest.Builder json(String path, Object body) {
+        try {
+            return HttpRequest.newBuilder(baseUri.resolve(path))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void send(String endpoint, HttpRequest.Builder request, long due) {
+        EndpointStats endpointStats = stats.get(endpoint);
+        if (inFlight.incrementAndGet() > options.maxInFlight()) {
+            inFlight.decrementAndGet();
+            endpointStats.count("not_sent");
+            return;
+        }
+        httpClient.sendAsync(request.timeout(options.timeout()).build(), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, failure) -> {
+                    inFlight.decrementAndGet();
+                    long latency = System.nanoTime() - due;
+                    if (failure == null) {
+                        endpointStats.record(latency, String.valueOf(response.statusCode()));
+                    } else {
+                        Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+                        endpointStats.record(latency, cause instanceof HttpTimeoutException ? "timeout" : "error");
+                    }
+                });
+    }
+
+    private void report(double seconds) throws IOException {
+        System.out.printf("%nMeasured %.1fs%n", seconds);
+        EndpointStats.printHeader(System.out);
+        for (EndpointStats endpointStats : stats.values()) {
+            endpointStats.report(System.out, seconds);
+            endpointStats.writeHistogram(options.reportDir());
+        }
+        System.out.println("Histograms written to " + options.reportDir().toAbsolutePath());
+    }
+
+    private static final class Voters {
+        private final UUID sessionId;
+        private final long[] recent = new long[RECENT_VOTERS];
+        private int size;
+
+        private Voters(UUID sessionId) {
+            this.sessionId = sessionId;
+        }
+    }
+}
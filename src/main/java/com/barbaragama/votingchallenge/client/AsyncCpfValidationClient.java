@@ -0,0 +1,14 @@
+package com.barbaragama.votingchallenge.client;
+
+import com.barbaragama.votingchallenge.enums.CpfEligibility;
+import com.barbaragama.votingchallenge.enums.VoteAbility;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+public interface AsyncCpfValidationClient {
+    CompletableFuture<Boolean> isCpfValid(String cpf);
+    CompletableFuture<VoteAbility> checkVoteAbility(String cpf);
+    CompletableFuture<Map<String, CpfEligibility>> checkEligibility(Collection<String> cpfs);
+}
@@ -1,8 +1,27 @@
 package com.barbaragama.votingchallenge.client;
 
+import com.barbaragama.votingchallenge.enums.CpfEligibility;
 import com.barbaragama.votingchallenge.enums.VoteAbility;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
 public interface CpfValidationClient {
     boolean isCpfValid(String cpf);
     VoteAbility checkVoteAbility(String cpf);
+
+    default Map<String, CpfEligibility> checkEligibility(Collection<String> cpfs) {
+        Map<String, CpfEligibility> eligibility = new HashMap<>();
+        for (String cpf : cpfs) {
+            if (!isCpfValid(cpf)) {
+                eligibility.put(cpf, CpfEligibility.INVALID_CPF);
+            } else {
+                eligibility.put(cpf, checkVoteAbility(cpf) == VoteAbility.ABLE_TO_VOTE
+                        ? CpfEligibility.ABLE_TO_VOTE
+                        : CpfEligibility.UNABLE_TO_VOTE);
+            }
+        }
+        return eligibility;
+    }
 }
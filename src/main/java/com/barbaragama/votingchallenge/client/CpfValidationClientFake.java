@@ -1,9 +1,11 @@
 package com.barbaragama.votingchallenge.client;
 
 import com.barbaragama.votingchallenge.enums.VoteAbility;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 @Component
+@Profile("!cpf-stub")
 public class CpfValidationClientFake implements CpfValidationClient {
 
     @Override
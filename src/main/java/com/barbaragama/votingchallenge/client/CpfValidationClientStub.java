@@ -0,0 +1,81 @@
+package com.barbaragama.votingchallenge.client;
+
+import com.barbaragama.votingchallenge.config.CpfStubProperties;
+import com.barbaragama.votingchallenge.enums.CpfEligibility;
+import com.barbaragama.votingchallenge.enums.VoteAbility;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.LockSupport;
+
+@Component
+@Profile("cpf-stub")
+public class CpfValidationClientStub implements CpfValidationClient {
+
+    private final CpfStubProperties properties;
+    private final SplittableRandom random;
+
+    public CpfValidationClientStub(CpfStubProperties properties) {
+        this.properties = properties;
+        this.random = new SplittableRandom(properties.seed());
+    }
+
+    @Override
+    public boolean isCpfValid(String cpf) {
+        simulateCall();
+        return outcome(cpf, 1) >= properties.invalidRate();
+    }
+
+    @Override
+    public VoteAbility checkVoteAbility(String cpf) {
+        simulateCall();
+        return outcome(cpf, 2) >= properties.unableRate() ? VoteAbility.ABLE_TO_VOTE : VoteAbility.UNABLE_TO_VOTE;
+    }
+
+    @Override
+    public Map<String, CpfEligibility> checkEligibility(Collection<String> cpfs) {
+        simulateCall();
+        Map<String, CpfEligibility> eligibility = new HashMap<>();
+        for (String cpf : cpfs) {
+            if (outcome(cpf, 1) < properties.invalidRate()) {
+                eligibility.put(cpf, CpfEligibility.INVALID_CPF);
+            } else {
+                eligibility.put(cpf, outcome(cpf, 2) >= properties.unableRate()
+                        ? CpfEligibility.ABLE_TO_VOTE
+                        : CpfEligibility.UNABLE_TO_VOTE);
+            }
+        }
+        return eligibility;
+    }
+
+    private void simulateCall() {
+        double gaussian;
+        double failure;
+        synchronized (random) {
+            gaussian = nextGaussian();
+            failure = random.nextDouble();
+        }
+        long latencyNanos = (long) (properties.medianLatency().toNanos() * Math.exp(properties.latencySigma() * gaussian));
+        if (latencyNanos > 0) {
+            LockSupport.parkNanos(latencyNanos);
+        }
+        if (failure < properties.errorRate()) {
+            throw new IllegalStateException("Simulated CPF service failure");
+        }
+    }
+
+    // Answers depend only on the seed and the CPF, so the same associate gets the same result in every run.
+    private double outcome(String cpf, int salt) {
+        return new SplittableRandom(properties.seed() * 31 + cpf.hashCode() * 17L + salt).nextDouble();
+    }
+
+    private double nextGaussian() {
+        double u1 = 1 - random.nextDouble();
+        double u2 = random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u1)) * Math.cos(2 * Math.PI * u2);
+    }
+}
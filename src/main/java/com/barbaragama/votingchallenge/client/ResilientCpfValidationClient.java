@@ -0,0 +1,188 @@
+package com.barbaragama.votingchallenge.client;
+
+import com.barbaragama.votingchallenge.config.CpfClientProperties;
+import com.barbaragama.votingchallenge.config.ThreadMode;
+import com.barbaragama.votingchallenge.enums.CpfEligibility;
+import com.barbaragama.votingchallenge.enums.VoteAbility;
+import com.barbaragama.votingchallenge.exception.AppException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+public class ResilientCpfValidationClient implements AsyncCpfValidationClient, DisposableBean {
+
+    private final CpfValidationClient delegate;
+    private final ScheduledExecutorService timeoutScheduler;
+    private final Lane single;
+    private final Lane batch;
+
+    public ResilientCpfValidationClient(CpfValidationClient delegate, CpfClientProperties properties, ThreadMode threadMode) {
+        this.delegate = delegate;
+        this.timeoutScheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("cpf-client-timeout").daemon().factory());
+        // Roster batches may take up to their own timeout, so they get a separate breaker, bulkhead and workers: a slow
+        // but normal prefetch must neither count as slow single lookups nor take the permits live votes need.
+        this.single = new Lane("cpfValidation", "cpf-client-", properties.maxConcurrentCalls(), properties.timeout(),
+                properties.slowCallThreshold(), properties, threadMode);
+        this.batch = new Lane("cpfValidationBatch", "cpf-client-batch-", properties.maxConcurrentBatchCalls(),
+                properties.batchTimeout(), properties.batchSlowCallThreshold(), properties, threadMode);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> isCpfValid(String cpf) {
+        return call(() -> delegate.isCpfValid(cpf), single);
+    }
+
+    @Override
+    public CompletableFuture<VoteAbility> checkVoteAbility(String cpf) {
+        return call(() -> delegate.checkVoteAbility(cpf), single);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, CpfEligibility>> checkEligibility(Collection<String> cpfs) {
+        return call(() -> delegate.checkEligibility(cpfs), batch);
+    }
+
+    public CircuitBreaker.State getCircuitBreakerState() {
+        return single.circuitBreaker.getState();
+    }
+
+    CircuitBreaker.State getBatchCircuitBreakerState() {
+        return batch.circuitBreaker.getState();
+    }
+
+    int availableCalls() {
+        return single.bulkhead.getMetrics().getAvailableConcurrentCalls();
+    }
+
+    int availableBatchCalls() {
+        return batch.bulkhead.getMetrics().getAvailableConcurrentCalls();
+    }
+
+    private <T> CompletableFuture<T> call(Supplier<T> request, Lane lane) {
+        // The breaker sees timeouts as failures; the bulkhead rejects instead of queueing once every worker is busy.
+        Supplier<CompletionStage<T>> timed = () -> lane.timeLimiter.executeCompletionStage(timeoutScheduler, () -> submit(request, lane));
+        return CircuitBreaker.decorateCompletionStage(lane.circuitBreaker, timed).get()
+                .toCompletableFuture()
+                .exceptionallyCompose(failure -> CompletableFuture.failedFuture(unavailable(failure)));
+    }
+
+    /**
+     * Runs the call on a worker that holds its bulkhead permit until it returns. The time limiter only completes the
+     * returned future, so on timeout the worker is interrupted, and the permit is released by the worker itself, or here
+     * if it never started; a call that ignores the interrupt keeps counting against the bulkhead until it ends.
+     */
+    private <T> CompletableFuture<T> submit(Supplier<T> request, Lane lane) {
+        Bulkhead bulkhead = lane.bulkhead;
+        if (!bulkhead.tryAcquirePermission()) {
+            return CompletableFuture.failedFuture(BulkheadFullException.createBulkheadFullException(bulkhead));
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicBoolean claimed = new AtomicBoolean();
+        Future<?> worker;
+        try {
+            worker = lane.executor.submit(() -> {
+                if (!claimed.compareAndSet(false, true)) {
+                    return;
+                }
+                try {
+                    result.complete(request.get());
+                } catch (Throwable failure) {
+                    result.completeExceptionally(failure);
+                } finally {
+                    bulkhead.onComplete();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            bulkhead.onComplete();
+            return CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete((value, failure) -> {
+            if (failure instanceof TimeoutException || failure instanceof CancellationException) {
+                if (claimed.compareAndSet(false, true)) {
+                    worker.cancel(false);
+                    bulkhead.onComplete();
+                } else {
+                    worker.cancel(true);
+                }
+            }
+        });
+        return result;
+    }
+
+    private static Throwable unavailable(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        if (cause instanceof AppException) {
+            return cause;
+        }
+        log.debug("CPF validation call failed: {}", cause.toString());
+        return new AppException("CPF validation service is unavailable, try again later", HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @Override
+    public void destroy() {
+        single.executor.shutdownNow();
+        batch.executor.shutdownNow();
+        timeoutScheduler.shutdownNow();
+    }
+
+    /**
+     * Workers, bulkhead, timeout and circuit breaker for one kind of call. submit() hands a call to the executor only
+     * after taking a bulkhead permit, which the worker holds until the CPF service answers, so in virtual mode at most
+     * maxConcurrentCalls threads are blocked on it.
+     */
+    private static final class Lane {
+        private final ExecutorService executor;
+        private final Bulkhead bulkhead;
+        private final TimeLimiter timeLimiter;
+        private final CircuitBreaker circuitBreaker;
+
+        private Lane(String name, String threadPrefix, int maxConcurrentCalls, Duration timeout, Duration slowCallThreshold,
+                     CpfClientProperties properties, ThreadMode threadMode) {
+            this.executor = threadMode.executor(threadPrefix, maxConcurrentCalls);
+            this.bulkhead = Bulkhead.of(name, BulkheadConfig.custom()
+                    .maxConcurrentCalls(maxConcurrentCalls)
+                    .maxWaitDuration(Duration.ZERO)
+                    .build());
+            this.timeLimiter = TimeLimiter.of(name, TimeLimiterConfig.custom()
+                    .timeoutDuration(timeout)
+                    .build());
+            this.circuitBreaker = CircuitBreaker.of(name, CircuitBreakerConfig.custom()
+                    .failureRateThreshold(properties.failureRateThreshold())
+                    .slowCallRateThreshold(properties.failureRateThreshold())
+                    .slowCallDurationThreshold(slowCallThreshold)
+                    .slidingWindowSize(properties.slidingWindowSize())
+                    .minimumNumberOfCalls(properties.minimumNumberOfCalls())
+                    .waitDurationInOpenState(properties.waitInOpenState())
+                    .build());
+            circuitBreaker.getEventPublisher().onStateTransition(event ->
+                    log.warn("{} circuit breaker moved {}", name, event.getStateTransition()));
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.barbaragama.votingchallenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "voting.associate-cache")
+public record AssociateCacheProperties(
+        @DefaultValue("1000000") long maximumSize,
+        @DefaultValue("1000") int warmChunkSize
+) {
+}
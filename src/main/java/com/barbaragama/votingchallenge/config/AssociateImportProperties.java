@@ -0,0 +1,13 @@
+package com.barbaragama.votingchallenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "voting.associate-import")
+public record AssociateImportProperties(
+        @DefaultValue("1000000") int maxRows,
+        @DefaultValue("1000") int chunkSize,
+        @DefaultValue("500") int insertBatchSize,
+        @DefaultValue("1000") int maxErrors
+) {
+}
@@ -0,0 +1,25 @@
+package com.barbaragama.votingchallenge.config;
+
+import com.barbaragama.votingchallenge.filter.ConcurrencyLimitFilter;
+import com.barbaragama.votingchallenge.service.AdaptiveConcurrencyLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "voting.concurrency-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter, ObjectMapper objectMapper) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new ConcurrencyLimitFilter(limiter, objectMapper));
+        registration.addUrlPatterns("/api/*");
+        // After the rate limiter, so requests it turns away never take a permit.
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 200);
+        return registration;
+    }
+}
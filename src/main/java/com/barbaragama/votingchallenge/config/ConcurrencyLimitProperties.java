@@ -0,0 +1,27 @@
+package com.barbaragama.votingchallenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Adaptive limit on requests in flight under {@code /api}. The limit starts at {@code initialLimit} and is recomputed
+ * every {@code window} from the ratio between the latency averaged over {@code longWindows} windows and the latest one; low-priority requests may only use
+ * {@code lowPriorityShare} of it.
+ */
+@ConfigurationProperties(prefix = "voting.concurrency-limit")
+public record ConcurrencyLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("50") int initialLimit,
+        @DefaultValue("10") int minLimit,
+        @DefaultValue("200") int maxLimit,
+        @DefaultValue("0.5") double lowPriorityShare,
+        @DefaultValue("1.5") double latencyTolerance,
+        @DefaultValue("0.2") double smoothing,
+        @DefaultValue("0.9") double backoffRatio,
+        @DefaultValue("500ms") Duration window,
+        @DefaultValue("10") int minWindowSamples,
+        @DefaultValue("60") int longWindows
+) {
+}
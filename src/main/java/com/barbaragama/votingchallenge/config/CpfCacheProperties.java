@@ -0,0 +1,14 @@
+package com.barbaragama.votingchallenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "voting.cpf-cache")
+public record CpfCacheProperties(
+        @DefaultValue("100000") long maximumSize,
+        @DefaultValue("10m") Duration positiveTtl,
+        @DefaultValue("1m") Duration negativeTtl
+) {
+}
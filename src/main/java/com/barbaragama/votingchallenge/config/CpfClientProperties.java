@@ -0,0 +1,21 @@
+package com.barbaragama.votingchallenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "voting.cpf-client")
+public record CpfClientProperties(
+        @DefaultValue("500ms") Duration timeout,
+        @DefaultValue("5s") Duration batchTimeout,
+        @DefaultValue("32") int maxConcurrentCalls,
+        @DefaultValue("4") int maxConcurrentBatchCalls,
+        @DefaultValue("50") float failureRateThreshold,
+        @DefaultValue("300ms") Duration slowCallThreshold,
+        @DefaultValue("4s") Duration batchSlowCallThreshold,
+        @DefaultValue("100") int slidingWindowSize,
+        @DefaultValue("20") int minimumNumberOfCalls,
+        @DefaultValue("10s") Duration waitInOpenState
+) {
+}
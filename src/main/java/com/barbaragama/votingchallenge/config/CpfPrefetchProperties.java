@@ -0,0 +1,11 @@
+package com.barbaragama.votingchallenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "voting.cpf-prefetch")
+public record CpfPrefetchProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("500") int chunkSize
+) {
+}
@@ -0,0 +1,17 @@
+package com.barbaragama.votingchallenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "voting.cpf-stub")
+public record CpfStubProperties(
+        @DefaultValue("42") long seed,
+        @DefaultValue("20ms") Duration medianLatency,
+        @DefaultValue("0.5") double latencySigma,
+        @DefaultValue("0") double errorRate,
+        @DefaultValue("0.1") double invalidRate,
+        @DefaultValue("0.2") double unableRate
+) {
+}
@@ -0,0 +1,14 @@
+package com.barbaragama.votingchallenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "voting.idempotency")
+public record IdempotencyProperties(
+        @DefaultValue("100000") long cacheSize,
+        @DefaultValue("24h") Duration ttl,
+        @DefaultValue("10s") Duration inFlightTimeout
+) {
+}
@@ -0,0 +1,27 @@
+package com.barbaragama.votingchallenge.config;
+
+import com.barbaragama.votingchallenge.filter.VoteRateLimitFilter;
+import com.barbaragama.votingchallenge.service.VoteRateLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class RateLimitConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "voting.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<VoteRateLimitFilter> voteRateLimitFilter(VoteRateLimiter voteRateLimiter,
+                                                                      RateLimitProperties properties,
+                                                                      ObjectMapper objectMapper) {
+        FilterRegistrationBean<VoteRateLimitFilter> registration =
+                new FilterRegistrationBean<>(new VoteRateLimitFilter(voteRateLimiter, properties, objectMapper));
+        // Exact match: the batch and receipt endpoints under /api/vote are not limited here.
+        registration.addUrlPatterns("/api/vote");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 100);
+        return registration;
+    }
+}
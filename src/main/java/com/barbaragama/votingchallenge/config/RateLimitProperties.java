@@ -0,0 +1,28 @@
+package com.barbaragama.votingchallenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Token buckets for {@code POST /api/vote}: a bucket holds up to {@code capacity} requests and refills at
+ * {@code refillPerSecond}. Idle per-CPF and per-client buckets are dropped after {@code idleExpiry}, by which time they
+ * would have refilled anyway. Vote bodies larger than {@code maxBodySize} are answered with 413 without being read.
+ */
+@ConfigurationProperties(prefix = "voting.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("5") long cpfCapacity,
+        @DefaultValue("0.2") double cpfRefillPerSecond,
+        @DefaultValue("500") long clientCapacity,
+        @DefaultValue("250") double clientRefillPerSecond,
+        @DefaultValue("5000") long globalCapacity,
+        @DefaultValue("2000") double globalRefillPerSecond,
+        @DefaultValue("100000") long maxKeys,
+        @DefaultValue("10m") Duration idleExpiry,
+        @DefaultValue("4KB") DataSize maxBodySize
+) {
+}
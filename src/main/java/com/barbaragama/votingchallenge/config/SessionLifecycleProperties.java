@@ -0,0 +1,14 @@
+package com.barbaragama.votingchallenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "voting.session-lifecycle")
+public record SessionLifecycleProperties(
+        @DefaultValue("100ms") Duration tickDuration,
+        @DefaultValue("512") int wheelSize,
+        @DefaultValue("10m") Duration closedRetention
+) {
+}
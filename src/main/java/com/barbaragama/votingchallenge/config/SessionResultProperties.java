@@ -0,0 +1,13 @@
+package com.barbaragama.votingchallenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "voting.session-result")
+public record SessionResultProperties(
+        @DefaultValue("10000") long cacheSize,
+        @DefaultValue("2s") Duration writerDrainTimeout
+) {
+}
@@ -0,0 +1,14 @@
+package com.barbaragama.votingchallenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "voting.tally-stream")
+public record TallyStreamProperties(
+        @DefaultValue("1s") Duration tick,
+        @DefaultValue("5s") Duration maxSendStall,
+        @DefaultValue("30m") Duration emitterTimeout
+) {
+}
@@ -0,0 +1,66 @@
+package com.barbaragama.votingchallenge.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates the application's own threads on virtual or platform threads, following {@code spring.threads.virtual.enabled}
+ * so background work runs in the same mode as request handling.
+ */
+public final class ThreadMode {
+
+    private static final ThreadMode PLATFORM = new ThreadMode(false);
+    private static final ThreadMode VIRTUAL = new ThreadMode(true);
+
+    private final boolean virtual;
+
+    private ThreadMode(boolean virtual) {
+        this.virtual = virtual;
+    }
+
+    public static ThreadMode of(boolean virtual) {
+        return virtual ? VIRTUAL : PLATFORM;
+    }
+
+    public static ThreadMode platform() {
+        return PLATFORM;
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    public Thread start(String name, Runnable task) {
+        return virtual
+                ? Thread.ofVirtual().name(name).start(task)
+                : Thread.ofPlatform().name(name).daemon().start(task);
+    }
+
+    public ThreadFactory factory(String prefix) {
+        return virtual
+                ? Thread.ofVirtual().name(prefix, 0).factory()
+                : Thread.ofPlatform().name(prefix, 0).daemon().factory();
+    }
+
+    /**
+     * A pool of {@code threads} platform threads, or one virtual thread per task. In virtual mode the caller must bound
+     * concurrency itself (a bulkhead, a semaphore, one task per subscriber) since threads no longer do it.
+     */
+    public ExecutorService executor(String prefix, int threads) {
+        return virtual
+                ? Executors.newThreadPerTaskExecutor(factory(prefix))
+                : Executors.newFixedThreadPool(threads, factory(prefix));
+    }
+
+    public ExecutorService singleThreadExecutor(String name) {
+        return Executors.newSingleThreadExecutor(virtual
+                ? Thread.ofVirtual().name(name).factory()
+                : Thread.ofPlatform().name(name).daemon().factory());
+    }
+
+    @Override
+    public String toString() {
+        return virtual ? "virtual" : "platform";
+    }
+}
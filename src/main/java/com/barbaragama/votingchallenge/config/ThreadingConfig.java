@@ -0,0 +1,42 @@
+package com.barbaragama.votingchallenge.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+@Slf4j
+@Configuration
+public class ThreadingConfig {
+
+    @Bean
+    public ThreadMode threadMode(Environment environment) {
+        ThreadMode mode = ThreadMode.of(Threading.VIRTUAL.isActive(environment));
+        log.info("Request handling and background work run on {} threads", mode);
+        return mode;
+    }
+
+    /**
+     * In virtual mode, bounds the callers holding a connection to the pool size and makes the others wait on a
+     * semaphore for the pool's connection timeout, since there is no longer a thread pool in front of the database.
+     */
+    @Bean
+    public static BeanPostProcessor boundedDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource && Threading.VIRTUAL.isActive(environment)) {
+                    log.info("Bounding data source {} to {} concurrent connections", beanName, dataSource.getMaximumPoolSize());
+                    return new BoundedDataSource(dataSource, dataSource.getMaximumPoolSize(),
+                            Duration.ofMillis(dataSource.getConnectionTimeout()));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,11 @@
+package com.barbaragama.votingchallenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "voting.batch")
+public record VoteBatchProperties(
+        @DefaultValue("5000") int maxSize,
+        @DefaultValue("500") int insertBatchSize
+) {
+}
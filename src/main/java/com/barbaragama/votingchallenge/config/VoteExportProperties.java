@@ -0,0 +1,14 @@
+package com.barbaragama.votingchallenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "voting.export")
+public record VoteExportProperties(
+        @DefaultValue("1000") int fetchSize,
+        @DefaultValue("1000") int flushEvery,
+        @DefaultValue("10m") Duration timeout
+) {
+}
@@ -0,0 +1,20 @@
+package com.barbaragama.votingchallenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "voting.ingestion")
+public record VoteIngestionProperties(
+        @DefaultValue("false") boolean asyncEnabled,
+        @DefaultValue("10000") int queueCapacity,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("50ms") Duration flushInterval,
+        @DefaultValue("30s") Duration shutdownTimeout,
+        @DefaultValue("30m") Duration receiptRetention,
+        @DefaultValue("100000") int maxReceipts,
+        @DefaultValue("3") int maxAttempts,
+        @DefaultValue("200ms") Duration retryBackoff
+) {
+}
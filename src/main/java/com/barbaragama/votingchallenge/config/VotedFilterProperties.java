@@ -0,0 +1,11 @@
+package com.barbaragama.votingchallenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "voting.voted-filter")
+public record VotedFilterProperties(
+        @DefaultValue("0.01") double falsePositiveRate,
+        @DefaultValue("1024") long minExpectedVoters
+) {
+}
@@ -1,20 +1,23 @@
 package com.barbaragama.votingchallenge.controller;
 
-import com.barbaragama.votingchallenge.domain.Agenda;
 import com.barbaragama.votingchallenge.dto.request.AgendaRequestDTO;
+import com.barbaragama.votingchallenge.dto.request.PageRequestDTO;
+import com.barbaragama.votingchallenge.dto.response.AgendaResponseDTO;
+import com.barbaragama.votingchallenge.dto.response.PageResponseDTO;
 import com.barbaragama.votingchallenge.service.AgendaService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
-import java.util.List;
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Controller
@@ -27,14 +30,18 @@ public class AgendaController {
 
     @GetMapping
     @Operation(
-            summary = "Get all agendas",
-            description = "Retrieve a list of all agendas",
+            summary = "Get agendas",
+            description = "Retrieve a page of agendas ordered by creation time",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Agendas retrieved successfully"),
+                    @ApiResponse(responseCode = "400", description = "Invalid limit or cursor")
             }
     )
-    public ResponseEntity<List<Agenda>> getAllAgendas() {
-        return ResponseEntity.ok(agendaService.getAllAgendas());
+    public ResponseEntity<PageResponseDTO<AgendaResponseDTO>> getAllAgendas(
+            @Parameter(description = "Only agendas created after this time") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdAfter,
+            @Parameter(description = "Page size, up to 500") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Cursor returned as next by the previous page") @RequestParam(required = false) String next) {
+        return ResponseEntity.ok(agendaService.getAgendas(createdAfter, PageRequestDTO.of(next, limit)));
     }
 
     @GetMapping("/{id}")
@@ -46,7 +53,7 @@ public class AgendaController {
                     @ApiResponse(responseCode = "404", description = "Agenda not found")
             }
     )
-    public ResponseEntity<Agenda> getAgendaById(@Parameter(description = "agenda ID") @PathVariable UUID id) {
+    public ResponseEntity<AgendaResponseDTO> getAgendaById(@Parameter(description = "agenda ID") @PathVariable UUID id) {
         return ResponseEntity.ok(agendaService.getAgendaById(id));
     }
 
@@ -59,7 +66,7 @@ public class AgendaController {
                     @ApiResponse(responseCode = "400", description = "Invalid input data")
             }
     )
-    public ResponseEntity<Agenda> createAgenda(@Parameter(description = "Agenda data") @Valid @RequestBody AgendaRequestDTO agendaRequestDTO) {
+    public ResponseEntity<AgendaResponseDTO> createAgenda(@Parameter(description = "Agenda data") @Valid @RequestBody AgendaRequestDTO agendaRequestDTO) {
         return ResponseEntity.status(HttpStatus.CREATED).body(agendaService.createAgenda(agendaRequestDTO));
     }
 }
@@ -1,9 +1,14 @@
 package com.barbaragama.votingchallenge.controller;
 
-import com.barbaragama.votingchallenge.domain.Associate;
 import com.barbaragama.votingchallenge.dto.request.AssociateRequestDTO;
+import com.barbaragama.votingchallenge.dto.request.PageRequestDTO;
+import com.barbaragama.votingchallenge.dto.response.AssociateImportResponseDTO;
+import com.barbaragama.votingchallenge.dto.response.AssociateResponseDTO;
+import com.barbaragama.votingchallenge.dto.response.PageResponseDTO;
+import com.barbaragama.votingchallenge.service.AssociateImportService;
 import com.barbaragama.votingchallenge.service.AssociateService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -13,26 +18,33 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.io.InputStream;
 
 @Controller
 @RequiredArgsConstructor
 @RequestMapping("/api/associate")
 @Tag(name = "Associate", description = "Associate management")
 public class AssociateController {
+
+    private static final String CSV_VALUE = "text/csv";
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+
     private final AssociateService associateService;
+    private final AssociateImportService associateImportService;
 
     @GetMapping
     @Operation(
-            summary = "Get all associates",
-            description = "Retrieve a list of all associates",
+            summary = "Get associates",
+            description = "Retrieve a page of associates ordered by CPF",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Associates retrieved successfully"),
-                    @ApiResponse(responseCode = "404", description = "Associates not found")
+                    @ApiResponse(responseCode = "400", description = "Invalid limit or cursor")
             }
     )
-    public ResponseEntity<List<Associate>> getAllAssociates() {
-        return ResponseEntity.ok(associateService.getAllAssociates());
+    public ResponseEntity<PageResponseDTO<AssociateResponseDTO>> getAllAssociates(
+            @Parameter(description = "Page size, up to 500") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Cursor returned as next by the previous page") @RequestParam(required = false) String next) {
+        return ResponseEntity.ok(associateService.getAssociates(PageRequestDTO.of(next, limit)));
     }
 
     @GetMapping("/{cpf}")
@@ -44,9 +56,8 @@ public class AssociateController {
                     @ApiResponse(responseCode = "404", description = "Associate not found")
             }
     )
-    public ResponseEntity<Associate> getAssociateById(@PathVariable("cpf") String cpf) {
-        Associate associate = associateService.getAssociate(cpf);
-        return ResponseEntity.ok(associate);
+    public ResponseEntity<AssociateResponseDTO> getAssociateById(@PathVariable("cpf") String cpf) {
+        return ResponseEntity.ok(associateService.getAssociate(cpf));
     }
 
     @PostMapping
@@ -58,8 +69,34 @@ public class AssociateController {
                     @ApiResponse(responseCode = "400", description = "Invalid input data")
             }
     )
-    public ResponseEntity<Associate> createAssociate(@Valid @RequestBody AssociateRequestDTO associateRequestDTO) {
+    public ResponseEntity<AssociateResponseDTO> createAssociate(@Valid @RequestBody AssociateRequestDTO associateRequestDTO) {
         return ResponseEntity.status(HttpStatus.CREATED).body(associateService.createAssociate(associateRequestDTO));
     }
 
+    @PostMapping(value = "/import", consumes = CSV_VALUE)
+    @Operation(
+            summary = "Import associates from CSV",
+            description = "Create associates from a name,cpf CSV upload, with an optional header line. The body is streamed, rows with an invalid, repeated or already registered CPF are skipped and reported in the summary.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Upload processed, see the summary"),
+                    @ApiResponse(responseCode = "400", description = "Body could not be read")
+            }
+    )
+    public ResponseEntity<AssociateImportResponseDTO> importAssociatesCsv(InputStream body) {
+        return ResponseEntity.ok(associateImportService.importCsv(body));
+    }
+
+    @PostMapping(value = "/import", consumes = NDJSON_VALUE)
+    @Operation(
+            summary = "Import associates from NDJSON",
+            description = "Same as the CSV import, with one {\"name\", \"cpf\"} object per line.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Upload processed, see the summary"),
+                    @ApiResponse(responseCode = "400", description = "Body could not be read")
+            }
+    )
+    public ResponseEntity<AssociateImportResponseDTO> importAssociatesNdjson(InputStream body) {
+        return ResponseEntity.ok(associateImportService.importNdjson(body));
+    }
+
 }
@@ -1,7 +1,13 @@
 package com.barbaragama.votingchallenge.controller;
 
 import com.barbaragama.votingchallenge.dto.request.VoteRequestDTO;
+import com.barbaragama.votingchallenge.dto.response.VoteBatchItemResponseDTO;
+import com.barbaragama.votingchallenge.dto.response.VoteReceiptResponseDTO;
 import com.barbaragama.votingchallenge.dto.response.VoteResponseDTO;
+import com.barbaragama.votingchallenge.service.VoteBatchService;
+import com.barbaragama.votingchallenge.service.VoteIdempotencyService;
+import com.barbaragama.votingchallenge.service.VoteIdempotencyService.IdempotentVote;
+import com.barbaragama.votingchallenge.service.VoteIngestionService;
 import com.barbaragama.votingchallenge.service.VoteService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -9,12 +15,21 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 
+import java.io.InputStream;
+import java.util.List;
+import java.util.UUID;
+
 
 @Controller
 @RequiredArgsConstructor
@@ -22,22 +37,85 @@ import org.springframework.web.bind.annotation.RequestMapping;
 @Tag(name = "Vote", description = "Endpoints for casting votes")
 public class VoteController {
 
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
     private final VoteService voteService;
+    private final VoteIngestionService voteIngestionService;
+    private final VoteBatchService voteBatchService;
+    private final VoteIdempotencyService voteIdempotencyService;
 
     @PostMapping
     @Operation(
             summary = "Cast a vote",
-            description = "Endpoint to cast a vote for a specific session and associate,",
+            description = "Endpoint to cast a vote for a specific session and associate. When asynchronous ingestion is enabled the vote is queued and a receipt is returned. "
+                    + "Synchronous votes sent with an Idempotency-Key are cast once: retries with the same key and body get the original response, marked with Idempotent-Replayed: true.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Vote successfully cast"),
+                    @ApiResponse(responseCode = "202", description = "Vote accepted for asynchronous ingestion"),
                     @ApiResponse(responseCode = "400", description = "Invalid data provided"),
-                    @ApiResponse(responseCode = "403", description = "User is not able to vote"),
+                    @ApiResponse(responseCode = "403", description = "User is not able to vote, or has already voted in this session"),
                     @ApiResponse(responseCode = "404", description = "Session not found"),
-                    @ApiResponse(responseCode = "409", description = "Associate has already voted in this session")
+                    @ApiResponse(responseCode = "409", description = "A request with the same Idempotency-Key is still running"),
+                    @ApiResponse(responseCode = "422", description = "Idempotency-Key was already used with a different request"),
+                    @ApiResponse(responseCode = "503", description = "Vote ingestion queue is full")
             }
     )
-    public ResponseEntity<VoteResponseDTO> castVote(@Parameter(description = "Vote data") @Valid @RequestBody VoteRequestDTO voteRequestDTO) {
+    public ResponseEntity<?> castVote(@Parameter(description = "Vote data") @Valid @RequestBody VoteRequestDTO voteRequestDTO,
+                                      @Parameter(description = "Client-generated key that makes retries of this vote safe")
+                                      @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        if (voteIngestionService.isEnabled()) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(voteIngestionService.submit(voteRequestDTO));
+        }
+        if (idempotencyKey != null) {
+            IdempotentVote vote = voteIdempotencyService.castVote(idempotencyKey, voteRequestDTO);
+            return ResponseEntity.ok()
+                    .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(vote.replayed()))
+                    .body(vote.response());
+        }
         VoteResponseDTO responseDTO = voteService.castVote(voteRequestDTO);
         return ResponseEntity.ok(responseDTO);
     }
+
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+            summary = "Cast a batch of votes",
+            description = "Cast many votes in a single request. Each vote receives its own status, using the codes POST /api/vote would return.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Batch processed, see the status of each vote"),
+                    @ApiResponse(responseCode = "400", description = "Body is empty or invalid"),
+                    @ApiResponse(responseCode = "413", description = "Batch exceeds the maximum size")
+            }
+    )
+    public ResponseEntity<List<VoteBatchItemResponseDTO>> castVotes(@Parameter(description = "Votes data") @RequestBody List<VoteRequestDTO> voteRequestDTOs) {
+        return ResponseEntity.ok(voteBatchService.castVotes(voteRequestDTOs));
+    }
+
+    @PostMapping(value = "/batch", consumes = NDJSON_VALUE)
+    @Operation(
+            summary = "Cast a batch of votes from an NDJSON stream",
+            description = "Same as the JSON batch endpoint, with one vote per line.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Batch processed, see the status of each vote"),
+                    @ApiResponse(responseCode = "400", description = "Body is empty or invalid"),
+                    @ApiResponse(responseCode = "413", description = "Batch exceeds the maximum size")
+            }
+    )
+    public ResponseEntity<List<VoteBatchItemResponseDTO>> castVotesNdjson(InputStream body) {
+        return ResponseEntity.ok(voteBatchService.castVotes(body));
+    }
+
+    @GetMapping("/receipts/{receiptId}")
+    @Operation(
+            summary = "Get vote receipt",
+            description = "Retrieve the ingestion status of a vote accepted asynchronously",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Receipt retrieved successfully"),
+                    @ApiResponse(responseCode = "404", description = "Receipt not found")
+            }
+    )
+    public ResponseEntity<VoteReceiptResponseDTO> getReceipt(@Parameter(description = "Receipt ID") @PathVariable UUID receiptId) {
+        return ResponseEntity.ok(voteIngestionService.getReceipt(receiptId));
+    }
 }
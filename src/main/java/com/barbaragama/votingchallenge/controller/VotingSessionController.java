@@ -1,21 +1,36 @@
 package com.barbaragama.votingchallenge.controller;
 
+import com.barbaragama.votingchallenge.config.VoteExportProperties;
+import com.barbaragama.votingchallenge.dto.request.PageRequestDTO;
 import com.barbaragama.votingchallenge.dto.request.SessionRequestDTO;
+import com.barbaragama.votingchallenge.dto.response.PageResponseDTO;
 import com.barbaragama.votingchallenge.dto.response.SessionResponseDTO;
 import com.barbaragama.votingchallenge.dto.response.SessionResultResponseDTO;
+import com.barbaragama.votingchallenge.enums.ExportFormat;
+import com.barbaragama.votingchallenge.enums.SessionStatus;
 import com.barbaragama.votingchallenge.exception.AppException;
 import com.barbaragama.votingchallenge.service.SessionService;
+import com.barbaragama.votingchallenge.service.TallyStreamService;
+import com.barbaragama.votingchallenge.service.VoteExportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @RestController
@@ -25,17 +40,26 @@ import java.util.UUID;
 public class VotingSessionController {
 
     private final SessionService sessionService;
+    private final VoteExportService voteExportService;
+    private final TallyStreamService tallyStreamService;
+    private final VoteExportProperties voteExportProperties;
 
     @GetMapping
     @Operation(
-            summary = "Get all voting sessions",
-            description = "Retrieve a list of all voting sessions",
+            summary = "Get voting sessions",
+            description = "Retrieve a page of voting sessions ordered by start time, optionally filtered by status, agenda and start time",
             responses = {
-                    @ApiResponse(responseCode = "200", description = "Successfully retrieved all voting sessions")
+                    @ApiResponse(responseCode = "200", description = "Successfully retrieved voting sessions"),
+                    @ApiResponse(responseCode = "400", description = "Invalid limit or cursor")
     }
     )
-    public ResponseEntity<List<SessionResponseDTO>> getAll() {
-        return ResponseEntity.ok(sessionService.getAll());
+    public ResponseEntity<PageResponseDTO<SessionResponseDTO>> getAll(
+            @Parameter(description = "Session status") @RequestParam(required = false) SessionStatus status,
+            @Parameter(description = "Agenda ID") @RequestParam(required = false) UUID agendaId,
+            @Parameter(description = "Only sessions started after this time") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdAfter,
+            @Parameter(description = "Page size, up to 500") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Cursor returned as next by the previous page") @RequestParam(required = false) String next) {
+        return ResponseEntity.ok(sessionService.getSessions(status, agendaId, createdAfter, PageRequestDTO.of(next, limit)));
     }
 
     @GetMapping("/{id}")
@@ -82,4 +106,42 @@ public class VotingSessionController {
             throw new AppException("Invalid UUID format", HttpStatus.BAD_REQUEST);
         }
     }
-}
\ No newline at end of file
+
+    @GetMapping(value = "/result/{sessionId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Stream the live voting result",
+            description = "Server-Sent Events stream of the vote counts. A tally event is sent on connect and then at most once per tick when the counts change; a final event carries the result when the session closes.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Stream opened"),
+                    @ApiResponse(responseCode = "400", description = "Invalid session ID"),
+                    @ApiResponse(responseCode = "404", description = "Voting session not found")
+            }
+    )
+    public SseEmitter streamVotingResult(@Parameter(description = "Session ID") @PathVariable UUID sessionId) {
+        return tallyStreamService.subscribe(sessionId);
+    }
+
+    @GetMapping("/{id}/votes/export")
+    @Operation(
+            summary = "Export the votes of a session",
+            description = "Stream every vote of a session as NDJSON or CSV, ordered by the time it was cast",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Votes streamed successfully"),
+                    @ApiResponse(responseCode = "400", description = "Invalid export format"),
+                    @ApiResponse(responseCode = "404", description = "Voting session not found")
+            }
+    )
+    public ResponseEntity<StreamingResponseBody> exportVotes(@Parameter(description = "Session ID") @PathVariable UUID id,
+                                                             @Parameter(description = "ndjson or csv") @RequestParam(defaultValue = "ndjson") String format,
+                                                             HttpServletRequest request) {
+        ExportFormat exportFormat = ExportFormat.fromString(format);
+        voteExportService.checkSessionExists(id);
+        // Large sessions take longer to stream than the default async request timeout allows.
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest().setTimeout(voteExportProperties.timeout().toMillis());
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("votes-" + id + "." + exportFormat.getExtension()).build().toString())
+                .body(out -> voteExportService.export(id, exportFormat, out));
+    }
+}
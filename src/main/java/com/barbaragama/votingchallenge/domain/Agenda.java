@@ -17,7 +17,7 @@ import java.util.UUID;
 @Schema(description = "Agenda entity representing a voting agenda")
 public class Agenda {
     @Id
-    @GeneratedValue
+    @TimeOrderedUuid
     @Schema(description = "Unique identifier for the agenda", example = "123e4567-e89b-12d3-a456-426614174000")
     private UUID id;
 
@@ -20,7 +20,7 @@ import java.util.UUID;
 @Schema(description = "Represents an associate in the voting system.")
 public class Associate {
     @Id
-    @GeneratedValue
+    @TimeOrderedUuid
     @Schema(description = "Unique identifier of the associate.", example = "123e4567-e89b-12d3-a456-426614174000")
     private UUID id;
 
@@ -0,0 +1,51 @@
+package com.barbaragama.votingchallenge.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "idempotency_key")
+@Schema(description = "Response of a vote cast with an Idempotency-Key, kept so retries of the same request can be replayed.")
+public class IdempotencyKey {
+    @Id
+    @Column(name = "idempotency_key")
+    @Schema(description = "Idempotency-Key sent by the client.", example = "kiosk-12-3f0c9a")
+    private String idempotencyKey;
+
+    @Column(nullable = false, length = 64)
+    @Schema(description = "SHA-256 of the vote request the key was first used with.")
+    private String fingerprint;
+
+    @Schema(description = "ID of the associate who voted.", example = "123e4567-e89b-12d3-a456-426614174000")
+    private UUID associateId;
+
+    @Schema(description = "ID of the session.", example = "123e4567-e89b-12d3-a456-426614174000")
+    private UUID sessionId;
+
+    @Schema(description = "Vote option as sent by the client.", example = "YES")
+    private String option;
+
+    @Schema(description = "Message returned to the first request.", example = "Vote successfully cast")
+    private String message;
+
+    @Schema(description = "When the vote was cast.", example = "2023-10-01T12:00:00")
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    @Schema(description = "When the key stops being replayed and can be purged.", example = "2023-10-02T12:00:00")
+    private LocalDateTime expiresAt;
+}
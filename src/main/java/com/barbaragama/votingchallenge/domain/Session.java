@@ -21,11 +21,11 @@ import java.util.UUID;
 @Schema(description = "Voting session entity")
 public class Session {
     @Id
-    @GeneratedValue
+    @TimeOrderedUuid
     @Schema(description = "Session ID", example = "123e4567-e89b-12d3-a456-426614174000")
     private UUID id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "agenda_id")
     @Schema(description = "Agenda associated with the session")
     private Agenda agenda;
@@ -41,16 +41,8 @@ public class Session {
     @Schema(description = "Session status", example = "OPEN")
     private SessionStatus sessionStatus;
 
-    public SessionStatus getSessionStatus() {
-        LocalDateTime now = LocalDateTime.now();
-        if (endTime.isBefore(now)) {
-            return SessionStatus.CLOSED;
-        }
-        return sessionStatus;
-    }
-
     public boolean isOpen() {
-        return getSessionStatus().equals(SessionStatus.OPEN);
+        return sessionStatus == SessionStatus.OPEN;
     }
 
     @Schema(description = "Session duration in minutes", example = "30")
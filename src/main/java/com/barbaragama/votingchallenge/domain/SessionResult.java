@@ -0,0 +1,53 @@
+package com.barbaragama.votingchallenge.domain;
+
+import com.barbaragama.votingchallenge.enums.VotingResult;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "session_result")
+@Schema(description = "Final result of a closed voting session, written once when the session closes.")
+public class SessionResult {
+    @Id
+    @Column(name = "session_id")
+    @Schema(description = "ID of the closed session.", example = "123e4567-e89b-12d3-a456-426614174000")
+    private UUID sessionId;
+
+    @Schema(description = "ID of the agenda voted in the session.", example = "123e4567-e89b-12d3-a456-426614174000")
+    private UUID agendaId;
+
+    @Schema(description = "Title of the agenda when the session closed.", example = "Vote on new project")
+    private String agendaTitle;
+
+    @Schema(description = "Number of YES votes.", example = "60")
+    private long yesVotes;
+
+    @Schema(description = "Number of NO votes.", example = "40")
+    private long noVotes;
+
+    @Schema(description = "Total number of votes.", example = "100")
+    private long totalVotes;
+
+    @Enumerated(EnumType.STRING)
+    @Schema(description = "Final result of the session.", example = "APPROVED")
+    private VotingResult result;
+
+    @Schema(description = "When the result was recorded.", example = "2023-10-01T12:30:00")
+    private LocalDateTime closedAt;
+}
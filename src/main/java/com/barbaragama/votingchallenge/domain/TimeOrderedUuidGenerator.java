@@ -0,0 +1,50 @@
+package com.barbaragama.votingchallenge.domain;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UUIDv7 (RFC 9562) identifiers: a 48-bit Unix millisecond timestamp, a 12-bit sub-millisecond counter in
+ * {@code rand_a}, and 62 random bits.
+ *
+ * <p>New keys land at the right edge of the primary-key index instead of on random pages. The timestamp and counter
+ * are taken from one process-wide sequence, so identifiers are strictly increasing across threads even when the clock
+ * steps back or more than 4096 are drawn within one millisecond; the sequence then runs slightly ahead of the clock
+ * until it catches up.
+ */
+public class TimeOrderedUuidGenerator implements BeforeExecutionGenerator {
+
+    private static final int COUNTER_BITS = 12;
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_RFC_9562 = 0x8000_0000_0000_0000L;
+    private static final long RANDOM_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+
+    private static final AtomicLong LAST = new AtomicLong();
+
+    public static UUID next() {
+        long now = System.currentTimeMillis() << COUNTER_BITS;
+        long sequence = LAST.accumulateAndGet(now, (last, clock) -> Math.max(clock, last + 1));
+        long timestamp = sequence >>> COUNTER_BITS;
+        long counter = sequence & ((1L << COUNTER_BITS) - 1);
+        long mostSignificant = timestamp << 16 | VERSION_7 | counter;
+        long leastSignificant = VARIANT_RFC_9562 | ThreadLocalRandom.current().nextLong() & RANDOM_MASK;
+        return new UUID(mostSignificant, leastSignificant);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        return next();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
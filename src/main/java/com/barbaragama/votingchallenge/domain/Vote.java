@@ -5,7 +5,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
@@ -31,16 +31,16 @@ import java.util.UUID;
 @Schema(description = "Represents a vote cast by an associate in a voting session.")
 public class Vote {
     @Id
-    @GeneratedValue
+    @TimeOrderedUuid
     @Schema(description = "Unique identifier for the vote.", example = "e0c8f1b2-3d4e-4a5b-8c6f-7a8b9c0d1e2f")
     private UUID id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "associate_id")
     @Schema(description = "The associate who cast the vote.")
     private Associate associate;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "session_id")
     @Schema(description = "The voting session in which the vote was cast.")
     private Session session;
@@ -0,0 +1,8 @@
+package com.barbaragama.votingchallenge.dto.projection;
+
+import java.util.UUID;
+
+public interface AssociateIdProjection {
+    UUID getId();
+    String getCpf();
+}
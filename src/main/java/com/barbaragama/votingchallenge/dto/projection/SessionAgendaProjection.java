@@ -0,0 +1,12 @@
+package com.barbaragama.votingchallenge.dto.projection;
+
+import com.barbaragama.votingchallenge.enums.SessionStatus;
+
+import java.util.UUID;
+
+public record SessionAgendaProjection(UUID sessionId, SessionStatus sessionStatus, UUID agendaId, String agendaTitle) {
+
+    public boolean isOpen() {
+        return sessionStatus == SessionStatus.OPEN;
+    }
+}
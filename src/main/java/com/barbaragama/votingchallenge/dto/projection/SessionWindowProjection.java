@@ -0,0 +1,12 @@
+package com.barbaragama.votingchallenge.dto.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface SessionWindowProjection {
+    UUID getId();
+    UUID getAgendaId();
+    String getAgendaTitle();
+    LocalDateTime getStartTime();
+    LocalDateTime getEndTime();
+}
@@ -0,0 +1,11 @@
+package com.barbaragama.votingchallenge.dto.projection;
+
+import com.barbaragama.votingchallenge.enums.VoteOption;
+
+import java.util.UUID;
+
+public interface VoteCountProjection {
+    UUID getSessionId();
+    VoteOption getOption();
+    long getTotal();
+}
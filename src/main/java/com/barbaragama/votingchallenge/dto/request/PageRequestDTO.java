@@ -0,0 +1,71 @@
+package com.barbaragama.votingchallenge.dto.request;
+
+import com.barbaragama.votingchallenge.exception.AppException;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+public record PageRequestDTO(Cursor after, int limit) {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    public static PageRequestDTO of(String next, Integer limit) {
+        int size = limit != null ? limit : DEFAULT_LIMIT;
+        if (size < 1 || size > MAX_LIMIT) {
+            throw new AppException("Limit must be between 1 and " + MAX_LIMIT, HttpStatus.BAD_REQUEST);
+        }
+        return new PageRequestDTO(next == null || next.isBlank() ? null : Cursor.decode(next), size);
+    }
+
+    public record Cursor(String key, UUID id) {
+
+        private static final char SEPARATOR = '|';
+
+        public static Cursor of(LocalDateTime key, UUID id) {
+            return new Cursor(key.toString(), id);
+        }
+
+        public static Cursor of(String key) {
+            return new Cursor(key, null);
+        }
+
+        public static Cursor decode(String token) {
+            try {
+                String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+                int separator = decoded.lastIndexOf(SEPARATOR);
+                if (separator < 0) {
+                    throw new IllegalArgumentException("Missing separator");
+                }
+                String id = decoded.substring(separator + 1);
+                return new Cursor(decoded.substring(0, separator), id.isEmpty() ? null : UUID.fromString(id));
+            } catch (IllegalArgumentException e) {
+                throw new AppException("Invalid cursor", HttpStatus.BAD_REQUEST);
+            }
+        }
+
+        public String encode() {
+            String raw = key + SEPARATOR + (id != null ? id : "");
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        public LocalDateTime time() {
+            try {
+                return LocalDateTime.parse(key);
+            } catch (DateTimeParseException e) {
+                throw new AppException("Invalid cursor", HttpStatus.BAD_REQUEST);
+            }
+        }
+
+        public UUID requireId() {
+            if (id == null) {
+                throw new AppException("Invalid cursor", HttpStatus.BAD_REQUEST);
+            }
+            return id;
+        }
+    }
+}
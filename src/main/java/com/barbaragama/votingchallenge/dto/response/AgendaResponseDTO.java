@@ -0,0 +1,30 @@
+package com.barbaragama.votingchallenge.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Agenda response DTO")
+public class AgendaResponseDTO {
+
+    @Schema(description = "Unique identifier for the agenda", example = "123e4567-e89b-12d3-a456-426614174000")
+    private UUID id;
+
+    @Schema(description = "Title of the agenda", example = "Vote on new project")
+    private String title;
+
+    @Schema(description = "Description of the agenda", example = "Vote on the new project proposal for 2025")
+    private String description;
+
+    @Schema(description = "Creation timestamp of the agenda", example = "2023-10-01T12:00:00")
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,22 @@
+package com.barbaragama.votingchallenge.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A row of an associate import that was not imported")
+public class AssociateImportErrorDTO {
+
+    @Schema(description = "Line number in the upload, starting at 1", example = "42")
+    private long line;
+
+    @Schema(description = "CPF given on the row, when it could be read", example = "123.456.789-09")
+    private String cpf;
+
+    @Schema(description = "Why the row was not imported", example = "Invalid CPF")
+    private String message;
+}
@@ -0,0 +1,44 @@
+package com.barbaragama.votingchallenge.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Summary of an associate import")
+public class AssociateImportResponseDTO {
+
+    @Schema(description = "Data rows read from the upload, excluding the CSV header and blank lines", example = "100000")
+    private long rows;
+
+    @Schema(description = "Associates created", example = "99850")
+    private long imported;
+
+    @Schema(description = "Rows whose CPF was already registered", example = "100")
+    private long alreadyExisting;
+
+    @Schema(description = "Rows repeating a CPF seen earlier in the same upload", example = "20")
+    private long duplicates;
+
+    @Schema(description = "Rows rejected as malformed or with an invalid name or CPF", example = "30")
+    private long invalid;
+
+    @Schema(description = "Rows that could not be stored because of a database error and may be sent again", example = "0")
+    private long failed;
+
+    @Schema(description = "Whether the row limit was reached and the rest of the upload was not read", example = "false")
+    private boolean truncated;
+
+    @Schema(description = "Rows that were not imported, up to the configured maximum")
+    private List<AssociateImportErrorDTO> errors;
+
+    @Schema(description = "Whether more rows failed than are listed in errors", example = "false")
+    private boolean errorsTruncated;
+}
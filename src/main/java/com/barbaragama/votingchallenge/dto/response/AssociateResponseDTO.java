@@ -0,0 +1,26 @@
+package com.barbaragama.votingchallenge.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Associate response DTO")
+public class AssociateResponseDTO {
+
+    @Schema(description = "Unique identifier of the associate.", example = "123e4567-e89b-12d3-a456-426614174000")
+    private UUID id;
+
+    @Schema(description = "Name of the associate.", example = "Maria da Silva")
+    private String name;
+
+    @Schema(description = "CPF of the associate.", example = "123.456.789-09")
+    private String cpf;
+}
@@ -0,0 +1,35 @@
+package com.barbaragama.votingchallenge.dto.response;
+
+import com.barbaragama.votingchallenge.dto.request.PageRequestDTO;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A page of results with the cursor for the next one")
+public class PageResponseDTO<T> {
+
+    @Schema(description = "Items in this page")
+    private List<T> items;
+
+    @Schema(description = "Opaque cursor for the next page, absent on the last page", example = "MjAyNS0wMS0wMVQxMDowMHwxMjNlNDU2Nw")
+    private String next;
+
+    /**
+     * Builds a page from a result fetched with {@code limit + 1} rows, the extra row only signalling that another page exists.
+     */
+    public static <E, T> PageResponseDTO<T> of(List<E> fetched, int limit,
+                                               Function<E, PageRequestDTO.Cursor> cursorOf,
+                                               Function<E, T> mapper) {
+        boolean hasNext = fetched.size() > limit;
+        List<E> page = hasNext ? fetched.subList(0, limit) : fetched;
+        String next = hasNext ? cursorOf.apply(page.get(page.size() - 1)).encode() : null;
+        return new PageResponseDTO<>(page.stream().map(mapper).toList(), next);
+    }
+}
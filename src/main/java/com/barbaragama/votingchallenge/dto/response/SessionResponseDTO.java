@@ -2,11 +2,15 @@ package com.barbaragama.votingchallenge.dto.response;
 
 import com.barbaragama.votingchallenge.enums.SessionStatus;
 import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 @Schema(description = "Session response DTO")
 public class SessionResponseDTO {
     @Schema(description = "Session ID", example = "123e4567-e89b-12d3-a456-426614174000")
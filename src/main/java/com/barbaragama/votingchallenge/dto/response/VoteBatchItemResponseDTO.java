@@ -0,0 +1,32 @@
+package com.barbaragama.votingchallenge.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of a single vote in a batch submission")
+public class VoteBatchItemResponseDTO {
+
+    @Schema(description = "Position of the vote in the submitted batch", example = "0")
+    private int index;
+
+    @Schema(description = "ID of the session", example = "123e4567-e89b-12d3-a456-426614174000")
+    private UUID sessionId;
+
+    @Schema(description = "ID of the associate", example = "123e4567-e89b-12d3-a456-426614174000")
+    private UUID associateId;
+
+    @Schema(description = "HTTP status the vote would have received on POST /api/vote", example = "200")
+    private int status;
+
+    @Schema(description = "Message indicating the result of the vote", example = "Vote successfully cast")
+    private String message;
+}
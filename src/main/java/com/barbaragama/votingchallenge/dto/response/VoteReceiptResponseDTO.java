@@ -0,0 +1,36 @@
+package com.barbaragama.votingchallenge.dto.response;
+
+import com.barbaragama.votingchallenge.enums.ReceiptStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Receipt returned for a vote accepted for asynchronous ingestion")
+public class VoteReceiptResponseDTO {
+
+    @Schema(description = "ID of the receipt", example = "123e4567-e89b-12d3-a456-426614174000")
+    private UUID receiptId;
+
+    @Schema(description = "ID of the associate", example = "123e4567-e89b-12d3-a456-426614174000")
+    private UUID associateId;
+
+    @Schema(description = "ID of the session", example = "123e4567-e89b-12d3-a456-426614174000")
+    private UUID sessionId;
+
+    @Schema(description = "Vote option", example = "YES")
+    private String option;
+
+    @Schema(description = "Ingestion status of the vote", example = "PENDING")
+    private ReceiptStatus status;
+
+    @Schema(description = "Message describing the receipt status", example = "Vote accepted for processing")
+    private String message;
+}
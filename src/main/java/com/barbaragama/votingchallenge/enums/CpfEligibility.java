@@ -0,0 +1,7 @@
+package com.barbaragama.votingchallenge.enums;
+
+public enum CpfEligibility {
+    ABLE_TO_VOTE,
+    UNABLE_TO_VOTE,
+    INVALID_CPF
+}
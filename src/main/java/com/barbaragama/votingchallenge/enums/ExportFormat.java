@@ -0,0 +1,35 @@
+package com.barbaragama.votingchallenge.enums;
+
+import com.barbaragama.votingchallenge.exception.AppException;
+import org.springframework.http.HttpStatus;
+
+import java.util.Locale;
+
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static ExportFormat fromString(String format) {
+        try {
+            return ExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new AppException("Invalid export format: " + format, HttpStatus.BAD_REQUEST);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.barbaragama.votingchallenge.enums;
+
+public enum ReceiptStatus {
+    PENDING,
+    PERSISTED,
+    REJECTED,
+    FAILED
+}
@@ -0,0 +1,13 @@
+package com.barbaragama.votingchallenge.enums;
+
+public enum VoteOutcome {
+    ACCEPTED,
+    DUPLICATE,
+    SESSION_CLOSED,
+    SESSION_NOT_FOUND,
+    UNABLE_TO_VOTE,
+    INVALID_CPF,
+    INVALID_OPTION,
+    REJECTED,
+    ERROR
+}
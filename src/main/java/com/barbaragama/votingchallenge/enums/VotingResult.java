@@ -5,4 +5,14 @@ public enum VotingResult {
     APPROVED,
     REJECTED,
     TIE;
-}
\ No newline at end of file
+
+    public static VotingResult fromCounts(long yesVotes, long noVotes) {
+        if (yesVotes > noVotes) {
+            return APPROVED;
+        } else if (noVotes > yesVotes) {
+            return REJECTED;
+        } else {
+            return TIE;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.barbaragama.votingchallenge.event;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record SessionClosedEvent(UUID sessionId, Instant closedAt) {
+}
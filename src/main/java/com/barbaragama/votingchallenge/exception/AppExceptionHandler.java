@@ -1,7 +1,11 @@
 package com.barbaragama.votingchallenge.exception;
 
+import com.barbaragama.votingchallenge.repositories.UniqueKeys;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -9,17 +13,32 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.http.HttpStatus;
 import java.util.stream.Collectors;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import jakarta.validation.UnexpectedTypeException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class AppExceptionHandler {
 
+    // Absent from web slice tests, which load the handler without the persistence layer.
+    private final ObjectProvider<UniqueKeys> uniqueKeys;
+
     @ExceptionHandler(AppException.class)
     public ResponseEntity<ErrorResponse> handleAppException(AppException ex) {
         ErrorResponse error = new ErrorResponse(ex.getMessage());
         return new ResponseEntity<>(error, ex.getStatus());
     }
 
+    @ExceptionHandler(OverloadedException.class)
+    public ResponseEntity<ErrorResponse> handleOverloaded(OverloadedException ex, HttpServletRequest request) {
+        request.setAttribute(OverloadedException.REQUEST_ATTRIBUTE, Boolean.TRUE);
+        ErrorResponse error = new ErrorResponse(ex.getMessage());
+        return new ResponseEntity<>(error, ex.getStatus());
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationExceptions(MethodArgumentNotValidException ex) {
         String messages = ex.getBindingResult().getFieldErrors().stream()
@@ -37,6 +56,32 @@ public class AppExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        UniqueKeys keys = uniqueKeys.getIfAvailable();
+        if (keys != null && keys.isDuplicateVote(ex)) {
+            return new ResponseEntity<>(new ErrorResponse("Associate has already voted in this session"), HttpStatus.FORBIDDEN);
+        }
+        String message = "Request conflicts with existing data";
+        ErrorResponse error = new ErrorResponse(message);
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler({DataAccessResourceFailureException.class, CannotCreateTransactionException.class})
+    public ResponseEntity<ErrorResponse> handleDataAccessResourceFailure(HttpServletRequest request) {
+        request.setAttribute(OverloadedException.REQUEST_ATTRIBUTE, Boolean.TRUE);
+        String message = "Database is busy, try again later";
+        ErrorResponse error = new ErrorResponse(message);
+        return new ResponseEntity<>(error, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleArgumentTypeMismatch(MethodArgumentTypeMismatchException ex) {
+        String message = "Invalid value for parameter " + ex.getName();
+        ErrorResponse error = new ErrorResponse(message);
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(UnexpectedTypeException.class)
     public ResponseEntity<ErrorResponse> handleUnexpectedTypeException(UnexpectedTypeException ex) {
         String message = "Validation error: " + ex.getMessage();
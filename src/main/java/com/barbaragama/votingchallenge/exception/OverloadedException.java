@@ -0,0 +1,17 @@
+package com.barbaragama.votingchallenge.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * A 503 caused by this instance running out of capacity (a full queue, no free connection), as opposed to a dependency
+ * being down. The handler marks the request with {@link #REQUEST_ATTRIBUTE} so the concurrency limiter backs off only
+ * for these.
+ */
+public class OverloadedException extends AppException {
+
+    public static final String REQUEST_ATTRIBUTE = OverloadedException.class.getName();
+
+    public OverloadedException(String message) {
+        super(message, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+}
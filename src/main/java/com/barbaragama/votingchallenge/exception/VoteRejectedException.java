@@ -0,0 +1,16 @@
+package com.barbaragama.votingchallenge.exception;
+
+import com.barbaragama.votingchallenge.enums.VoteOutcome;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+@Getter
+public class VoteRejectedException extends AppException {
+
+    private final VoteOutcome outcome;
+
+    public VoteRejectedException(String message, HttpStatus status, VoteOutcome outcome) {
+        super(message, status);
+        this.outcome = outcome;
+    }
+}
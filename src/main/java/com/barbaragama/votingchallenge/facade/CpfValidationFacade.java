@@ -1,22 +1,145 @@
 package com.barbaragama.votingchallenge.facade;
 
-import com.barbaragama.votingchallenge.client.CpfValidationClient;
+import com.barbaragama.votingchallenge.client.AsyncCpfValidationClient;
+import com.barbaragama.votingchallenge.config.CpfCacheProperties;
+import com.barbaragama.votingchallenge.enums.CpfEligibility;
 import com.barbaragama.votingchallenge.enums.VoteAbility;
-import com.barbaragama.votingchallenge.exception.AppException;
-import lombok.RequiredArgsConstructor;
+import com.barbaragama.votingchallenge.enums.VoteOutcome;
+import com.barbaragama.votingchallenge.exception.VoteRejectedException;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 @Component
-@RequiredArgsConstructor
 public class CpfValidationFacade {
 
-    private final CpfValidationClient validationClient;
+    private final AsyncCpfValidationClient validationClient;
+    private final AsyncCache<String, CpfEligibility> eligibilityCache;
+
+    public CpfValidationFacade(AsyncCpfValidationClient validationClient, CpfCacheProperties properties, MeterRegistry meterRegistry) {
+        this.validationClient = validationClient;
+        this.eligibilityCache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfter(new EligibilityExpiry(properties))
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, eligibilityCache.synchronous(), "cpfEligibility");
+    }
 
     public VoteAbility validateCpfForVoting(String cpf) {
-        if (!validationClient.isCpfValid(cpf)) {
-            throw new AppException("Invalid CPF", HttpStatus.NOT_FOUND);
+        // Concurrent lookups of the same CPF share the first caller's in-flight future; failed futures are not cached.
+        return toVoteAbility(await(eligibilityCache.get(normalize(cpf), (key, executor) -> checkEligibility(key))));
+    }
+
+    /**
+     * Checks every CPF of a vote batch with at most one call to the validation service and returns the eligibilities
+     * keyed by the CPFs as given. A CPF the service leaves out of its answer is looked up on its own.
+     */
+    public Map<String, CpfEligibility> validateCpfsForVoting(Collection<String> cpfs) {
+        Map<String, CpfEligibility> eligibilities = await(lookUp(cpfs));
+        Map<String, CpfEligibility> byCpf = new HashMap<>();
+        for (String cpf : cpfs) {
+            String key = normalize(cpf);
+            CpfEligibility eligibility = eligibilities.get(key);
+            byCpf.put(cpf, eligibility != null ? eligibility : await(eligibilityCache.get(key, (ignored, executor) -> checkEligibility(key))));
+        }
+        return byCpf;
+    }
+
+    public static VoteAbility toVoteAbility(CpfEligibility eligibility) {
+        if (eligibility == CpfEligibility.INVALID_CPF) {
+            throw new VoteRejectedException("Invalid CPF", HttpStatus.NOT_FOUND, VoteOutcome.INVALID_CPF);
         }
-        return validationClient.checkVoteAbility(cpf);
+        return eligibility == CpfEligibility.ABLE_TO_VOTE ? VoteAbility.ABLE_TO_VOTE : VoteAbility.UNABLE_TO_VOTE;
+    }
+
+    public CompletableFuture<Integer> prefetch(Collection<String> cpfs) {
+        return lookUp(cpfs).thenApply(Map::size);
+    }
+
+    /**
+     * Reads the CPFs already known from the cache and checks the others with one batch call, whose results are cached
+     * only once it completes: a vote never waits on a batch, with its longer timeout, or fails with it. CPFs whose single
+     * lookup is still in flight are checked again in the batch rather than awaited.
+     */
+    private CompletableFuture<Map<String, CpfEligibility>> lookUp(Collection<String> cpfs) {
+        Map<String, CpfEligibility> known = new HashMap<>();
+        Set<String> missing = new HashSet<>();
+        for (String cpf : cpfs) {
+            String key = normalize(cpf);
+            CompletableFuture<CpfEligibility> cached = eligibilityCache.getIfPresent(key);
+            if (cached != null && cached.isDone() && !cached.isCompletedExceptionally()) {
+                known.put(key, cached.join());
+            } else {
+                missing.add(key);
+            }
+        }
+        if (missing.isEmpty()) {
+            return CompletableFuture.completedFuture(known);
+        }
+        return validationClient.checkEligibility(Set.copyOf(missing)).thenApply(fetched -> {
+            fetched.forEach((key, eligibility) -> eligibilityCache.put(key, CompletableFuture.completedFuture(eligibility)));
+            Map<String, CpfEligibility> eligibilities = new HashMap<>(known);
+            eligibilities.putAll(fetched);
+            return eligibilities;
+        });
+    }
+
+    private CompletableFuture<CpfEligibility> checkEligibility(String cpf) {
+        return validationClient.isCpfValid(cpf).thenCompose(valid -> {
+            if (!valid) {
+                return CompletableFuture.completedFuture(CpfEligibility.INVALID_CPF);
+            }
+            return validationClient.checkVoteAbility(cpf).thenApply(ability -> ability == VoteAbility.ABLE_TO_VOTE
+                    ? CpfEligibility.ABLE_TO_VOTE
+                    : CpfEligibility.UNABLE_TO_VOTE);
+        });
+    }
+
+    private static <T> T await(CompletableFuture<T> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record EligibilityExpiry(CpfCacheProperties properties) implements Expiry<String, CpfEligibility> {
+
+        @Override
+        public long expireAfterCreate(String cpf, CpfEligibility eligibility, long currentTime) {
+            Duration ttl = eligibility == CpfEligibility.ABLE_TO_VOTE ? properties.positiveTtl() : properties.negativeTtl();
+            return ttl.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String cpf, CpfEligibility eligibility, long currentTime, long currentDuration) {
+            return expireAfterCreate(cpf, eligibility, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String cpf, CpfEligibility eligibility, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    static String normalize(String cpf) {
+        return cpf.replaceAll("\\D", "");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,74 @@
+package com.barbaragama.votingchallenge.filter;
+
+import com.barbaragama.votingchallenge.exception.AppExceptionHandler.ErrorResponse;
+import com.barbaragama.votingchallenge.exception.OverloadedException;
+import com.barbaragama.votingchallenge.service.AdaptiveConcurrencyLimiter;
+import com.barbaragama.votingchallenge.service.AdaptiveConcurrencyLimiter.Permit;
+import com.barbaragama.votingchallenge.service.AdaptiveConcurrencyLimiter.Priority;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Admits {@code /api} requests through the {@link AdaptiveConcurrencyLimiter}. Single votes ({@code POST /api/vote})
+ * are critical and may use the whole limit; batches, receipts, results, agendas, associates and the other endpoints are
+ * low priority, so they are shed first once votes fill the limit. Only a 503 raised by this instance's own saturation
+ * ({@link OverloadedException}, marked on the request) backs the limit off; a 503 passed on from the CPF service does not.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String VOTE_PATH = "/api/vote";
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final ObjectMapper objectMapper;
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter, ObjectMapper objectMapper) {
+        this.limiter = limiter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Optional<Permit> permit = limiter.tryAcquire(priority(request));
+        if (permit.isEmpty()) {
+            reject(response);
+            return;
+        }
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, response);
+            completed = true;
+        } finally {
+            if (!completed || request.isAsyncStarted()) {
+                permit.get().onIgnore();
+            } else if (request.getAttribute(OverloadedException.REQUEST_ATTRIBUTE) != null) {
+                permit.get().onDropped();
+            } else {
+                permit.get().onSuccess();
+            }
+        }
+    }
+
+    static Priority priority(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return HttpMethod.POST.matches(request.getMethod()) && path.equals(VOTE_PATH) ? Priority.CRITICAL : Priority.LOW;
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse("Server is busy, try again later"));
+    }
+}
@@ -0,0 +1,190 @@
+package com.barbaragama.votingchallenge.filter;
+
+import com.barbaragama.votingchallenge.config.RateLimitProperties;
+import com.barbaragama.votingchallenge.exception.AppExceptionHandler.ErrorResponse;
+import com.barbaragama.votingchallenge.service.VoteRateLimiter;
+import com.barbaragama.votingchallenge.service.VoteRateLimiter.Rejection;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Rate limits {@code POST /api/vote} before the controller deserializes the body. The client and global buckets are
+ * checked before the body is read; the body is then read up to {@code maxBodySize} (413 beyond it), only its
+ * {@code cpf} field is pulled out, with a streaming parser, and the bytes are handed on unchanged.
+ * <p>
+ * Clients are keyed by {@link HttpServletRequest#getRemoteAddr()}. Behind a proxy that is the proxy's address unless
+ * {@code server.forward-headers-strategy} is set: {@code native} has Tomcat rewrite it from {@code X-Forwarded-For},
+ * and {@code framework} registers Spring's {@code ForwardedHeaderFilter} ahead of this filter.
+ */
+public class VoteRateLimitFilter extends OncePerRequestFilter {
+
+    private static final Map<VoteRateLimiter.Scope, String> MESSAGES = Map.of(
+            VoteRateLimiter.Scope.CPF, "Too many votes for this CPF, try again later",
+            VoteRateLimiter.Scope.CLIENT, "Too many votes from this client, try again later",
+            VoteRateLimiter.Scope.GLOBAL, "Too many votes, try again later");
+
+    private final VoteRateLimiter voteRateLimiter;
+    private final int maxBodySize;
+    private final ObjectMapper objectMapper;
+
+    public VoteRateLimitFilter(VoteRateLimiter voteRateLimiter, RateLimitProperties properties, ObjectMapper objectMapper) {
+        this.voteRateLimiter = voteRateLimiter;
+        this.maxBodySize = Math.toIntExact(properties.maxBodySize().toBytes());
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String clientAddress = request.getRemoteAddr();
+        Optional<Rejection> rejection = voteRateLimiter.tryAcquireClient(clientAddress);
+        if (rejection.isPresent()) {
+            reject(response, rejection.get());
+            return;
+        }
+        byte[] body = readBody(request);
+        if (body == null) {
+            writeError(response, HttpStatus.PAYLOAD_TOO_LARGE, "Request body exceeds " + maxBodySize + " bytes");
+            return;
+        }
+        rejection = voteRateLimiter.tryAcquireCpf(readCpf(body), clientAddress);
+        if (rejection.isPresent()) {
+            reject(response, rejection.get());
+            return;
+        }
+        filterChain.doFilter(new CachedBodyRequest(request, body), response);
+    }
+
+    // Returns null when the body is larger than maxBodySize, reading at most one byte past it.
+    private byte[] readBody(HttpServletRequest request) throws IOException {
+        if (request.getContentLengthLong() > maxBodySize) {
+            return null;
+        }
+        byte[] body = request.getInputStream().readNBytes(maxBodySize + 1);
+        return body.length > maxBodySize ? null : body;
+    }
+
+    String readCpf(byte[] body) {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("cpf".equals(field) && value == JsonToken.VALUE_STRING) {
+                    // Formatted and bare CPFs share a bucket.
+                    return parser.getText().replaceAll("\\D", "");
+                }
+                parser.skipChildren();
+            }
+        } catch (IOException e) {
+            // Malformed bodies are left for the controller to reject.
+        }
+        return null;
+    }
+
+    private void reject(HttpServletResponse response, Rejection rejection) throws IOException {
+        long seconds = Math.max(1, (rejection.retryAfter().toMillis() + 999) / 1000);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+        writeError(response, HttpStatus.TOO_MANY_REQUESTS, MESSAGES.get(rejection.scope()));
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(message));
+    }
+
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // The whole body is already in memory, so the listener can read it all in one callback.
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        listener.onDataAvailable();
+                        if (isFinished()) {
+                            listener.onAllDataRead();
+                        }
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -1,9 +1,17 @@
 package com.barbaragama.votingchallenge.repositories;
 
 import com.barbaragama.votingchallenge.domain.Agenda;
+import com.barbaragama.votingchallenge.dto.response.AgendaResponseDTO;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Optional;
 import java.util.UUID;
 
-public interface AgendaRepository extends JpaRepository<Agenda, UUID> {
+public interface AgendaRepository extends JpaRepository<Agenda, UUID>, AgendaRepositoryCustom {
+
+    @Query("select new com.barbaragama.votingchallenge.dto.response.AgendaResponseDTO(a.id, a.title, a.description, a.createdAt) "
+            + "from Agenda a where a.id = :id")
+    Optional<AgendaResponseDTO> findResponseById(@Param("id") UUID id);
 }
@@ -0,0 +1,12 @@
+package com.barbaragama.votingchallenge.repositories;
+
+import com.barbaragama.votingchallenge.dto.request.PageRequestDTO;
+import com.barbaragama.votingchallenge.dto.response.AgendaResponseDTO;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface AgendaRepositoryCustom {
+
+    List<AgendaResponseDTO> findPage(LocalDateTime createdAfter, PageRequestDTO page);
+}
@@ -0,0 +1,31 @@
+package com.barbaragama.votingchallenge.repositories;
+
+import com.barbaragama.votingchallenge.domain.Agenda;
+import com.barbaragama.votingchallenge.dto.request.PageRequestDTO;
+import com.barbaragama.votingchallenge.dto.response.AgendaResponseDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RequiredArgsConstructor
+class AgendaRepositoryCustomImpl implements AgendaRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<AgendaResponseDTO> findPage(LocalDateTime createdAfter, PageRequestDTO page) {
+        Specification<Agenda> spec = Specification.where(null);
+        if (createdAfter != null) {
+            spec = spec.and((root, query, cb) -> cb.greaterThan(root.get("createdAt"), createdAfter));
+        }
+        if (page.after() != null) {
+            spec = spec.and(Keyset.after("createdAt", page.after().time(), page.after().requireId()));
+        }
+        return Keyset.page(entityManager, Agenda.class, AgendaResponseDTO.class, spec, "createdAt", page.limit() + 1,
+                root -> new Selection<?>[]{root.get("id"), root.get("title"), root.get("description"), root.get("createdAt")});
+    }
+}
@@ -0,0 +1,28 @@
+package com.barbaragama.votingchallenge.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class AssociateJdbcRepository {
+
+    private static final String INSERT_ASSOCIATE = "insert into associate (id, name, cpf) values (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void batchInsert(List<AssociateRow> rows, int batchSize) {
+        jdbcTemplate.batchUpdate(INSERT_ASSOCIATE, rows, batchSize, (ps, row) -> {
+            ps.setObject(1, row.id());
+            ps.setString(2, row.name());
+            ps.setString(3, row.cpf());
+        });
+    }
+
+    public record AssociateRow(UUID id, String name, String cpf) {
+    }
+}
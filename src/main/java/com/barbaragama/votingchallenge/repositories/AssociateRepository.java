@@ -1,11 +1,39 @@
 package com.barbaragama.votingchallenge.repositories;
 
 import com.barbaragama.votingchallenge.domain.Associate;
+import com.barbaragama.votingchallenge.dto.projection.AssociateIdProjection;
+import com.barbaragama.votingchallenge.dto.response.AssociateResponseDTO;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 public interface AssociateRepository extends JpaRepository<Associate, UUID> {
     Optional<Associate> findByCpf(String cpf);
+    List<Associate> findByCpfIn(Collection<String> cpfs);
+
+    @Query("select new com.barbaragama.votingchallenge.dto.response.AssociateResponseDTO(a.id, a.name, a.cpf) "
+            + "from Associate a where a.cpf > :after order by a.cpf")
+    List<AssociateResponseDTO> findPageAfter(@Param("after") String after, Limit limit);
+
+    @Query("select new com.barbaragama.votingchallenge.dto.response.AssociateResponseDTO(a.id, a.name, a.cpf) from Associate a where a.id = :id")
+    Optional<AssociateResponseDTO> findResponseById(@Param("id") UUID id);
+
+    @Query("select new com.barbaragama.votingchallenge.dto.response.AssociateResponseDTO(a.id, a.name, a.cpf) from Associate a where a.cpf = :cpf")
+    Optional<AssociateResponseDTO> findResponseByCpf(@Param("cpf") String cpf);
+
+    @Query("select a.cpf from Associate a where a.cpf in :cpfs")
+    Set<String> findExistingCpfs(@Param("cpfs") Collection<String> cpfs);
+
+    @Query("select a.cpf from Associate a where a.cpf > :after order by a.cpf")
+    List<String> findCpfsAfter(@Param("after") String after, Limit limit);
+
+    @Query("select a.id as id, a.cpf as cpf from Associate a where a.cpf > :after order by a.cpf")
+    List<AssociateIdProjection> findIdsAfter(@Param("after") String after, Limit limit);
 }
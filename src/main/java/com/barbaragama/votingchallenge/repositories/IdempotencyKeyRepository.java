@@ -0,0 +1,19 @@
+package com.barbaragama.votingchallenge.repositories;
+
+import com.barbaragama.votingchallenge.domain.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+
+    Optional<IdempotencyKey> findByIdempotencyKeyAndExpiresAtAfter(String idempotencyKey, LocalDateTime now);
+
+    @Modifying
+    @Query("delete from IdempotencyKey k where k.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,47 @@
+package com.barbaragama.votingchallenge.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+final class Keyset {
+
+    private Keyset() {
+    }
+
+    /**
+     * Rows strictly after {@code (time, id)} in {@code order by <attribute>, id}, so every page is an index seek instead of an offset scan.
+     */
+    static <T> Specification<T> after(String attribute, LocalDateTime time, UUID id) {
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get(attribute), time),
+                cb.and(cb.equal(root.get(attribute), time), cb.greaterThan(root.get("id"), id)));
+    }
+
+    /**
+     * Up to {@code limit} rows matching {@code spec} in {@code order by <attribute>, id}, selecting only {@code columns}
+     * into {@code type} through a constructor expression rather than loading entities.
+     */
+    static <T, R> List<R> page(EntityManager entityManager, Class<T> entity, Class<R> type, Specification<T> spec,
+                               String attribute, int limit, Function<Root<T>, Selection<?>[]> columns) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<R> query = cb.createQuery(type);
+        Root<T> root = query.from(entity);
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(cb.construct(type, columns.apply(root)))
+                .orderBy(cb.asc(root.get(attribute)), cb.asc(root.get("id")));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
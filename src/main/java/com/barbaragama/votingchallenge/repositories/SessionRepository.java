@@ -1,9 +1,44 @@
 package com.barbaragama.votingchallenge.repositories;
 
 import com.barbaragama.votingchallenge.domain.Session;
+import com.barbaragama.votingchallenge.dto.projection.SessionAgendaProjection;
+import com.barbaragama.votingchallenge.dto.projection.SessionWindowProjection;
+import com.barbaragama.votingchallenge.dto.response.SessionResponseDTO;
+import com.barbaragama.votingchallenge.enums.SessionStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
-public interface SessionRepository extends JpaRepository<Session, UUID> {
+public interface SessionRepository extends JpaRepository<Session, UUID>, SessionRepositoryCustom {
+
+    @Query("select s.id from Session s where s.sessionStatus = :status")
+    List<UUID> findIdsByStatus(@Param("status") SessionStatus status);
+
+    List<Session> findByEndTimeAfter(LocalDateTime now);
+
+    @Query("select s.id as id, a.id as agendaId, a.title as agendaTitle, s.startTime as startTime, s.endTime as endTime "
+            + "from Session s join s.agenda a where s.sessionStatus = :status")
+    List<SessionWindowProjection> findWindowsByStatus(@Param("status") SessionStatus status);
+
+    @Query("select new com.barbaragama.votingchallenge.dto.response.SessionResponseDTO(s.id, s.agenda.id, s.startTime, s.endTime, s.sessionStatus, s.durationMinutes) "
+            + "from Session s where s.id = :id")
+    Optional<SessionResponseDTO> findResponseById(@Param("id") UUID id);
+
+    @Query("select s from Session s join fetch s.agenda where s.id = :id")
+    Optional<Session> findWithAgendaById(@Param("id") UUID id);
+
+    @Query("select new com.barbaragama.votingchallenge.dto.projection.SessionAgendaProjection(s.id, s.sessionStatus, a.id, a.title) "
+            + "from Session s join s.agenda a where s.id = :id")
+    Optional<SessionAgendaProjection> findWithAgendaTitleById(@Param("id") UUID id);
+
+    @Modifying
+    @Query("update Session s set s.sessionStatus = com.barbaragama.votingchallenge.enums.SessionStatus.CLOSED where s.id in :ids")
+    int closeSessions(@Param("ids") Collection<UUID> ids);
 }
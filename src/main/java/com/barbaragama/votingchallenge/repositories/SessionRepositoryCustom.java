@@ -0,0 +1,14 @@
+package com.barbaragama.votingchallenge.repositories;
+
+import com.barbaragama.votingchallenge.dto.request.PageRequestDTO;
+import com.barbaragama.votingchallenge.dto.response.SessionResponseDTO;
+import com.barbaragama.votingchallenge.enums.SessionStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface SessionRepositoryCustom {
+
+    List<SessionResponseDTO> findPage(SessionStatus status, UUID agendaId, LocalDateTime createdAfter, PageRequestDTO page);
+}
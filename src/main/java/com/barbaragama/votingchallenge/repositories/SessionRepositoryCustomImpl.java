@@ -0,0 +1,41 @@
+package com.barbaragama.votingchallenge.repositories;
+
+import com.barbaragama.votingchallenge.domain.Session;
+import com.barbaragama.votingchallenge.dto.request.PageRequestDTO;
+import com.barbaragama.votingchallenge.dto.response.SessionResponseDTO;
+import com.barbaragama.votingchallenge.enums.SessionStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+class SessionRepositoryCustomImpl implements SessionRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<SessionResponseDTO> findPage(SessionStatus status, UUID agendaId, LocalDateTime createdAfter, PageRequestDTO page) {
+        Specification<Session> spec = Specification.where(null);
+        if (status != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("sessionStatus"), status));
+        }
+        if (agendaId != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("agenda").get("id"), agendaId));
+        }
+        if (createdAfter != null) {
+            spec = spec.and((root, query, cb) -> cb.greaterThan(root.get("startTime"), createdAfter));
+        }
+        if (page.after() != null) {
+            spec = spec.and(Keyset.after("startTime", page.after().time(), page.after().requireId()));
+        }
+        // agenda.id is the foreign key column, so no join to agenda is needed.
+        return Keyset.page(entityManager, Session.class, SessionResponseDTO.class, spec, "startTime", page.limit() + 1,
+                root -> new Selection<?>[]{root.get("id"), root.get("agenda").get("id"), root.get("startTime"),
+                        root.get("endTime"), root.get("sessionStatus"), root.get("durationMinutes")});
+    }
+}
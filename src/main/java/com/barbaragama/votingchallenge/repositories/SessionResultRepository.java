@@ -0,0 +1,9 @@
+package com.barbaragama.votingchallenge.repositories;
+
+import com.barbaragama.votingchallenge.domain.SessionResult;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.UUID;
+
+public interface SessionResultRepository extends JpaRepository<SessionResult, UUID> {
+}
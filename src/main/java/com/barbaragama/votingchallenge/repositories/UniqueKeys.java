@@ -0,0 +1,64 @@
+package com.barbaragama.votingchallenge.repositories;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.exception.spi.ViolatedConstraintNameExtractor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.util.Locale;
+
+/**
+ * Recognizes violations of the unique keys the migrations declare by the name of the violated constraint, which
+ * Hibernate reads for the configured database, whether the insert went through JPA or plain JDBC.
+ */
+@Component
+public class UniqueKeys {
+
+    static final String VOTE_ASSOCIATE_SESSION_KEY = "uk_vote_associate_session";
+    static final String ASSOCIATE_CPF_KEY = "uk_associate_cpf";
+
+    private final ViolatedConstraintNameExtractor constraintNames;
+
+    @Autowired
+    public UniqueKeys(EntityManagerFactory entityManagerFactory) {
+        this(entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect()
+                .getViolatedConstraintNameExtractor());
+    }
+
+    public UniqueKeys(ViolatedConstraintNameExtractor constraintNames) {
+        this.constraintNames = constraintNames;
+    }
+
+    public boolean isDuplicateVote(Throwable failure) {
+        return violates(failure, VOTE_ASSOCIATE_SESSION_KEY);
+    }
+
+    public boolean isDuplicateCpf(Throwable failure) {
+        return violates(failure, ASSOCIATE_CPF_KEY);
+    }
+
+    private boolean violates(Throwable failure, String key) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return isKey(violation.getConstraintName(), key);
+            }
+            if (cause instanceof SQLException sql) {
+                return isKey(constraintNames.extractConstraintName(sql), key);
+            }
+        }
+        return false;
+    }
+
+    // H2 reports the index backing the constraint (uk_vote_associate_session_index_2), qualified by its schema.
+    private static boolean isKey(String constraintName, String key) {
+        if (constraintName == null) {
+            return false;
+        }
+        String name = constraintName.replace("\"", "").toLowerCase(Locale.ROOT);
+        name = name.substring(name.lastIndexOf('.') + 1);
+        return name.equals(key) || name.startsWith(key + "_index_");
+    }
+}
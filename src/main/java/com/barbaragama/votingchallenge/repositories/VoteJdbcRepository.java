@@ -0,0 +1,62 @@
+package com.barbaragama.votingchallenge.repositories;
+
+import com.barbaragama.votingchallenge.enums.VoteOption;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+@Repository
+@RequiredArgsConstructor
+public class VoteJdbcRepository {
+
+    private static final String INSERT_VOTE =
+            "insert into vote (id, associate_id, session_id, option, voted_at) values (?, ?, ?, ?, ?)";
+
+    private static final String SELECT_SESSION_VOTES =
+            "select v.id, v.associate_id, a.cpf, v.option, v.voted_at from vote v join associate a on a.id = v.associate_id "
+                    + "where v.session_id = ? order by v.voted_at, v.id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void batchInsert(List<VoteRow> rows, int batchSize) {
+        jdbcTemplate.batchUpdate(INSERT_VOTE, rows, batchSize, (ps, row) -> {
+            ps.setObject(1, row.id());
+            ps.setObject(2, row.associateId());
+            ps.setObject(3, row.sessionId());
+            ps.setString(4, row.option().name());
+            ps.setTimestamp(5, Timestamp.valueOf(row.votedAt()));
+        });
+    }
+
+    /**
+     * Streams the votes of a session through a forward-only, read-only cursor so only {@code fetchSize} rows are held at once.
+     */
+    public void streamBySession(UUID sessionId, int fetchSize, Consumer<VoteExportRow> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(SELECT_SESSION_VOTES, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            ps.setObject(1, sessionId);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(new VoteExportRow(
+                rs.getObject(1, UUID.class),
+                rs.getObject(2, UUID.class),
+                rs.getString(3),
+                VoteOption.valueOf(rs.getString(4)),
+                rs.getTimestamp(5).toLocalDateTime())));
+    }
+
+    public record VoteExportRow(UUID voteId, UUID associateId, String cpf, VoteOption option, LocalDateTime votedAt) {
+    }
+
+    public record VoteRow(UUID id, UUID associateId, UUID sessionId, VoteOption option, LocalDateTime votedAt) {
+    }
+}
@@ -1,13 +1,40 @@
 package com.barbaragama.votingchallenge.repositories;
 
 import com.barbaragama.votingchallenge.domain.Vote;
+import com.barbaragama.votingchallenge.dto.projection.VoteCountProjection;
 import com.barbaragama.votingchallenge.enums.VoteOption;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 public interface VoteRepository extends JpaRepository<Vote, UUID> {
-    boolean existsByAssociateIdAndSessionId(UUID associateId, UUID sessionId);
-    long countBySessionId(UUID sessionId);
-    long countBySessionIdAndOptionEquals(UUID sessionId, VoteOption option);
+    // Derived queries on associateId/sessionId join the associate and session tables, which keeps H2 from using the
+    // vote indexes; these compare the foreign key columns directly instead.
+    @Query("select count(v) > 0 from Vote v where v.associate.id = :associateId and v.session.id = :sessionId")
+    boolean existsByAssociateIdAndSessionId(@Param("associateId") UUID associateId, @Param("sessionId") UUID sessionId);
+
+    @Query("select count(v) from Vote v where v.session.id = :sessionId")
+    long countBySessionId(@Param("sessionId") UUID sessionId);
+
+    @Query("select count(v) from Vote v where v.session.id = :sessionId and v.option = :option")
+    long countBySessionIdAndOptionEquals(@Param("sessionId") UUID sessionId, @Param("option") VoteOption option);
+
+    @Query("select v.session.id as sessionId, v.option as option, count(*) as total " +
+            "from Vote v where v.session.id in :sessionIds group by v.session.id, v.option")
+    List<VoteCountProjection> countGroupedBySessionAndOption(@Param("sessionIds") Collection<UUID> sessionIds);
+
+    @Query("select v.session.id as sessionId, v.option as option, count(*) as total " +
+            "from Vote v where v.session.id = :sessionId group by v.session.id, v.option")
+    List<VoteCountProjection> countGroupedByOption(@Param("sessionId") UUID sessionId);
+
+    @Query("select v.associate.id from Vote v where v.session.id = :sessionId and v.associate.id in :associateIds")
+    Set<UUID> findVotedAssociateIds(@Param("sessionId") UUID sessionId, @Param("associateIds") Collection<UUID> associateIds);
+
+    @Query("select v.associate.id from Vote v where v.session.id = :sessionId")
+    List<UUID> findAssociateIdsBySessionId(@Param("sessionId") UUID sessionId);
 }
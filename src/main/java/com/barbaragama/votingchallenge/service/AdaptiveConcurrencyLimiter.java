@@ -0,0 +1,166 @@
+package com.barbaragama.votingchallenge.service;
+
+import com.barbaragama.votingchallenge.config.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps the requests in flight with a limit that follows latency, in the style of a gradient limiter: while recent
+ * latency stays near the long-term average the limit grows by a fraction of its square root per window, and as recent latency
+ * rises above it the limit shrinks in proportion. Requests answered with 503 (a saturated connection pool) cut the
+ * limit multiplicatively at once, as AIMD does on a drop.
+ */
+@Slf4j
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    public enum Priority {
+        CRITICAL,
+        LOW
+    }
+
+    private final ConcurrencyLimitProperties properties;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<Priority, Counter> rejections = new EnumMap<>(Priority.class);
+
+    private volatile int limit;
+
+    // Guarded by this; only touched once per request, after it completes.
+    private double estimatedLimit;
+    private double longLatency;
+    private long windowStart;
+    private long windowLatencySum;
+    private int windowSamples;
+    private int windowMaxInFlight;
+
+    public AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.estimatedLimit = properties.initialLimit();
+        this.limit = properties.initialLimit();
+        this.windowStart = System.nanoTime();
+        for (Priority priority : Priority.values()) {
+            rejections.put(priority, Counter.builder("voting.concurrency.rejections")
+                    .description("Requests shed by the adaptive concurrency limiter")
+                    .tag("priority", priority.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+        Gauge.builder("voting.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive limit on requests in flight")
+                .register(meterRegistry);
+        Gauge.builder("voting.concurrency.in.flight", inFlight, AtomicInteger::get)
+                .description("Requests currently holding a concurrency permit")
+                .register(meterRegistry);
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public Optional<Permit> tryAcquire(Priority priority) {
+        return tryAcquire(priority, System.nanoTime());
+    }
+
+    Optional<Permit> tryAcquire(Priority priority, long now) {
+        int currentLimit = limit;
+        int allowed = priority == Priority.CRITICAL
+                ? currentLimit
+                : Math.max(1, (int) (currentLimit * properties.lowPriorityShare()));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                rejections.get(priority).increment();
+                return Optional.empty();
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return Optional.of(new Permit(now, current + 1));
+            }
+        }
+    }
+
+    private synchronized void onSample(long latencyNanos, int inFlightAtStart, long now) {
+        windowLatencySum += latencyNanos;
+        windowSamples++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlightAtStart);
+        if (now - windowStart < properties.window().toNanos() || windowSamples < properties.minWindowSamples()) {
+            return;
+        }
+        double shortLatency = (double) windowLatencySum / windowSamples;
+        int maxInFlight = windowMaxInFlight;
+        windowStart = now;
+        windowLatencySum = 0;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+
+        if (longLatency == 0) {
+            longLatency = shortLatency;
+            return;
+        }
+        longLatency += (shortLatency - longLatency) / properties.longWindows();
+        if (longLatency > shortLatency * 2) {
+            // Latency dropped for good (a warmed cache, a lighter mix); let the baseline follow it down faster.
+            longLatency *= 0.95;
+        }
+        if (maxInFlight < estimatedLimit / 2) {
+            // The limit was not what held requests back, so this window says nothing about raising it.
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, properties.latencyTolerance() * longLatency / shortLatency));
+        double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        update(estimatedLimit * (1 - properties.smoothing()) + target * properties.smoothing());
+    }
+
+    private synchronized void onDropped() {
+        update(estimatedLimit * properties.backoffRatio());
+    }
+
+    private void update(double newLimit) {
+        estimatedLimit = Math.max(properties.minLimit(), Math.min(properties.maxLimit(), newLimit));
+        int rounded = (int) estimatedLimit;
+        if (rounded != limit) {
+            log.debug("Concurrency limit changed from {} to {}", limit, rounded);
+            limit = rounded;
+        }
+    }
+
+    public final class Permit {
+        private final long start;
+        private final int inFlightAtStart;
+
+        private Permit(long start, int inFlightAtStart) {
+            this.start = start;
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        public void onSuccess() {
+            onSuccess(System.nanoTime());
+        }
+
+        void onSuccess(long now) {
+            inFlight.decrementAndGet();
+            onSample(now - start, inFlightAtStart, now);
+        }
+
+        public void onDropped() {
+            inFlight.decrementAndGet();
+            AdaptiveConcurrencyLimiter.this.onDropped();
+        }
+
+        // For requests whose latency says nothing about load, such as streams that continue asynchronously.
+        public void onIgnore() {
+            inFlight.decrementAndGet();
+        }
+    }
+}
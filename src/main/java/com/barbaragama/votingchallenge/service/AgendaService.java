@@ -1,6 +1,9 @@
 package com.barbaragama.votingchallenge.service;
 
 import com.barbaragama.votingchallenge.dto.request.AgendaRequestDTO;
+import com.barbaragama.votingchallenge.dto.request.PageRequestDTO;
+import com.barbaragama.votingchallenge.dto.response.AgendaResponseDTO;
+import com.barbaragama.votingchallenge.dto.response.PageResponseDTO;
 import com.barbaragama.votingchallenge.exception.AppException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -9,8 +12,9 @@ import com.barbaragama.votingchallenge.domain.Agenda;
 import com.barbaragama.votingchallenge.repositories.AgendaRepository;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.time.LocalDateTime;
 import java.util.UUID;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
@@ -19,21 +23,23 @@ public class AgendaService {
     private final AgendaRepository agendaRepository;
 
     @Transactional
-    public Agenda createAgenda(AgendaRequestDTO agendaRequestDTO) {
+    public AgendaResponseDTO createAgenda(AgendaRequestDTO agendaRequestDTO) {
         Agenda agenda = Agenda.builder()
                 .title(agendaRequestDTO.getTitle())
                 .description(agendaRequestDTO.getDescription())
                 .build();
 
-        return agendaRepository.save(agenda);
+        Agenda created = agendaRepository.save(agenda);
+        return new AgendaResponseDTO(created.getId(), created.getTitle(), created.getDescription(), created.getCreatedAt());
     }
 
-    public List<Agenda> getAllAgendas() {
-        return agendaRepository.findAll();
+    public PageResponseDTO<AgendaResponseDTO> getAgendas(LocalDateTime createdAfter, PageRequestDTO page) {
+        return PageResponseDTO.of(agendaRepository.findPage(createdAfter, page), page.limit(),
+                agenda -> PageRequestDTO.Cursor.of(agenda.getCreatedAt(), agenda.getId()), Function.identity());
     }
 
-    public Agenda getAgendaById(UUID id) {
-        return agendaRepository.findById(id)
+    public AgendaResponseDTO getAgendaById(UUID id) {
+        return agendaRepository.findResponseById(id)
                 .orElseThrow(() -> new AppException("Agenda not found.", HttpStatus.NOT_FOUND));
     }
 }
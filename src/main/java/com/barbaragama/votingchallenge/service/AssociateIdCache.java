@@ -0,0 +1,75 @@
+package com.barbaragama.votingchallenge.service;
+
+import com.barbaragama.votingchallenge.config.AssociateCacheProperties;
+import com.barbaragama.votingchallenge.dto.projection.AssociateIdProjection;
+import com.barbaragama.votingchallenge.repositories.AssociateRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@Component
+public class AssociateIdCache implements SmartInitializingSingleton {
+
+    private final AssociateRepository associateRepository;
+    private final AssociateCacheProperties properties;
+    private final Cache<String, UUID> ids;
+
+    public AssociateIdCache(AssociateRepository associateRepository, AssociateCacheProperties properties, MeterRegistry meterRegistry) {
+        this.associateRepository = associateRepository;
+        this.properties = properties;
+        this.ids = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, ids, "associateIds");
+        Gauge.builder("voting.associate.cache.hit.ratio", ids, cache -> cache.stats().hitRate())
+                .description("Share of CPF lookups answered without querying the associate table")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        String after = "";
+        long loaded = 0;
+        List<AssociateIdProjection> chunk;
+        do {
+            chunk = associateRepository.findIdsAfter(after, Limit.of(properties.warmChunkSize()));
+            chunk.forEach(associate -> ids.put(associate.getCpf(), associate.getId()));
+            loaded += chunk.size();
+            if (!chunk.isEmpty()) {
+                after = chunk.get(chunk.size() - 1).getCpf();
+            }
+        } while (chunk.size() == properties.warmChunkSize() && loaded < properties.maximumSize());
+        log.info("Associate ID cache warmed with {} associates", loaded);
+    }
+
+    public UUID get(String cpf) {
+        return ids.getIfPresent(cpf);
+    }
+
+    // Keyed by the CPF exactly as stored, the same value the unique constraint applies to.
+    public void put(String cpf, UUID id) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    ids.put(cpf, id);
+                }
+            });
+        } else {
+            ids.put(cpf, id);
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.barbaragama.votingchallenge.service;
+
+import com.barbaragama.votingchallenge.config.AssociateImportProperties;
+import com.barbaragama.votingchallenge.domain.TimeOrderedUuidGenerator;
+import com.barbaragama.votingchallenge.dto.request.AssociateRequestDTO;
+import com.barbaragama.votingchallenge.dto.response.AssociateImportErrorDTO;
+import com.barbaragama.votingchallenge.dto.response.AssociateImportResponseDTO;
+import com.barbaragama.votingchallenge.exception.AppException;
+import com.barbaragama.votingchallenge.repositories.AssociateJdbcRepository;
+import com.barbaragama.votingchallenge.repositories.AssociateJdbcRepository.AssociateRow;
+import com.barbaragama.votingchallenge.repositories.AssociateRepository;
+import com.barbaragama.votingchallenge.repositories.UniqueKeys;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Imports associates from a CSV ({@code name,cpf}) or NDJSON upload, reading it line by line so only one chunk of rows
+ * is held at a time. Each chunk resolves its existing CPFs with one query and inserts the new ones with JDBC batches in
+ * its own transaction, so a failure late in a large file keeps the chunks already imported. CPFs are compared by their
+ * digits, masked or not, and imported unmasked.
+ */
+@Slf4j
+@Service
+public class AssociateImportService {
+
+    private static final int MAX_NAME_LENGTH = 255;
+
+    private final AssociateRepository associateRepository;
+    private final AssociateJdbcRepository associateJdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final UniqueKeys uniqueKeys;
+    private final ObjectReader ndjsonReader;
+    private final AssociateImportProperties properties;
+
+    public AssociateImportService(AssociateRepository associateRepository,
+                                  AssociateJdbcRepository associateJdbcRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  UniqueKeys uniqueKeys,
+                                  ObjectMapper objectMapper,
+                                  AssociateImportProperties properties) {
+        this.associateRepository = associateRepository;
+        this.associateJdbcRepository = associateJdbcRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.uniqueKeys = uniqueKeys;
+        this.ndjsonReader = objectMapper.readerFor(AssociateRequestDTO.class);
+        this.properties = properties;
+    }
+
+    public AssociateImportResponseDTO importCsv(InputStream body) {
+        return importRows(body, true);
+    }
+
+    public AssociateImportResponseDTO importNdjson(InputStream body) {
+        return importRows(body, false);
+    }
+
+    private AssociateImportResponseDTO importRows(InputStream body, boolean csv) {
+        Summary summary = new Summary();
+        Set<String> seen = new HashSet<>();
+        List<ImportRow> chunk = new ArrayList<>(properties.chunkSize());
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (lineNumber == 1 && line.startsWith("\uFEFF")) {
+                    line = line.substring(1);
+                }
+                if (line.isBlank() || (csv && lineNumber == 1 && isCsvHeader(line))) {
+                    continue;
+                }
+                if (summary.rows == properties.maxRows()) {
+                    summary.truncate(lineNumber);
+                    break;
+                }
+                summary.rows++;
+                ImportRow row = csv ? parseCsv(lineNumber, line) : parseNdjson(lineNumber, line);
+                String problem = validate(row);
+                if (problem != null) {
+                    summary.invalid++;
+                    summary.error(row.line, row.cpf, problem);
+                } else if (!seen.add(row.digits())) {
+                    summary.duplicates++;
+                    summary.error(row.line, row.cpf, "Duplicate CPF in the upload");
+                } else {
+                    chunk.add(row);
+                    if (chunk.size() == properties.chunkSize()) {
+                        importChunk(chunk, summary);
+                        chunk.clear();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new AppException("Body could not be read", HttpStatus.BAD_REQUEST);
+        }
+        importChunk(chunk, summary);
+        log.info("Associate import read {} rows: {} imported, {} existing, {} duplicates, {} invalid, {} failed",
+                summary.rows, summary.imported, summary.alreadyExisting, summary.duplicates, summary.invalid, summary.failed);
+        return summary.toResponse();
+    }
+
+    private static boolean isCsvHeader(String line) {
+        List<String> fields = splitCsv(line);
+        return fields != null && fields.get(0).trim().equalsIgnoreCase("name");
+    }
+
+    private ImportRow parseCsv(long line, String text) {
+        List<String> fields = splitCsv(text);
+        return fields == null || fields.size() != 2
+                ? new ImportRow(line, null, null, "Malformed row, expected name,cpf")
+                : new ImportRow(line, fields.get(0).trim(), fields.get(1).trim(), null);
+    }
+
+    private ImportRow parseNdjson(long line, String text) {
+        try {
+            AssociateRequestDTO request = ndjsonReader.readValue(text);
+            return new ImportRow(line, trim(request.getName()), trim(request.getCpf()), null);
+        } catch (JsonProcessingException e) {
+            return new ImportRow(line, null, null, "Malformed JSON row");
+        }
+    }
+
+    private String validate(ImportRow row) {
+        if (row.problem != null) {
+            return row.problem;
+        }
+        if (row.name == null || row.name.isEmpty()) {
+            return "Name is required";
+        }
+        if (row.name.length() > MAX_NAME_LENGTH) {
+            return "Name exceeds " + MAX_NAME_LENGTH + " characters";
+        }
+        if (row.cpf == null || row.cpf.isEmpty()) {
+            return "CPF is required";
+        }
+        return CpfChecksum.isValid(row.cpf) ? null : "Invalid CPF";
+    }
+
+    private void importChunk(List<ImportRow> chunk, Summary summary) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        // Associates registered through the API keep the CPF as it was sent, so both forms are looked up.
+        List<String> cpfs = new ArrayList<>(chunk.size() * 2);
+        for (ImportRow row : chunk) {
+            cpfs.add(row.digits());
+            cpfs.add(CpfChecksum.masked(row.digits()));
+        }
+        Set<String> existing = new HashSet<>();
+        for (String cpf : associateRepository.findExistingCpfs(cpfs)) {
+            existing.add(CpfChecksum.digits(cpf));
+        }
+        List<ImportRow> fresh = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            if (existing.contains(row.digits())) {
+                summary.alreadyExisting++;
+                summary.error(row.line, row.cpf, "Associate already exists");
+            } else {
+                fresh.add(row);
+            }
+        }
+        if (fresh.isEmpty()) {
+            return;
+        }
+        List<AssociateRow> rows = fresh.stream().map(ImportRow::toAssociateRow).toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> associateJdbcRepository.batchInsert(rows, properties.insertBatchSize()));
+            summary.imported += rows.size();
+        } catch (DataAccessException e) {
+            log.warn("Batch insert of {} associates failed, retrying one by one: {}", rows.size(), e.getMessage());
+            for (int i = 0; i < rows.size(); i++) {
+                importSingle(fresh.get(i), rows.get(i), summary);
+            }
+        }
+    }
+
+    private void importSingle(ImportRow row, AssociateRow associate, Summary summary) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> associateJdbcRepository.batchInsert(List.of(associate), 1));
+            summary.imported++;
+        } catch (DataAccessException e) {
+            if (uniqueKeys.isDuplicateCpf(e)) {
+                // A concurrent request registered the CPF after this chunk was resolved.
+                summary.alreadyExisting++;
+                summary.error(row.line, row.cpf, "Associate already exists");
+            } else {
+                summary.failed++;
+                summary.error(row.line, row.cpf, "Associate could not be stored: " + reason(e));
+            }
+        }
+    }
+
+    private static String reason(DataAccessException e) {
+        String cause = e.getMostSpecificCause().getMessage();
+        return cause == null ? e.getMostSpecificCause().getClass().getSimpleName() : cause.lines().findFirst().orElse(cause);
+    }
+
+    /**
+     * Splits a CSV line, honouring double-quoted fields and {@code ""} escapes. Returns {@code null} for an unterminated quote.
+     */
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>(2);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String trim(String value) {
+        return value == null ? null : value.trim();
+    }
+
+    private record ImportRow(long line, String name, String cpf, String problem) {
+        String digits() {
+            return CpfChecksum.digits(cpf);
+        }
+
+        AssociateRow toAssociateRow() {
+            return new AssociateRow(TimeOrderedUuidGenerator.next(), name, digits());
+        }
+    }
+
+    private final class Summary {
+        private long rows;
+        private long imported;
+        private long alreadyExisting;
+        private long duplicates;
+        private long invalid;
+        private long failed;
+        private boolean truncated;
+        private boolean errorsTruncated;
+        private final List<AssociateImportErrorDTO> errors = new ArrayList<>();
+
+        private void error(long line, String cpf, String message) {
+            if (errors.size() < properties.maxErrors()) {
+                errors.add(new AssociateImportErrorDTO(line, cpf, message));
+            } else {
+                errorsTruncated = true;
+            }
+        }
+
+        private void truncate(long line) {
+            truncated = true;
+            error(line, null, "Row limit of " + properties.maxRows() + " reached, the rest of the upload was not read");
+        }
+
+        private AssociateImportResponseDTO toResponse() {
+            return AssociateImportResponseDTO.builder()
+                    .rows(rows)
+                    .imported(imported)
+                    .alreadyExisting(alreadyExisting)
+                    .duplicates(duplicates)
+                    .invalid(invalid)
+                    .failed(failed)
+                    .truncated(truncated)
+                    .errors(errors)
+                    .errorsTruncated(errorsTruncated)
+                    .build();
+        }
+    }
+}
@@ -2,61 +2,82 @@ package com.barbaragama.votingchallenge.service;
 
 import com.barbaragama.votingchallenge.domain.Associate;
 import com.barbaragama.votingchallenge.dto.request.AssociateRequestDTO;
+import com.barbaragama.votingchallenge.dto.request.PageRequestDTO;
+import com.barbaragama.votingchallenge.dto.response.AssociateResponseDTO;
+import com.barbaragama.votingchallenge.dto.response.PageResponseDTO;
 import com.barbaragama.votingchallenge.enums.VoteAbility;
+import com.barbaragama.votingchallenge.enums.VoteOutcome;
 import com.barbaragama.votingchallenge.exception.AppException;
+import com.barbaragama.votingchallenge.exception.VoteRejectedException;
 import com.barbaragama.votingchallenge.facade.CpfValidationFacade;
 import com.barbaragama.votingchallenge.repositories.AssociateRepository;
-import com.barbaragama.votingchallenge.repositories.VoteRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 public class AssociateService {
 
     private final AssociateRepository associateRepository;
-    private final VoteRepository voteRepository;
+    private final VotedAssociateRegistry votedAssociateRegistry;
     private final CpfValidationFacade cpfValidationFacade;
+    private final AssociateIdCache associateIdCache;
+    private final VoteMetrics voteMetrics;
 
-    public List<Associate> getAllAssociates() {
-        return associateRepository.findAll();
+    public PageResponseDTO<AssociateResponseDTO> getAssociates(PageRequestDTO page) {
+        String after = page.after() != null ? page.after().key() : "";
+        return PageResponseDTO.of(associateRepository.findPageAfter(after, Limit.of(page.limit() + 1)), page.limit(),
+                associate -> PageRequestDTO.Cursor.of(associate.getCpf()), Function.identity());
     }
 
-    public Associate getAssociate(String cpf) {
-        return associateRepository.findByCpf(cpf)
-                .orElseThrow(() -> new AppException("Associate not found", HttpStatus.NOT_FOUND));
+    public AssociateResponseDTO getAssociate(String cpf) {
+        UUID cachedId = associateIdCache.get(cpf);
+        Optional<AssociateResponseDTO> associate = cachedId != null
+                ? associateRepository.findResponseById(cachedId)
+                : associateRepository.findResponseByCpf(cpf);
+        associate.ifPresent(found -> associateIdCache.put(found.getCpf(), found.getId()));
+        return associate.orElseThrow(() -> new AppException("Associate not found", HttpStatus.NOT_FOUND));
     }
 
-    public Associate createAssociate(AssociateRequestDTO associateRequestDTO) {
-        if (associateRepository.findByCpf(associateRequestDTO.getCpf()).isPresent()) {
+    public AssociateResponseDTO createAssociate(AssociateRequestDTO associateRequestDTO) {
+        if (associateIdCache.get(associateRequestDTO.getCpf()) != null || findAndCache(associateRequestDTO.getCpf()).isPresent()) {
             throw new AppException("Associate already exists", HttpStatus.CONFLICT);
         }
         Associate associate = Associate.builder()
                 .name(associateRequestDTO.getName())
                 .cpf(associateRequestDTO.getCpf())
                 .build();
-        return associateRepository.save(associate);
+        Associate created = associateRepository.save(associate);
+        associateIdCache.put(created.getCpf(), created.getId());
+        return new AssociateResponseDTO(created.getId(), created.getName(), created.getCpf());
     }
 
     public Associate validateAndGetAssociate(String name, String cpf, UUID sessionId) {
-        Associate associate = associateRepository.findByCpf(cpf)
-                .orElse(null);
+        Associate associate = voteMetrics.time(VoteMetrics.Stage.ASSOCIATE_LOOKUP, () -> {
+            UUID cachedId = associateIdCache.get(cpf);
+            return cachedId != null
+                    ? associateRepository.getReferenceById(cachedId)
+                    : findAndCache(cpf).orElse(null);
+        });
 
         if (!Objects.isNull(associate)) {
-            boolean hasVoted = voteRepository.existsByAssociateIdAndSessionId(associate.getId(), sessionId);
+            UUID associateId = associate.getId();
+            boolean hasVoted = voteMetrics.time(VoteMetrics.Stage.DUPLICATE_CHECK, () -> votedAssociateRegistry.hasVoted(sessionId, associateId));
             if (hasVoted) {
-                throw new AppException("Associate has already voted in this session", HttpStatus.FORBIDDEN);
+                throw new VoteRejectedException("Associate has already voted in this session", HttpStatus.FORBIDDEN, VoteOutcome.DUPLICATE);
             }
         }
 
-        VoteAbility ability = cpfValidationFacade.validateCpfForVoting(cpf);
+        VoteAbility ability = voteMetrics.time(VoteMetrics.Stage.CPF_VALIDATION, () -> cpfValidationFacade.validateCpfForVoting(cpf));
         if (ability == VoteAbility.UNABLE_TO_VOTE) {
-            throw new AppException("Associate is not able to vote", HttpStatus.FORBIDDEN);
+            throw new VoteRejectedException("Associate is not able to vote", HttpStatus.FORBIDDEN, VoteOutcome.UNABLE_TO_VOTE);
         }
 
         if (Objects.isNull(associate)) {
@@ -64,8 +85,15 @@ public class AssociateService {
             associate.setName(name);
             associate.setCpf(cpf);
             associate = associateRepository.save(associate);
+            associateIdCache.put(associate.getCpf(), associate.getId());
         }
 
         return associate;
     }
+
+    private Optional<Associate> findAndCache(String cpf) {
+        Optional<Associate> associate = associateRepository.findByCpf(cpf);
+        associate.ifPresent(found -> associateIdCache.put(found.getCpf(), found.getId()));
+        return associate;
+    }
 }
\ No newline at end of file
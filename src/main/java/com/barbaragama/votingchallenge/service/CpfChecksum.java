@@ -0,0 +1,62 @@
+package com.barbaragama.votingchallenge.service;
+
+/**
+ * CPF check-digit validation in a single pass over the characters, without regular expressions. Accepts the same inputs as
+ * {@code @CPF}: eleven digits, or the {@code 000.000.000-00} mask.
+ */
+public final class CpfChecksum {
+
+    private CpfChecksum() {
+    }
+
+    public static boolean isValid(String cpf) {
+        if (cpf == null) {
+            return false;
+        }
+        int length = cpf.length();
+        if (length != 11 && !(length == 14 && cpf.charAt(3) == '.' && cpf.charAt(7) == '.' && cpf.charAt(11) == '-')) {
+            return false;
+        }
+        int[] digits = new int[11];
+        int count = 0;
+        boolean allEqual = true;
+        for (int i = 0; i < length; i++) {
+            if (length == 14 && (i == 3 || i == 7 || i == 11)) {
+                continue;
+            }
+            int digit = cpf.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return false;
+            }
+            digits[count] = digit;
+            allEqual &= digit == digits[0];
+            count++;
+        }
+        return !allEqual && checkDigit(digits, 9) == digits[9] && checkDigit(digits, 10) == digits[10];
+    }
+
+    /**
+     * The eleven digits of a CPF accepted by {@link #isValid}, so the masked and unmasked forms compare equal.
+     */
+    public static String digits(String cpf) {
+        return cpf.length() == 14
+                ? cpf.substring(0, 3) + cpf.substring(4, 7) + cpf.substring(8, 11) + cpf.substring(12)
+                : cpf;
+    }
+
+    /**
+     * The {@code 000.000.000-00} form of eleven digits.
+     */
+    public static String masked(String digits) {
+        return digits.substring(0, 3) + "." + digits.substring(3, 6) + "." + digits.substring(6, 9) + "-" + digits.substring(9);
+    }
+
+    private static int checkDigit(int[] digits, int position) {
+        int sum = 0;
+        for (int i = 0; i < position; i++) {
+            sum += digits[i] * (position + 1 - i);
+        }
+        int remainder = sum * 10 % 11;
+        return remainder == 10 ? 0 : remainder;
+    }
+}
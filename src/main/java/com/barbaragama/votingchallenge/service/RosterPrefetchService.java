@@ -0,0 +1,81 @@
+package com.barbaragama.votingchallenge.service;
+
+import com.barbaragama.votingchallenge.config.CpfPrefetchProperties;
+import com.barbaragama.votingchallenge.config.ThreadMode;
+import com.barbaragama.votingchallenge.facade.CpfValidationFacade;
+import com.barbaragama.votingchallenge.repositories.AssociateRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Service
+public class RosterPrefetchService implements DisposableBean {
+
+    private final AssociateRepository associateRepository;
+    private final CpfValidationFacade cpfValidationFacade;
+    private final CpfPrefetchProperties properties;
+
+    private final ExecutorService executor;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public RosterPrefetchService(AssociateRepository associateRepository,
+                                 CpfValidationFacade cpfValidationFacade,
+                                 CpfPrefetchProperties properties,
+                                 ThreadMode threadMode) {
+        this.associateRepository = associateRepository;
+        this.cpfValidationFacade = cpfValidationFacade;
+        this.properties = properties;
+        this.executor = threadMode.singleThreadExecutor("cpf-roster-prefetch");
+    }
+
+    public void prefetchFor(UUID sessionId) {
+        // Eligibility does not depend on the session, so one pass over the roster serves every session opened meanwhile.
+        if (!properties.enabled() || !running.compareAndSet(false, true)) {
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                prefetchRoster(sessionId);
+            } finally {
+                running.set(false);
+            }
+        });
+    }
+
+    void prefetchRoster(UUID sessionId) {
+        long start = System.nanoTime();
+        String after = "";
+        int scanned = 0;
+        int fetched = 0;
+        List<String> chunk;
+        do {
+            chunk = associateRepository.findCpfsAfter(after, Limit.of(properties.chunkSize()));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            try {
+                fetched += cpfValidationFacade.prefetch(chunk).join();
+            } catch (CompletionException e) {
+                log.warn("Roster prefetch for session {} stopped after {} associates: {}", sessionId, scanned, e.getCause().getMessage());
+                return;
+            }
+            scanned += chunk.size();
+            after = chunk.get(chunk.size() - 1);
+        } while (chunk.size() == properties.chunkSize());
+        log.info("Roster prefetch for session {} checked {} associates ({} eligibility results) in {} ms",
+                sessionId, scanned, fetched, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
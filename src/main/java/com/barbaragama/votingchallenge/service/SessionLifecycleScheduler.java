@@ -0,0 +1,191 @@
+package com.barbaragama.votingchallenge.service;
+
+import com.barbaragama.votingchallenge.config.SessionLifecycleProperties;
+import com.barbaragama.votingchallenge.config.ThreadMode;
+import com.barbaragama.votingchallenge.event.SessionClosedEvent;
+import com.barbaragama.votingchallenge.repositories.SessionRepository;
+import com.barbaragama.votingchallenge.service.SessionWindowRegistry.SessionWindow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+@Slf4j
+@Component
+public class SessionLifecycleScheduler implements SmartLifecycle {
+
+    private final SessionRepository sessionRepository;
+    private final SessionWindowRegistry sessionWindowRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SessionLifecycleProperties properties;
+    private final ThreadMode threadMode;
+
+    private final long tickMillis;
+    private final int mask;
+    private final List<Queue<Deadline>> wheel;
+    private final Queue<Deadline> pending = new ConcurrentLinkedQueue<>();
+    private final List<UUID> unpersisted = new ArrayList<>();
+
+    private long originMillis;
+    private long tick;
+    private volatile boolean running;
+    private Thread worker;
+
+    public SessionLifecycleScheduler(SessionRepository sessionRepository,
+                                     SessionWindowRegistry sessionWindowRegistry,
+                                     TransactionTemplate transactionTemplate,
+                                     ApplicationEventPublisher eventPublisher,
+                                     SessionLifecycleProperties properties,
+                                     ThreadMode threadMode) {
+        this.sessionRepository = sessionRepository;
+        this.sessionWindowRegistry = sessionWindowRegistry;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.threadMode = threadMode;
+        this.tickMillis = Math.max(1, properties.tickDuration().toMillis());
+        int size = Integer.highestOneBit(Math.max(1, properties.wheelSize() - 1)) << 1;
+        this.mask = size - 1;
+        this.wheel = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            wheel.add(new ArrayDeque<>());
+        }
+        this.originMillis = System.currentTimeMillis();
+    }
+
+    public void schedule(SessionWindow window) {
+        pending.add(new Deadline(window.id(), window.endMillis(), Action.CLOSE));
+    }
+
+    // Advances the wheel through every tick that has elapsed by nowMillis and returns how many sessions were closed.
+    int advance(long nowMillis) {
+        List<UUID> closed = new ArrayList<>();
+        while (originMillis + tick * tickMillis <= nowMillis) {
+            transferPending();
+            expire(wheel.get((int) (tick & mask)), nowMillis, closed);
+            tick++;
+        }
+        persist(closed, nowMillis);
+        return closed.size();
+    }
+
+    private void transferPending() {
+        Deadline deadline;
+        while ((deadline = pending.poll()) != null) {
+            long deadlineTick = Math.max(tick, Math.ceilDiv(deadline.deadlineMillis - originMillis, tickMillis));
+            deadline.remainingRounds = (deadlineTick - tick) / wheel.size();
+            wheel.get((int) (deadlineTick & mask)).add(deadline);
+        }
+    }
+
+    private void expire(Queue<Deadline> bucket, long nowMillis, List<UUID> closed) {
+        Iterator<Deadline> iterator = bucket.iterator();
+        while (iterator.hasNext()) {
+            Deadline deadline = iterator.next();
+            if (deadline.remainingRounds > 0) {
+                deadline.remainingRounds--;
+                continue;
+            }
+            iterator.remove();
+            if (deadline.action == Action.RELEASE) {
+                sessionWindowRegistry.release(deadline.sessionId);
+            } else if (sessionWindowRegistry.close(deadline.sessionId)) {
+                closed.add(deadline.sessionId);
+                pending.add(new Deadline(deadline.sessionId, nowMillis + properties.closedRetention().toMillis(), Action.RELEASE));
+            }
+        }
+    }
+
+    private void persist(List<UUID> closed, long nowMillis) {
+        unpersisted.addAll(closed);
+        if (unpersisted.isEmpty()) {
+            return;
+        }
+        List<UUID> batch = List.copyOf(unpersisted);
+        try {
+            transactionTemplate.executeWithoutResult(status -> sessionRepository.closeSessions(batch));
+        } catch (DataAccessException e) {
+            log.warn("Closing {} sessions failed, retrying on the next tick: {}", batch.size(), e.getMessage());
+            return;
+        }
+        unpersisted.clear();
+        Instant closedAt = Instant.ofEpochMilli(nowMillis);
+        batch.forEach(sessionId -> eventPublisher.publishEvent(new SessionClosedEvent(sessionId, closedAt)));
+        log.info("Closed {} voting sessions", batch.size());
+    }
+
+    private void runWheel() {
+        while (running) {
+            try {
+                long sleep = originMillis + tick * tickMillis - System.currentTimeMillis();
+                if (sleep > 0) {
+                    Thread.sleep(sleep);
+                }
+                advance(System.currentTimeMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Unexpected failure while closing sessions", e);
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        originMillis = System.currentTimeMillis();
+        tick = 0;
+        // Sessions still OPEN in the table are rescheduled; any whose end time passed while the application was down close on the first tick.
+        List<SessionWindow> open = sessionWindowRegistry.openWindows();
+        open.forEach(this::schedule);
+        running = true;
+        worker = threadMode.start("session-lifecycle-wheel", this::runWheel);
+        log.info("Session lifecycle scheduler started with {} pending deadlines", open.size());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(properties.tickDuration().toMillis() * 10);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private enum Action {
+        CLOSE,
+        RELEASE
+    }
+
+    private static final class Deadline {
+        private final UUID sessionId;
+        private final long deadlineMillis;
+        private final Action action;
+        private long remainingRounds;
+
+        private Deadline(UUID sessionId, long deadlineMillis, Action action) {
+            this.sessionId = sessionId;
+            this.deadlineMillis = deadlineMillis;
+            this.action = action;
+        }
+    }
+}
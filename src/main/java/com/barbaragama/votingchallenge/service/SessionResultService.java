@@ -0,0 +1,123 @@
+package com.barbaragama.votingchallenge.service;
+
+import com.barbaragama.votingchallenge.config.SessionResultProperties;
+import com.barbaragama.votingchallenge.domain.SessionResult;
+import com.barbaragama.votingchallenge.dto.projection.SessionAgendaProjection;
+import com.barbaragama.votingchallenge.dto.projection.VoteCountProjection;
+import com.barbaragama.votingchallenge.enums.VoteOption;
+import com.barbaragama.votingchallenge.enums.VotingResult;
+import com.barbaragama.votingchallenge.event.SessionClosedEvent;
+import com.barbaragama.votingchallenge.exception.AppException;
+import com.barbaragama.votingchallenge.repositories.SessionRepository;
+import com.barbaragama.votingchallenge.repositories.SessionResultRepository;
+import com.barbaragama.votingchallenge.repositories.VoteRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Slf4j
+@Service
+public class SessionResultService {
+
+    private final SessionResultRepository sessionResultRepository;
+    private final SessionRepository sessionRepository;
+    private final VoteRepository voteRepository;
+    private final VoteTallyService voteTallyService;
+    private final SessionWindowRegistry sessionWindowRegistry;
+    private final Duration writerDrainTimeout;
+    private final Cache<UUID, SessionResult> results;
+
+    public SessionResultService(SessionResultRepository sessionResultRepository,
+                                SessionRepository sessionRepository,
+                                VoteRepository voteRepository,
+                                VoteTallyService voteTallyService,
+                                SessionWindowRegistry sessionWindowRegistry,
+                                SessionResultProperties properties,
+                                MeterRegistry meterRegistry) {
+        this.sessionResultRepository = sessionResultRepository;
+        this.sessionRepository = sessionRepository;
+        this.voteRepository = voteRepository;
+        this.voteTallyService = voteTallyService;
+        this.sessionWindowRegistry = sessionWindowRegistry;
+        this.writerDrainTimeout = properties.writerDrainTimeout();
+        this.results = Caffeine.newBuilder()
+                .maximumSize(properties.cacheSize())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, results, "sessionResults");
+    }
+
+    @EventListener
+    public void onSessionClosed(SessionClosedEvent event) {
+        try {
+            sessionRepository.findWithAgendaTitleById(event.sessionId()).ifPresent(this::materialize);
+        } catch (AppException e) {
+            log.warn("Final result of session {} deferred to its first read: {}", event.sessionId(), e.getMessage());
+        }
+    }
+
+    public SessionResult find(UUID sessionId) {
+        return results.get(sessionId, id -> sessionResultRepository.findById(id).orElse(null));
+    }
+
+    public SessionResult materialize(SessionAgendaProjection session) {
+        SessionResult existing = find(session.sessionId());
+        if (existing != null) {
+            return existing;
+        }
+        awaitWriters(session.sessionId());
+
+        long yesVotes = 0;
+        long noVotes = 0;
+        for (VoteCountProjection count : voteRepository.countGroupedByOption(session.sessionId())) {
+            if (count.getOption() == VoteOption.YES) {
+                yesVotes = count.getTotal();
+            } else {
+                noVotes = count.getTotal();
+            }
+        }
+        SessionResult result = SessionResult.builder()
+                .sessionId(session.sessionId())
+                .agendaId(session.agendaId())
+                .agendaTitle(session.agendaTitle())
+                .yesVotes(yesVotes)
+                .noVotes(noVotes)
+                .totalVotes(yesVotes + noVotes)
+                .result(VotingResult.fromCounts(yesVotes, noVotes))
+                .closedAt(LocalDateTime.now())
+                .build();
+
+        try {
+            sessionResultRepository.save(result);
+        } catch (DataIntegrityViolationException e) {
+            // Another writer recorded the snapshot first; its row is the one that counts.
+            result = sessionResultRepository.findById(session.sessionId()).orElseThrow(() -> e);
+        }
+        results.put(session.sessionId(), result);
+        voteTallyService.releaseSession(session.sessionId());
+        log.info("Recorded final result {} for session {} ({} votes)", result.getResult(), session.sessionId(), result.getTotalVotes());
+        return result;
+    }
+
+    // Votes admitted before the close may still be committing; counting before they finish would leave them out for good.
+    private void awaitWriters(UUID sessionId) {
+        try {
+            if (sessionWindowRegistry.awaitWriters(sessionId, writerDrainTimeout)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        throw new AppException("Votes of the session are still being recorded, try again later", HttpStatus.SERVICE_UNAVAILABLE);
+    }
+}
@@ -2,14 +2,16 @@ package com.barbaragama.votingchallenge.service;
 
 import com.barbaragama.votingchallenge.domain.Agenda;
 import com.barbaragama.votingchallenge.domain.Session;
+import com.barbaragama.votingchallenge.domain.SessionResult;
+import com.barbaragama.votingchallenge.dto.projection.SessionAgendaProjection;
+import com.barbaragama.votingchallenge.dto.request.PageRequestDTO;
 import com.barbaragama.votingchallenge.dto.request.SessionRequestDTO;
+import com.barbaragama.votingchallenge.dto.response.PageResponseDTO;
 import com.barbaragama.votingchallenge.dto.response.SessionResponseDTO;
 import com.barbaragama.votingchallenge.dto.response.SessionResultResponseDTO;
 import com.barbaragama.votingchallenge.enums.SessionStatus;
-import com.barbaragama.votingchallenge.enums.VoteOption;
 import com.barbaragama.votingchallenge.enums.VotingResult;
 import com.barbaragama.votingchallenge.repositories.AgendaRepository;
-import com.barbaragama.votingchallenge.repositories.VoteRepository;
 import com.barbaragama.votingchallenge.repositories.SessionRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -17,29 +19,31 @@ import org.springframework.stereotype.Service;
 import com.barbaragama.votingchallenge.exception.AppException;
 
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 public class SessionService {
 
-
-    private final VoteRepository voteRepository;
     private final SessionRepository sessionRepository;
     private final AgendaRepository agendaRepository;
-
-    public List<SessionResponseDTO> getAll() {
-        return sessionRepository.findAll().stream()
-                .map(this::convertToResponseToDTO)
-                .collect(Collectors.toList());
+    private final VoteTallyService voteTallyService;
+    private final VotedAssociateRegistry votedAssociateRegistry;
+    private final RosterPrefetchService rosterPrefetchService;
+    private final SessionWindowRegistry sessionWindowRegistry;
+    private final SessionLifecycleScheduler sessionLifecycleScheduler;
+    private final SessionResultService sessionResultService;
+    private final VoteMetrics voteMetrics;
+
+    public PageResponseDTO<SessionResponseDTO> getSessions(SessionStatus status, UUID agendaId, LocalDateTime createdAfter, PageRequestDTO page) {
+        return PageResponseDTO.of(sessionRepository.findPage(status, agendaId, createdAfter, page), page.limit(),
+                session -> PageRequestDTO.Cursor.of(session.getStartTime(), session.getId()), Function.identity());
     }
 
     public SessionResponseDTO getById(UUID id) {
-        Session session = sessionRepository.findById(id)
+        return sessionRepository.findResponseById(id)
                 .orElseThrow(() -> new AppException("Voting session not found", HttpStatus.NOT_FOUND));
-        return this.convertToResponseToDTO(session);
     }
 
     public SessionResponseDTO openVotingSession(SessionRequestDTO sessionRequestDTO) {
@@ -54,47 +58,71 @@ public class SessionService {
         session.setSessionStatus(SessionStatus.OPEN);
 
         Session createdSession = sessionRepository.save(session);
+        sessionLifecycleScheduler.schedule(sessionWindowRegistry.register(createdSession));
+        voteTallyService.registerSession(createdSession.getId());
+        votedAssociateRegistry.openSession(createdSession.getId());
+        rosterPrefetchService.prefetchFor(createdSession.getId());
 
         return convertToResponseToDTO(createdSession);
     }
 
     public SessionResultResponseDTO getVotingResult(UUID sessionId) {
-        Session session = sessionRepository.findById(sessionId)
-                .orElseThrow(() -> new AppException("Voting session not found", HttpStatus.NOT_FOUND));
-
-        long totalVotes = voteRepository.countBySessionId(sessionId);
-        long yesVotes = voteRepository.countBySessionIdAndOptionEquals(sessionId, VoteOption.YES);
-        long noVotes = voteRepository.countBySessionIdAndOptionEquals(sessionId, VoteOption.NO);
-
-        VotingResult result = determineVotingResult(session, yesVotes, noVotes);
+        long start = System.nanoTime();
+        VoteMetrics.ResultSource source = VoteMetrics.ResultSource.NOT_FOUND;
+        try {
+            SessionWindowRegistry.SessionWindow window = sessionWindowRegistry.find(sessionId);
+            if (window != null && window.isOpen()) {
+                source = VoteMetrics.ResultSource.LIVE_TALLY;
+                return convertToLiveResultDTO(sessionId, window.agendaId(), window.agendaTitle());
+            }
+
+            SessionResult stored = sessionResultService.find(sessionId);
+            if (stored != null) {
+                source = VoteMetrics.ResultSource.STORED;
+                return convertToResultDTO(stored);
+            }
+
+            SessionAgendaProjection session = sessionRepository.findWithAgendaTitleById(sessionId)
+                    .orElseThrow(() -> new AppException("Voting session not found", HttpStatus.NOT_FOUND));
+
+            if (!session.isOpen()) {
+                source = VoteMetrics.ResultSource.MATERIALIZED;
+                return convertToResultDTO(sessionResultService.materialize(session));
+            }
+
+            source = VoteMetrics.ResultSource.LIVE_TALLY;
+            return convertToLiveResultDTO(sessionId, session.agendaId(), session.agendaTitle());
+        } finally {
+            voteMetrics.recordResult(source, start);
+        }
+    }
 
+    private SessionResultResponseDTO convertToLiveResultDTO(UUID sessionId, UUID agendaId, String agendaTitle) {
+        VoteTallyService.VoteCounts counts = voteTallyService.getCounts(sessionId);
         return SessionResultResponseDTO.builder()
                 .sessionId(sessionId)
-                .agendaId(session.getAgenda().getId())
-                .agendaTitle(session.getAgenda().getTitle())
-                .yesVotes(yesVotes)
-                .noVotes(noVotes)
-                .totalVotes(totalVotes)
-                .result(result)
+                .agendaId(agendaId)
+                .agendaTitle(agendaTitle)
+                .yesVotes(counts.yesVotes())
+                .noVotes(counts.noVotes())
+                .totalVotes(counts.totalVotes())
+                .result(VotingResult.SESSION_IN_PROGRESS)
                 .build();
     }
 
-
-    private VotingResult determineVotingResult(Session session, long yesVotes, long noVotes) {
-        if (session.isOpen()) {
-            return VotingResult.SESSION_IN_PROGRESS;
-        }
-
-        if (yesVotes > noVotes) {
-            return VotingResult.APPROVED;
-        } else if (noVotes > yesVotes) {
-            return VotingResult.REJECTED;
-        } else {
-            return VotingResult.TIE;
-        }
+    private SessionResultResponseDTO convertToResultDTO(SessionResult result) {
+        return SessionResultResponseDTO.builder()
+                .sessionId(result.getSessionId())
+                .agendaId(result.getAgendaId())
+                .agendaTitle(result.getAgendaTitle())
+                .yesVotes(result.getYesVotes())
+                .noVotes(result.getNoVotes())
+                .totalVotes(result.getTotalVotes())
+                .result(result.getResult())
+                .build();
     }
 
-    private SessionResponseDTO convertToResponseToDTO(Session session) {
+    SessionResponseDTO convertToResponseToDTO(Session session) {
         SessionResponseDTO responseDTO = new SessionResponseDTO();
         responseDTO.setId(session.getId());
         responseDTO.setAgendaId(session.getAgenda().getId());
@@ -1,11 +1,15 @@
 package com.barbaragama.votingchallenge.service;
 
 import com.barbaragama.votingchallenge.domain.Session;
-import com.barbaragama.votingchallenge.exception.AppException;
+import com.barbaragama.votingchallenge.enums.VoteOutcome;
+import com.barbaragama.votingchallenge.exception.VoteRejectedException;
 import com.barbaragama.votingchallenge.repositories.SessionRepository;
+import com.barbaragama.votingchallenge.service.SessionWindowRegistry.SessionWindow;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.UUID;
 
@@ -14,15 +18,54 @@ import java.util.UUID;
 public class SessionValidationService {
 
     private final SessionRepository sessionRepository;
+    private final SessionWindowRegistry sessionWindowRegistry;
+    private final SessionLifecycleScheduler sessionLifecycleScheduler;
 
+    /**
+     * Checks that the session is open and returns a reference to it. The caller's transaction is admitted as a writer of
+     * the session until it completes, so the final result of the session waits for its vote.
+     */
     public Session validateAndGetSession(UUID sessionId) {
-        Session session = sessionRepository.findById(sessionId)
-                .orElseThrow(() -> new AppException("Voting session not found", HttpStatus.NOT_FOUND));
+        SessionWindow window = admitVote(sessionId);
+        try {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    window.releaseWriter();
+                }
+            });
+        } catch (IllegalStateException e) {
+            window.releaseWriter();
+            throw e;
+        }
+
+        // Only the ID is read on the vote path, so an uninitialized reference avoids loading the session and its agenda.
+        return sessionRepository.getReferenceById(sessionId);
+    }
 
-        if (!session.isOpen()) {
-            throw new AppException("The voting session is closed", HttpStatus.BAD_REQUEST);
+    /**
+     * Checks that the session is open and admits the caller as a writer of it. The caller releases the returned window
+     * once the vote is committed or abandoned; until then the final result of the session is not counted.
+     */
+    public SessionWindow admitVote(UUID sessionId) {
+        SessionWindow window = sessionWindowRegistry.find(sessionId);
+        if (window == null) {
+            window = loadWindow(sessionId);
         }
 
-        return session;
+        if (!window.admitWriter()) {
+            throw new VoteRejectedException("The voting session is closed", HttpStatus.BAD_REQUEST, VoteOutcome.SESSION_CLOSED);
+        }
+        return window;
+    }
+
+    private SessionWindow loadWindow(UUID sessionId) {
+        Session session = sessionRepository.findWithAgendaById(sessionId)
+                .orElseThrow(() -> new VoteRejectedException("Voting session not found", HttpStatus.NOT_FOUND, VoteOutcome.SESSION_NOT_FOUND));
+        SessionWindow window = sessionWindowRegistry.register(session);
+        if (window.isOpen()) {
+            sessionLifecycleScheduler.schedule(window);
+        }
+        return window;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,156 @@
+package com.barbaragama.votingchallenge.service;
+
+import com.barbaragama.votingchallenge.domain.Session;
+import com.barbaragama.votingchallenge.dto.projection.SessionWindowProjection;
+import com.barbaragama.votingchallenge.enums.SessionStatus;
+import com.barbaragama.votingchallenge.repositories.SessionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Component
+public class SessionWindowRegistry implements SmartInitializingSingleton {
+
+    private final SessionRepository sessionRepository;
+    private final Map<UUID, SessionWindow> windows = new ConcurrentHashMap<>();
+
+    public SessionWindowRegistry(SessionRepository sessionRepository) {
+        this.sessionRepository = sessionRepository;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<SessionWindowProjection> open = sessionRepository.findWindowsByStatus(SessionStatus.OPEN);
+        open.forEach(window -> windows.put(window.getId(),
+                new SessionWindow(window.getId(), window.getAgendaId(), window.getAgendaTitle(), toEpochMillis(window.getStartTime()), toEpochMillis(window.getEndTime()), false)));
+        log.info("Session windows loaded for {} open sessions", open.size());
+    }
+
+    public SessionWindow register(Session session) {
+        SessionWindow window = new SessionWindow(session.getId(), session.getAgenda().getId(), session.getAgenda().getTitle(),
+                toEpochMillis(session.getStartTime()), toEpochMillis(session.getEndTime()), !session.isOpen());
+        // Closed sessions loaded on demand are not kept; their answer never changes and the entity check is cheap enough.
+        if (window.isOpen()) {
+            windows.put(window.id(), window);
+        }
+        return window;
+    }
+
+    public SessionWindow find(UUID sessionId) {
+        return windows.get(sessionId);
+    }
+
+    public List<SessionWindow> openWindows() {
+        return windows.values().stream().filter(SessionWindow::isOpen).toList();
+    }
+
+    public boolean close(UUID sessionId) {
+        SessionWindow window = windows.get(sessionId);
+        return window != null && window.closed.compareAndSet(false, true);
+    }
+
+    public void release(UUID sessionId) {
+        windows.remove(sessionId);
+    }
+
+    /**
+     * Waits until every vote admitted to a closed session has been committed or abandoned, so counting it afterwards
+     * sees all of them. Sessions without a window have no writers left.
+     */
+    public boolean awaitWriters(UUID sessionId, Duration timeout) throws InterruptedException {
+        SessionWindow window = windows.get(sessionId);
+        return window == null || window.awaitWriters(timeout);
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    public static final class SessionWindow {
+        private final UUID id;
+        private final UUID agendaId;
+        private final String agendaTitle;
+        private final long startMillis;
+        private final long endMillis;
+        private final AtomicBoolean closed;
+        private final AtomicInteger writers = new AtomicInteger();
+
+        public SessionWindow(UUID id, UUID agendaId, String agendaTitle, long startMillis, long endMillis, boolean closed) {
+            this.id = id;
+            this.agendaId = agendaId;
+            this.agendaTitle = agendaTitle;
+            this.startMillis = startMillis;
+            this.endMillis = endMillis;
+            this.closed = new AtomicBoolean(closed);
+        }
+
+        public UUID id() {
+            return id;
+        }
+
+        public UUID agendaId() {
+            return agendaId;
+        }
+
+        public String agendaTitle() {
+            return agendaTitle;
+        }
+
+        public long startMillis() {
+            return startMillis;
+        }
+
+        public long endMillis() {
+            return endMillis;
+        }
+
+        public boolean isOpen() {
+            return !closed.get();
+        }
+
+        /**
+         * Admits a vote to the session unless it is closed. The writer count is raised before the closed flag is read and
+         * the close sets the flag before reading the count, so a vote is either refused or waited for by the final count.
+         */
+        public boolean admitWriter() {
+            writers.incrementAndGet();
+            if (closed.get()) {
+                releaseWriter();
+                return false;
+            }
+            return true;
+        }
+
+        public void releaseWriter() {
+            if (writers.decrementAndGet() == 0 && closed.get()) {
+                synchronized (this) {
+                    notifyAll();
+                }
+            }
+        }
+
+        private synchronized boolean awaitWriters(Duration timeout) throws InterruptedException {
+            long deadline = System.nanoTime() + timeout.toNanos();
+            while (writers.get() > 0) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+            return true;
+        }
+    }
+}
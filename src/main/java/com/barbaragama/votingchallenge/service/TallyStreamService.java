@@ -0,0 +1,284 @@
+package com.barbaragama.votingchallenge.service;
+
+import com.barbaragama.votingchallenge.config.TallyStreamProperties;
+import com.barbaragama.votingchallenge.config.ThreadMode;
+import com.barbaragama.votingchallenge.dto.response.SessionResultResponseDTO;
+import com.barbaragama.votingchallenge.enums.VotingResult;
+import com.barbaragama.votingchallenge.event.SessionClosedEvent;
+import com.barbaragama.votingchallenge.service.VoteTallyService.VoteCounts;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Slf4j
+@Service
+public class TallyStreamService implements SmartLifecycle, DisposableBean {
+
+    static final String TALLY_EVENT = "tally";
+    static final String FINAL_EVENT = "final";
+
+    private final SessionService sessionService;
+    private final VoteTallyService voteTallyService;
+    private final SessionWindowRegistry sessionWindowRegistry;
+    private final TallyStreamProperties properties;
+    private final ThreadMode threadMode;
+
+    private final Map<UUID, Channel> channels = new ConcurrentHashMap<>();
+    private final ExecutorService sender;
+    private final Counter dropped;
+
+    private volatile boolean running;
+    private Thread ticker;
+
+    public TallyStreamService(SessionService sessionService,
+                              VoteTallyService voteTallyService,
+                              SessionWindowRegistry sessionWindowRegistry,
+                              TallyStreamProperties properties,
+                              ThreadMode threadMode,
+                              MeterRegistry meterRegistry) {
+        this.sessionService = sessionService;
+        this.voteTallyService = voteTallyService;
+        this.sessionWindowRegistry = sessionWindowRegistry;
+        this.properties = properties;
+        this.threadMode = threadMode;
+        // Sends block on the client's socket, so each drain gets its own virtual thread whatever the thread mode: a stalled
+        // client parks only its own sender and never delays the others. Each subscriber has at most one drain in flight.
+        this.sender = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("tally-stream-", 0).factory());
+        this.dropped = meterRegistry.counter("voting.tally.stream.dropped");
+        Gauge.builder("voting.tally.stream.subscribers", channels,
+                        map -> map.values().stream().mapToInt(channel -> channel.subscribers.size()).sum())
+                .description("Open live tally streams")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(UUID sessionId) {
+        return register(sessionId, new SseEmitter(properties.emitterTimeout().toMillis()));
+    }
+
+    SseEmitter register(UUID sessionId, SseEmitter emitter) {
+        SessionResultResponseDTO current = sessionService.getVotingResult(sessionId);
+        Subscriber subscriber = new Subscriber(emitter);
+        if (current.getResult() != VotingResult.SESSION_IN_PROGRESS) {
+            subscriber.offer(new Update(current, true));
+            return emitter;
+        }
+
+        channels.compute(sessionId, (id, channel) -> {
+            Channel target = channel != null ? channel : new Channel(current);
+            target.subscribers.add(subscriber);
+            return target;
+        });
+        emitter.onCompletion(() -> unsubscribe(sessionId, subscriber));
+        emitter.onTimeout(() -> unsubscribe(sessionId, subscriber));
+        emitter.onError(error -> unsubscribe(sessionId, subscriber));
+        subscriber.offer(new Update(current, false));
+
+        // The session may have closed between reading the result and registering, in which case no close event is coming.
+        SessionWindowRegistry.SessionWindow window = sessionWindowRegistry.find(sessionId);
+        if (window == null || !window.isOpen()) {
+            finish(sessionId);
+        }
+        return emitter;
+    }
+
+    // Pushes one update per session whose counts changed since the last tick and returns how many sessions were updated.
+    int tick() {
+        long stallNanos = properties.maxSendStall().toNanos();
+        long now = System.nanoTime();
+        int updated = 0;
+        for (Map.Entry<UUID, Channel> entry : channels.entrySet()) {
+            Channel channel = entry.getValue();
+            if (channel.subscribers.removeIf(subscriber -> subscriber.dropIfStalled(now, stallNanos))) {
+                removeIfEmpty(entry.getKey());
+            }
+
+            VoteCounts counts = voteTallyService.findCounts(entry.getKey());
+            if (counts == null || counts.equals(channel.lastCounts)) {
+                continue;
+            }
+            channel.lastCounts = counts;
+            Update update = new Update(channel.toResult(counts), false);
+            channel.subscribers.forEach(subscriber -> subscriber.offer(update));
+            updated++;
+        }
+        return updated;
+    }
+
+    @EventListener
+    public void onSessionClosed(SessionClosedEvent event) {
+        if (channels.containsKey(event.sessionId())) {
+            sender.execute(() -> finish(event.sessionId()));
+        }
+    }
+
+    private void finish(UUID sessionId) {
+        Channel channel = channels.remove(sessionId);
+        if (channel == null) {
+            return;
+        }
+        Update last = new Update(sessionService.getVotingResult(sessionId), true);
+        channel.subscribers.forEach(subscriber -> subscriber.offer(last));
+    }
+
+    private void unsubscribe(UUID sessionId, Subscriber subscriber) {
+        channels.computeIfPresent(sessionId, (id, channel) -> {
+            channel.subscribers.remove(subscriber);
+            return channel.subscribers.isEmpty() ? null : channel;
+        });
+    }
+
+    private void removeIfEmpty(UUID sessionId) {
+        channels.computeIfPresent(sessionId, (id, channel) -> channel.subscribers.isEmpty() ? null : channel);
+    }
+
+    private void runTicker() {
+        long tickMillis = Math.max(1, properties.tick().toMillis());
+        while (running) {
+            try {
+                Thread.sleep(tickMillis);
+                tick();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Unexpected failure while pushing live tallies", e);
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        ticker = threadMode.start("tally-stream-ticker", this::runTicker);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        ticker.interrupt();
+        channels.values().forEach(channel -> channel.subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        channels.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void destroy() {
+        sender.shutdownNow();
+    }
+
+    private record Update(SessionResultResponseDTO result, boolean last) {
+    }
+
+    private static final class Channel {
+        private final SessionResultResponseDTO template;
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        private volatile VoteCounts lastCounts;
+
+        private Channel(SessionResultResponseDTO current) {
+            this.template = current;
+            this.lastCounts = new VoteCounts(current.getYesVotes(), current.getNoVotes());
+        }
+
+        private SessionResultResponseDTO toResult(VoteCounts counts) {
+            return SessionResultResponseDTO.builder()
+                    .sessionId(template.getSessionId())
+                    .agendaId(template.getAgendaId())
+                    .agendaTitle(template.getAgendaTitle())
+                    .yesVotes(counts.yesVotes())
+                    .noVotes(counts.noVotes())
+                    .totalVotes(counts.totalVotes())
+                    .result(VotingResult.SESSION_IN_PROGRESS)
+                    .build();
+        }
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        // Holds only the newest unsent update, so a slow client skips intermediate tallies instead of queueing them.
+        private final AtomicReference<Update> pending = new AtomicReference<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile long sendStartedNanos;
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private void offer(Update update) {
+            Update previous = pending.getAndSet(update);
+            if (previous != null && previous.last()) {
+                pending.set(previous);
+            }
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                Update update = pending.getAndSet(null);
+                if (update == null) {
+                    draining.set(false);
+                    if (pending.get() == null || !draining.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+                if (closed) {
+                    continue;
+                }
+                try {
+                    sendStartedNanos = System.nanoTime();
+                    emitter.send(SseEmitter.event()
+                            .name(update.last() ? FINAL_EVENT : TALLY_EVENT)
+                            .data(update.result()));
+                    sendStartedNanos = 0;
+                    if (update.last()) {
+                        closed = true;
+                        emitter.complete();
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    closed = true;
+                    sendStartedNanos = 0;
+                }
+            }
+        }
+
+        /**
+         * Drops a subscriber whose send has been blocked for longer than the limit: it gets no further updates and its
+         * stream is ended with an error. The blocked write itself cannot be interrupted; it fails once the connector's
+         * write timeout ({@code server.tomcat.connection-timeout}) expires, which frees its sender thread.
+         */
+        private boolean dropIfStalled(long nowNanos, long stallNanos) {
+            long started = sendStartedNanos;
+            if (closed || started == 0 || nowNanos - started < stallNanos) {
+                return closed;
+            }
+            closed = true;
+            dropped.increment();
+            log.debug("Dropping live tally subscriber stalled for more than {}", properties.maxSendStall());
+            emitter.completeWithError(new IOException("Live tally subscriber stalled for more than " + properties.maxSendStall()));
+            return true;
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.barbaragama.votingchallenge.service;
+
+import com.barbaragama.votingchallenge.config.VoteBatchProperties;
+import com.barbaragama.votingchallenge.domain.Associate;
+import com.barbaragama.votingchallenge.domain.Session;
+import com.barbaragama.votingchallenge.domain.TimeOrderedUuidGenerator;
+import com.barbaragama.votingchallenge.dto.request.VoteRequestDTO;
+import com.barbaragama.votingchallenge.dto.response.VoteBatchItemResponseDTO;
+import com.barbaragama.votingchallenge.enums.CpfEligibility;
+import com.barbaragama.votingchallenge.enums.VoteAbility;
+import com.barbaragama.votingchallenge.enums.VoteOption;
+import com.barbaragama.votingchallenge.exception.AppException;
+import com.barbaragama.votingchallenge.facade.CpfValidationFacade;
+import com.barbaragama.votingchallenge.repositories.AssociateRepository;
+import com.barbaragama.votingchallenge.repositories.SessionRepository;
+import com.barbaragama.votingchallenge.repositories.UniqueKeys;
+import com.barbaragama.votingchallenge.repositories.VoteJdbcRepository;
+import com.barbaragama.votingchallenge.repositories.VoteJdbcRepository.VoteRow;
+import com.barbaragama.votingchallenge.repositories.VoteRepository;
+import com.barbaragama.votingchallenge.service.SessionWindowRegistry.SessionWindow;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VoteBatchService {
+
+    private final SessionRepository sessionRepository;
+    private final SessionValidationService sessionValidationService;
+    private final AssociateRepository associateRepository;
+    private final VoteRepository voteRepository;
+    private final VoteJdbcRepository voteJdbcRepository;
+    private final UniqueKeys uniqueKeys;
+    private final VoteValidationService voteValidationService;
+    private final VoteTallyService voteTallyService;
+    private final VotedAssociateRegistry votedAssociateRegistry;
+    private final CpfValidationFacade cpfValidationFacade;
+    private final AssociateIdCache associateIdCache;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final VoteBatchProperties properties;
+
+    public List<VoteBatchItemResponseDTO> castVotes(InputStream ndjson) {
+        List<VoteRequestDTO> requests = new ArrayList<>();
+        try (MappingIterator<VoteRequestDTO> iterator = objectMapper.readerFor(VoteRequestDTO.class).readValues(ndjson)) {
+            while (iterator.hasNextValue()) {
+                requests.add(iterator.nextValue());
+                checkSize(requests.size());
+            }
+        } catch (IOException e) {
+            throw new AppException("Body is empty or invalid", HttpStatus.BAD_REQUEST);
+        }
+        return castVotes(requests);
+    }
+
+    public List<VoteBatchItemResponseDTO> castVotes(List<VoteRequestDTO> requests) {
+        checkSize(requests.size());
+        List<BatchItem> items = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            items.add(new BatchItem(i, requests.get(i)));
+        }
+
+        items.forEach(this::validateRequest);
+        Map<UUID, SessionWindow> admitted = new HashMap<>();
+        try {
+            if (!pending(items).isEmpty()) {
+                resolveSessions(pending(items), admitted);
+            }
+            if (!pending(items).isEmpty()) {
+                resolveAssociates(pending(items));
+                rejectDuplicatesWithinBatch(pending(items));
+                rejectDuplicatesAlreadyCast(pending(items));
+                validateCpfs(pending(items));
+                createMissingAssociates(pending(items));
+                insertVotes(pending(items));
+            }
+        } finally {
+            admitted.values().forEach(SessionWindow::releaseWriter);
+        }
+
+        return items.stream().map(BatchItem::toResponse).toList();
+    }
+
+    private void checkSize(int size) {
+        if (size > properties.maxSize()) {
+            throw new AppException("Batch exceeds the maximum of " + properties.maxSize() + " votes", HttpStatus.PAYLOAD_TOO_LARGE);
+        }
+    }
+
+    private List<BatchItem> pending(List<BatchItem> items) {
+        return items.stream().filter(item -> item.failure == null).toList();
+    }
+
+    private void validateRequest(BatchItem item) {
+        if (item.request == null) {
+            item.fail("Vote is empty", HttpStatus.BAD_REQUEST);
+            return;
+        }
+        Set<ConstraintViolation<VoteRequestDTO>> violations = validator.validate(item.request);
+        if (!violations.isEmpty()) {
+            item.fail(violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")), HttpStatus.BAD_REQUEST);
+            return;
+        }
+        try {
+            item.option = voteValidationService.validateVoteOption(item.request.getOption());
+        } catch (AppException e) {
+            item.fail(e.getMessage(), e.getStatus());
+        }
+    }
+
+    // Each open session admits the batch as a writer until its votes are inserted, so its final result waits for them.
+    private void resolveSessions(List<BatchItem> items, Map<UUID, SessionWindow> admitted) {
+        Set<UUID> sessionIds = items.stream().map(item -> item.request.getSessionId()).collect(Collectors.toSet());
+        Map<UUID, Session> sessions = sessionRepository.findAllById(sessionIds).stream()
+                .collect(Collectors.toMap(Session::getId, Function.identity()));
+        for (BatchItem item : items) {
+            Session session = sessions.get(item.request.getSessionId());
+            if (session == null) {
+                item.fail("Voting session not found", HttpStatus.NOT_FOUND);
+            } else if (!session.isOpen() || !admit(session.getId(), admitted)) {
+                item.fail("The voting session is closed", HttpStatus.BAD_REQUEST);
+            } else {
+                item.session = session;
+            }
+        }
+    }
+
+    private boolean admit(UUID sessionId, Map<UUID, SessionWindow> admitted) {
+        if (admitted.containsKey(sessionId)) {
+            return true;
+        }
+        try {
+            admitted.put(sessionId, sessionValidationService.admitVote(sessionId));
+            return true;
+        } catch (AppException e) {
+            return false;
+        }
+    }
+
+    private void resolveAssociates(List<BatchItem> items) {
+        Set<String> cpfs = items.stream().map(item -> item.request.getCpf()).collect(Collectors.toSet());
+        Map<String, Associate> associates = associateRepository.findByCpfIn(cpfs).stream()
+                .collect(Collectors.toMap(Associate::getCpf, Function.identity()));
+        items.forEach(item -> item.associate = associates.get(item.request.getCpf()));
+    }
+
+    private void rejectDuplicatesWithinBatch(List<BatchItem> items) {
+        Set<String> seen = new HashSet<>();
+        for (BatchItem item : items) {
+            if (!seen.add(item.session.getId() + ":" + item.request.getCpf())) {
+                item.fail("Associate has already voted in this session", HttpStatus.FORBIDDEN);
+            }
+        }
+    }
+
+    private void rejectDuplicatesAlreadyCast(List<BatchItem> items) {
+        Map<UUID, List<BatchItem>> bySession = items.stream()
+                .filter(item -> item.associate != null)
+                .collect(Collectors.groupingBy(item -> item.session.getId()));
+        bySession.forEach((sessionId, sessionItems) -> {
+            Set<UUID> associateIds = sessionItems.stream().map(item -> item.associate.getId()).collect(Collectors.toSet());
+            Set<UUID> voted = voteRepository.findVotedAssociateIds(sessionId, associateIds);
+            sessionItems.stream()
+                    .filter(item -> voted.contains(item.associate.getId()))
+                    .forEach(item -> item.fail("Associate has already voted in this session", HttpStatus.FORBIDDEN));
+        });
+    }
+
+    private void validateCpfs(List<BatchItem> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        Map<String, CpfEligibility> eligibilities;
+        try {
+            eligibilities = cpfValidationFacade.validateCpfsForVoting(items.stream().map(item -> item.request.getCpf()).collect(Collectors.toSet()));
+        } catch (AppException e) {
+            items.forEach(item -> item.fail(e.getMessage(), e.getStatus()));
+            return;
+        }
+        for (BatchItem item : items) {
+            try {
+                if (CpfValidationFacade.toVoteAbility(eligibilities.get(item.request.getCpf())) == VoteAbility.UNABLE_TO_VOTE) {
+                    item.fail("Associate is not able to vote", HttpStatus.FORBIDDEN);
+                }
+            } catch (AppException e) {
+                item.fail(e.getMessage(), e.getStatus());
+            }
+        }
+    }
+
+    private void createMissingAssociates(List<BatchItem> items) {
+        Map<String, Associate> created = new HashMap<>();
+        for (BatchItem item : items) {
+            if (item.associate == null) {
+                item.associate = created.computeIfAbsent(item.request.getCpf(),
+                        cpf -> Associate.builder().name(item.request.getName()).cpf(cpf).build());
+            }
+        }
+        if (!created.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> associateRepository.saveAll(new ArrayList<>(created.values())));
+            created.values().forEach(associate -> associateIdCache.put(associate.getCpf(), associate.getId()));
+        }
+    }
+
+    private void insertVotes(List<BatchItem> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        LocalDateTime votedAt = LocalDateTime.now();
+        items.forEach(item -> item.row = new VoteRow(TimeOrderedUuidGenerator.next(), item.associate.getId(), item.session.getId(), item.option, votedAt));
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    voteJdbcRepository.batchInsert(items.stream().map(item -> item.row).toList(), properties.insertBatchSize()));
+            items.forEach(this::markAccepted);
+        } catch (DataAccessException e) {
+            log.warn("Batch insert of {} votes failed, retrying one by one: {}", items.size(), e.getMessage());
+            items.forEach(this::insertSingle);
+        }
+    }
+
+    private void insertSingle(BatchItem item) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> voteJdbcRepository.batchInsert(List.of(item.row), 1));
+            markAccepted(item);
+        } catch (DataAccessException e) {
+            // Only the (associate_id, session_id) key means a vote is stored; anything else left none, so the client retries.
+            if (uniqueKeys.isDuplicateVote(e)) {
+                item.fail("Associate has already voted in this session", HttpStatus.FORBIDDEN);
+            } else {
+                log.warn("Insert of vote {} failed: {}", item.index, e.getMessage());
+                item.fail("Vote could not be persisted, try again later", HttpStatus.SERVICE_UNAVAILABLE);
+            }
+        }
+    }
+
+    private void markAccepted(BatchItem item) {
+        voteTallyService.recordVote(item.row.sessionId(), item.row.option());
+        votedAssociateRegistry.recordVote(item.row.sessionId(), item.row.associateId());
+    }
+
+    private static final class BatchItem {
+        private final int index;
+        private final VoteRequestDTO request;
+        private Session session;
+        private Associate associate;
+        private VoteOption option;
+        private VoteRow row;
+        private AppException failure;
+
+        private BatchItem(int index, VoteRequestDTO request) {
+            this.index = index;
+            this.request = request;
+        }
+
+        private void fail(String message, HttpStatus status) {
+            this.failure = new AppException(message, status);
+        }
+
+        private VoteBatchItemResponseDTO toResponse() {
+            VoteBatchItemResponseDTO.VoteBatchItemResponseDTOBuilder builder = VoteBatchItemResponseDTO.builder()
+                    .index(index)
+                    .sessionId(request != null ? request.getSessionId() : null);
+            if (failure != null) {
+                return builder.status(failure.getStatus().value()).message(failure.getMessage()).build();
+            }
+            return builder.associateId(associate.getId())
+                    .status(HttpStatus.OK.value())
+                    .message("Vote successfully cast")
+                    .build();
+        }
+    }
+}
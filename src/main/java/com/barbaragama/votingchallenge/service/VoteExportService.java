@@ -0,0 +1,124 @@
+package com.barbaragama.votingchallenge.service;
+
+import com.barbaragama.votingchallenge.config.VoteExportProperties;
+import com.barbaragama.votingchallenge.enums.ExportFormat;
+import com.barbaragama.votingchallenge.exception.AppException;
+import com.barbaragama.votingchallenge.repositories.SessionRepository;
+import com.barbaragama.votingchallenge.repositories.VoteJdbcRepository;
+import com.barbaragama.votingchallenge.repositories.VoteJdbcRepository.VoteExportRow;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+@Slf4j
+@Service
+public class VoteExportService {
+
+    private static final String CSV_HEADER = "vote_id,associate_id,cpf,option,voted_at";
+
+    private final SessionRepository sessionRepository;
+    private final VoteJdbcRepository voteJdbcRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final VoteExportProperties properties;
+
+    public VoteExportService(SessionRepository sessionRepository,
+                             VoteJdbcRepository voteJdbcRepository,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager,
+                             VoteExportProperties properties) {
+        this.sessionRepository = sessionRepository;
+        this.voteJdbcRepository = voteJdbcRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.properties = properties;
+    }
+
+    public void checkSessionExists(UUID sessionId) {
+        if (!sessionRepository.existsById(sessionId)) {
+            throw new AppException("Voting session not found", HttpStatus.NOT_FOUND);
+        }
+    }
+
+    public long export(UUID sessionId, ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        RowWriter rowWriter = format == ExportFormat.CSV ? csvWriter(writer) : ndjsonWriter(writer);
+        long[] written = {0};
+        try {
+            // Drivers such as PostgreSQL only honour the fetch size inside a transaction.
+            readOnlyTransaction.executeWithoutResult(status -> voteJdbcRepository.streamBySession(sessionId, properties.fetchSize(), row -> {
+                try {
+                    rowWriter.write(row);
+                    if (++written[0] % properties.flushEvery() == 0) {
+                        rowWriter.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        } catch (UncheckedIOException e) {
+            log.warn("Vote export of session {} aborted after {} rows: {}", sessionId, written[0], e.getCause().getMessage());
+            throw e.getCause();
+        }
+        rowWriter.flush();
+        return written[0];
+    }
+
+    private RowWriter csvWriter(Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        return new RowWriter() {
+            @Override
+            public void write(VoteExportRow row) throws IOException {
+                writer.write(row.voteId() + "," + row.associateId() + "," + row.cpf() + "," + row.option() + "," + row.votedAt());
+                writer.write('\n');
+            }
+
+            @Override
+            public void flush() throws IOException {
+                writer.flush();
+            }
+        };
+    }
+
+    private RowWriter ndjsonWriter(Writer writer) throws IOException {
+        ObjectWriter rowJson = objectMapper.writerFor(VoteExportRow.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        return new RowWriter() {
+            @Override
+            public void write(VoteExportRow row) throws IOException {
+                rowJson.writeValue(generator, row);
+                generator.writeRaw('\n');
+            }
+
+            @Override
+            public void flush() throws IOException {
+                generator.flush();
+            }
+        };
+    }
+
+    private interface RowWriter {
+        void write(VoteExportRow row) throws IOException;
+
+        void flush() throws IOException;
+    }
+}
@@ -0,0 +1,201 @@
+package com.barbaragama.votingchallenge.service;
+
+import com.barbaragama.votingchallenge.config.IdempotencyProperties;
+import com.barbaragama.votingchallenge.domain.IdempotencyKey;
+import com.barbaragama.votingchallenge.dto.request.VoteRequestDTO;
+import com.barbaragama.votingchallenge.dto.response.VoteResponseDTO;
+import com.barbaragama.votingchallenge.exception.AppException;
+import com.barbaragama.votingchallenge.repositories.IdempotencyKeyRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Slf4j
+@Service
+public class VoteIdempotencyService {
+
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private final VoteService voteService;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final IdempotencyProperties properties;
+    private final AsyncCache<String, StoredVote> votes;
+
+    public VoteIdempotencyService(VoteService voteService,
+                                  IdempotencyKeyRepository idempotencyKeyRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  IdempotencyProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.voteService = voteService;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.votes = Caffeine.newBuilder()
+                .maximumSize(properties.cacheSize())
+                .expireAfter(new StoredVoteExpiry())
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, votes.synchronous(), "idempotencyKeys");
+    }
+
+    public IdempotentVote castVote(String idempotencyKey, VoteRequestDTO voteRequestDTO) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new AppException("Idempotency-Key must have between 1 and " + MAX_KEY_LENGTH + " characters", HttpStatus.BAD_REQUEST);
+        }
+        String fingerprint = fingerprint(voteRequestDTO);
+        CompletableFuture<StoredVote> existing = votes.getIfPresent(idempotencyKey);
+        if (existing == null) {
+            // Retries of a key that is still running wait on the first request's future; failed futures leave the cache.
+            CompletableFuture<StoredVote> mine = new CompletableFuture<>();
+            existing = votes.asMap().putIfAbsent(idempotencyKey, mine);
+            if (existing == null) {
+                return castOnce(idempotencyKey, fingerprint, voteRequestDTO, mine);
+            }
+        }
+        return replay(await(existing), fingerprint);
+    }
+
+    private IdempotentVote castOnce(String idempotencyKey, String fingerprint, VoteRequestDTO voteRequestDTO,
+                                    CompletableFuture<StoredVote> result) {
+        try {
+            StoredVote stored = load(idempotencyKey);
+            boolean replayed = stored != null;
+            if (stored == null) {
+                try {
+                    // The key is written in the vote's transaction, so a vote is never committed without it.
+                    stored = transactionTemplate.execute(status ->
+                            store(idempotencyKey, fingerprint, voteService.castVote(voteRequestDTO)));
+                } catch (DataIntegrityViolationException e) {
+                    // Another instance recorded the same key first; its vote stands and this one rolled back.
+                    stored = load(idempotencyKey);
+                    if (stored == null) {
+                        throw e;
+                    }
+                    replayed = true;
+                }
+            }
+            result.complete(stored);
+            return replayed ? replay(stored, fingerprint) : new IdempotentVote(stored.response(), false);
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private StoredVote store(String idempotencyKey, String fingerprint, VoteResponseDTO response) {
+        LocalDateTime now = LocalDateTime.now();
+        IdempotencyKey entity = IdempotencyKey.builder()
+                .idempotencyKey(idempotencyKey)
+                .fingerprint(fingerprint)
+                .associateId(response.getAssociateId())
+                .sessionId(response.getSessionId())
+                .option(response.getOption())
+                .message(response.getMessage())
+                .createdAt(now)
+                .expiresAt(now.plus(properties.ttl()))
+                .build();
+        idempotencyKeyRepository.saveAndFlush(entity);
+        return StoredVote.of(entity);
+    }
+
+    private StoredVote load(String idempotencyKey) {
+        return idempotencyKeyRepository.findByIdempotencyKeyAndExpiresAtAfter(idempotencyKey, LocalDateTime.now())
+                .map(StoredVote::of)
+                .orElse(null);
+    }
+
+    private StoredVote await(CompletableFuture<StoredVote> result) {
+        try {
+            return result.get(properties.inFlightTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new AppException("A request with this Idempotency-Key is still being processed", HttpStatus.CONFLICT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AppException("A request with this Idempotency-Key is still being processed", HttpStatus.CONFLICT);
+        }
+    }
+
+    private IdempotentVote replay(StoredVote stored, String fingerprint) {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            throw new AppException("Idempotency-Key was already used with a different request", HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+        return new IdempotentVote(stored.response(), true);
+    }
+
+    // Runs on the scheduler's thread so the bulk delete never adds to the latency of a vote.
+    @Scheduled(initialDelayString = "${voting.idempotency.purge-interval:1m}", fixedDelayString = "${voting.idempotency.purge-interval:1m}")
+    public void purgeExpired() {
+        Integer purged = transactionTemplate.execute(status -> idempotencyKeyRepository.deleteExpired(LocalDateTime.now()));
+        if (purged != null && purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    static String fingerprint(VoteRequestDTO voteRequestDTO) {
+        String canonical = voteRequestDTO.getSessionId() + "\n" + voteRequestDTO.getCpf() + "\n"
+                + voteRequestDTO.getOption() + "\n" + voteRequestDTO.getName();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record IdempotentVote(VoteResponseDTO response, boolean replayed) {
+    }
+
+    private record StoredVote(String fingerprint, VoteResponseDTO response, LocalDateTime expiresAt) {
+        static StoredVote of(IdempotencyKey entity) {
+            return new StoredVote(entity.getFingerprint(), VoteResponseDTO.builder()
+                    .associateId(entity.getAssociateId())
+                    .sessionId(entity.getSessionId())
+                    .option(entity.getOption())
+                    .message(entity.getMessage())
+                    .build(), entity.getExpiresAt());
+        }
+    }
+
+    // Cached keys expire with their row, however long after the vote they were loaded.
+    private static final class StoredVoteExpiry implements Expiry<String, StoredVote> {
+        @Override
+        public long expireAfterCreate(String key, StoredVote vote, long currentTime) {
+            return Math.max(0, Duration.between(LocalDateTime.now(), vote.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, StoredVote vote, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, vote, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, StoredVote vote, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
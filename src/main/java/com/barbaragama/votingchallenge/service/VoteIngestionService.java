@@ -0,0 +1,307 @@
+package com.barbaragama.votingchallenge.service;
+
+import com.barbaragama.votingchallenge.config.ThreadMode;
+import com.barbaragama.votingchallenge.config.VoteIngestionProperties;
+import com.barbaragama.votingchallenge.domain.Associate;
+import com.barbaragama.votingchallenge.domain.TimeOrderedUuidGenerator;
+import com.barbaragama.votingchallenge.dto.request.VoteRequestDTO;
+import com.barbaragama.votingchallenge.dto.response.VoteReceiptResponseDTO;
+import com.barbaragama.votingchallenge.enums.ReceiptStatus;
+import com.barbaragama.votingchallenge.enums.VoteOption;
+import com.barbaragama.votingchallenge.enums.VoteOutcome;
+import com.barbaragama.votingchallenge.exception.AppException;
+import com.barbaragama.votingchallenge.exception.OverloadedException;
+import com.barbaragama.votingchallenge.exception.VoteRejectedException;
+import com.barbaragama.votingchallenge.repositories.VoteJdbcRepository;
+import com.barbaragama.votingchallenge.repositories.VoteJdbcRepository.VoteRow;
+import com.barbaragama.votingchallenge.service.SessionWindowRegistry.SessionWindow;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Service
+public class VoteIngestionService implements SmartLifecycle {
+
+    private final SessionValidationService sessionValidationService;
+    private final AssociateService associateService;
+    private final VoteValidationService voteValidationService;
+    private final VoteJdbcRepository voteJdbcRepository;
+    private final VoteTallyService voteTallyService;
+    private final VotedAssociateRegistry votedAssociateRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final VoteIngestionProperties properties;
+    private final ThreadMode threadMode;
+
+    private final BlockingQueue<PendingVote> queue;
+    // Pending receipts are bounded by the queue; finished ones move to a cache capped by size and retention.
+    private final Map<UUID, Receipt> pendingReceipts = new ConcurrentHashMap<>();
+    private final Cache<UUID, Receipt> finishedReceipts;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean accepting;
+    private volatile boolean running;
+    private Thread flusher;
+
+    public VoteIngestionService(SessionValidationService sessionValidationService,
+                                AssociateService associateService,
+                                VoteValidationService voteValidationService,
+                                VoteJdbcRepository voteJdbcRepository,
+                                VoteTallyService voteTallyService,
+                                VotedAssociateRegistry votedAssociateRegistry,
+                                TransactionTemplate transactionTemplate,
+                                VoteIngestionProperties properties,
+                                ThreadMode threadMode) {
+        this.sessionValidationService = sessionValidationService;
+        this.associateService = associateService;
+        this.voteValidationService = voteValidationService;
+        this.voteJdbcRepository = voteJdbcRepository;
+        this.voteTallyService = voteTallyService;
+        this.votedAssociateRegistry = votedAssociateRegistry;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.threadMode = threadMode;
+        this.queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+        this.finishedReceipts = Caffeine.newBuilder()
+                .maximumSize(properties.maxReceipts())
+                .expireAfterWrite(properties.receiptRetention())
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return properties.asyncEnabled();
+    }
+
+    public VoteReceiptResponseDTO submit(VoteRequestDTO voteRequestDTO) {
+        if (!accepting) {
+            throw new AppException("Vote ingestion is not accepting votes", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        // The queued vote holds its writer slot until it is flushed, so the session's final result waits for it.
+        SessionWindow window = sessionValidationService.admitVote(voteRequestDTO.getSessionId());
+        boolean queued = false;
+        try {
+            Associate associate = associateService.validateAndGetAssociate(voteRequestDTO.getName(), voteRequestDTO.getCpf(), window.id());
+            VoteOption voteOption = voteValidationService.validateVoteOption(voteRequestDTO.getOption());
+
+            String voteKey = window.id() + ":" + associate.getId();
+            if (!inFlight.add(voteKey)) {
+                throw new VoteRejectedException("Associate has already voted in this session", HttpStatus.FORBIDDEN, VoteOutcome.DUPLICATE);
+            }
+
+            VoteRow row = new VoteRow(TimeOrderedUuidGenerator.next(), associate.getId(), window.id(), voteOption, LocalDateTime.now());
+            Receipt receipt = new Receipt(UUID.randomUUID(), row, voteRequestDTO.getOption());
+            pendingReceipts.put(receipt.id, receipt);
+
+            if (!queue.offer(new PendingVote(receipt, voteKey, window))) {
+                pendingReceipts.remove(receipt.id);
+                inFlight.remove(voteKey);
+                throw new OverloadedException("Vote ingestion queue is full, try again later");
+            }
+            queued = true;
+            return receipt.toResponse();
+        } finally {
+            if (!queued) {
+                window.releaseWriter();
+            }
+        }
+    }
+
+    public VoteReceiptResponseDTO getReceipt(UUID receiptId) {
+        Receipt receipt = pendingReceipts.get(receiptId);
+        if (receipt == null) {
+            receipt = finishedReceipts.getIfPresent(receiptId);
+        }
+        if (receipt == null) {
+            throw new AppException("Receipt not found", HttpStatus.NOT_FOUND);
+        }
+        return receipt.toResponse();
+    }
+
+    int flushPending() {
+        PendingVote head = queue.poll();
+        return head == null ? 0 : flushBatch(head);
+    }
+
+    private int flushBatch(PendingVote head) {
+        List<PendingVote> batch = new ArrayList<>(properties.batchSize());
+        batch.add(head);
+        queue.drainTo(batch, properties.batchSize() - 1);
+        try {
+            insert(batch);
+            batch.forEach(this::markPersisted);
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Batch insert of {} votes failed, retrying one by one: {}", batch.size(), e.getMessage());
+            batch.forEach(this::flushSingle);
+        } catch (DataAccessException e) {
+            log.error("Batch insert of {} votes failed after {} attempts", batch.size(), properties.maxAttempts(), e);
+            batch.forEach(pending -> markFailed(pending, e));
+        }
+        return batch.size();
+    }
+
+    private void flushSingle(PendingVote pending) {
+        try {
+            insert(List.of(pending));
+            markPersisted(pending);
+        } catch (DuplicateKeyException e) {
+            finish(pending, ReceiptStatus.REJECTED, "Associate has already voted in this session");
+        } catch (DataAccessException e) {
+            markFailed(pending, e);
+        }
+    }
+
+    // Pool and lock timeouts or a lost connection may pass, so they are retried; integrity violations will not.
+    private void insert(List<PendingVote> votes) {
+        List<VoteRow> rows = votes.stream().map(pending -> pending.receipt.row).toList();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> voteJdbcRepository.batchInsert(rows, rows.size()));
+                return;
+            } catch (DataIntegrityViolationException e) {
+                throw e;
+            } catch (DataAccessException e) {
+                if (attempt >= properties.maxAttempts() || !pause(properties.retryBackoff().multipliedBy(attempt))) {
+                    throw e;
+                }
+                log.warn("Insert of {} votes failed on attempt {}, retrying: {}", rows.size(), attempt, e.getMessage());
+            }
+        }
+    }
+
+    private boolean pause(Duration backoff) {
+        try {
+            Thread.sleep(backoff);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void markPersisted(PendingVote pending) {
+        finish(pending, ReceiptStatus.PERSISTED, "Vote successfully cast");
+        voteTallyService.recordVote(pending.receipt.row.sessionId(), pending.receipt.row.option());
+        votedAssociateRegistry.recordVote(pending.receipt.row.sessionId(), pending.receipt.row.associateId());
+    }
+
+    private void markFailed(PendingVote pending, DataAccessException e) {
+        String cause = e.getMostSpecificCause().getMessage();
+        String reason = cause == null ? e.getMostSpecificCause().getClass().getSimpleName() : cause.lines().findFirst().orElse(cause);
+        finish(pending, ReceiptStatus.FAILED, "Vote could not be persisted: " + reason);
+    }
+
+    private void finish(PendingVote pending, ReceiptStatus status, String message) {
+        Receipt receipt = pending.receipt;
+        receipt.complete(status, message);
+        finishedReceipts.put(receipt.id, receipt);
+        pendingReceipts.remove(receipt.id);
+        inFlight.remove(pending.voteKey);
+        pending.window.releaseWriter();
+    }
+
+    private void runFlusher() {
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingVote head = queue.poll(properties.flushInterval().toMillis(), TimeUnit.MILLISECONDS);
+                if (head != null) {
+                    flushBatch(head);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Unexpected failure while flushing votes", e);
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        accepting = true;
+        running = true;
+        flusher = threadMode.start("vote-ingestion-flusher", this::runFlusher);
+        log.info("Asynchronous vote ingestion started with queue capacity {}", properties.queueCapacity());
+    }
+
+    @Override
+    public void stop() {
+        accepting = false;
+        running = false;
+        try {
+            flusher.join(properties.shutdownTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            log.error("Vote ingestion stopped with {} votes still queued", queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return properties.asyncEnabled();
+    }
+
+    @Override
+    public int getPhase() {
+        // Stop after the web server so requests still in progress can enqueue before the final drain.
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private record PendingVote(Receipt receipt, String voteKey, SessionWindow window) {
+    }
+
+    private static final class Receipt {
+        private final UUID id;
+        private final VoteRow row;
+        private final String option;
+        private volatile ReceiptStatus status = ReceiptStatus.PENDING;
+        private volatile String message = "Vote accepted for processing";
+
+        private Receipt(UUID id, VoteRow row, String option) {
+            this.id = id;
+            this.row = row;
+            this.option = option;
+        }
+
+        private void complete(ReceiptStatus status, String message) {
+            this.message = message;
+            this.status = status;
+        }
+
+        private VoteReceiptResponseDTO toResponse() {
+            return VoteReceiptResponseDTO.builder()
+                    .receiptId(id)
+                    .associateId(row.associateId())
+                    .sessionId(row.sessionId())
+                    .option(option)
+                    .status(status)
+                    .message(message)
+                    .build();
+        }
+    }
+}
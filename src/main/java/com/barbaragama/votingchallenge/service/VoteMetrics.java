@@ -0,0 +1,96 @@
+package com.barbaragama.votingchallenge.service;
+
+import com.barbaragama.votingchallenge.enums.VoteOutcome;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@Component
+public class VoteMetrics {
+
+    public enum Stage {
+        SESSION_LOOKUP,
+        ASSOCIATE_LOOKUP,
+        DUPLICATE_CHECK,
+        CPF_VALIDATION,
+        INSERT,
+        COMMIT
+    }
+
+    public enum ResultSource {
+        LIVE_TALLY,
+        STORED,
+        MATERIALIZED,
+        NOT_FOUND
+    }
+
+    // Timers are registered once so the vote path records without looking meters up by tag.
+    private final Map<Stage, Timer> stages = new EnumMap<>(Stage.class);
+    private final Map<VoteOutcome, Timer> votes = new EnumMap<>(VoteOutcome.class);
+    private final Map<ResultSource, Timer> results = new EnumMap<>(ResultSource.class);
+
+    public VoteMetrics(MeterRegistry meterRegistry) {
+        for (Stage stage : Stage.values()) {
+            stages.put(stage, Timer.builder("voting.vote.stage")
+                    .description("Time spent in each stage of casting a vote")
+                    .tag("stage", tag(stage))
+                    .register(meterRegistry));
+        }
+        for (VoteOutcome outcome : VoteOutcome.values()) {
+            votes.put(outcome, Timer.builder("voting.vote")
+                    .description("Time to cast a vote, including the commit, by outcome")
+                    .tag("outcome", tag(outcome))
+                    .register(meterRegistry));
+        }
+        for (ResultSource source : ResultSource.values()) {
+            results.put(source, Timer.builder("voting.result")
+                    .description("Time to answer a voting result, by where the counts came from")
+                    .tag("source", tag(source))
+                    .register(meterRegistry));
+        }
+    }
+
+    public <T> T time(Stage stage, Supplier<T> call) {
+        return stages.get(stage).record(call);
+    }
+
+    public void recordVote(VoteOutcome outcome, long startNanos) {
+        if (outcome == VoteOutcome.ACCEPTED && TransactionSynchronizationManager.isSynchronizationActive()) {
+            // The vote only counts as accepted once the transaction commits, and the commit belongs in its latency.
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                private long commitStart;
+
+                @Override
+                public void beforeCompletion() {
+                    commitStart = System.nanoTime();
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    long now = System.nanoTime();
+                    stages.get(Stage.COMMIT).record(now - commitStart, TimeUnit.NANOSECONDS);
+                    votes.get(status == STATUS_COMMITTED ? VoteOutcome.ACCEPTED : VoteOutcome.ERROR)
+                            .record(now - startNanos, TimeUnit.NANOSECONDS);
+                }
+            });
+            return;
+        }
+        votes.get(outcome).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordResult(ResultSource source, long startNanos) {
+        results.get(source).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static String tag(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,153 @@
+package com.barbaragama.votingchallenge.service;
+
+import com.barbaragama.votingchallenge.config.RateLimitProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class VoteRateLimiter {
+
+    public enum Scope {
+        CPF,
+        CLIENT,
+        GLOBAL
+    }
+
+    private final Map<Scope, Rate> rates = new EnumMap<>(Scope.class);
+    private final Map<Scope, Counter> rejections = new EnumMap<>(Scope.class);
+    private final Cache<String, TokenBucket> cpfBuckets;
+    private final Cache<String, TokenBucket> clientBuckets;
+    private final TokenBucket globalBucket;
+
+    public VoteRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        rates.put(Scope.CPF, Rate.of(properties.cpfCapacity(), properties.cpfRefillPerSecond()));
+        rates.put(Scope.CLIENT, Rate.of(properties.clientCapacity(), properties.clientRefillPerSecond()));
+        rates.put(Scope.GLOBAL, Rate.of(properties.globalCapacity(), properties.globalRefillPerSecond()));
+        for (Scope scope : Scope.values()) {
+            rejections.put(scope, Counter.builder("voting.rate.limit.rejections")
+                    .description("Votes turned away by the rate limiter before reaching the controller")
+                    .tag("scope", scope.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+        this.cpfBuckets = buckets(properties);
+        this.clientBuckets = buckets(properties);
+        CaffeineCacheMetrics.monitor(meterRegistry, cpfBuckets, "rateLimitCpfBuckets");
+        CaffeineCacheMetrics.monitor(meterRegistry, clientBuckets, "rateLimitClientBuckets");
+        this.globalBucket = new TokenBucket(System.nanoTime());
+    }
+
+    /**
+     * Takes a token from the client and then the global bucket, before anything of the request is read. A token taken
+     * from the client bucket is handed back if the global one is empty.
+     */
+    public Optional<Rejection> tryAcquireClient(String clientAddress) {
+        return tryAcquireClient(clientAddress, System.nanoTime());
+    }
+
+    /**
+     * Takes a token from the CPF bucket once the body has been read. If it is empty, the tokens taken by
+     * {@link #tryAcquireClient} for the same request are handed back, so a client retrying one CPF does not use up its
+     * own or the global allowance. A missing CPF (an unreadable body) is not limited here.
+     */
+    public Optional<Rejection> tryAcquireCpf(String cpf, String clientAddress) {
+        return tryAcquireCpf(cpf, clientAddress, System.nanoTime());
+    }
+
+    Optional<Rejection> tryAcquireClient(String clientAddress, long now) {
+        TokenBucket clientBucket = clientBuckets.get(clientAddress, key -> new TokenBucket(now));
+        Optional<Rejection> rejection = tryAcquire(Scope.CLIENT, clientBucket, now);
+        if (rejection.isPresent()) {
+            return rejection;
+        }
+        rejection = tryAcquire(Scope.GLOBAL, globalBucket, now);
+        if (rejection.isPresent()) {
+            clientBucket.refund(rates.get(Scope.CLIENT));
+        }
+        return rejection;
+    }
+
+    Optional<Rejection> tryAcquireCpf(String cpf, String clientAddress, long now) {
+        if (cpf == null) {
+            return Optional.empty();
+        }
+        Optional<Rejection> rejection = tryAcquire(Scope.CPF, cpfBuckets.get(cpf, key -> new TokenBucket(now)), now);
+        if (rejection.isPresent()) {
+            TokenBucket clientBucket = clientBuckets.getIfPresent(clientAddress);
+            if (clientBucket != null) {
+                clientBucket.refund(rates.get(Scope.CLIENT));
+            }
+            globalBucket.refund(rates.get(Scope.GLOBAL));
+        }
+        return rejection;
+    }
+
+    private Optional<Rejection> tryAcquire(Scope scope, TokenBucket bucket, long now) {
+        long waitNanos = bucket.tryAcquire(rates.get(scope), now);
+        if (waitNanos == 0) {
+            return Optional.empty();
+        }
+        rejections.get(scope).increment();
+        return Optional.of(new Rejection(scope, Duration.ofNanos(waitNanos)));
+    }
+
+    private static Cache<String, TokenBucket> buckets(RateLimitProperties properties) {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.maxKeys())
+                .expireAfterAccess(properties.idleExpiry())
+                .recordStats()
+                .build();
+    }
+
+    public record Rejection(Scope scope, Duration retryAfter) {
+    }
+
+    private record Rate(long intervalNanos, long burstNanos) {
+        static Rate of(long capacity, double refillPerSecond) {
+            long interval = (long) Math.ceil(1_000_000_000 / refillPerSecond);
+            return new Rate(interval, capacity * interval);
+        }
+    }
+
+    /**
+     * A token bucket stored as the time it will be full again (the GCRA form), so taking a token is a single
+     * compare-and-set on one long instead of a lock around a token count and a refill timestamp.
+     */
+    private static final class TokenBucket {
+        private final AtomicLong fullAt;
+
+        private TokenBucket(long now) {
+            this.fullAt = new AtomicLong(now);
+        }
+
+        // Returns 0 when a token was taken, otherwise how long until one is available.
+        private long tryAcquire(Rate rate, long now) {
+            while (true) {
+                long current = fullAt.get();
+                long next = Math.max(current, now) + rate.intervalNanos();
+                long wait = next - rate.burstNanos() - now;
+                if (wait > 0) {
+                    return wait;
+                }
+                if (fullAt.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+
+        // Gives back a token taken by tryAcquire; the bucket never ends up fuller than it was before that.
+        private void refund(Rate rate) {
+            fullAt.addAndGet(-rate.intervalNanos());
+        }
+    }
+}
@@ -6,9 +6,15 @@ import com.barbaragama.votingchallenge.domain.Session;
 import com.barbaragama.votingchallenge.dto.request.VoteRequestDTO;
 import com.barbaragama.votingchallenge.dto.response.VoteResponseDTO;
 import com.barbaragama.votingchallenge.enums.VoteOption;
+import com.barbaragama.votingchallenge.enums.VoteOutcome;
+import com.barbaragama.votingchallenge.exception.AppException;
+import com.barbaragama.votingchallenge.exception.VoteRejectedException;
+import com.barbaragama.votingchallenge.repositories.UniqueKeys;
 import com.barbaragama.votingchallenge.repositories.VoteRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -19,25 +25,58 @@ public class VoteService {
     private final AssociateService associateService;
     private final VoteValidationService voteValidationService;
     private final VoteRepository voteRepository;
+    private final VoteTallyService voteTallyService;
+    private final VotedAssociateRegistry votedAssociateRegistry;
+    private final VoteMetrics voteMetrics;
+    private final UniqueKeys uniqueKeys;
 
     @Transactional
     public VoteResponseDTO castVote(VoteRequestDTO voteRequestDTO) {
-        Session session = sessionValidationService.validateAndGetSession(voteRequestDTO.getSessionId());
-        Associate associate = associateService.validateAndGetAssociate(voteRequestDTO.getName(), voteRequestDTO.getCpf(), session.getId());
-        VoteOption voteOption = voteValidationService.validateVoteOption(voteRequestDTO.getOption());
+        long start = System.nanoTime();
+        VoteOutcome outcome = VoteOutcome.ERROR;
+        try {
+            Session session = voteMetrics.time(VoteMetrics.Stage.SESSION_LOOKUP,
+                    () -> sessionValidationService.validateAndGetSession(voteRequestDTO.getSessionId()));
+            Associate associate = associateService.validateAndGetAssociate(voteRequestDTO.getName(), voteRequestDTO.getCpf(), session.getId());
+            VoteOption voteOption = voteValidationService.validateVoteOption(voteRequestDTO.getOption());
 
-        Vote vote = Vote.builder()
-                .associate(associate)
-                .session(session)
-                .option(voteOption)
-                .build();
-        voteRepository.save(vote);
+            Vote vote = Vote.builder()
+                    .associate(associate)
+                    .session(session)
+                    .option(voteOption)
+                    .build();
+            // Flushing here times the associate and vote inserts apart from the commit.
+            try {
+                voteMetrics.time(VoteMetrics.Stage.INSERT, () -> {
+                    Vote saved = voteRepository.save(vote);
+                    voteRepository.flush();
+                    return saved;
+                });
+            } catch (DataIntegrityViolationException e) {
+                // A concurrent vote of the same associate committed between the duplicate check and this insert.
+                if (uniqueKeys.isDuplicateVote(e)) {
+                    throw new VoteRejectedException("Associate has already voted in this session", HttpStatus.FORBIDDEN, VoteOutcome.DUPLICATE);
+                }
+                throw e;
+            }
+            voteTallyService.recordVote(session.getId(), voteOption);
+            votedAssociateRegistry.recordVote(session.getId(), associate.getId());
+            outcome = VoteOutcome.ACCEPTED;
 
-        return VoteResponseDTO.builder()
-                .associateId(associate.getId())
-                .sessionId(voteRequestDTO.getSessionId())
-                .option(voteRequestDTO.getOption())
-                .message("Vote successfully cast")
-                .build();
+            return VoteResponseDTO.builder()
+                    .associateId(associate.getId())
+                    .sessionId(voteRequestDTO.getSessionId())
+                    .option(voteRequestDTO.getOption())
+                    .message("Vote successfully cast")
+                    .build();
+        } catch (VoteRejectedException e) {
+            outcome = e.getOutcome();
+            throw e;
+        } catch (AppException e) {
+            outcome = VoteOutcome.REJECTED;
+            throw e;
+        } finally {
+            voteMetrics.recordVote(outcome, start);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,181 @@
+package com.barbaragama.votingchallenge.service;
+
+import com.barbaragama.votingchallenge.dto.projection.VoteCountProjection;
+import com.barbaragama.votingchallenge.enums.SessionStatus;
+import com.barbaragama.votingchallenge.enums.VoteOption;
+import com.barbaragama.votingchallenge.repositories.SessionRepository;
+import com.barbaragama.votingchallenge.repositories.VoteRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VoteTallyService implements SmartInitializingSingleton {
+
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+
+    private final VoteRepository voteRepository;
+    private final SessionRepository sessionRepository;
+
+    private final Map<UUID, SessionTally> tallies = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    /**
+     * Loads the tallies of the sessions that are OPEN, as {@link SessionWindowRegistry} defines it. Closed sessions are
+     * answered from their materialized result, so their votes are not counted again and their tallies are not kept.
+     */
+    public void rebuild() {
+        Map<UUID, SessionTally> rebuilt = new ConcurrentHashMap<>();
+        List<UUID> openSessionIds = sessionRepository.findIdsByStatus(SessionStatus.OPEN);
+        openSessionIds.forEach(sessionId -> rebuilt.put(sessionId, new SessionTally()));
+        if (!openSessionIds.isEmpty()) {
+            for (VoteCountProjection count : voteRepository.countGroupedBySessionAndOption(openSessionIds)) {
+                rebuilt.get(count.getSessionId()).add(count.getOption(), count.getTotal());
+            }
+        }
+        tallies.clear();
+        tallies.putAll(rebuilt);
+        log.info("Vote tally rebuilt for {} sessions", rebuilt.size());
+    }
+
+    public void registerSession(UUID sessionId) {
+        tallies.putIfAbsent(sessionId, new SessionTally());
+    }
+
+    public void releaseSession(UUID sessionId) {
+        tallies.remove(sessionId);
+    }
+
+    public void recordVote(UUID sessionId, VoteOption option) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment(sessionId, option);
+                }
+            });
+        } else {
+            increment(sessionId, option);
+        }
+    }
+
+    public VoteCounts getCounts(UUID sessionId) {
+        SessionTally tally = tallies.get(sessionId);
+        if (tally == null) {
+            SessionTally placeholder = SessionTally.loading();
+            tally = tallies.putIfAbsent(sessionId, placeholder);
+            if (tally == null) {
+                load(sessionId, placeholder);
+                return placeholder.snapshot();
+            }
+        }
+        return tally.isLoaded() ? tally.snapshot() : count(sessionId);
+    }
+
+    /**
+     * Counts of a session whose tally is held in memory, or null once it was released; unlike {@link #getCounts} this
+     * never loads a tally, so pollers cannot bring back sessions that already closed.
+     */
+    public VoteCounts findCounts(UUID sessionId) {
+        SessionTally tally = tallies.get(sessionId);
+        return tally != null && tally.isLoaded() ? tally.snapshot() : null;
+    }
+
+    private void increment(UUID sessionId, VoteOption option) {
+        SessionTally tally = tallies.get(sessionId);
+        if (tally == null) {
+            SessionTally placeholder = SessionTally.loading();
+            tally = tallies.putIfAbsent(sessionId, placeholder);
+            if (tally == null) {
+                // This vote is already committed, so the count taken by the load includes it.
+                load(sessionId, placeholder);
+                return;
+            }
+        }
+        // A tally that is still loading keeps the vote as a delta on top of the count being taken.
+        tally.add(option, 1);
+    }
+
+    // Runs outside any map lock. Votes that arrive while the count runs may or may not be in it, so the count
+    // is retaken until one runs undisturbed; after the last attempt those votes are kept as deltas.
+    private void load(UUID sessionId, SessionTally tally) {
+        try {
+            for (int attempt = 1; ; attempt++) {
+                VoteCounts before = tally.snapshot();
+                VoteCounts counted = count(sessionId);
+                if (tally.snapshot().equals(before) || attempt == MAX_LOAD_ATTEMPTS) {
+                    tally.complete(counted, before);
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            tallies.remove(sessionId, tally);
+            throw e;
+        }
+    }
+
+    private VoteCounts count(UUID sessionId) {
+        SessionTally tally = new SessionTally();
+        voteRepository.countGroupedByOption(sessionId)
+                .forEach(count -> tally.add(count.getOption(), count.getTotal()));
+        return tally.snapshot();
+    }
+
+    public record VoteCounts(long yesVotes, long noVotes) {
+        public long totalVotes() {
+            return yesVotes + noVotes;
+        }
+    }
+
+    private static final class SessionTally {
+        private final Map<VoteOption, LongAdder> counters = new EnumMap<>(VoteOption.class);
+        private volatile boolean loaded = true;
+
+        SessionTally() {
+            for (VoteOption option : VoteOption.values()) {
+                counters.put(option, new LongAdder());
+            }
+        }
+
+        static SessionTally loading() {
+            SessionTally tally = new SessionTally();
+            tally.loaded = false;
+            return tally;
+        }
+
+        boolean isLoaded() {
+            return loaded;
+        }
+
+        // Replaces the deltas recorded before the count started, which the count already includes, with the count.
+        void complete(VoteCounts counted, VoteCounts before) {
+            add(VoteOption.YES, counted.yesVotes() - before.yesVotes());
+            add(VoteOption.NO, counted.noVotes() - before.noVotes());
+            loaded = true;
+        }
+
+        void add(VoteOption option, long amount) {
+            counters.get(option).add(amount);
+        }
+
+        VoteCounts snapshot() {
+            return new VoteCounts(counters.get(VoteOption.YES).sum(), counters.get(VoteOption.NO).sum());
+        }
+    }
+}
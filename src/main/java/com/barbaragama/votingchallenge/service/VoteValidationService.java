@@ -1,7 +1,8 @@
 package com.barbaragama.votingchallenge.service;
 
 import com.barbaragama.votingchallenge.enums.VoteOption;
-import com.barbaragama.votingchallenge.exception.AppException;
+import com.barbaragama.votingchallenge.enums.VoteOutcome;
+import com.barbaragama.votingchallenge.exception.VoteRejectedException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -14,7 +15,7 @@ public class VoteValidationService {
         try {
             return VoteOption.valueOf(optionText.toUpperCase());
         } catch (IllegalArgumentException e) {
-            throw new AppException("Invalid vote option. Use 'YES' or 'NO'", HttpStatus.BAD_REQUEST);
+            throw new VoteRejectedException("Invalid vote option. Use 'YES' or 'NO'", HttpStatus.BAD_REQUEST, VoteOutcome.INVALID_OPTION);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,195 @@
+package com.barbaragama.votingchallenge.service;
+
+import com.barbaragama.votingchallenge.config.VotedFilterProperties;
+import com.barbaragama.votingchallenge.domain.Session;
+import com.barbaragama.votingchallenge.event.SessionClosedEvent;
+import com.barbaragama.votingchallenge.repositories.AssociateRepository;
+import com.barbaragama.votingchallenge.repositories.SessionRepository;
+import com.barbaragama.votingchallenge.repositories.VoteRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+@Slf4j
+@Service
+public class VotedAssociateRegistry implements SmartInitializingSingleton {
+
+    private final VoteRepository voteRepository;
+    private final SessionRepository sessionRepository;
+    private final AssociateRepository associateRepository;
+    private final VotedFilterProperties properties;
+
+    private final Map<UUID, SessionVoters> sessions = new ConcurrentHashMap<>();
+    private final Counter bloomNegatives;
+    private final Counter bloomPositives;
+    private final Counter falsePositives;
+
+    public VotedAssociateRegistry(VoteRepository voteRepository,
+                                  SessionRepository sessionRepository,
+                                  AssociateRepository associateRepository,
+                                  VotedFilterProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.voteRepository = voteRepository;
+        this.sessionRepository = sessionRepository;
+        this.associateRepository = associateRepository;
+        this.properties = properties;
+        this.bloomNegatives = meterRegistry.counter("voting.voted.filter.checks", "result", "negative");
+        this.bloomPositives = meterRegistry.counter("voting.voted.filter.checks", "result", "positive");
+        this.falsePositives = meterRegistry.counter("voting.voted.filter.checks", "result", "false_positive");
+        Gauge.builder("voting.voted.filter.false.positive.rate", this, VotedAssociateRegistry::observedFalsePositiveRate)
+                .description("Share of Bloom filter positives that the exact set did not confirm")
+                .register(meterRegistry);
+        Gauge.builder("voting.voted.filter.expected.false.positive.rate", this, VotedAssociateRegistry::expectedFalsePositiveRate)
+                .description("Highest theoretical false-positive rate among tracked sessions at their current fill")
+                .register(meterRegistry);
+        Gauge.builder("voting.voted.filter.sessions", sessions, Map::size)
+                .description("Sessions tracked by the voted-associate filter")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<Session> openSessions = sessionRepository.findByEndTimeAfter(LocalDateTime.now());
+        if (openSessions.isEmpty()) {
+            return;
+        }
+        long expectedVoters = associateRepository.count();
+        for (Session session : openSessions) {
+            List<UUID> voted = voteRepository.findAssociateIdsBySessionId(session.getId());
+            SessionVoters voters = new SessionVoters(Math.max(expectedVoters, voted.size()));
+            voted.forEach(voters::add);
+            sessions.put(session.getId(), voters);
+        }
+        log.info("Voted-associate filter warmed for {} open sessions", openSessions.size());
+    }
+
+    public void openSession(UUID sessionId) {
+        sessions.put(sessionId, new SessionVoters(associateRepository.count()));
+    }
+
+    public boolean hasVoted(UUID sessionId, UUID associateId) {
+        SessionVoters voters = sessions.get(sessionId);
+        if (voters == null) {
+            return voteRepository.existsByAssociateIdAndSessionId(associateId, sessionId);
+        }
+        if (!voters.mightContain(associateId)) {
+            bloomNegatives.increment();
+            return false;
+        }
+        bloomPositives.increment();
+        boolean voted = voters.contains(associateId);
+        if (!voted) {
+            falsePositives.increment();
+        }
+        return voted;
+    }
+
+    public void recordVote(UUID sessionId, UUID associateId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(sessionId, associateId);
+                }
+            });
+        } else {
+            add(sessionId, associateId);
+        }
+    }
+
+    public void releaseSession(UUID sessionId) {
+        sessions.remove(sessionId);
+    }
+
+    @EventListener
+    public void onSessionClosed(SessionClosedEvent event) {
+        releaseSession(event.sessionId());
+    }
+
+    private void add(UUID sessionId, UUID associateId) {
+        SessionVoters voters = sessions.get(sessionId);
+        if (voters != null) {
+            voters.add(associateId);
+        }
+    }
+
+    private double observedFalsePositiveRate() {
+        double positives = bloomPositives.count();
+        return positives == 0 ? 0 : falsePositives.count() / positives;
+    }
+
+    private double expectedFalsePositiveRate() {
+        return sessions.values().stream().mapToDouble(SessionVoters::expectedFalsePositiveRate).max().orElse(0);
+    }
+
+    private final class SessionVoters {
+        private final AtomicLongArray bits;
+        private final long bitCount;
+        private final int hashCount;
+        private final Set<UUID> voted = ConcurrentHashMap.newKeySet();
+
+        private SessionVoters(long expectedVoters) {
+            long expected = Math.max(expectedVoters, properties.minExpectedVoters());
+            double rate = properties.falsePositiveRate();
+            long optimalBits = (long) Math.ceil(-expected * Math.log(rate) / (Math.log(2) * Math.log(2)));
+            this.bits = new AtomicLongArray((int) Math.min(Integer.MAX_VALUE, (optimalBits + 63) / 64));
+            this.bitCount = (long) bits.length() * 64;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expected * Math.log(2)));
+        }
+
+        private void add(UUID associateId) {
+            voted.add(associateId);
+            long hash1 = mix(associateId.getMostSignificantBits());
+            long hash2 = mix(associateId.getLeastSignificantBits()) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+                int index = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current = bits.get(index);
+                while ((current & mask) == 0 && !bits.compareAndSet(index, current, current | mask)) {
+                    current = bits.get(index);
+                }
+            }
+        }
+
+        private boolean mightContain(UUID associateId) {
+            long hash1 = mix(associateId.getMostSignificantBits());
+            long hash2 = mix(associateId.getLeastSignificantBits()) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean contains(UUID associateId) {
+            return voted.contains(associateId);
+        }
+
+        private double expectedFalsePositiveRate() {
+            return Math.pow(1 - Math.exp(-(double) hashCount * voted.size() / bitCount), hashCount);
+        }
+
+        private static long mix(long value) {
+            value = (value ^ (value >>> 33)) * 0xff51afd7ed558ccdL;
+            value = (value ^ (value >>> 33)) * 0xc4ceb9fe1a85ec53L;
+            return value ^ (value >>> 33);
+        }
+    }
+}
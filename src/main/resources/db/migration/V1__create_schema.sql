@@ -0,0 +1,74 @@
+-- Schema previously generated by Hibernate (ddl-auto=update). Every statement is guarded so that databases
+-- created before the migrations are baselined at version 0 and only receive the tables and indexes they lack.
+
+create table if not exists agenda (
+    id          uuid          not null,
+    title       varchar(255)  not null,
+    description varchar(1000) not null,
+    created_at  timestamp(6),
+    constraint pk_agenda primary key (id)
+);
+
+create table if not exists associate (
+    id   uuid         not null,
+    name varchar(255),
+    cpf  varchar(255) not null,
+    constraint pk_associate primary key (id),
+    constraint uk_associate_cpf unique (cpf)
+);
+
+create table if not exists voting_session (
+    id               uuid   not null,
+    agenda_id        uuid,
+    start_time       timestamp(6),
+    end_time         timestamp(6),
+    session_status   varchar(16),
+    duration_minutes bigint not null,
+    constraint pk_voting_session primary key (id),
+    constraint ck_voting_session_status check (session_status in ('CLOSED', 'OPEN')),
+    constraint fk_voting_session_agenda foreign key (agenda_id) references agenda (id)
+);
+
+create table if not exists vote (
+    id           uuid not null,
+    associate_id uuid,
+    session_id   uuid,
+    option       varchar(8),
+    voted_at     timestamp(6),
+    constraint pk_vote primary key (id),
+    constraint ck_vote_option check (option in ('NO', 'YES')),
+    constraint uk_vote_associate_session unique (associate_id, session_id),
+    constraint fk_vote_associate foreign key (associate_id) references associate (id),
+    constraint fk_vote_session foreign key (session_id) references voting_session (id)
+);
+
+create table if not exists session_result (
+    session_id   uuid   not null,
+    agenda_id    uuid,
+    agenda_title varchar(255),
+    yes_votes    bigint not null,
+    no_votes     bigint not null,
+    total_votes  bigint not null,
+    result       varchar(32),
+    closed_at    timestamp(6),
+    constraint pk_session_result primary key (session_id),
+    constraint ck_session_result_result check (result in ('APPROVED', 'REJECTED', 'SESSION_IN_PROGRESS', 'TIE'))
+);
+
+create table if not exists idempotency_key (
+    idempotency_key varchar(255) not null,
+    fingerprint     varchar(64)  not null,
+    associate_id    uuid,
+    session_id      uuid,
+    option          varchar(255),
+    message         varchar(255),
+    created_at      timestamp(6),
+    expires_at      timestamp(6) not null,
+    constraint pk_idempotency_key primary key (idempotency_key)
+);
+
+create index if not exists idx_agenda_created_at_id on agenda (created_at, id);
+create index if not exists idx_voting_session_start_time_id on voting_session (start_time, id);
+create index if not exists idx_voting_session_agenda_start_time on voting_session (agenda_id, start_time, id);
+create index if not exists idx_vote_session_voted_at_id on vote (session_id, voted_at, id);
+create index if not exists idx_idempotency_key_expires_at on idempotency_key (expires_at);
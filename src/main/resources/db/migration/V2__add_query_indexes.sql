@@ -0,0 +1,8 @@
+-- The grouped tally counts (one session, or the open sessions on startup) are answered from this index without reading the table.
+create index if not exists idx_vote_session_option on vote (session_id, option);
+
+-- The voted-associate registry looks up the sessions still running by end_time on startup.
+create index if not exists idx_voting_session_end_time on voting_session (end_time);
+
+-- The session lifecycle and the tally rebuild look up OPEN sessions on startup.
+create index if not exists idx_voting_session_status on voting_session (session_status);
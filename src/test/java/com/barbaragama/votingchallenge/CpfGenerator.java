@@ -0,0 +1,35 @@
+package com.barbaragama.votingchallenge;
+
+/**
+ * Valid, distinct CPFs from a sequence number, for benchmarks and load runs that need many associates.
+ */
+public final class CpfGenerator {
+
+    private CpfGenerator() {
+    }
+
+    public static String valid(long sequence) {
+        int[] digits = new int[11];
+        long base = Math.floorMod(sequence, 1_000_000_000L);
+        for (int i = 8; i >= 0; i--) {
+            digits[i] = (int) (base % 10);
+            base /= 10;
+        }
+        digits[9] = checkDigit(digits, 9);
+        digits[10] = checkDigit(digits, 10);
+        StringBuilder cpf = new StringBuilder(11);
+        for (int digit : digits) {
+            cpf.append(digit);
+        }
+        return cpf.toString();
+    }
+
+    private static int checkDigit(int[] digits, int length) {
+        int sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += digits[i] * (length + 1 - i);
+        }
+        int remainder = sum % 11;
+        return remainder < 2 ? 0 : 11 - remainder;
+    }
+}
@@ -0,0 +1,37 @@
+package com.barbaragama.votingchallenge.client;
+
+import com.barbaragama.votingchallenge.config.CpfStubProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CpfValidationClientStubTest {
+
+    @Test
+    @DisplayName("Should give the same answers for the same seed and CPF")
+    void isDeterministic() {
+        CpfValidationClientStub first = new CpfValidationClientStub(properties(7, 0));
+        CpfValidationClientStub second = new CpfValidationClientStub(properties(7, 0));
+
+        for (int i = 0; i < 50; i++) {
+            String cpf = String.format("%011d", i);
+            assertEquals(first.isCpfValid(cpf), second.isCpfValid(cpf));
+            assertEquals(first.checkVoteAbility(cpf), second.checkVoteAbility(cpf));
+        }
+    }
+
+    @Test
+    @DisplayName("Should fail every call when the error rate is one")
+    void failsAtConfiguredErrorRate() {
+        CpfValidationClientStub stub = new CpfValidationClientStub(properties(7, 1));
+
+        assertThrows(IllegalStateException.class, () -> stub.isCpfValid("37636824060"));
+    }
+
+    private static CpfStubProperties properties(long seed, double errorRate) {
+        return new CpfStubProperties(seed, Duration.ZERO, 0, errorRate, 0.1, 0.2);
+    }
+}
@@ -0,0 +1,221 @@
+package com.barbaragama.votingchallenge.client;
+
+import com.barbaragama.votingchallenge.config.CpfClientProperties;
+import com.barbaragama.votingchallenge.config.ThreadMode;
+import com.barbaragama.votingchallenge.enums.CpfEligibility;
+import com.barbaragama.votingchallenge.enums.VoteAbility;
+import com.barbaragama.votingchallenge.exception.AppException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ResilientCpfValidationClientTest {
+
+    @Mock
+    private CpfValidationClient delegate;
+
+    private ResilientCpfValidationClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = new ResilientCpfValidationClient(delegate, properties(), ThreadMode.platform());
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.destroy();
+    }
+
+    @Test
+    @DisplayName("Should complete with the result of the blocking client")
+    void passesResultThrough() {
+        when(delegate.checkVoteAbility("37636824060")).thenReturn(VoteAbility.ABLE_TO_VOTE);
+
+        assertEquals(VoteAbility.ABLE_TO_VOTE, client.checkVoteAbility("37636824060").join());
+    }
+
+    @Test
+    @DisplayName("Should check a batch of CPFs in one call")
+    void checksBatch() {
+        when(delegate.checkEligibility(List.of("1", "2"))).thenReturn(Map.of("1", CpfEligibility.ABLE_TO_VOTE, "2", CpfEligibility.INVALID_CPF));
+
+        assertEquals(Map.of("1", CpfEligibility.ABLE_TO_VOTE, "2", CpfEligibility.INVALID_CPF),
+                client.checkEligibility(List.of("1", "2")).join());
+    }
+
+    @Test
+    @DisplayName("Should fail with 503 when the call exceeds the timeout")
+    void failsOnTimeout() {
+        when(delegate.isCpfValid("37636824060")).thenAnswer(invocation -> {
+            Thread.sleep(1000);
+            return true;
+        });
+
+        assertUnavailable(client.isCpfValid("37636824060"));
+    }
+
+    @Test
+    @DisplayName("Should fail with 503 when the client throws")
+    void failsOnError() {
+        when(delegate.isCpfValid("37636824060")).thenThrow(new IllegalStateException("boom"));
+
+        assertUnavailable(client.isCpfValid("37636824060"));
+    }
+
+    @Test
+    @DisplayName("Should reject calls beyond the bulkhead limit without waiting")
+    void rejectsWhenBulkheadIsFull() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.isCpfValid(anyString())).thenAnswer(invocation -> release.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Boolean> first = client.isCpfValid("1");
+        CompletableFuture<Boolean> second = client.isCpfValid("2");
+        assertUnavailable(client.isCpfValid("3"));
+
+        release.countDown();
+        assertTrue(first.join());
+        assertTrue(second.join());
+        verify(delegate, never()).isCpfValid("3");
+    }
+
+    @Test
+    @DisplayName("Should keep the bulkhead permit of a timed-out call until its worker returns")
+    void holdsPermitUntilWorkerReturns() {
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.isCpfValid(anyString())).thenAnswer(invocation -> {
+            awaitUninterruptibly(release);
+            return true;
+        });
+
+        assertUnavailable(client.isCpfValid("1"));
+        assertUnavailable(client.isCpfValid("2"));
+        assertUnavailable(client.isCpfValid("3"));
+        verify(delegate, never()).isCpfValid("3");
+
+        assertEquals(0, client.availableCalls());
+
+        release.countDown();
+        awaitAvailableCalls(2);
+        assertTrue(client.isCpfValid("4").join());
+    }
+
+    @Test
+    @DisplayName("Should interrupt the worker of a timed-out call and release its permit")
+    void interruptsTimedOutWorker() throws InterruptedException {
+        CountDownLatch interrupted = new CountDownLatch(2);
+        when(delegate.isCpfValid(anyString())).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(5000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return true;
+        });
+
+        assertUnavailable(client.isCpfValid("1"));
+        assertUnavailable(client.isCpfValid("2"));
+
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+        awaitAvailableCalls(2);
+    }
+
+    @Test
+    @DisplayName("Should open the circuit after repeated failures and stop calling the client")
+    void opensCircuit() {
+        when(delegate.isCpfValid(anyString())).thenThrow(new IllegalStateException("boom"));
+
+        for (int i = 0; i < 4; i++) {
+            assertUnavailable(client.isCpfValid("37636824060"));
+            awaitAvailableCalls(2);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, client.getCircuitBreakerState());
+
+        assertUnavailable(client.isCpfValid("37636824060"));
+        verify(delegate, times(4)).isCpfValid("37636824060");
+    }
+
+    @Test
+    @DisplayName("Should keep batch calls off the breaker and bulkhead of single lookups")
+    void isolatesBatches() throws InterruptedException {
+        when(delegate.checkEligibility(List.of("1"))).thenThrow(new IllegalStateException("boom"));
+        for (int i = 0; i < 4; i++) {
+            assertUnavailable(client.checkEligibility(List.of("1")));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, client.getBatchCircuitBreakerState());
+        assertEquals(CircuitBreaker.State.CLOSED, client.getCircuitBreakerState());
+
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        ResilientCpfValidationClient fresh = new ResilientCpfValidationClient(delegate, properties(), ThreadMode.platform());
+        try {
+            when(delegate.checkEligibility(List.of("2"))).thenAnswer(invocation -> {
+                started.countDown();
+                release.await(5, TimeUnit.SECONDS);
+                return Map.of("2", CpfEligibility.ABLE_TO_VOTE);
+            });
+            when(delegate.isCpfValid("37636824060")).thenReturn(true);
+
+            CompletableFuture<Map<String, CpfEligibility>> pending = fresh.checkEligibility(List.of("2"));
+            assertTrue(started.await(1, TimeUnit.SECONDS));
+            assertEquals(0, fresh.availableBatchCalls());
+            assertEquals(2, fresh.availableCalls());
+            assertTrue(fresh.isCpfValid("37636824060").join());
+
+            release.countDown();
+            assertEquals(Map.of("2", CpfEligibility.ABLE_TO_VOTE), pending.join());
+        } finally {
+            fresh.destroy();
+        }
+    }
+
+    // Two single and one batch permit; the breakers open once half of four calls fail.
+    private static CpfClientProperties properties() {
+        return new CpfClientProperties(Duration.ofMillis(100), Duration.ofSeconds(1), 2, 1, 50, Duration.ofSeconds(1),
+                Duration.ofSeconds(1), 4, 4, Duration.ofMinutes(1));
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        while (true) {
+            try {
+                latch.await();
+                return;
+            } catch (InterruptedException ignored) {
+                // Simulates a client that does not honor interruption.
+            }
+        }
+    }
+
+    /** Workers release their permit just after completing the call. */
+    private void awaitAvailableCalls(int expected) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (client.availableCalls() != expected && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(expected, client.availableCalls());
+    }
+
+    private static void assertUnavailable(CompletableFuture<?> future) {
+        CompletionException exception = assertThrows(CompletionException.class, future::join);
+        AppException cause = assertInstanceOf(AppException.class, exception.getCause());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, cause.getStatus());
+    }
+}
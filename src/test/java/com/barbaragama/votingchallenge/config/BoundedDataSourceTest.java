@@ -0,0 +1,70 @@
+package com.barbaragama.votingchallenge.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BoundedDataSourceTest {
+
+    private final DataSource delegate = mock(DataSource.class);
+    private final BoundedDataSource dataSource = new BoundedDataSource(delegate, 1, Duration.ofMillis(50));
+
+    @Test
+    @DisplayName("Should time out a caller while every connection is held, and let it through once one is closed")
+    void boundsHeldConnections() throws Exception {
+        Connection connection = mock(Connection.class);
+        when(delegate.getConnection()).thenReturn(connection);
+
+        Connection held = dataSource.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        held.close();
+        verify(connection).close();
+        dataSource.getConnection().close();
+        assertEquals(1, dataSource.availablePermits());
+    }
+
+    @Test
+    @DisplayName("Should release the permit only once when a connection is closed twice")
+    void releasesOnce() throws Exception {
+        when(delegate.getConnection()).thenReturn(mock(Connection.class));
+
+        Connection held = dataSource.getConnection();
+        held.close();
+        held.close();
+
+        assertEquals(1, dataSource.availablePermits());
+    }
+
+    @Test
+    @DisplayName("Should release the permit when the pool fails to hand out a connection")
+    void releasesOnFailure() throws Exception {
+        when(delegate.getConnection()).thenThrow(new SQLException("pool exhausted"));
+
+        assertThrows(SQLException.class, dataSource::getConnection);
+
+        assertEquals(1, dataSource.availablePermits());
+    }
+
+    @Test
+    @DisplayName("Should delegate other calls to the pooled connection")
+    void delegates() throws Exception {
+        Connection connection = mock(Connection.class);
+        when(connection.getAutoCommit()).thenReturn(true);
+        doThrow(new SQLException("rolled back")).when(connection).commit();
+        when(delegate.getConnection()).thenReturn(connection);
+
+        try (Connection held = dataSource.getConnection()) {
+            assertTrue(held.getAutoCommit());
+            assertThrows(SQLException.class, held::commit);
+        }
+    }
+}
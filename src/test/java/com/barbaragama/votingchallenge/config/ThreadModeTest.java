@@ -0,0 +1,40 @@
+package com.barbaragama.votingchallenge.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ThreadModeTest {
+
+    @Test
+    @DisplayName("Should start named virtual threads in virtual mode")
+    void virtualMode() throws Exception {
+        ThreadMode mode = ThreadMode.of(true);
+        Thread thread = mode.start("worker", () -> { });
+        thread.join();
+
+        assertTrue(thread.isVirtual());
+        assertEquals("worker", thread.getName());
+        ExecutorService executor = mode.executor("pool-", 2);
+        assertTrue(executor.submit(() -> Thread.currentThread().isVirtual()).get(1, TimeUnit.SECONDS));
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should start daemon platform threads in platform mode")
+    void platformMode() throws Exception {
+        ThreadMode mode = ThreadMode.platform();
+        Thread thread = mode.start("worker", () -> { });
+        thread.join();
+
+        assertFalse(thread.isVirtual());
+        assertTrue(thread.isDaemon());
+        ExecutorService executor = mode.executor("pool-", 2);
+        assertEquals("pool-0", executor.submit(() -> Thread.currentThread().getName()).get(1, TimeUnit.SECONDS));
+        executor.shutdownNow();
+    }
+}
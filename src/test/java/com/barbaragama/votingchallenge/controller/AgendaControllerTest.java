@@ -1,7 +1,9 @@
 package com.barbaragama.votingchallenge.controller;
 
-import com.barbaragama.votingchallenge.domain.Agenda;
 import com.barbaragama.votingchallenge.dto.request.AgendaRequestDTO;
+import com.barbaragama.votingchallenge.dto.request.PageRequestDTO;
+import com.barbaragama.votingchallenge.dto.response.AgendaResponseDTO;
+import com.barbaragama.votingchallenge.dto.response.PageResponseDTO;
 import com.barbaragama.votingchallenge.service.AgendaService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,6 +19,7 @@ import org.springframework.context.annotation.Primary;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
@@ -50,8 +53,8 @@ class AgendaControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
-    private Agenda agenda;
-    private Agenda agenda2;
+    private AgendaResponseDTO agenda;
+    private AgendaResponseDTO agenda2;
     private AgendaRequestDTO agendaRequestDTO;
     private UUID id;
 
@@ -60,12 +63,12 @@ class AgendaControllerTest {
         Mockito.reset(agendaService);
         id = UUID.randomUUID();
 
-        agenda = new Agenda();
+        agenda = new AgendaResponseDTO();
         agenda.setId(id);
         agenda.setTitle("Agenda");
         agenda.setDescription("Description");
 
-        agenda2 = new Agenda();
+        agenda2 = new AgendaResponseDTO();
         agenda2.setId(UUID.randomUUID());
         agenda2.setTitle("Agenda 2");
         agenda2.setDescription("Description 2");
@@ -78,14 +81,47 @@ class AgendaControllerTest {
     @Test
     @DisplayName("Should return all agendas")
     void getAllAgendasSuccess() throws Exception {
-        List<Agenda> agendas = Arrays.asList(agenda, agenda2);
-        when(agendaService.getAllAgendas()).thenReturn(agendas);
+        List<AgendaResponseDTO> agendas = Arrays.asList(agenda, agenda2);
+        when(agendaService.getAgendas(null, PageRequestDTO.of(null, null))).thenReturn(new PageResponseDTO<>(agendas, "abc"));
 
         mockMvc.perform(get("/api/agenda").contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(2)))
-                .andExpect(jsonPath("$[0].title", is("Agenda")))
-                .andExpect(jsonPath("$[1].title", is("Agenda 2")));
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].title", is("Agenda")))
+                .andExpect(jsonPath("$.items[1].title", is("Agenda 2")))
+                .andExpect(jsonPath("$.next", is("abc")));
+    }
+
+    @Test
+    @DisplayName("Should pass the created-after filter and page parameters to the service")
+    void getAgendasWithFilter() throws Exception {
+        LocalDateTime createdAfter = LocalDateTime.of(2025, 1, 1, 10, 0);
+        String next = PageRequestDTO.Cursor.of(createdAfter, id).encode();
+        when(agendaService.getAgendas(createdAfter, PageRequestDTO.of(next, 10))).thenReturn(new PageResponseDTO<>(List.of(agenda2), null));
+
+        mockMvc.perform(get("/api/agenda")
+                        .param("createdAfter", "2025-01-01T10:00:00")
+                        .param("limit", "10")
+                        .param("next", next))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.next").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should reject a limit above the maximum page size")
+    void getAgendasLimitTooLarge() throws Exception {
+        mockMvc.perform(get("/api/agenda").param("limit", "501"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(agendaService);
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed cursor")
+    void getAgendasInvalidCursor() throws Exception {
+        mockMvc.perform(get("/api/agenda").param("next", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Invalid cursor")));
     }
 
     @Test
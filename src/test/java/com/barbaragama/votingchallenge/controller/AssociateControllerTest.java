@@ -1,8 +1,13 @@
 package com.barbaragama.votingchallenge.controller;
 
-import com.barbaragama.votingchallenge.domain.Associate;
 import com.barbaragama.votingchallenge.dto.request.AssociateRequestDTO;
+import com.barbaragama.votingchallenge.dto.request.PageRequestDTO;
+import com.barbaragama.votingchallenge.dto.response.AssociateImportErrorDTO;
+import com.barbaragama.votingchallenge.dto.response.AssociateImportResponseDTO;
+import com.barbaragama.votingchallenge.dto.response.AssociateResponseDTO;
+import com.barbaragama.votingchallenge.dto.response.PageResponseDTO;
 import com.barbaragama.votingchallenge.exception.AppException;
+import com.barbaragama.votingchallenge.service.AssociateImportService;
 import com.barbaragama.votingchallenge.service.AssociateService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,6 +24,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.InputStream;
 import java.util.Arrays;
 import java.util.List;
 
@@ -40,6 +46,11 @@ class AssociateControllerTest {
         public AssociateService associateService() {
             return Mockito.mock(AssociateService.class);
         }
+
+        @Bean
+        public AssociateImportService associateImportService() {
+            return Mockito.mock(AssociateImportService.class);
+        }
     }
 
     @Autowired
@@ -48,22 +59,25 @@ class AssociateControllerTest {
     @Autowired
     private AssociateService associateService;
 
+    @Autowired
+    private AssociateImportService associateImportService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
-    private Associate associate1;
-    private Associate associate2;
+    private AssociateResponseDTO associate1;
+    private AssociateResponseDTO associate2;
     private AssociateRequestDTO associateRequestDTO;
 
     @BeforeEach
     void setUp() {
         Mockito.reset(associateService);
 
-        associate1 = new Associate();
+        associate1 = new AssociateResponseDTO();
         associate1.setCpf("486.681.640-66");
         associate1.setName("João Silva");
 
-        associate2 = new Associate();
+        associate2 = new AssociateResponseDTO();
         associate2.setCpf("620.009.280-05");
         associate2.setName("Maria Santos");
 
@@ -75,15 +89,16 @@ class AssociateControllerTest {
     @Test
     @DisplayName("Should return all associates")
     void getAllAssociatesSuccess() throws Exception {
-        List<Associate> associates = Arrays.asList(associate1, associate2);
-        when(associateService.getAllAssociates()).thenReturn(associates);
+        List<AssociateResponseDTO> associates = Arrays.asList(associate1, associate2);
+        when(associateService.getAssociates(PageRequestDTO.of(null, 2))).thenReturn(new PageResponseDTO<>(associates, null));
 
         mockMvc.perform(get("/api/associate")
+                        .param("limit", "2")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(2)))
-                .andExpect(jsonPath("$[0].name", is("João Silva")))
-                .andExpect(jsonPath("$[1].name", is("Maria Santos")));
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].name", is("João Silva")))
+                .andExpect(jsonPath("$.items[1].name", is("Maria Santos")));
     }
 
     @Test
@@ -132,4 +147,35 @@ class AssociateControllerTest {
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.message", is("Associate not found")));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should import associates from a CSV upload")
+    void importAssociatesCsv() throws Exception {
+        when(associateImportService.importCsv(any(InputStream.class))).thenReturn(AssociateImportResponseDTO.builder()
+                .rows(2).imported(1).invalid(1)
+                .errors(List.of(new AssociateImportErrorDTO(3, "111.111.111-11", "Invalid CPF")))
+                .build());
+
+        mockMvc.perform(post("/api/associate/import")
+                        .contentType("text/csv")
+                        .content("name,cpf\nJoão Silva,486.681.640-66\nAna,111.111.111-11\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(1)))
+                .andExpect(jsonPath("$.errors[0].line", is(3)))
+                .andExpect(jsonPath("$.errors[0].message", is("Invalid CPF")));
+    }
+
+    @Test
+    @DisplayName("Should import associates from an NDJSON upload")
+    void importAssociatesNdjson() throws Exception {
+        when(associateImportService.importNdjson(any(InputStream.class))).thenReturn(AssociateImportResponseDTO.builder()
+                .rows(1).imported(1).errors(List.of()).build());
+
+        mockMvc.perform(post("/api/associate/import")
+                        .contentType("application/x-ndjson")
+                        .content(objectMapper.writeValueAsString(associateRequestDTO) + "\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows", is(1)))
+                .andExpect(jsonPath("$.errors", hasSize(0)));
+    }
+}
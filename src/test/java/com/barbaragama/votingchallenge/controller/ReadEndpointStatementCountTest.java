@@ -0,0 +1,127 @@
+package com.barbaragama.votingchallenge.controller;
+
+import com.barbaragama.votingchallenge.dto.request.AgendaRequestDTO;
+import com.barbaragama.votingchallenge.dto.request.AssociateRequestDTO;
+import com.barbaragama.votingchallenge.dto.request.PageRequestDTO;
+import com.barbaragama.votingchallenge.dto.request.SessionRequestDTO;
+import com.barbaragama.votingchallenge.dto.response.AgendaResponseDTO;
+import com.barbaragama.votingchallenge.dto.response.SessionResponseDTO;
+import com.barbaragama.votingchallenge.service.AgendaService;
+import com.barbaragama.votingchallenge.service.AssociateService;
+import com.barbaragama.votingchallenge.service.SessionService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:statement-count;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReadEndpointStatementCountTest {
+
+    private static final String CPF = "836.088.390-46";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AgendaService agendaService;
+
+    @Autowired
+    private SessionService sessionService;
+
+    @Autowired
+    private AssociateService associateService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private AgendaResponseDTO agenda;
+    private SessionResponseDTO session;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        AgendaRequestDTO agendaRequest = new AgendaRequestDTO();
+        agendaRequest.setTitle("Vote on new project");
+        agendaRequest.setDescription("Vote on the new project proposal for 2025");
+        agenda = agendaService.createAgenda(agendaRequest);
+        SessionRequestDTO sessionRequest = new SessionRequestDTO();
+        sessionRequest.setAgendaId(agenda.getId());
+        sessionRequest.setDurationMinutes(30);
+        session = sessionService.openVotingSession(sessionRequest);
+        if (associateService.getAssociates(PageRequestDTO.of(null, 1)).getItems().isEmpty()) {
+            AssociateRequestDTO associateRequest = new AssociateRequestDTO();
+            associateRequest.setName("Bárbara Gama");
+            associateRequest.setCpf(CPF);
+            associateService.createAssociate(associateRequest);
+        }
+    }
+
+    @Test
+    @DisplayName("Should list agendas with one statement")
+    void listAgendas() throws Exception {
+        assertStatements(1, get("/api/agenda"));
+    }
+
+    @Test
+    @DisplayName("Should read an agenda with one statement")
+    void getAgenda() throws Exception {
+        assertStatements(1, get("/api/agenda/" + agenda.getId()));
+    }
+
+    @Test
+    @DisplayName("Should list associates with one statement")
+    void listAssociates() throws Exception {
+        assertStatements(1, get("/api/associate"));
+    }
+
+    @Test
+    @DisplayName("Should read an associate with one statement")
+    void getAssociate() throws Exception {
+        assertStatements(1, get("/api/associate/" + CPF));
+    }
+
+    @Test
+    @DisplayName("Should list sessions with one statement and no join to agenda")
+    void listSessions() throws Exception {
+        assertStatements(1, get("/api/voting").param("agendaId", agenda.getId().toString()));
+    }
+
+    @Test
+    @DisplayName("Should read a session with one statement")
+    void getSession() throws Exception {
+        assertStatements(1, get("/api/voting/" + session.getId()));
+    }
+
+    @Test
+    @DisplayName("Should read the live result of an open session without touching the database")
+    void getVotingResult() throws Exception {
+        assertStatements(0, get("/api/voting/result/" + session.getId()));
+    }
+
+    private void assertStatements(long expected, RequestBuilder request) throws Exception {
+        statistics.clear();
+        mockMvc.perform(request).andExpect(status().isOk());
+        assertEquals(expected, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+}
@@ -1,8 +1,15 @@
 package com.barbaragama.votingchallenge.controller;
 
 import com.barbaragama.votingchallenge.dto.request.VoteRequestDTO;
+import com.barbaragama.votingchallenge.dto.response.VoteBatchItemResponseDTO;
+import com.barbaragama.votingchallenge.dto.response.VoteReceiptResponseDTO;
 import com.barbaragama.votingchallenge.dto.response.VoteResponseDTO;
+import com.barbaragama.votingchallenge.enums.ReceiptStatus;
 import com.barbaragama.votingchallenge.exception.AppException;
+import com.barbaragama.votingchallenge.service.VoteBatchService;
+import com.barbaragama.votingchallenge.service.VoteIdempotencyService;
+import com.barbaragama.votingchallenge.service.VoteIdempotencyService.IdempotentVote;
+import com.barbaragama.votingchallenge.service.VoteIngestionService;
 import com.barbaragama.votingchallenge.service.VoteService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,12 +26,21 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.InputStream;
+import java.util.List;
 import java.util.UUID;
 
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -39,6 +55,24 @@ class VoteControllerTest {
         public VoteService voteService() {
             return Mockito.mock(VoteService.class);
         }
+
+        @Bean
+        @Primary
+        public VoteIngestionService voteIngestionService() {
+            return Mockito.mock(VoteIngestionService.class);
+        }
+
+        @Bean
+        @Primary
+        public VoteBatchService voteBatchService() {
+            return Mockito.mock(VoteBatchService.class);
+        }
+
+        @Bean
+        @Primary
+        public VoteIdempotencyService voteIdempotencyService() {
+            return Mockito.mock(VoteIdempotencyService.class);
+        }
     }
 
     @Autowired
@@ -50,12 +84,21 @@ class VoteControllerTest {
     @Autowired
     private VoteService voteService;
 
+    @Autowired
+    private VoteIngestionService voteIngestionService;
+
+    @Autowired
+    private VoteBatchService voteBatchService;
+
+    @Autowired
+    private VoteIdempotencyService voteIdempotencyService;
+
     private VoteRequestDTO voteRequestDTO;
     private VoteResponseDTO voteResponseDTO;
 
     @BeforeEach
     void setUp() {
-        Mockito.reset(voteService);
+        Mockito.reset(voteService, voteIngestionService, voteBatchService, voteIdempotencyService);
         UUID sessionId = UUID.randomUUID();
 
         voteRequestDTO = new VoteRequestDTO();
@@ -128,4 +171,110 @@ class VoteControllerTest {
                 .andExpect(status().isForbidden())
                 .andExpect(jsonPath("$.message", is("Associate is not able to vote")));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should cast vote through the idempotency store when an Idempotency-Key is sent")
+    void castVoteWithIdempotencyKey() throws Exception {
+        when(voteIdempotencyService.castVote(eq("kiosk-12-3f0c9a"), any(VoteRequestDTO.class)))
+                .thenReturn(new IdempotentVote(voteResponseDTO, true));
+
+        mockMvc.perform(post("/api/vote")
+                        .header("Idempotency-Key", "kiosk-12-3f0c9a")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(voteRequestDTO)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.message", is("Vote registered successfully")));
+
+        verify(voteService, never()).castVote(any(VoteRequestDTO.class));
+    }
+
+    @Test
+    @DisplayName("Should return 422 when an Idempotency-Key is reused with a different vote")
+    void castVoteWithReusedIdempotencyKey() throws Exception {
+        when(voteIdempotencyService.castVote(eq("kiosk-12-3f0c9a"), any(VoteRequestDTO.class)))
+                .thenThrow(new AppException("Idempotency-Key was already used with a different request", HttpStatus.UNPROCESSABLE_ENTITY));
+
+        mockMvc.perform(post("/api/vote")
+                        .header("Idempotency-Key", "kiosk-12-3f0c9a")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(voteRequestDTO)))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.message", is("Idempotency-Key was already used with a different request")));
+    }
+
+    @Test
+    @DisplayName("Should return 202 with a receipt when asynchronous ingestion is enabled")
+    void castVoteAsync() throws Exception {
+        UUID receiptId = UUID.randomUUID();
+        VoteReceiptResponseDTO receipt = VoteReceiptResponseDTO.builder()
+                .receiptId(receiptId)
+                .status(ReceiptStatus.PENDING)
+                .build();
+        when(voteIngestionService.isEnabled()).thenReturn(true);
+        when(voteIngestionService.submit(any(VoteRequestDTO.class))).thenReturn(receipt);
+
+        mockMvc.perform(post("/api/vote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(voteRequestDTO)))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.receiptId").value(receiptId.toString()))
+                .andExpect(jsonPath("$.status", is("PENDING")));
+
+        verify(voteService, never()).castVote(any(VoteRequestDTO.class));
+    }
+
+    @Test
+    @DisplayName("Should return receipt status")
+    void getReceipt() throws Exception {
+        UUID receiptId = UUID.randomUUID();
+        VoteReceiptResponseDTO receipt = VoteReceiptResponseDTO.builder()
+                .receiptId(receiptId)
+                .status(ReceiptStatus.PERSISTED)
+                .build();
+        when(voteIngestionService.getReceipt(receiptId)).thenReturn(receipt);
+
+        mockMvc.perform(get("/api/vote/receipts/" + receiptId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("PERSISTED")));
+    }
+
+    @Test
+    @DisplayName("Should return 404 when receipt is unknown")
+    void getReceiptNotFound() throws Exception {
+        when(voteIngestionService.getReceipt(any(UUID.class)))
+                .thenThrow(new AppException("Receipt not found", HttpStatus.NOT_FOUND));
+
+        mockMvc.perform(get("/api/vote/receipts/" + UUID.randomUUID()))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message", is("Receipt not found")));
+    }
+
+    @Test
+    @DisplayName("Should cast a JSON batch of votes")
+    void castVotesBatch() throws Exception {
+        when(voteBatchService.castVotes(anyList())).thenReturn(List.of(
+                VoteBatchItemResponseDTO.builder().index(0).status(200).build(),
+                VoteBatchItemResponseDTO.builder().index(1).status(403).build()));
+
+        mockMvc.perform(post("/api/vote/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(voteRequestDTO, voteRequestDTO))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[1].status").value(403));
+    }
+
+    @Test
+    @DisplayName("Should cast an NDJSON batch of votes")
+    void castVotesBatchNdjson() throws Exception {
+        when(voteBatchService.castVotes(any(InputStream.class))).thenReturn(List.of(
+                VoteBatchItemResponseDTO.builder().index(0).status(200).build()));
+
+        mockMvc.perform(post("/api/vote/batch")
+                        .contentType("application/x-ndjson")
+                        .content(objectMapper.writeValueAsString(voteRequestDTO) + "\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+}
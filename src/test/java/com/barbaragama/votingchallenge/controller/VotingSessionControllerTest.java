@@ -1,16 +1,24 @@
 package com.barbaragama.votingchallenge.controller;
 
+import com.barbaragama.votingchallenge.config.VoteExportProperties;
+import com.barbaragama.votingchallenge.dto.request.PageRequestDTO;
 import com.barbaragama.votingchallenge.dto.request.SessionRequestDTO;
+import com.barbaragama.votingchallenge.dto.response.PageResponseDTO;
 import com.barbaragama.votingchallenge.dto.response.SessionResponseDTO;
 import com.barbaragama.votingchallenge.dto.response.SessionResultResponseDTO;
+import com.barbaragama.votingchallenge.enums.ExportFormat;
+import com.barbaragama.votingchallenge.enums.SessionStatus;
 import com.barbaragama.votingchallenge.exception.AppException;
 import com.barbaragama.votingchallenge.service.SessionService;
+import com.barbaragama.votingchallenge.service.TallyStreamService;
+import com.barbaragama.votingchallenge.service.VoteExportService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
@@ -19,30 +27,60 @@ import org.springframework.context.annotation.Primary;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.OutputStream;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.UUID;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@WebMvcTest(VotingSessionController.class)
+@WebMvcTest(controllers = VotingSessionController.class, properties = {
+        "spring.mvc.async.request-timeout=100ms",
+        "voting.export.timeout=2m"
+})
 @Import(VotingSessionControllerTest.SessionServiceTestConfig.class)
 class VotingSessionControllerTest {
 
     @TestConfiguration
+    @EnableConfigurationProperties(VoteExportProperties.class)
     public static class SessionServiceTestConfig {
         @Bean
         @Primary
         public SessionService sessionService() {
             return Mockito.mock(SessionService.class);
         }
+
+        @Bean
+        @Primary
+        public VoteExportService voteExportService() {
+            return Mockito.mock(VoteExportService.class);
+        }
+
+        @Bean
+        @Primary
+        public TallyStreamService tallyStreamService() {
+            return Mockito.mock(TallyStreamService.class);
+        }
     }
 
     @Autowired
@@ -54,13 +92,19 @@ class VotingSessionControllerTest {
     @Autowired
     private SessionService sessionService;
 
+    @Autowired
+    private VoteExportService voteExportService;
+
+    @Autowired
+    private TallyStreamService tallyStreamService;
+
     private SessionRequestDTO sessionRequestDTO;
     private SessionResponseDTO sessionResponseDTO;
     private UUID sessionId;
 
     @BeforeEach
     void setUp() {
-        Mockito.reset(sessionService);
+        Mockito.reset(sessionService, voteExportService, tallyStreamService);
         UUID agendaId = UUID.randomUUID();
         sessionId = UUID.randomUUID();
 
@@ -77,13 +121,38 @@ class VotingSessionControllerTest {
     @Test
     @DisplayName("Should get all sessions successfully")
     void getAllSuccess() throws Exception {
-        when(sessionService.getAll()).thenReturn(Collections.singletonList(sessionResponseDTO));
+        when(sessionService.getSessions(null, null, null, PageRequestDTO.of(null, null)))
+                .thenReturn(new PageResponseDTO<>(Collections.singletonList(sessionResponseDTO), null));
 
         mockMvc.perform(get("/api/voting")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].id").value(sessionId.toString()));
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].id").value(sessionId.toString()));
+    }
+
+    @Test
+    @DisplayName("Should pass status and agenda filters to the service")
+    void getAllWithFilters() throws Exception {
+        UUID agendaId = sessionResponseDTO.getAgendaId();
+        when(sessionService.getSessions(SessionStatus.CLOSED, agendaId, null, PageRequestDTO.of(null, 20)))
+                .thenReturn(new PageResponseDTO<>(Collections.singletonList(sessionResponseDTO), "abc"));
+
+        mockMvc.perform(get("/api/voting")
+                        .param("status", "CLOSED")
+                        .param("agendaId", agendaId.toString())
+                        .param("limit", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.next", is("abc")));
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown session status")
+    void getAllInvalidStatus() throws Exception {
+        mockMvc.perform(get("/api/voting").param("status", "PAUSED"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Invalid value for parameter status")));
     }
 
     @Test
@@ -158,4 +227,85 @@ class VotingSessionControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.message", is("Invalid UUID format")));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should stream the votes of a session as CSV")
+    void exportVotesCsv() throws Exception {
+        doAnswer(invocation -> {
+            invocation.getArgument(2, OutputStream.class).write("vote_id,associate_id,cpf,option,voted_at\n".getBytes());
+            return 0L;
+        }).when(voteExportService).export(eq(sessionId), eq(ExportFormat.CSV), any());
+
+        MvcResult result = mockMvc.perform(get("/api/voting/" + sessionId + "/votes/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"votes-" + sessionId + ".csv\""))
+                .andExpect(content().string("vote_id,associate_id,cpf,option,voted_at\n"));
+    }
+
+    @Test
+    @DisplayName("Should stream a slow export past the default async timeout under its own timeout")
+    void exportVotesSlowly() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(2, OutputStream.class);
+            for (int i = 0; i < 3; i++) {
+                Thread.sleep(100);
+                out.write(("{\"row\":" + i + "}\n").getBytes());
+                out.flush();
+            }
+            return 3L;
+        }).when(voteExportService).export(eq(sessionId), eq(ExportFormat.NDJSON), any());
+
+        MvcResult result = mockMvc.perform(get("/api/voting/" + sessionId + "/votes/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertEquals(Duration.ofMinutes(2).toMillis(), result.getRequest().getAsyncContext().getTimeout());
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string("{\"row\":0}\n{\"row\":1}\n{\"row\":2}\n"));
+    }
+
+    @Test
+    @DisplayName("Should return 404 when exporting votes of a missing session")
+    void exportVotesSessionNotFound() throws Exception {
+        doThrow(new AppException("Voting session not found", HttpStatus.NOT_FOUND))
+                .when(voteExportService).checkSessionExists(sessionId);
+
+        mockMvc.perform(get("/api/voting/" + sessionId + "/votes/export"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message", is("Voting session not found")));
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown export format")
+    void exportVotesInvalidFormat() throws Exception {
+        mockMvc.perform(get("/api/voting/" + sessionId + "/votes/export").param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Invalid export format: xml")));
+        verifyNoInteractions(voteExportService);
+    }
+
+    @Test
+    @DisplayName("Should open a live result stream for a session")
+    void streamVotingResult() throws Exception {
+        SseEmitter emitter = new SseEmitter();
+        when(tallyStreamService.subscribe(sessionId)).thenReturn(emitter);
+
+        MvcResult result = mockMvc.perform(get("/api/voting/result/" + sessionId + "/stream")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        emitter.send(SseEmitter.event().name("final").data("done"));
+        emitter.complete();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(content().string(containsString("event:final")));
+    }
+}
@@ -0,0 +1,76 @@
+package com.barbaragama.votingchallenge.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedUuidGeneratorTest {
+
+    @Test
+    @DisplayName("Should generate version 7 identifiers carrying the current time")
+    void versionAndTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID id = TimeOrderedUuidGenerator.next();
+        long after = System.currentTimeMillis();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        long timestamp = id.getMostSignificantBits() >>> 16;
+        assertTrue(timestamp >= before, "timestamp " + timestamp + " is before " + before);
+        // A burst from other tests may have pushed the sequence slightly ahead of the clock.
+        assertTrue(timestamp <= after + 1_000, "timestamp " + timestamp + " is far after " + after);
+    }
+
+    @Test
+    @DisplayName("Should generate strictly increasing identifiers, even within the same millisecond")
+    void increasing() {
+        UUID previous = TimeOrderedUuidGenerator.next();
+        for (int i = 0; i < 100_000; i++) {
+            UUID current = TimeOrderedUuidGenerator.next();
+            assertTrue(Long.compareUnsigned(current.getMostSignificantBits(), previous.getMostSignificantBits()) > 0,
+                    current + " is not after " + previous);
+            previous = current;
+        }
+    }
+
+    @Test
+    @DisplayName("Should generate unique, per-thread increasing identifiers under concurrent use")
+    void concurrent() throws Exception {
+        int threads = 8;
+        int perThread = 50_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<List<UUID>>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                List<UUID> ids = new ArrayList<>(perThread);
+                for (int i = 0; i < perThread; i++) {
+                    ids.add(TimeOrderedUuidGenerator.next());
+                }
+                return ids;
+            }));
+        }
+
+        Set<Long> sequences = new HashSet<>();
+        for (Future<List<UUID>> future : futures) {
+            List<UUID> ids = future.get();
+            for (int i = 0; i < ids.size(); i++) {
+                assertTrue(sequences.add(ids.get(i).getMostSignificantBits()), "duplicate " + ids.get(i));
+                if (i > 0) {
+                    assertTrue(Long.compareUnsigned(ids.get(i).getMostSignificantBits(), ids.get(i - 1).getMostSignificantBits()) > 0);
+                }
+            }
+        }
+        executor.shutdownNow();
+        assertEquals(threads * perThread, sequences.size());
+    }
+}
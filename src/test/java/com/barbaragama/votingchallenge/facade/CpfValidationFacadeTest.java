@@ -0,0 +1,162 @@
+package com.barbaragama.votingchallenge.facade;
+
+import com.barbaragama.votingchallenge.client.AsyncCpfValidationClient;
+import com.barbaragama.votingchallenge.config.CpfCacheProperties;
+import com.barbaragama.votingchallenge.enums.CpfEligibility;
+import com.barbaragama.votingchallenge.enums.VoteAbility;
+import com.barbaragama.votingchallenge.exception.AppException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CpfValidationFacadeTest {
+
+    @Mock
+    private AsyncCpfValidationClient validationClient;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CpfValidationFacade cpfValidationFacade;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cpfValidationFacade = new CpfValidationFacade(validationClient,
+                new CpfCacheProperties(100, Duration.ofMinutes(10), Duration.ofMinutes(1)), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should call the CPF service once per normalized CPF")
+    void cachesEligibilityByNormalizedCpf() {
+        when(validationClient.isCpfValid("37636824060")).thenReturn(CompletableFuture.completedFuture(true));
+        when(validationClient.checkVoteAbility("37636824060")).thenReturn(CompletableFuture.completedFuture(VoteAbility.ABLE_TO_VOTE));
+
+        assertEquals(VoteAbility.ABLE_TO_VOTE, cpfValidationFacade.validateCpfForVoting("376.368.240-60"));
+        assertEquals(VoteAbility.ABLE_TO_VOTE, cpfValidationFacade.validateCpfForVoting("37636824060"));
+
+        verify(validationClient, times(1)).isCpfValid("37636824060");
+        verify(validationClient, times(1)).checkVoteAbility("37636824060");
+        assertEquals(1, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Should cache invalid CPFs and keep throwing without calling the service again")
+    void cachesInvalidCpf() {
+        when(validationClient.isCpfValid("37636824060")).thenReturn(CompletableFuture.completedFuture(false));
+
+        for (int i = 0; i < 2; i++) {
+            AppException exception = assertThrows(AppException.class, () -> cpfValidationFacade.validateCpfForVoting("376.368.240-60"));
+            assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+        }
+
+        verify(validationClient, times(1)).isCpfValid("37636824060");
+        verify(validationClient, never()).checkVoteAbility(anyString());
+    }
+
+    @Test
+    @DisplayName("Should not cache failures of the CPF service")
+    void doesNotCacheFailures() {
+        when(validationClient.isCpfValid("37636824060"))
+                .thenReturn(CompletableFuture.failedFuture(new AppException("CPF validation service is unavailable, try again later", HttpStatus.SERVICE_UNAVAILABLE)))
+                .thenReturn(CompletableFuture.completedFuture(true));
+        when(validationClient.checkVoteAbility("37636824060")).thenReturn(CompletableFuture.completedFuture(VoteAbility.UNABLE_TO_VOTE));
+
+        AppException exception = assertThrows(AppException.class, () -> cpfValidationFacade.validateCpfForVoting("37636824060"));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatus());
+        assertEquals(VoteAbility.UNABLE_TO_VOTE, cpfValidationFacade.validateCpfForVoting("37636824060"));
+    }
+
+    @Test
+    @DisplayName("Should coalesce concurrent lookups of the same CPF into one remote call")
+    void coalescesConcurrentLookups() throws Exception {
+        CompletableFuture<Boolean> pending = new CompletableFuture<>();
+        when(validationClient.isCpfValid("37636824060")).thenReturn(pending);
+        when(validationClient.checkVoteAbility("37636824060")).thenReturn(CompletableFuture.completedFuture(VoteAbility.ABLE_TO_VOTE));
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<VoteAbility>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> cpfValidationFacade.validateCpfForVoting("376.368.240-60")));
+        }
+        Thread.sleep(100);
+        pending.complete(true);
+
+        for (Future<VoteAbility> result : results) {
+            assertEquals(VoteAbility.ABLE_TO_VOTE, result.get(5, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        verify(validationClient, times(1)).isCpfValid("37636824060");
+    }
+
+    @Test
+    @DisplayName("Should prefetch only CPFs missing from the cache and serve votes from the result")
+    void prefetchesMissingCpfs() {
+        when(validationClient.isCpfValid("37636824060")).thenReturn(CompletableFuture.completedFuture(true));
+        when(validationClient.checkVoteAbility("37636824060")).thenReturn(CompletableFuture.completedFuture(VoteAbility.ABLE_TO_VOTE));
+        cpfValidationFacade.validateCpfForVoting("37636824060");
+        when(validationClient.checkEligibility(Set.of("11144477735", "52998224725"))).thenReturn(CompletableFuture.completedFuture(Map.of(
+                "11144477735", CpfEligibility.UNABLE_TO_VOTE,
+                "52998224725", CpfEligibility.INVALID_CPF)));
+
+        assertEquals(3, cpfValidationFacade.prefetch(List.of("376.368.240-60", "111.444.777-35", "52998224725")).join());
+
+        assertEquals(VoteAbility.UNABLE_TO_VOTE, cpfValidationFacade.validateCpfForVoting("111.444.777-35"));
+        assertThrows(AppException.class, () -> cpfValidationFacade.validateCpfForVoting("52998224725"));
+        verify(validationClient, times(1)).isCpfValid(anyString());
+        verify(validationClient).checkEligibility(Set.of("11144477735", "52998224725"));
+    }
+
+    @Test
+    @DisplayName("Should validate a vote batch with one call and look up CPFs left out of its answer on their own")
+    void validatesBatchWithOneCall() {
+        when(validationClient.checkEligibility(Set.of("37636824060", "11144477735"))).thenReturn(CompletableFuture.completedFuture(Map.of(
+                "11144477735", CpfEligibility.UNABLE_TO_VOTE)));
+        when(validationClient.isCpfValid("37636824060")).thenReturn(CompletableFuture.completedFuture(true));
+        when(validationClient.checkVoteAbility("37636824060")).thenReturn(CompletableFuture.completedFuture(VoteAbility.ABLE_TO_VOTE));
+
+        Map<String, CpfEligibility> eligibilities = cpfValidationFacade.validateCpfsForVoting(List.of("376.368.240-60", "111.444.777-35"));
+
+        assertEquals(Map.of(
+                "376.368.240-60", CpfEligibility.ABLE_TO_VOTE,
+                "111.444.777-35", CpfEligibility.UNABLE_TO_VOTE), eligibilities);
+        verify(validationClient, times(1)).checkEligibility(any());
+        verify(validationClient, times(1)).isCpfValid(anyString());
+    }
+
+    @Test
+    @DisplayName("Should look up a CPF of a pending prefetch on its own instead of waiting for the batch")
+    void votesDoNotJoinPendingPrefetch() {
+        CompletableFuture<Map<String, CpfEligibility>> batch = new CompletableFuture<>();
+        when(validationClient.checkEligibility(Set.of("37636824060"))).thenReturn(batch);
+        when(validationClient.isCpfValid("37636824060")).thenReturn(CompletableFuture.completedFuture(true));
+        when(validationClient.checkVoteAbility("37636824060")).thenReturn(CompletableFuture.completedFuture(VoteAbility.ABLE_TO_VOTE));
+
+        CompletableFuture<Integer> prefetched = cpfValidationFacade.prefetch(List.of("376.368.240-60"));
+
+        assertEquals(VoteAbility.ABLE_TO_VOTE, cpfValidationFacade.validateCpfForVoting("376.368.240-60"));
+        batch.completeExceptionally(new AppException("CPF validation service is unavailable, try again later", HttpStatus.SERVICE_UNAVAILABLE));
+        assertThrows(CompletionException.class, prefetched::join);
+        assertEquals(VoteAbility.ABLE_TO_VOTE, cpfValidationFacade.validateCpfForVoting("37636824060"));
+        verify(validationClient, times(1)).isCpfValid("37636824060");
+    }
+}
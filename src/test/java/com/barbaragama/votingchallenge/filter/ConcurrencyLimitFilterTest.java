@@ -0,0 +1,94 @@
+package com.barbaragama.votingchallenge.filter;
+
+import com.barbaragama.votingchallenge.config.ConcurrencyLimitProperties;
+import com.barbaragama.votingchallenge.exception.OverloadedException;
+import com.barbaragama.votingchallenge.service.AdaptiveConcurrencyLimiter;
+import com.barbaragama.votingchallenge.service.AdaptiveConcurrencyLimiter.Priority;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitFilterTest {
+
+    private AdaptiveConcurrencyLimiter limiter;
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new AdaptiveConcurrencyLimiter(new ConcurrencyLimitProperties(true, 10, 2, 100, 0.5, 1.5, 0.2, 0.9,
+                Duration.ofMillis(500), 5, 10), new SimpleMeterRegistry());
+        filter = new ConcurrencyLimitFilter(limiter, new ObjectMapper());
+    }
+
+    @Test
+    @DisplayName("Should treat single votes as critical and every other endpoint as low priority")
+    void classifiesRequests() {
+        assertEquals(Priority.CRITICAL, ConcurrencyLimitFilter.priority(new MockHttpServletRequest("POST", "/api/vote")));
+        assertEquals(Priority.LOW, ConcurrencyLimitFilter.priority(new MockHttpServletRequest("POST", "/api/vote/batch")));
+        assertEquals(Priority.LOW, ConcurrencyLimitFilter.priority(new MockHttpServletRequest("GET", "/api/vote/receipts/1")));
+        assertEquals(Priority.LOW, ConcurrencyLimitFilter.priority(new MockHttpServletRequest("GET", "/api/voting/result/1")));
+        assertEquals(Priority.LOW, ConcurrencyLimitFilter.priority(new MockHttpServletRequest("GET", "/api/agenda")));
+        assertEquals(Priority.LOW, ConcurrencyLimitFilter.priority(new MockHttpServletRequest("GET", "/api/votes")));
+    }
+
+    @Test
+    @DisplayName("Should shed reads with 503 while votes fill the limit, and still admit votes")
+    void shedsReadsFirst() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire(Priority.CRITICAL).orElseThrow();
+        }
+
+        MockHttpServletResponse read = new MockHttpServletResponse();
+        MockFilterChain readChain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/voting/result/1"), read, readChain);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), read.getStatus());
+        assertEquals("1", read.getHeader(HttpHeaders.RETRY_AFTER));
+        assertNull(readChain.getRequest());
+
+        MockHttpServletResponse vote = new MockHttpServletResponse();
+        MockFilterChain voteChain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/vote"), vote, voteChain);
+
+        assertNotNull(voteChain.getRequest());
+        assertEquals(5, limiter.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Should back the limit off when the application answers 503 because it is overloaded")
+    void backsOffOnOverload() throws Exception {
+        FilterChain chain = (request, response) -> {
+            request.setAttribute(OverloadedException.REQUEST_ATTRIBUTE, Boolean.TRUE);
+            ((HttpServletResponse) response).setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        };
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/vote"), new MockHttpServletResponse(), chain);
+
+        assertEquals(9, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Should keep the limit when a 503 comes from a dependency such as the CPF service")
+    void keepsLimitOnDependencyFailure() throws Exception {
+        FilterChain chain = (request, response) -> ((HttpServletResponse) response).setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/vote"), new MockHttpServletResponse(), chain);
+
+        assertEquals(10, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+}
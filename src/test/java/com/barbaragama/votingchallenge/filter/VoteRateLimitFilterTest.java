@@ -0,0 +1,182 @@
+package com.barbaragama.votingchallenge.filter;
+
+import com.barbaragama.votingchallenge.config.RateLimitProperties;
+import com.barbaragama.votingchallenge.service.VoteRateLimiter;
+import com.barbaragama.votingchallenge.service.VoteRateLimiter.Rejection;
+import com.barbaragama.votingchallenge.service.VoteRateLimiter.Scope;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VoteRateLimitFilterTest {
+
+    private static final String BODY = "{\"sessionId\":\"01a14de9-7b18-7000-8f96-c84322496c7d\",\"name\":\"Ana\",\"cpf\":\"486.681.640-66\",\"option\":\"YES\"}";
+
+    @Mock
+    private VoteRateLimiter voteRateLimiter;
+
+    private VoteRateLimitFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        filter = new VoteRateLimitFilter(voteRateLimiter, new RateLimitProperties(true, 5, 0.2, 500, 250, 5000, 2000,
+                100_000, Duration.ofMinutes(10), DataSize.ofBytes(256)), new ObjectMapper());
+        request = new MockHttpServletRequest("POST", "/api/vote");
+        request.setRemoteAddr("10.0.0.1");
+        request.setContentType("application/json");
+        request.setContent(BODY.getBytes(StandardCharsets.UTF_8));
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    @DisplayName("Should key the CPF bucket by digits and pass the untouched body on")
+    void allowed() throws Exception {
+        when(voteRateLimiter.tryAcquireClient("10.0.0.1")).thenReturn(Optional.empty());
+        when(voteRateLimiter.tryAcquireCpf("48668164066", "10.0.0.1")).thenReturn(Optional.empty());
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertEquals(BODY, new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should answer 429 with Retry-After without calling the controller")
+    void rejected() throws Exception {
+        when(voteRateLimiter.tryAcquireClient("10.0.0.1")).thenReturn(Optional.empty());
+        when(voteRateLimiter.tryAcquireCpf("48668164066", "10.0.0.1"))
+                .thenReturn(Optional.of(new Rejection(Scope.CPF, Duration.ofMillis(4200))));
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), response.getStatus());
+        assertEquals("5", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(response.getContentAsString().contains("Too many votes for this CPF"));
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    @DisplayName("Should still apply the client and global buckets when the body has no readable CPF")
+    void malformedBody() throws Exception {
+        request.setContent("{\"cpf\":".getBytes(StandardCharsets.UTF_8));
+        when(voteRateLimiter.tryAcquireClient("10.0.0.1")).thenReturn(Optional.empty());
+        when(voteRateLimiter.tryAcquireCpf(isNull(), any())).thenReturn(Optional.empty());
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        verify(voteRateLimiter).tryAcquireCpf(null, "10.0.0.1");
+    }
+
+    @Test
+    @DisplayName("Should reject an over-limit client before reading the body")
+    void clientRejectedFirst() throws Exception {
+        when(voteRateLimiter.tryAcquireClient("10.0.0.1")).thenReturn(Optional.of(new Rejection(Scope.CLIENT, Duration.ofMillis(10))));
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), response.getStatus());
+        assertEquals(BODY.length(), request.getInputStream().readAllBytes().length);
+        verify(voteRateLimiter, never()).tryAcquireCpf(any(), any());
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    @DisplayName("Should answer 413 to a body larger than the limit, declared or not")
+    void bodyTooLarge() throws Exception {
+        when(voteRateLimiter.tryAcquireClient("10.0.0.1")).thenReturn(Optional.empty());
+        request.setContent(("{\"name\":\"" + "a".repeat(300) + "\"}").getBytes(StandardCharsets.UTF_8));
+        MockHttpServletRequest undeclared = new MockHttpServletRequest("POST", "/api/vote") {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        undeclared.setRemoteAddr("10.0.0.1");
+        undeclared.setContent(request.getContentAsByteArray());
+        MockHttpServletResponse undeclaredResponse = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+        filter.doFilter(undeclared, undeclaredResponse, new MockFilterChain());
+
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE.value(), response.getStatus());
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE.value(), undeclaredResponse.getStatus());
+        assertTrue(response.getContentAsString().contains("Request body exceeds 256 bytes"));
+        verify(voteRateLimiter, never()).tryAcquireCpf(any(), any());
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    @DisplayName("Should hand the cached body to a non-blocking reader")
+    void readListener() throws Exception {
+        when(voteRateLimiter.tryAcquireClient("10.0.0.1")).thenReturn(Optional.empty());
+        when(voteRateLimiter.tryAcquireCpf("48668164066", "10.0.0.1")).thenReturn(Optional.empty());
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, response, chain);
+        ServletInputStream input = chain.getRequest().getInputStream();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        boolean[] finished = new boolean[1];
+
+        input.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                byte[] buffer = new byte[16];
+                while (input.isReady() && !input.isFinished()) {
+                    read.write(buffer, 0, input.read(buffer));
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                finished[0] = true;
+            }
+
+            @Override
+            public void onError(Throwable failure) {
+                fail(failure);
+            }
+        });
+
+        assertTrue(finished[0]);
+        assertEquals(BODY, read.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should skip requests other than POST")
+    void skipsOtherMethods() throws Exception {
+        request.setMethod("GET");
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        verifyNoInteractions(voteRateLimiter);
+    }
+}
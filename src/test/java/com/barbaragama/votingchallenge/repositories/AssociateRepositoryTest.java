@@ -7,8 +7,10 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -41,6 +43,20 @@ class AssociateRepositoryTest {
         assertThat(result.isEmpty()).isTrue();
     }
 
+    @Test
+    @DisplayName("Should page through CPFs in order after a given CPF")
+    void findCpfsAfterSuccess() {
+        this.createAssociate(new AssociateRequestDTO("Carla", "529.982.247-25"));
+        this.createAssociate(new AssociateRequestDTO("Ana", "111.444.777-35"));
+        this.createAssociate(new AssociateRequestDTO("Bruno", "376.368.240-60"));
+
+        List<String> firstPage = this.associateRepository.findCpfsAfter("", Limit.of(2));
+        List<String> secondPage = this.associateRepository.findCpfsAfter(firstPage.get(1), Limit.of(2));
+
+        assertThat(firstPage).containsExactly("111.444.777-35", "376.368.240-60");
+        assertThat(secondPage).containsExactly("529.982.247-25");
+    }
+
     private void createAssociate(AssociateRequestDTO associateRequestDTO) {
         Associate newAssociate = new Associate(associateRequestDTO);
         this.entityManager.persist(newAssociate);
@@ -0,0 +1,284 @@
+package com.barbaragama.votingchallenge.repositories;
+
+import com.barbaragama.votingchallenge.dto.request.PageRequestDTO;
+import com.barbaragama.votingchallenge.enums.SessionStatus;
+import com.barbaragama.votingchallenge.enums.VoteOption;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({VoteJdbcRepository.class, SchemaIndexTest.StatementRecorder.class})
+class SchemaIndexTest {
+
+    private static final List<RecordedStatement> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    private static final int SESSIONS = 200;
+    private static final int ASSOCIATES = 500;
+    private static final int VOTES_PER_SESSION = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private VoteRepository voteRepository;
+    @Autowired
+    private VoteJdbcRepository voteJdbcRepository;
+    @Autowired
+    private SessionRepository sessionRepository;
+    @Autowired
+    private AssociateRepository associateRepository;
+
+    private final List<UUID> sessionIds = new ArrayList<>();
+    private final List<UUID> associateIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        UUID agendaId = UUID.randomUUID();
+        jdbcTemplate.update("insert into agenda (id, title, description, created_at) values (?, 'Agenda', 'Indexed agenda', ?)",
+                agendaId, Timestamp.valueOf(LocalDateTime.now()));
+
+        LocalDateTime start = LocalDateTime.now().minusDays(SESSIONS);
+        List<Object[]> sessions = new ArrayList<>();
+        for (int i = 0; i < SESSIONS; i++) {
+            UUID id = UUID.randomUUID();
+            sessionIds.add(id);
+            LocalDateTime startTime = start.plusDays(i);
+            sessions.add(new Object[]{id, agendaId, Timestamp.valueOf(startTime), Timestamp.valueOf(startTime.plusMinutes(1)),
+                    i == SESSIONS - 1 ? "OPEN" : "CLOSED"});
+        }
+        jdbcTemplate.batchUpdate("insert into voting_session (id, agenda_id, start_time, end_time, session_status, duration_minutes) "
+                + "values (?, ?, ?, ?, ?, 1)", sessions);
+
+        List<Object[]> associates = new ArrayList<>();
+        for (int i = 0; i < ASSOCIATES; i++) {
+            UUID id = UUID.randomUUID();
+            associateIds.add(id);
+            associates.add(new Object[]{id, "Associate " + i, String.format("%011d", i)});
+        }
+        jdbcTemplate.batchUpdate("insert into associate (id, name, cpf) values (?, ?, ?)", associates);
+
+        List<Object[]> votes = new ArrayList<>();
+        for (int s = 0; s < SESSIONS; s++) {
+            for (int a = 0; a < VOTES_PER_SESSION; a++) {
+                votes.add(new Object[]{UUID.randomUUID(), associateIds.get((s + a) % ASSOCIATES), sessionIds.get(s),
+                        a % 3 == 0 ? "NO" : "YES", Timestamp.valueOf(start.plusDays(s).plusSeconds(a))});
+            }
+        }
+        jdbcTemplate.batchUpdate("insert into vote (id, associate_id, session_id, option, voted_at) values (?, ?, ?, ?, ?)", votes);
+    }
+
+    /**
+     * Runs {@code query} and explains the last SELECT it sent to the database, with the parameters it bound.
+     */
+    private String explain(Runnable query) {
+        STATEMENTS.clear();
+        query.run();
+        RecordedStatement statement = STATEMENTS.stream()
+                .filter(recorded -> recorded.sql().stripLeading().toLowerCase().startsWith("select"))
+                .reduce((first, second) -> second)
+                .orElseThrow(() -> new AssertionError("The query did not run a SELECT"));
+        List<String> plan = jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement explain = connection.prepareStatement("explain " + statement.sql())) {
+                for (Map.Entry<Method, Object[]> parameter : statement.parameters()) {
+                    parameter.getKey().invoke(explain, parameter.getValue());
+                }
+                List<String> lines = new ArrayList<>();
+                try (ResultSet rows = explain.executeQuery()) {
+                    while (rows.next()) {
+                        lines.add(rows.getString(1));
+                    }
+                }
+                return lines;
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        return String.join("\n", plan).toUpperCase();
+    }
+
+    @Nested
+    @DisplayName("Vote")
+    class VoteQueries {
+
+        @Test
+        @DisplayName("Should count a session's votes per option from the (session_id, option) index alone")
+        void countGroupedByOption() {
+            String plan = explain(() -> voteRepository.countGroupedByOption(sessionIds.get(0)));
+
+            assertThat(plan).contains("IDX_VOTE_SESSION_OPTION: SESSION_ID = ?").contains("GROUP SORTED").doesNotContain("TABLESCAN");
+        }
+
+        @Test
+        @DisplayName("Should rebuild the tallies of open sessions from the (session_id, option) index instead of the table")
+        void countGroupedBySessionAndOption() {
+            String plan = explain(() -> voteRepository.countGroupedBySessionAndOption(sessionIds.subList(0, 3)));
+
+            assertThat(plan).contains("IDX_VOTE_SESSION_OPTION").contains("GROUP SORTED").doesNotContain("TABLESCAN");
+        }
+
+        @Test
+        @DisplayName("Should count a session's votes for one option with an index seek")
+        void countBySessionIdAndOption() {
+            String plan = explain(() -> voteRepository.countBySessionIdAndOptionEquals(sessionIds.get(0), VoteOption.YES));
+
+            assertThat(plan).contains("IDX_VOTE_SESSION_OPTION: SESSION_ID = ?1").contains("AND OPTION = ").doesNotContain("TABLESCAN");
+        }
+
+        @Test
+        @DisplayName("Should check for a duplicate vote through the unique (associate_id, session_id) index")
+        void existsByAssociateIdAndSessionId() {
+            String plan = explain(() -> voteRepository.existsByAssociateIdAndSessionId(associateIds.get(0), sessionIds.get(0)));
+
+            assertThat(plan).contains("UK_VOTE_ASSOCIATE_SESSION").doesNotContain("TABLESCAN");
+        }
+
+        @Test
+        @DisplayName("Should list a session's voters through an index on session_id")
+        void findAssociateIdsBySessionId() {
+            String plan = explain(() -> voteRepository.findAssociateIdsBySessionId(sessionIds.get(0)));
+
+            assertThat(plan).contains("SESSION_ID = ?").doesNotContain("TABLESCAN");
+        }
+
+        @Test
+        @DisplayName("Should export a session's votes through an index on session_id")
+        void streamBySession() {
+            String plan = explain(() -> voteJdbcRepository.streamBySession(sessionIds.get(0), 100, row -> { }));
+
+            assertThat(plan).contains("SESSION_ID = ?1").doesNotContain("TABLESCAN");
+        }
+    }
+
+    @Nested
+    @DisplayName("Session")
+    class SessionQueries {
+
+        @Test
+        @DisplayName("Should find sessions that have not ended with a range scan on end_time")
+        void findByEndTimeAfter() {
+            String plan = explain(() -> sessionRepository.findByEndTimeAfter(LocalDateTime.now()));
+
+            assertThat(plan).contains("IDX_VOTING_SESSION_END_TIME").doesNotContain("TABLESCAN");
+        }
+
+        @Test
+        @DisplayName("Should find the ids of open sessions through the index on session_status")
+        void findIdsByStatus() {
+            String plan = explain(() -> sessionRepository.findIdsByStatus(SessionStatus.OPEN));
+
+            assertThat(plan).contains("IDX_VOTING_SESSION_STATUS").doesNotContain("TABLESCAN");
+        }
+
+        @Test
+        @DisplayName("Should find the windows of open sessions through the index on session_status")
+        void findWindowsByStatus() {
+            String plan = explain(() -> sessionRepository.findWindowsByStatus(SessionStatus.OPEN));
+
+            assertThat(plan).contains("IDX_VOTING_SESSION_STATUS").doesNotContain("TABLESCAN");
+        }
+
+        @Test
+        @DisplayName("Should find the sessions of an agenda through the index on agenda_id")
+        void findByAgenda() {
+            String plan = explain(() -> sessionRepository.findPage(null, UUID.randomUUID(), null, PageRequestDTO.of(null, null)));
+
+            assertThat(plan).contains("AGENDA_ID = ?1 */").doesNotContain("TABLESCAN");
+        }
+    }
+
+    @Nested
+    @DisplayName("Associate")
+    class AssociateQueries {
+
+        @Test
+        @DisplayName("Should find an associate by CPF through the unique index")
+        void findByCpf() {
+            String plan = explain(() -> associateRepository.findByCpf("00000000042"));
+
+            assertThat(plan).contains("UK_ASSOCIATE_CPF").doesNotContain("TABLESCAN");
+        }
+    }
+
+    private record RecordedStatement(String sql, List<Map.Entry<Method, Object[]>> parameters) {
+    }
+
+    /**
+     * Wraps the data source so every prepared statement the repositories execute is recorded with the SQL that
+     * Hibernate or the JDBC template generated and the setter calls that bound its parameters. Imported rather than
+     * declared as a test configuration, so the enclosing and nested test classes share one context and one database.
+     */
+    static class StatementRecorder {
+
+        @Bean
+        static BeanPostProcessor statementRecordingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? new RecordingDataSource(dataSource) : bean;
+                }
+            };
+        }
+
+        private static final class RecordingDataSource extends DelegatingDataSource {
+
+            private RecordingDataSource(DataSource dataSource) {
+                super(dataSource);
+            }
+
+            @Override
+            public Connection getConnection() throws SQLException {
+                return recording(Connection.class, super.getConnection(), null, null);
+            }
+        }
+
+        private static <T> T recording(Class<T> type, T target, String sql, TreeMap<Integer, Map.Entry<Method, Object[]>> parameters) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                if (parameters != null && method.getName().startsWith("set") && args != null && args.length >= 2
+                        && method.getParameterTypes()[0] == int.class) {
+                    parameters.put((Integer) args[0], Map.entry(method, args));
+                } else if (parameters != null && method.getName().startsWith("execute")) {
+                    STATEMENTS.add(new RecordedStatement(sql, List.copyOf(parameters.values())));
+                }
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                if (method.getName().equals("prepareStatement")) {
+                    return recording(PreparedStatement.class, (PreparedStatement) result, (String) args[0], new TreeMap<>());
+                }
+                return result;
+            }));
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.barbaragama.votingchallenge.repositories;
+
+import com.barbaragama.votingchallenge.domain.Agenda;
+import com.barbaragama.votingchallenge.domain.Session;
+import com.barbaragama.votingchallenge.dto.projection.SessionAgendaProjection;
+import com.barbaragama.votingchallenge.dto.request.PageRequestDTO;
+import com.barbaragama.votingchallenge.dto.response.SessionResponseDTO;
+import com.barbaragama.votingchallenge.enums.SessionStatus;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class SessionRepositoryTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 10, 0);
+
+    @Autowired
+    SessionRepository sessionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Agenda agenda;
+    private Agenda otherAgenda;
+
+    @BeforeEach
+    void setUp() {
+        agenda = new Agenda("Vote on new project", "Vote on the new project proposal for 2025");
+        otherAgenda = new Agenda("Vote on budget", "Vote on the budget for 2025");
+        this.entityManager.persist(agenda);
+        this.entityManager.persist(otherAgenda);
+    }
+
+    @Test
+    @DisplayName("Should walk every session exactly once in start time order, including ties")
+    void findPageWalksAllSessions() {
+        List<Session> sessions = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            sessions.add(createSession(agenda, BASE.plusMinutes(i / 2), SessionStatus.OPEN));
+        }
+
+        List<UUID> visited = new ArrayList<>();
+        PageRequestDTO page = PageRequestDTO.of(null, 2);
+        while (true) {
+            List<SessionResponseDTO> fetched = this.sessionRepository.findPage(null, null, null, page);
+            List<SessionResponseDTO> items = fetched.subList(0, Math.min(2, fetched.size()));
+            items.forEach(session -> visited.add(session.getId()));
+            if (fetched.size() <= 2) {
+                break;
+            }
+            SessionResponseDTO last = items.get(items.size() - 1);
+            page = PageRequestDTO.of(PageRequestDTO.Cursor.of(last.getStartTime(), last.getId()).encode(), 2);
+        }
+
+        assertThat(visited).containsExactlyInAnyOrderElementsOf(sessions.stream().map(Session::getId).toList());
+        assertThat(visited.subList(0, 2)).containsExactlyInAnyOrder(sessions.get(0).getId(), sessions.get(1).getId());
+        assertThat(visited.get(4)).isEqualTo(sessions.get(4).getId());
+    }
+
+    @Test
+    @DisplayName("Should filter sessions by status, agenda and start time")
+    void findPageFilters() {
+        Session open = createSession(agenda, BASE, SessionStatus.OPEN);
+        Session closed = createSession(agenda, BASE.plusMinutes(1), SessionStatus.CLOSED);
+        Session otherOpen = createSession(otherAgenda, BASE.plusMinutes(2), SessionStatus.OPEN);
+        PageRequestDTO page = PageRequestDTO.of(null, 10);
+
+        assertThat(this.sessionRepository.findPage(SessionStatus.OPEN, null, null, page))
+                .extracting(SessionResponseDTO::getId).containsExactly(open.getId(), otherOpen.getId());
+        assertThat(this.sessionRepository.findPage(null, agenda.getId(), null, page))
+                .extracting(SessionResponseDTO::getId).containsExactly(open.getId(), closed.getId());
+        assertThat(this.sessionRepository.findPage(null, null, BASE, page))
+                .extracting(SessionResponseDTO::getId).containsExactly(closed.getId(), otherOpen.getId());
+        assertThat(this.sessionRepository.findPage(SessionStatus.OPEN, agenda.getId(), BASE, page)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should read a session with its agenda ID without loading the agenda")
+    void findResponseById() {
+        Session session = createSession(agenda, BASE, SessionStatus.OPEN);
+
+        SessionResponseDTO response = this.sessionRepository.findResponseById(session.getId()).orElseThrow();
+
+        assertThat(response.getAgendaId()).isEqualTo(agenda.getId());
+        assertThat(response.getStartTime()).isEqualTo(BASE);
+        assertThat(response.getSessionStatus()).isEqualTo(SessionStatus.OPEN);
+        assertThat(response.getDurationMinutes()).isEqualTo(60);
+        assertThat(this.sessionRepository.findResponseById(UUID.randomUUID())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should read a session's status with its agenda title")
+    void findWithAgendaTitleById() {
+        Session session = createSession(otherAgenda, BASE, SessionStatus.CLOSED);
+
+        SessionAgendaProjection projection = this.sessionRepository.findWithAgendaTitleById(session.getId()).orElseThrow();
+
+        assertThat(projection).isEqualTo(new SessionAgendaProjection(session.getId(), SessionStatus.CLOSED, otherAgenda.getId(), "Vote on budget"));
+        assertThat(projection.isOpen()).isFalse();
+    }
+
+    private Session createSession(Agenda agenda, LocalDateTime startTime, SessionStatus status) {
+        Session session = new Session(agenda, 60);
+        session.setSessionStatus(status);
+        this.entityManager.persist(session);
+        this.entityManager.flush();
+        this.entityManager.createQuery("update Session s set s.startTime = :startTime where s.id = :id")
+                .setParameter("startTime", startTime)
+                .setParameter("id", session.getId())
+                .executeUpdate();
+        this.entityManager.clear();
+        session.setStartTime(startTime);
+        return session;
+    }
+}
@@ -5,22 +5,40 @@ import com.barbaragama.votingchallenge.domain.Associate;
 import com.barbaragama.votingchallenge.domain.Session;
 import com.barbaragama.votingchallenge.domain.Vote;
 import com.barbaragama.votingchallenge.enums.VoteOption;
+import com.barbaragama.votingchallenge.repositories.VoteJdbcRepository.VoteExportRow;
+import com.barbaragama.votingchallenge.repositories.VoteJdbcRepository.VoteRow;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @DataJpaTest
 @ActiveProfiles("test")
+@Import({VoteJdbcRepository.class, UniqueKeys.class})
 class VoteRepositoryTest {
 
     @Autowired
     VoteRepository voteRepository;
 
+    @Autowired
+    VoteJdbcRepository voteJdbcRepository;
+
+    @Autowired
+    UniqueKeys uniqueKeys;
+
     @Autowired
     private EntityManager entityManager;
 
@@ -107,4 +125,87 @@ class VoteRepositoryTest {
         assertThat(countYes).isEqualTo(2);
         assertThat(countNo).isEqualTo(1);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should stream the votes of a session in the order they were cast")
+    void streamBySession() {
+        Associate associate1 = new Associate("Bárbara Gama", "557.073.220-94");
+        this.entityManager.persist(associate1);
+
+        Associate associate2 = new Associate("Anderson Gama", "501.348.290-93");
+        this.entityManager.persist(associate2);
+
+        Agenda agenda = new Agenda("Vote on new project", "Vote on the new project proposal for 2025");
+        this.entityManager.persist(agenda);
+
+        Session session = new Session(agenda, 60);
+        this.entityManager.persist(session);
+
+        Session otherSession = new Session(agenda, 60);
+        this.entityManager.persist(otherSession);
+        this.entityManager.flush();
+
+        LocalDateTime votedAt = LocalDateTime.of(2025, 1, 1, 10, 0);
+        this.voteJdbcRepository.batchInsert(List.of(
+                new VoteRow(UUID.randomUUID(), associate2.getId(), session.getId(), VoteOption.NO, votedAt.plusSeconds(1)),
+                new VoteRow(UUID.randomUUID(), associate1.getId(), session.getId(), VoteOption.YES, votedAt),
+                new VoteRow(UUID.randomUUID(), associate1.getId(), otherSession.getId(), VoteOption.YES, votedAt)), 10);
+
+        List<VoteExportRow> exported = new ArrayList<>();
+        this.voteJdbcRepository.streamBySession(session.getId(), 1, exported::add);
+
+        assertThat(exported).extracting(VoteExportRow::cpf).containsExactly("557.073.220-94", "501.348.290-93");
+        assertThat(exported).extracting(VoteExportRow::option).containsExactly(VoteOption.YES, VoteOption.NO);
+    }
+
+    @Test
+    @DisplayName("Should recognize a second vote of the same associate in a session as a duplicate vote")
+    void duplicateVoteIsRecognized() {
+        Associate associate = new Associate("Bárbara Gama", "557.073.220-94");
+        this.entityManager.persist(associate);
+
+        Agenda agenda = new Agenda("Vote on new project", "Vote on the new project proposal for 2025");
+        this.entityManager.persist(agenda);
+
+        Session session = new Session(agenda, 60);
+        this.entityManager.persist(session);
+        this.entityManager.flush();
+
+        LocalDateTime votedAt = LocalDateTime.now();
+        this.voteJdbcRepository.batchInsert(List.of(new VoteRow(UUID.randomUUID(), associate.getId(), session.getId(), VoteOption.YES, votedAt)), 1);
+
+        DataIntegrityViolationException duplicate = assertThrows(DataIntegrityViolationException.class, () -> this.voteJdbcRepository.batchInsert(
+                List.of(new VoteRow(UUID.randomUUID(), associate.getId(), session.getId(), VoteOption.NO, votedAt)), 1));
+        DataIntegrityViolationException unknownSession = assertThrows(DataIntegrityViolationException.class, () -> this.voteJdbcRepository.batchInsert(
+                List.of(new VoteRow(UUID.randomUUID(), associate.getId(), UUID.randomUUID(), VoteOption.NO, votedAt)), 1));
+
+        assertThat(this.uniqueKeys.isDuplicateVote(duplicate)).isTrue();
+        assertThat(this.uniqueKeys.isDuplicateVote(unknownSession)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should recognize a duplicate vote flushed through JPA by the name of the violated constraint")
+    void duplicateVoteIsRecognizedThroughJpa() {
+        Associate associate = new Associate("Bárbara Gama", "557.073.220-94");
+        this.entityManager.persist(associate);
+
+        Agenda agenda = new Agenda("Vote on new project", "Vote on the new project proposal for 2025");
+        this.entityManager.persist(agenda);
+
+        Session session = new Session(agenda, 60);
+        this.entityManager.persist(session);
+        this.entityManager.persist(new Vote(associate.getId(), session.getId(), VoteOption.YES));
+        this.entityManager.flush();
+
+        this.entityManager.persist(new Vote(associate.getId(), session.getId(), VoteOption.NO));
+        PersistenceException duplicate = assertThrows(PersistenceException.class, this.entityManager::flush);
+        this.entityManager.clear();
+
+        this.entityManager.persist(new Associate("Outro Associado", "557.073.220-94"));
+        PersistenceException duplicateCpf = assertThrows(PersistenceException.class, this.entityManager::flush);
+
+        assertThat(this.uniqueKeys.isDuplicateVote(duplicate)).isTrue();
+        assertThat(this.uniqueKeys.isDuplicateVote(duplicateCpf)).isFalse();
+        assertThat(this.uniqueKeys.isDuplicateCpf(duplicateCpf)).isTrue();
+    }
+}
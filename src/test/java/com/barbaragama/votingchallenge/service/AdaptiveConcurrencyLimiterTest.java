@@ -0,0 +1,138 @@
+package com.barbaragama.votingchallenge.service;
+
+import com.barbaragama.votingchallenge.config.ConcurrencyLimitProperties;
+import com.barbaragama.votingchallenge.service.AdaptiveConcurrencyLimiter.Permit;
+import com.barbaragama.votingchallenge.service.AdaptiveConcurrencyLimiter.Priority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private SimpleMeterRegistry meterRegistry;
+    private AdaptiveConcurrencyLimiter limiter;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new AdaptiveConcurrencyLimiter(new ConcurrencyLimitProperties(true, 20, 5, 100, 0.5, 1.5, 0.2, 0.9,
+                Duration.ofMillis(500), 5, 10), meterRegistry);
+        now = System.nanoTime();
+    }
+
+    // Fills the limit with votes, completes them all after the given latency and moves past the window.
+    private void saturatedWindow(long latencyMillis) {
+        List<Permit> permits = new ArrayList<>();
+        Optional<Permit> permit;
+        while ((permit = limiter.tryAcquire(Priority.CRITICAL, now)).isPresent()) {
+            permits.add(permit.get());
+        }
+        long completedAt = now + latencyMillis * MILLIS;
+        permits.forEach(p -> p.onSuccess(completedAt));
+        now += 1000 * MILLIS;
+    }
+
+    @Nested
+    @DisplayName("Admission")
+    class Admission {
+
+        @Test
+        @DisplayName("Should shed low-priority requests once they reach their share of the limit")
+        void lowPriorityShedFirst() {
+            for (int i = 0; i < 10; i++) {
+                assertTrue(limiter.tryAcquire(Priority.LOW, now).isPresent());
+            }
+
+            assertTrue(limiter.tryAcquire(Priority.LOW, now).isEmpty());
+            assertTrue(limiter.tryAcquire(Priority.CRITICAL, now).isPresent());
+            assertEquals(1, meterRegistry.get("voting.concurrency.rejections").tag("priority", "low").counter().count());
+        }
+
+        @Test
+        @DisplayName("Should let votes use the whole limit and release permits as requests finish")
+        void criticalUsesWholeLimit() {
+            List<Permit> permits = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                permits.add(limiter.tryAcquire(Priority.CRITICAL, now).orElseThrow());
+            }
+            assertTrue(limiter.tryAcquire(Priority.CRITICAL, now).isEmpty());
+
+            permits.get(0).onIgnore();
+
+            assertEquals(19, limiter.getInFlight());
+            assertTrue(limiter.tryAcquire(Priority.CRITICAL, now).isPresent());
+        }
+    }
+
+    @Nested
+    @DisplayName("Limit adaptation")
+    class Adaptation {
+
+        @Test
+        @DisplayName("Should raise the limit while latency stays at its baseline and the limit is saturated")
+        void growsWhileLatencyIsSteady() {
+            for (int i = 0; i < 10; i++) {
+                saturatedWindow(10);
+            }
+
+            assertTrue(limiter.getLimit() > 20, "limit was " + limiter.getLimit());
+        }
+
+        @Test
+        @DisplayName("Should lower the limit when latency rises above the baseline")
+        void shrinksWhenLatencyRises() {
+            for (int i = 0; i < 5; i++) {
+                saturatedWindow(10);
+            }
+            int before = limiter.getLimit();
+
+            for (int i = 0; i < 5; i++) {
+                saturatedWindow(100);
+            }
+
+            assertTrue(limiter.getLimit() < before, "limit went from " + before + " to " + limiter.getLimit());
+        }
+
+        @Test
+        @DisplayName("Should not raise the limit while traffic uses less than half of it")
+        void holdsWhenApplicationLimited() {
+            for (int i = 0; i < 10; i++) {
+                List<Permit> permits = new ArrayList<>();
+                for (int j = 0; j < 5; j++) {
+                    permits.add(limiter.tryAcquire(Priority.CRITICAL, now).orElseThrow());
+                }
+                long completedAt = now + 10 * MILLIS;
+                permits.forEach(p -> p.onSuccess(completedAt));
+                now += 1000 * MILLIS;
+            }
+
+            assertEquals(20, limiter.getLimit());
+        }
+
+        @Test
+        @DisplayName("Should cut the limit multiplicatively on a drop, down to the minimum")
+        void backsOffOnDrop() {
+            limiter.tryAcquire(Priority.CRITICAL, now).orElseThrow().onDropped();
+            assertEquals(18, limiter.getLimit());
+
+            for (int i = 0; i < 50; i++) {
+                limiter.tryAcquire(Priority.CRITICAL, now).orElseThrow().onDropped();
+            }
+            assertEquals(5, limiter.getLimit());
+            assertEquals(0, limiter.getInFlight());
+        }
+    }
+}
@@ -2,6 +2,9 @@ package com.barbaragama.votingchallenge.service;
 
 import com.barbaragama.votingchallenge.domain.Agenda;
 import com.barbaragama.votingchallenge.dto.request.AgendaRequestDTO;
+import com.barbaragama.votingchallenge.dto.request.PageRequestDTO;
+import com.barbaragama.votingchallenge.dto.response.AgendaResponseDTO;
+import com.barbaragama.votingchallenge.dto.response.PageResponseDTO;
 import com.barbaragama.votingchallenge.exception.AppException;
 import com.barbaragama.votingchallenge.repositories.AgendaRepository;
 import jakarta.validation.ConstraintViolationException;
@@ -15,6 +18,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataIntegrityViolationException;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -54,7 +58,7 @@ class AgendaServiceTest {
                     .build();
 
             when(agendaRepository.save(any(Agenda.class))).thenReturn(agenda);
-            Agenda result = agendaService.createAgenda(agendaRequestDTO);
+            AgendaResponseDTO result = agendaService.createAgenda(agendaRequestDTO);
 
             assertNotNull(result);
             assertEquals(agendaRequestDTO.getTitle(), result.getTitle());
@@ -81,34 +85,48 @@ class AgendaServiceTest {
     }
 
     @Nested
-    @DisplayName("getAllAgendas")
+    @DisplayName("getAgendas")
     class GetAllAgendasTests {
 
         @Test
         @DisplayName("Should return a list of agendas")
         void getAllAgendasSuccess() {
-            Agenda agenda = new Agenda();
-            agenda.setTitle("Test Agenda");
-            agenda.setDescription("Test Description");
+            AgendaResponseDTO agenda = AgendaResponseDTO.builder().title("Test Agenda").description("Test Description").build();
+            AgendaResponseDTO agenda2 = AgendaResponseDTO.builder().title("Test Agenda 2").description("Test Description 2").build();
 
-            Agenda agenda2 = new Agenda();
-            agenda2.setTitle("Test Agenda 2");
-            agenda2.setDescription("Test Description 2");
-
-            when(agendaRepository.findAll()).thenReturn(List.of(agenda, agenda2));
-            List<Agenda> result = agendaService.getAllAgendas();
+            PageRequestDTO page = PageRequestDTO.of(null, null);
+            when(agendaRepository.findPage(null, page)).thenReturn(List.of(agenda, agenda2));
+            PageResponseDTO<AgendaResponseDTO> result = agendaService.getAgendas(null, page);
             assertNotNull(result);
-            assertEquals(2, result.size());
+            assertEquals(2, result.getItems().size());
+            assertNull(result.getNext());
+        }
+
+        @Test
+        @DisplayName("Should return a cursor positioned at the last agenda when more rows exist")
+        void getAgendasWithNextPage() {
+            AgendaResponseDTO first = AgendaResponseDTO.builder().id(UUID.randomUUID()).createdAt(LocalDateTime.of(2025, 1, 1, 10, 0)).build();
+            AgendaResponseDTO second = AgendaResponseDTO.builder().id(UUID.randomUUID()).createdAt(LocalDateTime.of(2025, 1, 1, 11, 0)).build();
+
+            PageRequestDTO page = PageRequestDTO.of(null, 1);
+            when(agendaRepository.findPage(null, page)).thenReturn(List.of(first, second));
+            PageResponseDTO<AgendaResponseDTO> result = agendaService.getAgendas(null, page);
+
+            assertEquals(List.of(first), result.getItems());
+            PageRequestDTO.Cursor cursor = PageRequestDTO.Cursor.decode(result.getNext());
+            assertEquals(first.getCreatedAt(), cursor.time());
+            assertEquals(first.getId(), cursor.id());
         }
 
         @Test
         @DisplayName("Should return an empty list when no agendas are found")
         void getAllAgendasEmpty() {
-            when(agendaRepository.findAll()).thenReturn(List.of());
-            List<Agenda> result = agendaService.getAllAgendas();
+            PageRequestDTO page = PageRequestDTO.of(null, null);
+            when(agendaRepository.findPage(null, page)).thenReturn(List.of());
+            PageResponseDTO<AgendaResponseDTO> result = agendaService.getAgendas(null, page);
             assertNotNull(result);
-            assertTrue(result.isEmpty());
-            verify(agendaRepository, times(1)).findAll();
+            assertTrue(result.getItems().isEmpty());
+            verify(agendaRepository, times(1)).findPage(null, page);
         }
 
     }
@@ -121,26 +139,23 @@ class AgendaServiceTest {
         @DisplayName("Should return an agenda when found by ID")
         void getAgendaByIdSuccess() {
             UUID id = UUID.randomUUID();
-            Agenda agenda = new Agenda();
-            agenda.setId(id);
-            agenda.setTitle("title");
-            agenda.setDescription("description");
-            when(agendaRepository.findById(agenda.getId())).thenReturn(java.util.Optional.of(agenda));
-            Agenda result = agendaService.getAgendaById(id);
+            AgendaResponseDTO agenda = new AgendaResponseDTO(id, "title", "description", LocalDateTime.now());
+            when(agendaRepository.findResponseById(agenda.getId())).thenReturn(java.util.Optional.of(agenda));
+            AgendaResponseDTO result = agendaService.getAgendaById(id);
             assertNotNull(result);
             assertEquals(agenda.getId(), result.getId());
             assertEquals(agenda.getTitle(), result.getTitle());
             assertEquals(agenda.getDescription(), result.getDescription());
-            verify(agendaRepository, times(1)).findById(agenda.getId());
+            verify(agendaRepository, times(1)).findResponseById(agenda.getId());
         }
 
         @Test
         @DisplayName("Should throw an exception when agenda is not found by ID")
         void getAgendaByIdNotFound() {
             UUID id = UUID.randomUUID();
-            when(agendaRepository.findById(id)).thenReturn(java.util.Optional.empty());
+            when(agendaRepository.findResponseById(id)).thenReturn(java.util.Optional.empty());
             assertThrows(AppException.class, () -> agendaService.getAgendaById(id));
-            verify(agendaRepository, times(1)).findById(id);
+            verify(agendaRepository, times(1)).findResponseById(id);
         }
     }
 }
\ No newline at end of file
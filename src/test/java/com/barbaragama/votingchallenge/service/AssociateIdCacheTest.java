@@ -0,0 +1,78 @@
+package com.barbaragama.votingchallenge.service;
+
+import com.barbaragama.votingchallenge.config.AssociateCacheProperties;
+import com.barbaragama.votingchallenge.dto.projection.AssociateIdProjection;
+import com.barbaragama.votingchallenge.repositories.AssociateRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AssociateIdCacheTest {
+
+    @Mock
+    private AssociateRepository associateRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AssociateIdCache associateIdCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        associateIdCache = new AssociateIdCache(associateRepository, new AssociateCacheProperties(100, 2), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should warm the cache by walking the associate table in chunks")
+    void warmsFromTable() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        when(associateRepository.findIdsAfter("", Limit.of(2)))
+                .thenReturn(List.of(projection(first, "111.444.777-35"), projection(second, "376.368.240-60")));
+        when(associateRepository.findIdsAfter("376.368.240-60", Limit.of(2)))
+                .thenReturn(List.of(projection(third, "529.982.247-25")));
+
+        associateIdCache.afterSingletonsInstantiated();
+
+        assertEquals(first, associateIdCache.get("111.444.777-35"));
+        assertEquals(second, associateIdCache.get("376.368.240-60"));
+        assertEquals(third, associateIdCache.get("529.982.247-25"));
+    }
+
+    @Test
+    @DisplayName("Should key associates by the stored CPF and report the hit ratio")
+    void keysByStoredCpf() {
+        UUID id = UUID.randomUUID();
+        associateIdCache.put("376.368.240-60", id);
+
+        assertEquals(id, associateIdCache.get("376.368.240-60"));
+        assertNull(associateIdCache.get("37636824060"));
+        assertEquals(0.5, meterRegistry.get("voting.associate.cache.hit.ratio").gauge().value());
+    }
+
+    private static AssociateIdProjection projection(UUID id, String cpf) {
+        return new AssociateIdProjection() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public String getCpf() {
+                return cpf;
+            }
+        };
+    }
+}
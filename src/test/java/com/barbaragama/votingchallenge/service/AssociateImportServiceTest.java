@@ -0,0 +1,215 @@
+package com.barbaragama.votingchallenge.service;
+
+import com.barbaragama.votingchallenge.config.AssociateImportProperties;
+import com.barbaragama.votingchallenge.dto.response.AssociateImportErrorDTO;
+import com.barbaragama.votingchallenge.dto.response.AssociateImportResponseDTO;
+import com.barbaragama.votingchallenge.repositories.AssociateJdbcRepository;
+import com.barbaragama.votingchallenge.repositories.AssociateJdbcRepository.AssociateRow;
+import com.barbaragama.votingchallenge.repositories.AssociateRepository;
+import com.barbaragama.votingchallenge.repositories.UniqueKeys;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AssociateImportServiceTest {
+
+    private static final String MARIA = "376.368.240-60";
+    private static final String JOAO = "486.681.640-66";
+    private static final String ANA = "836.088.390-46";
+
+    @Mock
+    private AssociateRepository associateRepository;
+    @Mock
+    private AssociateJdbcRepository associateJdbcRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private AssociateImportService associateImportService;
+
+    @BeforeEach
+    void setUp() {
+        associateImportService = service(new AssociateImportProperties(100, 1000, 500, 100));
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        lenient().when(associateRepository.findExistingCpfs(any())).thenReturn(Set.of());
+    }
+
+    @Nested
+    @DisplayName("importCsv")
+    class ImportCsv {
+
+        @Test
+        @DisplayName("Should skip the header and blank lines and insert every new associate in one batch")
+        void importsRows() {
+            AssociateImportResponseDTO result = associateImportService.importCsv(body(
+                    "name,cpf\n\"Silva, Maria\"," + MARIA + "\n\nJoão," + JOAO + "\n"));
+
+            assertEquals(2, result.getRows());
+            assertEquals(2, result.getImported());
+            assertTrue(result.getErrors().isEmpty());
+            verify(associateRepository, times(1)).findExistingCpfs(List.of("37636824060", MARIA, "48668164066", JOAO));
+            List<AssociateRow> inserted = insertedRows(1);
+            assertEquals("Silva, Maria", inserted.get(0).name());
+            assertEquals("48668164066", inserted.get(1).cpf());
+            assertNotEquals(inserted.get(0).id(), inserted.get(1).id());
+        }
+
+        @Test
+        @DisplayName("Should report invalid, repeated and already registered CPFs with their line numbers")
+        void reportsRejectedRows() {
+            when(associateRepository.findExistingCpfs(any())).thenReturn(Set.of(JOAO));
+
+            AssociateImportResponseDTO result = associateImportService.importCsv(body(
+                    "Maria," + MARIA + "\nBad,111.111.111-11\n," + ANA + "\nMaria again," + MARIA + "\nJoão," + JOAO + "\nonly-one-column\n"));
+
+            assertEquals(6, result.getRows());
+            assertEquals(1, result.getImported());
+            assertEquals(3, result.getInvalid());
+            assertEquals(1, result.getDuplicates());
+            assertEquals(1, result.getAlreadyExisting());
+            assertEquals(List.of(
+                    new AssociateImportErrorDTO(2, "111.111.111-11", "Invalid CPF"),
+                    new AssociateImportErrorDTO(3, ANA, "Name is required"),
+                    new AssociateImportErrorDTO(4, MARIA, "Duplicate CPF in the upload"),
+                    new AssociateImportErrorDTO(6, null, "Malformed row, expected name,cpf"),
+                    new AssociateImportErrorDTO(5, JOAO, "Associate already exists")), result.getErrors());
+            assertEquals(1, insertedRows(1).size());
+        }
+
+        @Test
+        @DisplayName("Should resolve and insert one chunk at a time")
+        void importsInChunks() {
+            associateImportService = service(new AssociateImportProperties(100, 2, 500, 100));
+
+            AssociateImportResponseDTO result = associateImportService.importCsv(body(
+                    "Maria," + MARIA + "\nJoão," + JOAO + "\nAna," + ANA + "\n"));
+
+            assertEquals(3, result.getImported());
+            verify(associateRepository, times(2)).findExistingCpfs(any());
+            verify(associateJdbcRepository, times(2)).batchInsert(any(), eq(500));
+        }
+
+        @Test
+        @DisplayName("Should retry one by one when the batch hits a CPF registered concurrently")
+        void retriesOneByOne() {
+            doThrow(new DataIntegrityViolationException("duplicate", new ConstraintViolationException(
+                    "duplicate", new SQLException("Unique index or primary key violation", "23505"), "PUBLIC.UK_ASSOCIATE_CPF_INDEX_4")))
+                    .when(associateJdbcRepository)
+                    .batchInsert(argThat(rows -> rows.size() == 2 || rows.get(0).cpf().equals("48668164066")), anyInt());
+
+            AssociateImportResponseDTO result = associateImportService.importCsv(body("Maria," + MARIA + "\nJoão," + JOAO + "\n"));
+
+            assertEquals(1, result.getImported());
+            assertEquals(1, result.getAlreadyExisting());
+            assertEquals(List.of(new AssociateImportErrorDTO(2, JOAO, "Associate already exists")), result.getErrors());
+        }
+
+        @Test
+        @DisplayName("Should report a row whose insert failed for another reason as failed, with its cause")
+        void reportsOtherFailures() {
+            doThrow(new CannotAcquireLockException("lock timed out", new SQLException("Timeout trying to lock table", "HYT00")))
+                    .when(associateJdbcRepository)
+                    .batchInsert(argThat(rows -> rows.size() == 2 || rows.get(0).cpf().equals("48668164066")), anyInt());
+
+            AssociateImportResponseDTO result = associateImportService.importCsv(body("Maria," + MARIA + "\nJoão," + JOAO + "\n"));
+
+            assertEquals(1, result.getImported());
+            assertEquals(0, result.getAlreadyExisting());
+            assertEquals(1, result.getFailed());
+            assertEquals(List.of(new AssociateImportErrorDTO(2, JOAO, "Associate could not be stored: Timeout trying to lock table")),
+                    result.getErrors());
+        }
+
+        @Test
+        @DisplayName("Should stop reading at the row limit and cap the listed errors")
+        void limits() {
+            associateImportService = service(new AssociateImportProperties(3, 1000, 500, 1));
+
+            AssociateImportResponseDTO result = associateImportService.importCsv(body(
+                    "A,1\nB,2\nMaria," + MARIA + "\nJoão," + JOAO + "\n"));
+
+            assertEquals(3, result.getRows());
+            assertEquals(1, result.getImported());
+            assertTrue(result.isTruncated());
+            assertTrue(result.isErrorsTruncated());
+            assertEquals(List.of(new AssociateImportErrorDTO(1, "1", "Invalid CPF")), result.getErrors());
+        }
+
+        @Test
+        @DisplayName("Should treat masked and unmasked forms of a CPF as the same associate")
+        void comparesDigits() {
+            when(associateRepository.findExistingCpfs(any())).thenReturn(Set.of("83608839046"));
+
+            AssociateImportResponseDTO result = associateImportService.importCsv(body(
+                    "Maria," + MARIA + "\nMaria again,37636824060\nAna," + ANA + "\n"));
+
+            assertEquals(1, result.getImported());
+            assertEquals(1, result.getDuplicates());
+            assertEquals(1, result.getAlreadyExisting());
+            assertEquals(List.of(
+                    new AssociateImportErrorDTO(2, "37636824060", "Duplicate CPF in the upload"),
+                    new AssociateImportErrorDTO(3, ANA, "Associate already exists")), result.getErrors());
+            assertEquals("37636824060", insertedRows(1).get(0).cpf());
+        }
+    }
+
+    @Nested
+    @DisplayName("importNdjson")
+    class ImportNdjson {
+
+        @Test
+        @DisplayName("Should import one JSON object per line and report malformed lines")
+        void importsRows() {
+            AssociateImportResponseDTO result = associateImportService.importNdjson(body(
+                    "{\"name\":\"Maria\",\"cpf\":\"" + MARIA + "\"}\n{\"name\":\n{\"name\":\" João \",\"cpf\":\"" + JOAO + "\"}\n"));
+
+            assertEquals(3, result.getRows());
+            assertEquals(2, result.getImported());
+            assertEquals(List.of(new AssociateImportErrorDTO(2, null, "Malformed JSON row")), result.getErrors());
+            assertEquals("João", insertedRows(1).get(1).name());
+        }
+    }
+
+    private AssociateImportService service(AssociateImportProperties properties) {
+        return new AssociateImportService(associateRepository, associateJdbcRepository, transactionTemplate, new UniqueKeys(sql -> null),
+                new ObjectMapper(), properties);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<AssociateRow> insertedRows(int batches) {
+        ArgumentCaptor<List<AssociateRow>> rows = ArgumentCaptor.forClass(List.class);
+        verify(associateJdbcRepository, times(batches)).batchInsert(rows.capture(), anyInt());
+        return rows.getValue();
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -2,11 +2,14 @@ package com.barbaragama.votingchallenge.service;
 
 import com.barbaragama.votingchallenge.domain.Associate;
 import com.barbaragama.votingchallenge.dto.request.AssociateRequestDTO;
+import com.barbaragama.votingchallenge.dto.request.PageRequestDTO;
+import com.barbaragama.votingchallenge.dto.response.AssociateResponseDTO;
+import com.barbaragama.votingchallenge.dto.response.PageResponseDTO;
 import com.barbaragama.votingchallenge.enums.VoteAbility;
 import com.barbaragama.votingchallenge.exception.AppException;
 import com.barbaragama.votingchallenge.facade.CpfValidationFacade;
 import com.barbaragama.votingchallenge.repositories.AssociateRepository;
-import com.barbaragama.votingchallenge.repositories.VoteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,7 +17,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.Nested;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -30,11 +35,17 @@ class AssociateServiceTest {
     private AssociateRepository associateRepository;
 
     @Mock
-    private VoteRepository voteRepository;
+    private VotedAssociateRegistry votedAssociateRegistry;
 
     @Mock
     private CpfValidationFacade cpfValidationFacade;
 
+    @Mock
+    private AssociateIdCache associateIdCache;
+
+    @Spy
+    private VoteMetrics voteMetrics = new VoteMetrics(new SimpleMeterRegistry());
+
     @InjectMocks
     private AssociateService associateService;
 
@@ -57,26 +68,41 @@ class AssociateServiceTest {
     }
 
     @Nested
-    @DisplayName("getAllAssociates")
+    @DisplayName("getAssociates")
     class getAllAssociates {
 
         @Test
         @DisplayName("Should return a list of all associates")
         void getAllAssociatesSuccess(){
-            when(associateRepository.findAll()).thenReturn(List.of(new Associate(name, cpf)));
-            List<Associate> result = associateService.getAllAssociates();
+            when(associateRepository.findPageAfter("", Limit.of(51))).thenReturn(List.of(new AssociateResponseDTO(UUID.randomUUID(), name, cpf)));
+            PageResponseDTO<AssociateResponseDTO> result = associateService.getAssociates(PageRequestDTO.of(null, null));
             assertNotNull(result);
-            verify(associateRepository, times(1)).findAll();
+            assertEquals(1, result.getItems().size());
+            assertNull(result.getNext());
+        }
+
+        @Test
+        @DisplayName("Should continue after the CPF held by the cursor")
+        void getAssociatesFromCursor() {
+            AssociateResponseDTO next = new AssociateResponseDTO(UUID.randomUUID(), "Ana", "111.444.777-35");
+            AssociateResponseDTO extra = new AssociateResponseDTO(UUID.randomUUID(), "Bruno", "376.368.240-60");
+            String token = PageRequestDTO.Cursor.of(cpf).encode();
+            when(associateRepository.findPageAfter(cpf, Limit.of(2))).thenReturn(List.of(next, extra));
+
+            PageResponseDTO<AssociateResponseDTO> result = associateService.getAssociates(PageRequestDTO.of(token, 1));
+
+            assertEquals(List.of(next), result.getItems());
+            assertEquals(next.getCpf(), PageRequestDTO.Cursor.decode(result.getNext()).key());
         }
 
         @Test
         @DisplayName("Should return an empty list when no associates are found")
         void getAllAssociatesEmpty(){
-            when(associateRepository.findAll()).thenReturn(List.of());
-            List<Associate> result = associateService.getAllAssociates();
+            when(associateRepository.findPageAfter("", Limit.of(51))).thenReturn(List.of());
+            PageResponseDTO<AssociateResponseDTO> result = associateService.getAssociates(PageRequestDTO.of(null, null));
             assertNotNull(result);
-            assertTrue(result.isEmpty());
-            verify(associateRepository, times(1)).findAll();
+            assertTrue(result.getItems().isEmpty());
+            verify(associateRepository, never()).findAll();
         }
     }
 
@@ -87,21 +113,35 @@ class AssociateServiceTest {
         @Test
         @DisplayName("Should return an associate when found by CPF")
         void getAssociateByCpfSuccess() {
-            Associate associate = new Associate(name, cpf);
-            when(associateRepository.findByCpf(cpf)).thenReturn(java.util.Optional.of(associate));
-            Associate result = associateService.getAssociate(associate.getCpf());
+            AssociateResponseDTO associate = new AssociateResponseDTO(UUID.randomUUID(), name, cpf);
+            when(associateRepository.findResponseByCpf(cpf)).thenReturn(java.util.Optional.of(associate));
+            AssociateResponseDTO result = associateService.getAssociate(associate.getCpf());
             assertNotNull(result);
             assertEquals(associate.getCpf(), result.getCpf());
             assertEquals(associate.getName(), result.getName());
-            verify(associateRepository, times(1)).findByCpf(associate.getCpf());
+            verify(associateRepository, times(1)).findResponseByCpf(associate.getCpf());
+            verify(associateIdCache).put(cpf, associate.getId());
+        }
+
+        @Test
+        @DisplayName("Should load a cached associate by ID instead of by CPF")
+        void getAssociateFromCache() {
+            AssociateResponseDTO associate = new AssociateResponseDTO(UUID.randomUUID(), name, cpf);
+            when(associateIdCache.get(cpf)).thenReturn(associate.getId());
+            when(associateRepository.findResponseById(associate.getId())).thenReturn(java.util.Optional.of(associate));
+
+            AssociateResponseDTO result = associateService.getAssociate(cpf);
+
+            assertEquals(associate.getId(), result.getId());
+            verify(associateRepository, never()).findResponseByCpf(cpf);
         }
 
         @Test
         @DisplayName("Should throw an exception when associate is not found by CPF")
         void getAssociateByCpfNotFound() {
-            when(associateRepository.findByCpf(cpf)).thenReturn(java.util.Optional.empty());
+            when(associateRepository.findResponseByCpf(cpf)).thenReturn(java.util.Optional.empty());
             assertThrows(AppException.class, () -> associateService.getAssociate(cpf));
-            verify(associateRepository, times(1)).findByCpf(cpf);
+            verify(associateRepository, times(1)).findResponseByCpf(cpf);
         }
     }
 
@@ -116,12 +156,24 @@ class AssociateServiceTest {
             when(associateRepository.findByCpf(cpf)).thenReturn(java.util.Optional.empty());
             when(associateRepository.save(associate)).thenReturn(associate);
 
-            Associate result = associateService.createAssociate(associateRequestDTO);
+            AssociateResponseDTO result = associateService.createAssociate(associateRequestDTO);
 
             assertNotNull(result);
             assertEquals(associate.getCpf(), result.getCpf());
             assertEquals(associate.getName(), result.getName());
             verify(associateRepository, times(1)).findByCpf(cpf);
+            verify(associateIdCache).put(cpf, associate.getId());
+        }
+
+        @Test
+        @DisplayName("Should reject a cached CPF without querying the associate table")
+        void createAssociateAlreadyCached() {
+            when(associateIdCache.get(cpf)).thenReturn(UUID.randomUUID());
+
+            AppException exception = assertThrows(AppException.class, () -> associateService.createAssociate(associateRequestDTO));
+
+            assertEquals(HttpStatus.CONFLICT, exception.getStatus());
+            verifyNoInteractions(associateRepository);
         }
 
         @Test
@@ -143,7 +195,7 @@ class AssociateServiceTest {
         void shouldReturnExistingAssociateWhenCpfExists() {
             Associate associate = new Associate(name, cpf);
             when(associateRepository.findByCpf(cpf)).thenReturn(java.util.Optional.of(associate));
-            when(voteRepository.existsByAssociateIdAndSessionId(associate.getId(), sessionId)).thenReturn(false);
+            when(votedAssociateRegistry.hasVoted(sessionId, associate.getId())).thenReturn(false);
             when(cpfValidationFacade.validateCpfForVoting(cpf)).thenReturn(VoteAbility.ABLE_TO_VOTE);
 
             Associate result = associateService.validateAndGetAssociate(name, cpf, sessionId);
@@ -155,6 +207,22 @@ class AssociateServiceTest {
             verify(associateRepository, never()).save(any(Associate.class));
         }
 
+        @Test
+        @DisplayName("Should use a reference to a cached associate without querying by CPF")
+        void shouldUseCachedAssociateId() {
+            Associate associate = new Associate(UUID.randomUUID(), name, cpf);
+            when(associateIdCache.get(cpf)).thenReturn(associate.getId());
+            when(associateRepository.getReferenceById(associate.getId())).thenReturn(associate);
+            when(votedAssociateRegistry.hasVoted(sessionId, associate.getId())).thenReturn(false);
+            when(cpfValidationFacade.validateCpfForVoting(cpf)).thenReturn(VoteAbility.ABLE_TO_VOTE);
+
+            Associate result = associateService.validateAndGetAssociate(name, cpf, sessionId);
+
+            assertEquals(associate.getId(), result.getId());
+            verify(associateRepository, never()).findByCpf(cpf);
+            verify(associateRepository, never()).save(any(Associate.class));
+        }
+
         @Test
         @DisplayName("Should create an associate when CPF does not exist")
         void shouldCreateAssociateWhenCpfDoesNotExist() {
@@ -170,6 +238,7 @@ class AssociateServiceTest {
            assertEquals(associate.getCpf(), result.getCpf());
            assertEquals(associate.getName(), result.getName());
            verify(associateRepository, times(1)).save(any(Associate.class));
+           verify(associateIdCache).put(cpf, associate.getId());
         }
 
         @Test
@@ -177,7 +246,7 @@ class AssociateServiceTest {
         void shouldThrowExceptionWhenAssociateAlreadyVoted() {
             Associate associate = new Associate(name, cpf);
             when(associateRepository.findByCpf(cpf)).thenReturn(java.util.Optional.of(associate));
-            when(voteRepository.existsByAssociateIdAndSessionId(associate.getId(), sessionId)).thenReturn(true);
+            when(votedAssociateRegistry.hasVoted(sessionId, associate.getId())).thenReturn(true);
 
             AppException exception = assertThrows(AppException.class, () -> associateService.validateAndGetAssociate(name, cpf, sessionId));
 
@@ -206,7 +275,7 @@ class AssociateServiceTest {
         void shouldValidateExistingAssociateEvenWhenNameIsDifferent() {
             Associate associate = new Associate(name, cpf);
             when(associateRepository.findByCpf(cpf)).thenReturn(java.util.Optional.of(associate));
-            when(voteRepository.existsByAssociateIdAndSessionId(associate.getId(), sessionId)).thenReturn(false);
+            when(votedAssociateRegistry.hasVoted(sessionId, associate.getId())).thenReturn(false);
             when(cpfValidationFacade.validateCpfForVoting(cpf)).thenReturn(VoteAbility.ABLE_TO_VOTE);
 
             Associate result = associateService.validateAndGetAssociate("Different name", cpf, sessionId);
@@ -0,0 +1,42 @@
+package com.barbaragama.votingchallenge.service;
+
+import com.barbaragama.votingchallenge.CpfGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CpfChecksumTest {
+
+    @Test
+    @DisplayName("Should accept valid CPFs with or without the mask")
+    void valid() {
+        assertTrue(CpfChecksum.isValid("836.088.390-46"));
+        assertTrue(CpfChecksum.isValid("83608839046"));
+        for (long sequence = 1; sequence < 10_000; sequence += 7) {
+            assertTrue(CpfChecksum.isValid(CpfGenerator.valid(sequence)), CpfGenerator.valid(sequence));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject wrong check digits, repeated digits and malformed input")
+    void invalid() {
+        assertFalse(CpfChecksum.isValid("836.088.390-47"));
+        assertFalse(CpfChecksum.isValid("83608839064"));
+        assertFalse(CpfChecksum.isValid("111.111.111-11"));
+        assertFalse(CpfChecksum.isValid("00000000000"));
+        assertFalse(CpfChecksum.isValid("836-088-390.46"));
+        assertFalse(CpfChecksum.isValid("8360883904a"));
+        assertFalse(CpfChecksum.isValid("8360883904"));
+        assertFalse(CpfChecksum.isValid(""));
+        assertFalse(CpfChecksum.isValid(null));
+    }
+
+    @Test
+    @DisplayName("Should convert between the masked and unmasked forms")
+    void forms() {
+        assertEquals("83608839046", CpfChecksum.digits("836.088.390-46"));
+        assertEquals("83608839046", CpfChecksum.digits("83608839046"));
+        assertEquals("836.088.390-46", CpfChecksum.masked("83608839046"));
+    }
+}
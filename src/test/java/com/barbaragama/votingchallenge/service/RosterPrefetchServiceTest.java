@@ -0,0 +1,70 @@
+package com.barbaragama.votingchallenge.service;
+
+import com.barbaragama.votingchallenge.config.CpfPrefetchProperties;
+import com.barbaragama.votingchallenge.config.ThreadMode;
+import com.barbaragama.votingchallenge.exception.AppException;
+import com.barbaragama.votingchallenge.facade.CpfValidationFacade;
+import com.barbaragama.votingchallenge.repositories.AssociateRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RosterPrefetchServiceTest {
+
+    @Mock
+    private AssociateRepository associateRepository;
+    @Mock
+    private CpfValidationFacade cpfValidationFacade;
+
+    @Test
+    @DisplayName("Should walk the roster in CPF order one chunk at a time")
+    void prefetchesRosterInChunks() {
+        RosterPrefetchService service = new RosterPrefetchService(associateRepository, cpfValidationFacade, new CpfPrefetchProperties(true, 2), ThreadMode.platform());
+        when(associateRepository.findCpfsAfter("", Limit.of(2))).thenReturn(List.of("1", "2"));
+        when(associateRepository.findCpfsAfter("2", Limit.of(2))).thenReturn(List.of("3"));
+        when(cpfValidationFacade.prefetch(anyList())).thenAnswer(invocation ->
+                CompletableFuture.completedFuture(invocation.<List<String>>getArgument(0).size()));
+
+        service.prefetchRoster(UUID.randomUUID());
+
+        verify(cpfValidationFacade).prefetch(List.of("1", "2"));
+        verify(cpfValidationFacade).prefetch(List.of("3"));
+        verifyNoMoreInteractions(associateRepository);
+    }
+
+    @Test
+    @DisplayName("Should stop when the CPF service fails")
+    void stopsOnFailure() {
+        RosterPrefetchService service = new RosterPrefetchService(associateRepository, cpfValidationFacade, new CpfPrefetchProperties(true, 2), ThreadMode.platform());
+        when(associateRepository.findCpfsAfter("", Limit.of(2))).thenReturn(List.of("1", "2"));
+        when(cpfValidationFacade.prefetch(anyList())).thenReturn(CompletableFuture.failedFuture(
+                new AppException("CPF validation service is unavailable, try again later", HttpStatus.SERVICE_UNAVAILABLE)));
+
+        service.prefetchRoster(UUID.randomUUID());
+
+        verify(associateRepository, times(1)).findCpfsAfter(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should do nothing when prefetch is disabled")
+    void skipsWhenDisabled() {
+        RosterPrefetchService service = new RosterPrefetchService(associateRepository, cpfValidationFacade, new CpfPrefetchProperties(false, 2), ThreadMode.platform());
+
+        service.prefetchFor(UUID.randomUUID());
+        service.destroy();
+
+        verifyNoInteractions(associateRepository, cpfValidationFacade);
+    }
+}
@@ -0,0 +1,136 @@
+package com.barbaragama.votingchallenge.service;
+
+import com.barbaragama.votingchallenge.config.SessionLifecycleProperties;
+import com.barbaragama.votingchallenge.config.ThreadMode;
+import com.barbaragama.votingchallenge.event.SessionClosedEvent;
+import com.barbaragama.votingchallenge.repositories.SessionRepository;
+import com.barbaragama.votingchallenge.service.SessionWindowRegistry.SessionWindow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SessionLifecycleSchedulerTest {
+
+    private static final long ORIGIN = 1_000_000L;
+
+    @Mock
+    private SessionRepository sessionRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SessionWindowRegistry sessionWindowRegistry;
+    private SessionLifecycleScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        sessionWindowRegistry = mock(SessionWindowRegistry.class);
+        scheduler = new SessionLifecycleScheduler(sessionRepository, sessionWindowRegistry, transactionTemplate, eventPublisher,
+                new SessionLifecycleProperties(Duration.ofMillis(100), 8, Duration.ofMinutes(10)), ThreadMode.platform());
+        ReflectionTestUtils.setField(scheduler, "originMillis", ORIGIN);
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    @DisplayName("Should close a session at its deadline and not before")
+    void closesAtDeadline() {
+        UUID sessionId = UUID.randomUUID();
+        when(sessionWindowRegistry.close(sessionId)).thenReturn(true);
+        scheduler.schedule(window(sessionId, ORIGIN + 250));
+
+        assertEquals(0, scheduler.advance(ORIGIN + 200));
+        verify(sessionWindowRegistry, never()).close(any());
+
+        assertEquals(1, scheduler.advance(ORIGIN + 300));
+        verify(sessionRepository).closeSessions(List.of(sessionId));
+        ArgumentCaptor<SessionClosedEvent> event = ArgumentCaptor.forClass(SessionClosedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(sessionId, event.getValue().sessionId());
+    }
+
+    @Test
+    @DisplayName("Should wait full wheel rotations for deadlines beyond the wheel span")
+    void handlesMultipleRotations() {
+        UUID sessionId = UUID.randomUUID();
+        when(sessionWindowRegistry.close(sessionId)).thenReturn(true);
+        scheduler.schedule(window(sessionId, ORIGIN + 2_000));
+
+        assertEquals(0, scheduler.advance(ORIGIN + 1_900));
+        assertEquals(1, scheduler.advance(ORIGIN + 2_000));
+    }
+
+    @Test
+    @DisplayName("Should close every session due in the same tick with one update")
+    void batchesClosesPerTick() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(sessionWindowRegistry.close(any())).thenReturn(true);
+        scheduler.schedule(window(first, ORIGIN - 60_000));
+        scheduler.schedule(window(second, ORIGIN - 1));
+
+        assertEquals(2, scheduler.advance(ORIGIN));
+
+        verify(sessionRepository, times(1)).closeSessions(List.of(first, second));
+        verify(eventPublisher, times(2)).publishEvent(any(SessionClosedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should retry the update on the next tick when it fails")
+    void retriesFailedUpdate() {
+        UUID sessionId = UUID.randomUUID();
+        when(sessionWindowRegistry.close(sessionId)).thenReturn(true);
+        when(sessionRepository.closeSessions(List.of(sessionId)))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(1);
+        scheduler.schedule(window(sessionId, ORIGIN));
+
+        scheduler.advance(ORIGIN);
+        verify(eventPublisher, never()).publishEvent(any());
+
+        scheduler.advance(ORIGIN + 100);
+        verify(sessionRepository, times(2)).closeSessions(List.of(sessionId));
+        verify(eventPublisher).publishEvent(any(SessionClosedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should release the window once the retention after closing has passed")
+    void releasesClosedWindow() {
+        UUID sessionId = UUID.randomUUID();
+        when(sessionWindowRegistry.close(sessionId)).thenReturn(true);
+        scheduler.schedule(window(sessionId, ORIGIN));
+
+        scheduler.advance(ORIGIN);
+        scheduler.advance(ORIGIN + Duration.ofMinutes(10).toMillis() - 100);
+        verify(sessionWindowRegistry, never()).release(sessionId);
+
+        scheduler.advance(ORIGIN + Duration.ofMinutes(10).toMillis());
+        verify(sessionWindowRegistry).release(sessionId);
+    }
+
+    private static SessionWindow window(UUID sessionId, long endMillis) {
+        return new SessionWindow(sessionId, UUID.randomUUID(), "Agenda", endMillis - 60_000, endMillis, false);
+    }
+}
@@ -0,0 +1,184 @@
+package com.barbaragama.votingchallenge.service;
+
+import com.barbaragama.votingchallenge.config.SessionResultProperties;
+import com.barbaragama.votingchallenge.domain.Agenda;
+import com.barbaragama.votingchallenge.domain.Session;
+import com.barbaragama.votingchallenge.domain.SessionResult;
+import com.barbaragama.votingchallenge.dto.projection.SessionAgendaProjection;
+import com.barbaragama.votingchallenge.dto.projection.VoteCountProjection;
+import com.barbaragama.votingchallenge.enums.SessionStatus;
+import com.barbaragama.votingchallenge.enums.VoteOption;
+import com.barbaragama.votingchallenge.enums.VotingResult;
+import com.barbaragama.votingchallenge.event.SessionClosedEvent;
+import com.barbaragama.votingchallenge.exception.AppException;
+import com.barbaragama.votingchallenge.repositories.SessionRepository;
+import com.barbaragama.votingchallenge.repositories.SessionResultRepository;
+import com.barbaragama.votingchallenge.repositories.VoteRepository;
+import com.barbaragama.votingchallenge.service.SessionWindowRegistry.SessionWindow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SessionResultServiceTest {
+
+    @Mock
+    private SessionResultRepository sessionResultRepository;
+    @Mock
+    private SessionRepository sessionRepository;
+    @Mock
+    private VoteRepository voteRepository;
+    @Mock
+    private VoteTallyService voteTallyService;
+
+    private SessionWindowRegistry sessionWindowRegistry;
+    private SessionResultService sessionResultService;
+    private SessionAgendaProjection session;
+
+    @BeforeEach
+    void setUp() {
+        sessionWindowRegistry = new SessionWindowRegistry(sessionRepository);
+        sessionResultService = new SessionResultService(sessionResultRepository, sessionRepository, voteRepository,
+                voteTallyService, sessionWindowRegistry, new SessionResultProperties(100, Duration.ofMillis(500)), new SimpleMeterRegistry());
+        session = new SessionAgendaProjection(UUID.randomUUID(), SessionStatus.CLOSED, UUID.randomUUID(), "New project");
+    }
+
+    @Test
+    @DisplayName("Should record the final counts once when the session closes")
+    void materializesOnClose() {
+        when(sessionRepository.findWithAgendaTitleById(session.sessionId())).thenReturn(Optional.of(session));
+        when(voteRepository.countGroupedByOption(session.sessionId()))
+                .thenReturn(List.of(count(VoteOption.YES, 7), count(VoteOption.NO, 3)));
+
+        sessionResultService.onSessionClosed(new SessionClosedEvent(session.sessionId(), Instant.now()));
+
+        ArgumentCaptor<SessionResult> saved = ArgumentCaptor.forClass(SessionResult.class);
+        verify(sessionResultRepository).save(saved.capture());
+        assertEquals(7, saved.getValue().getYesVotes());
+        assertEquals(3, saved.getValue().getNoVotes());
+        assertEquals(10, saved.getValue().getTotalVotes());
+        assertEquals(VotingResult.APPROVED, saved.getValue().getResult());
+        assertEquals("New project", saved.getValue().getAgendaTitle());
+        verify(voteTallyService).releaseSession(session.sessionId());
+
+        assertSame(saved.getValue(), sessionResultService.find(session.sessionId()));
+        assertSame(saved.getValue(), sessionResultService.materialize(session));
+        verify(sessionResultRepository, times(1)).save(any());
+        verify(voteRepository, times(1)).countGroupedByOption(any());
+    }
+
+    @Test
+    @DisplayName("Should serve stored results from memory after the first read")
+    void cachesStoredResult() {
+        SessionResult stored = SessionResult.builder().sessionId(session.sessionId()).result(VotingResult.TIE).build();
+        when(sessionResultRepository.findById(session.sessionId())).thenReturn(Optional.of(stored));
+
+        assertSame(stored, sessionResultService.find(session.sessionId()));
+        assertSame(stored, sessionResultService.find(session.sessionId()));
+
+        verify(sessionResultRepository, times(1)).findById(session.sessionId());
+    }
+
+    @Test
+    @DisplayName("Should keep the row written by a concurrent writer")
+    void keepsExistingRowOnConflict() {
+        SessionResult stored = SessionResult.builder().sessionId(session.sessionId()).result(VotingResult.TIE).build();
+        when(sessionResultRepository.findById(session.sessionId())).thenReturn(Optional.empty(), Optional.of(stored));
+        when(sessionResultRepository.save(any())).thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        assertSame(stored, sessionResultService.materialize(session));
+    }
+
+    @Test
+    @DisplayName("Should count a vote that commits concurrently with the close")
+    void countsVoteCommittedDuringClose() throws Exception {
+        SessionWindow window = registerWindow();
+        AtomicLong committed = new AtomicLong();
+        when(sessionRepository.findWithAgendaTitleById(session.sessionId())).thenReturn(Optional.of(session));
+        when(voteRepository.countGroupedByOption(session.sessionId()))
+                .thenAnswer(invocation -> List.of(count(VoteOption.YES, committed.get())));
+        CountDownLatch closed = new CountDownLatch(1);
+        assertTrue(window.admitWriter());
+        Thread voter = Thread.ofPlatform().start(() -> {
+            try {
+                closed.await();
+                Thread.sleep(100);
+                committed.incrementAndGet();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                window.releaseWriter();
+            }
+        });
+
+        assertTrue(sessionWindowRegistry.close(session.sessionId()));
+        assertFalse(window.admitWriter());
+        closed.countDown();
+        sessionResultService.onSessionClosed(new SessionClosedEvent(session.sessionId(), Instant.now()));
+        voter.join();
+
+        ArgumentCaptor<SessionResult> saved = ArgumentCaptor.forClass(SessionResult.class);
+        verify(sessionResultRepository).save(saved.capture());
+        assertEquals(1, saved.getValue().getYesVotes());
+    }
+
+    @Test
+    @DisplayName("Should not record a result while an admitted vote is still being written")
+    void defersWhileWriterIsStuck() {
+        SessionWindow window = registerWindow();
+        when(sessionRepository.findWithAgendaTitleById(session.sessionId())).thenReturn(Optional.of(session));
+        assertTrue(window.admitWriter());
+        assertTrue(sessionWindowRegistry.close(session.sessionId()));
+
+        sessionResultService.onSessionClosed(new SessionClosedEvent(session.sessionId(), Instant.now()));
+
+        verifyNoInteractions(voteRepository);
+        verify(sessionResultRepository, never()).save(any());
+        AppException exception = assertThrows(AppException.class, () -> sessionResultService.materialize(session));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatus());
+    }
+
+    private SessionWindow registerWindow() {
+        Session open = new Session(Agenda.builder().id(session.agendaId()).build(), 1);
+        open.setId(session.sessionId());
+        return sessionWindowRegistry.register(open);
+    }
+
+    private static VoteCountProjection count(VoteOption option, long total) {
+        return new VoteCountProjection() {
+            @Override
+            public UUID getSessionId() {
+                return null;
+            }
+
+            @Override
+            public VoteOption getOption() {
+                return option;
+            }
+
+            @Override
+            public long getTotal() {
+                return total;
+            }
+        };
+    }
+}
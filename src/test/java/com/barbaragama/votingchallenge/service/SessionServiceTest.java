@@ -2,9 +2,15 @@ package com.barbaragama.votingchallenge.service;
 
 import com.barbaragama.votingchallenge.domain.Agenda;
 import com.barbaragama.votingchallenge.domain.Session;
+import com.barbaragama.votingchallenge.domain.SessionResult;
+import com.barbaragama.votingchallenge.dto.projection.SessionAgendaProjection;
+import com.barbaragama.votingchallenge.dto.request.PageRequestDTO;
 import com.barbaragama.votingchallenge.dto.request.SessionRequestDTO;
+import com.barbaragama.votingchallenge.dto.response.PageResponseDTO;
 import com.barbaragama.votingchallenge.dto.response.SessionResponseDTO;
+import com.barbaragama.votingchallenge.dto.response.SessionResultResponseDTO;
 import com.barbaragama.votingchallenge.enums.SessionStatus;
+import com.barbaragama.votingchallenge.enums.VotingResult;
 import com.barbaragama.votingchallenge.exception.AppException;
 import com.barbaragama.votingchallenge.repositories.AgendaRepository;
 import com.barbaragama.votingchallenge.repositories.SessionRepository;
@@ -16,10 +22,13 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
+import org.mockito.Spy;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.springframework.http.HttpStatus;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -35,6 +44,22 @@ class SessionServiceTest {
     private SessionRepository sessionRepository;
     @Mock
     private AgendaRepository agendaRepository;
+    @Mock
+    private VoteTallyService voteTallyService;
+    @Mock
+    private VotedAssociateRegistry votedAssociateRegistry;
+    @Mock
+    private RosterPrefetchService rosterPrefetchService;
+    @Mock
+    private SessionWindowRegistry sessionWindowRegistry;
+    @Mock
+    private SessionLifecycleScheduler sessionLifecycleScheduler;
+    @Mock
+    private SessionResultService sessionResultService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @Spy
+    private VoteMetrics voteMetrics = new VoteMetrics(meterRegistry);
 
     @InjectMocks
     private SessionService sessionService;
@@ -62,26 +87,29 @@ class SessionServiceTest {
         @Test
         @DisplayName("Should return list of all sessions")
         void getAllSessions() {
-            when(sessionRepository.findAll()).thenReturn(List.of(new Session(agenda, 30)));
+            PageRequestDTO page = PageRequestDTO.of(null, null);
+            when(sessionRepository.findPage(SessionStatus.OPEN, agenda.getId(), null, page)).thenReturn(List.of(new SessionResponseDTO(UUID.randomUUID(), agenda.getId(),
+                    LocalDateTime.now(), LocalDateTime.now().plusMinutes(30), SessionStatus.OPEN, 30)));
 
-            List<SessionResponseDTO> sessions = sessionService.getAll();
+            PageResponseDTO<SessionResponseDTO> sessions = sessionService.getSessions(SessionStatus.OPEN, agenda.getId(), null, page);
 
             assertNotNull(sessions);
-            assertFalse(sessions.isEmpty());
-            assertEquals(1, sessions.size());
-            verify(sessionRepository, times(1)).findAll();
+            assertEquals(1, sessions.getItems().size());
+            assertEquals(agenda.getId(), sessions.getItems().get(0).getAgendaId());
+            assertNull(sessions.getNext());
         }
 
         @Test
         @DisplayName("Should return empty list when no sessions exist")
         void getAllSessionsEmpty() {
-            when(sessionRepository.findAll()).thenReturn(List.of());
+            PageRequestDTO page = PageRequestDTO.of(null, null);
+            when(sessionRepository.findPage(null, null, null, page)).thenReturn(List.of());
 
-            List<SessionResponseDTO> result = sessionService.getAll();
+            PageResponseDTO<SessionResponseDTO> result = sessionService.getSessions(null, null, null, page);
 
             assertNotNull(result);
-            assertTrue(result.isEmpty());
-            verify(sessionRepository, times(1)).findAll();
+            assertTrue(result.getItems().isEmpty());
+            verify(sessionRepository, never()).findAll();
         }
     }
 
@@ -92,25 +120,21 @@ class SessionServiceTest {
         @Test
         @DisplayName("Should return session by ID")
         void getSessionById() {
-            Session session = new Session(agenda, 30);
+            SessionResponseDTO session = new SessionResponseDTO(sessionId, agenda.getId(),
+                    LocalDateTime.now(), LocalDateTime.now().plusMinutes(30), SessionStatus.OPEN, 30);
 
-            when(sessionRepository.findById(session.getId())).thenReturn(java.util.Optional.of(session));
+            when(sessionRepository.findResponseById(sessionId)).thenReturn(java.util.Optional.of(session));
 
-            SessionResponseDTO result = sessionService.getById(session.getId());
+            SessionResponseDTO result = sessionService.getById(sessionId);
 
-            assertNotNull(result);
-            assertEquals(session.getId(), result.getId());
-            assertEquals(session.getAgenda().getId(), result.getAgendaId());
-            assertEquals(session.getStartTime(), result.getStartTime());
-            assertEquals(session.getEndTime(), result.getEndTime());
-            assertEquals(session.getSessionStatus(), result.getSessionStatus());
-            verify(sessionRepository, times(1)).findById(session.getId());
+            assertSame(session, result);
+            verify(sessionRepository, times(1)).findResponseById(sessionId);
         }
 
         @Test
         @DisplayName("Should throw exception when session not found by ID")
         void getSessionBayIdNotFound() {
-            when(sessionRepository.findById(sessionId)).thenReturn(java.util.Optional.empty());
+            when(sessionRepository.findResponseById(sessionId)).thenReturn(java.util.Optional.empty());
 
             AppException exception = assertThrows(AppException.class, () -> sessionService.getById(sessionId));
 
@@ -150,6 +174,11 @@ class SessionServiceTest {
             assertEquals(sessionRequestDTO.getDurationMinutes(), capturedSession.getDurationMinutes());
             assertEquals(SessionStatus.OPEN, capturedSession.getSessionStatus());
             assertTrue(capturedSession.getEndTime().isAfter(capturedSession.getStartTime()));
+            verify(voteTallyService).registerSession(capturedSession.getId());
+            verify(votedAssociateRegistry).openSession(capturedSession.getId());
+            verify(rosterPrefetchService).prefetchFor(capturedSession.getId());
+            verify(sessionWindowRegistry).register(capturedSession);
+            verify(sessionLifecycleScheduler).schedule(any());
         }
 
         @Test
@@ -187,4 +216,89 @@ class SessionServiceTest {
             assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("getVotingResult")
+    class GetVotingResult {
+
+        @Test
+        @DisplayName("Should read an open session's result from memory without touching the database")
+        void getVotingResultFromTally() {
+            when(sessionWindowRegistry.find(sessionId)).thenReturn(new SessionWindowRegistry.SessionWindow(sessionId, agenda.getId(), agenda.getTitle(), 0, Long.MAX_VALUE, false));
+            when(voteTallyService.getCounts(sessionId)).thenReturn(new VoteTallyService.VoteCounts(3, 2));
+
+            SessionResultResponseDTO result = sessionService.getVotingResult(sessionId);
+
+            assertEquals(3, result.getYesVotes());
+            assertEquals(2, result.getNoVotes());
+            assertEquals(5, result.getTotalVotes());
+            assertEquals(VotingResult.SESSION_IN_PROGRESS, result.getResult());
+            assertEquals(agenda.getTitle(), result.getAgendaTitle());
+            verifyNoInteractions(sessionRepository, sessionResultService);
+            assertEquals(1, meterRegistry.get("voting.result").tag("source", "live_tally").timer().count());
+        }
+
+        @Test
+        @DisplayName("Should return the stored result of a closed session without loading it")
+        void getVotingResultFromSnapshot() {
+            SessionResult stored = SessionResult.builder()
+                    .sessionId(sessionId)
+                    .agendaId(agenda.getId())
+                    .agendaTitle(agenda.getTitle())
+                    .yesVotes(4)
+                    .noVotes(6)
+                    .totalVotes(10)
+                    .result(VotingResult.REJECTED)
+                    .build();
+            when(sessionResultService.find(sessionId)).thenReturn(stored);
+
+            SessionResultResponseDTO result = sessionService.getVotingResult(sessionId);
+
+            assertEquals(10, result.getTotalVotes());
+            assertEquals(VotingResult.REJECTED, result.getResult());
+            verifyNoInteractions(sessionRepository, voteTallyService);
+        }
+
+        @Test
+        @DisplayName("Should record the result of a closed session that has no snapshot yet")
+        void getVotingResultMaterializesClosedSession() {
+            SessionAgendaProjection session = new SessionAgendaProjection(sessionId, SessionStatus.CLOSED, agenda.getId(), agenda.getTitle());
+            when(sessionRepository.findWithAgendaTitleById(sessionId)).thenReturn(Optional.of(session));
+            when(sessionResultService.materialize(session)).thenReturn(SessionResult.builder()
+                    .sessionId(sessionId)
+                    .yesVotes(1)
+                    .totalVotes(1)
+                    .result(VotingResult.APPROVED)
+                    .build());
+
+            SessionResultResponseDTO result = sessionService.getVotingResult(sessionId);
+
+            assertEquals(VotingResult.APPROVED, result.getResult());
+            verify(voteTallyService, never()).getCounts(any());
+        }
+
+        @Test
+        @DisplayName("Should fall back to the database for an open session the registry does not hold")
+        void getVotingResultOpenSessionWithoutWindow() {
+            SessionAgendaProjection session = new SessionAgendaProjection(sessionId, SessionStatus.OPEN, agenda.getId(), agenda.getTitle());
+            when(sessionRepository.findWithAgendaTitleById(sessionId)).thenReturn(Optional.of(session));
+            when(voteTallyService.getCounts(sessionId)).thenReturn(new VoteTallyService.VoteCounts(1, 0));
+
+            SessionResultResponseDTO result = sessionService.getVotingResult(sessionId);
+
+            assertEquals(1, result.getTotalVotes());
+            assertEquals(VotingResult.SESSION_IN_PROGRESS, result.getResult());
+        }
+
+        @Test
+        @DisplayName("Should throw exception when session not found")
+        void getVotingResultSessionNotFound() {
+            when(sessionRepository.findWithAgendaTitleById(sessionId)).thenReturn(Optional.empty());
+
+            AppException exception = assertThrows(AppException.class, () -> sessionService.getVotingResult(sessionId));
+
+            assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+            verify(voteTallyService, never()).getCounts(any());
+        }
+    }
+}
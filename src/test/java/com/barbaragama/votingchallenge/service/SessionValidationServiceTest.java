@@ -0,0 +1,126 @@
+package com.barbaragama.votingchallenge.service;
+
+import com.barbaragama.votingchallenge.domain.Agenda;
+import com.barbaragama.votingchallenge.domain.Session;
+import com.barbaragama.votingchallenge.enums.SessionStatus;
+import com.barbaragama.votingchallenge.exception.AppException;
+import com.barbaragama.votingchallenge.exception.VoteRejectedException;
+import com.barbaragama.votingchallenge.repositories.SessionRepository;
+import com.barbaragama.votingchallenge.service.SessionWindowRegistry.SessionWindow;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SessionValidationServiceTest {
+
+    @Mock
+    private SessionRepository sessionRepository;
+    @Mock
+    private SessionWindowRegistry sessionWindowRegistry;
+    @Mock
+    private SessionLifecycleScheduler sessionLifecycleScheduler;
+
+    @InjectMocks
+    private SessionValidationService sessionValidationService;
+
+    @BeforeEach
+    void setUp() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    @DisplayName("Should accept an open session from its window without loading the entity")
+    void acceptsOpenWindow() {
+        UUID sessionId = UUID.randomUUID();
+        Session reference = Session.builder().id(sessionId).build();
+        long now = System.currentTimeMillis();
+        when(sessionWindowRegistry.find(sessionId)).thenReturn(new SessionWindow(sessionId, UUID.randomUUID(), "Agenda", now, now + 60_000, false));
+        when(sessionRepository.getReferenceById(sessionId)).thenReturn(reference);
+
+        assertSame(reference, sessionValidationService.validateAndGetSession(sessionId));
+        verify(sessionRepository, never()).findWithAgendaById(any());
+    }
+
+    @Test
+    @DisplayName("Should hold the close of the session's result until the voting transaction completes")
+    void holdsWriterUntilCompletion() throws InterruptedException {
+        UUID sessionId = UUID.randomUUID();
+        SessionWindowRegistry registry = new SessionWindowRegistry(sessionRepository);
+        SessionValidationService service = new SessionValidationService(sessionRepository, registry, sessionLifecycleScheduler);
+        Session session = new Session(Agenda.builder().id(UUID.randomUUID()).build(), 10);
+        session.setId(sessionId);
+        registry.register(session);
+
+        service.validateAndGetSession(sessionId);
+        assertTrue(registry.close(sessionId));
+        assertFalse(registry.awaitWriters(sessionId, Duration.ZERO));
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        assertTrue(registry.awaitWriters(sessionId, Duration.ZERO));
+        assertThrows(VoteRejectedException.class, () -> service.validateAndGetSession(sessionId));
+    }
+
+    @Test
+    @DisplayName("Should reject a session whose window has been closed")
+    void rejectsClosedWindow() {
+        UUID sessionId = UUID.randomUUID();
+        long now = System.currentTimeMillis();
+        when(sessionWindowRegistry.find(sessionId)).thenReturn(new SessionWindow(sessionId, UUID.randomUUID(), "Agenda", now - 120_000, now - 60_000, true));
+
+        AppException exception = assertThrows(AppException.class, () -> sessionValidationService.validateAndGetSession(sessionId));
+
+        assertEquals("The voting session is closed", exception.getMessage());
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        verifyNoInteractions(sessionRepository);
+    }
+
+    @Test
+    @DisplayName("Should load and register the window of a session the registry does not know")
+    void loadsUnknownSession() {
+        Session session = new Session(Agenda.builder().id(UUID.randomUUID()).build(), 10);
+        session.setId(UUID.randomUUID());
+        long now = System.currentTimeMillis();
+        when(sessionRepository.findWithAgendaById(session.getId())).thenReturn(Optional.of(session));
+        SessionWindow window = new SessionWindow(session.getId(), session.getAgenda().getId(), session.getAgenda().getTitle(), now, now + 600_000, false);
+        when(sessionWindowRegistry.register(session)).thenReturn(window);
+        when(sessionRepository.getReferenceById(session.getId())).thenReturn(session);
+
+        assertSame(session, sessionValidationService.validateAndGetSession(session.getId()));
+        verify(sessionLifecycleScheduler).schedule(window);
+    }
+
+    @Test
+    @DisplayName("Should throw when the session does not exist")
+    void rejectsMissingSession() {
+        UUID sessionId = UUID.randomUUID();
+        when(sessionRepository.findWithAgendaById(sessionId)).thenReturn(Optional.empty());
+
+        AppException exception = assertThrows(AppException.class, () -> sessionValidationService.validateAndGetSession(sessionId));
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+        verify(sessionWindowRegistry, never()).register(any());
+    }
+}
@@ -0,0 +1,83 @@
+package com.barbaragama.votingchallenge.service;
+
+import com.barbaragama.votingchallenge.domain.Agenda;
+import com.barbaragama.votingchallenge.domain.Session;
+import com.barbaragama.votingchallenge.dto.projection.SessionWindowProjection;
+import com.barbaragama.votingchallenge.enums.SessionStatus;
+import com.barbaragama.votingchallenge.repositories.SessionRepository;
+import com.barbaragama.votingchallenge.service.SessionWindowRegistry.SessionWindow;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SessionWindowRegistryTest {
+
+    @Mock
+    private SessionRepository sessionRepository;
+
+    @InjectMocks
+    private SessionWindowRegistry sessionWindowRegistry;
+
+    @Test
+    @DisplayName("Should keep IDs, the agenda title and epoch millis for a newly opened session")
+    void registersOpenedSession() {
+        Session session = new Session(Agenda.builder().id(UUID.randomUUID()).title("Budget").build(), 5);
+        session.setId(UUID.randomUUID());
+
+        sessionWindowRegistry.register(session);
+
+        SessionWindow window = sessionWindowRegistry.find(session.getId());
+        assertEquals(session.getAgenda().getId(), window.agendaId());
+        assertEquals(session.getAgenda().getTitle(), window.agendaTitle());
+        assertEquals(session.getEndTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(), window.endMillis());
+        assertTrue(window.isOpen());
+        assertTrue(sessionWindowRegistry.close(session.getId()));
+        assertFalse(window.isOpen());
+        assertFalse(sessionWindowRegistry.close(session.getId()));
+    }
+
+    @Test
+    @DisplayName("Should not keep windows of sessions that are already closed")
+    void skipsClosedSession() {
+        Session session = new Session(Agenda.builder().id(UUID.randomUUID()).title("Budget").build(), 5);
+        session.setId(UUID.randomUUID());
+        session.setSessionStatus(SessionStatus.CLOSED);
+
+        assertFalse(sessionWindowRegistry.register(session).isOpen());
+        assertNull(sessionWindowRegistry.find(session.getId()));
+    }
+
+    @Test
+    @DisplayName("Should load windows of open sessions at startup")
+    void loadsOpenSessionsAtStartup() {
+        UUID sessionId = UUID.randomUUID();
+        UUID agendaId = UUID.randomUUID();
+        LocalDateTime start = LocalDateTime.now();
+        SessionWindowProjection projection = mock(SessionWindowProjection.class);
+        when(projection.getId()).thenReturn(sessionId);
+        when(projection.getAgendaId()).thenReturn(agendaId);
+        when(projection.getAgendaTitle()).thenReturn("Agenda");
+        when(projection.getStartTime()).thenReturn(start);
+        when(projection.getEndTime()).thenReturn(start.plusMinutes(1));
+        when(sessionRepository.findWindowsByStatus(SessionStatus.OPEN)).thenReturn(List.of(projection));
+
+        sessionWindowRegistry.afterSingletonsInstantiated();
+
+        assertEquals(agendaId, sessionWindowRegistry.find(sessionId).agendaId());
+        assertEquals("Agenda", sessionWindowRegistry.find(sessionId).agendaTitle());
+        sessionWindowRegistry.release(sessionId);
+        assertNull(sessionWindowRegistry.find(sessionId));
+    }
+}
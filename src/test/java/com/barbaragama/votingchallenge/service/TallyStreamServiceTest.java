@@ -0,0 +1,269 @@
+package com.barbaragama.votingchallenge.service;
+
+import com.barbaragama.votingchallenge.config.TallyStreamProperties;
+import com.barbaragama.votingchallenge.config.ThreadMode;
+import com.barbaragama.votingchallenge.dto.response.SessionResultResponseDTO;
+import com.barbaragama.votingchallenge.enums.VotingResult;
+import com.barbaragama.votingchallenge.event.SessionClosedEvent;
+import com.barbaragama.votingchallenge.service.SessionWindowRegistry.SessionWindow;
+import com.barbaragama.votingchallenge.service.VoteTallyService.VoteCounts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TallyStreamServiceTest {
+
+    @Mock
+    private SessionService sessionService;
+    @Mock
+    private VoteTallyService voteTallyService;
+    @Mock
+    private SessionWindowRegistry sessionWindowRegistry;
+
+    private TallyStreamService tallyStreamService;
+    private UUID sessionId;
+
+    @BeforeEach
+    void setUp() {
+        tallyStreamService = new TallyStreamService(sessionService, voteTallyService, sessionWindowRegistry,
+                new TallyStreamProperties(Duration.ofSeconds(1), Duration.ofMillis(50), Duration.ofMinutes(1)),
+                ThreadMode.platform(), new SimpleMeterRegistry());
+        sessionId = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        tallyStreamService.destroy();
+    }
+
+    private SessionResultResponseDTO result(long yes, long no, VotingResult votingResult) {
+        return SessionResultResponseDTO.builder()
+                .sessionId(sessionId)
+                .agendaId(UUID.randomUUID())
+                .agendaTitle("Agenda")
+                .yesVotes(yes)
+                .noVotes(no)
+                .totalVotes(yes + no)
+                .result(votingResult)
+                .build();
+    }
+
+    private void openSession(long yes, long no) {
+        long now = System.currentTimeMillis();
+        when(sessionService.getVotingResult(sessionId)).thenReturn(result(yes, no, VotingResult.SESSION_IN_PROGRESS));
+        when(sessionWindowRegistry.find(sessionId)).thenReturn(new SessionWindow(sessionId, UUID.randomUUID(), "Agenda", now, now + 60_000, false));
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met in time");
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    @DisplayName("Should send the current tally on connect and one update per changed tick to every subscriber")
+    void broadcastsChangedCounts() throws InterruptedException {
+        openSession(1, 0);
+        RecordingEmitter first = new RecordingEmitter();
+        RecordingEmitter second = new RecordingEmitter();
+        tallyStreamService.register(sessionId, first);
+        tallyStreamService.register(sessionId, second);
+        await(() -> first.events.size() == 1 && second.events.size() == 1);
+
+        when(voteTallyService.findCounts(sessionId)).thenReturn(new VoteCounts(1, 0));
+        assertEquals(0, tallyStreamService.tick());
+
+        when(voteTallyService.findCounts(sessionId)).thenReturn(new VoteCounts(2, 1));
+        assertEquals(1, tallyStreamService.tick());
+        assertEquals(0, tallyStreamService.tick());
+
+        await(() -> first.events.size() == 2 && second.events.size() == 2);
+        assertEquals(TallyStreamService.TALLY_EVENT, first.events.get(1).name());
+        assertEquals(3, first.events.get(1).result().getTotalVotes());
+        assertSame(first.events.get(1).result(), second.events.get(1).result());
+        verify(voteTallyService, times(3)).findCounts(sessionId);
+    }
+
+    @Test
+    @DisplayName("Should send only the final result when the session is already closed")
+    void closedSessionSendsFinalEvent() throws InterruptedException {
+        when(sessionService.getVotingResult(sessionId)).thenReturn(result(2, 1, VotingResult.APPROVED));
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        tallyStreamService.register(sessionId, emitter);
+
+        await(() -> emitter.completed);
+        assertEquals(1, emitter.events.size());
+        assertEquals(TallyStreamService.FINAL_EVENT, emitter.events.get(0).name());
+        assertEquals(0, tallyStreamService.tick());
+        verifyNoInteractions(voteTallyService);
+    }
+
+    @Test
+    @DisplayName("Should push the final result and end the stream when the session closes")
+    void sessionClosedEndsStream() throws InterruptedException {
+        openSession(0, 0);
+        RecordingEmitter emitter = new RecordingEmitter();
+        tallyStreamService.register(sessionId, emitter);
+
+        when(sessionService.getVotingResult(sessionId)).thenReturn(result(0, 2, VotingResult.REJECTED));
+        tallyStreamService.onSessionClosed(new SessionClosedEvent(sessionId, Instant.now()));
+
+        await(() -> emitter.completed);
+        assertEquals(TallyStreamService.FINAL_EVENT, emitter.events.get(emitter.events.size() - 1).name());
+        assertEquals(VotingResult.REJECTED, emitter.events.get(emitter.events.size() - 1).result().getResult());
+        assertEquals(0, tallyStreamService.tick());
+    }
+
+    @Test
+    @DisplayName("Should conflate updates for a subscriber that is still sending")
+    void conflatesSlowSubscriber() throws InterruptedException {
+        openSession(0, 0);
+        RecordingEmitter emitter = new RecordingEmitter();
+        emitter.block();
+        tallyStreamService.register(sessionId, emitter);
+        await(() -> emitter.sending);
+
+        for (int yes = 1; yes <= 5; yes++) {
+            when(voteTallyService.findCounts(sessionId)).thenReturn(new VoteCounts(yes, 0));
+            tallyStreamService.tick();
+        }
+        emitter.release();
+
+        await(() -> emitter.events.size() == 2);
+        Thread.sleep(50);
+        assertEquals(2, emitter.events.size());
+        assertEquals(5, emitter.events.get(1).result().getYesVotes());
+    }
+
+    @Test
+    @DisplayName("Should drop a subscriber whose send has stalled past the limit")
+    void dropsStalledSubscriber() throws InterruptedException {
+        openSession(0, 0);
+        RecordingEmitter emitter = new RecordingEmitter();
+        emitter.block();
+        tallyStreamService.register(sessionId, emitter);
+        await(() -> emitter.sending);
+        Thread.sleep(60);
+
+        when(voteTallyService.findCounts(sessionId)).thenReturn(new VoteCounts(1, 0));
+        tallyStreamService.tick();
+        emitter.release();
+
+        assertTrue(emitter.completed);
+        await(() -> emitter.events.size() == 1);
+        Thread.sleep(50);
+        assertEquals(1, emitter.events.size());
+
+        // The channel went away with its last subscriber, so later ticks no longer poll the session.
+        assertEquals(0, tallyStreamService.tick());
+        verify(voteTallyService, times(1)).findCounts(sessionId);
+    }
+
+    @Test
+    @DisplayName("Should keep updating other subscribers while one of them is stalled")
+    void stalledSubscriberDoesNotDelayOthers() throws InterruptedException {
+        openSession(0, 0);
+        List<RecordingEmitter> stalled = List.of(new RecordingEmitter(), new RecordingEmitter(), new RecordingEmitter());
+        for (RecordingEmitter emitter : stalled) {
+            emitter.block();
+            tallyStreamService.register(sessionId, emitter);
+        }
+        RecordingEmitter healthy = new RecordingEmitter();
+        tallyStreamService.register(sessionId, healthy);
+        await(() -> healthy.events.size() == 1 && stalled.stream().allMatch(emitter -> emitter.sending));
+
+        when(voteTallyService.findCounts(sessionId)).thenReturn(new VoteCounts(1, 0));
+        tallyStreamService.tick();
+
+        await(() -> healthy.events.size() == 2);
+        stalled.forEach(RecordingEmitter::release);
+    }
+
+    @Test
+    @DisplayName("Should not load the tally of a session that was already released")
+    void skipsReleasedTally() throws InterruptedException {
+        openSession(1, 0);
+        RecordingEmitter emitter = new RecordingEmitter();
+        tallyStreamService.register(sessionId, emitter);
+        await(() -> emitter.events.size() == 1);
+
+        assertEquals(0, tallyStreamService.tick());
+
+        verify(voteTallyService).findCounts(sessionId);
+        verify(voteTallyService, never()).getCounts(any());
+    }
+
+    private record SentEvent(String name, SessionResultResponseDTO result) {
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+        private final List<SentEvent> events = new CopyOnWriteArrayList<>();
+        private volatile CountDownLatch gate = new CountDownLatch(0);
+        private volatile boolean sending;
+        private volatile boolean completed;
+
+        void block() {
+            gate = new CountDownLatch(1);
+        }
+
+        void release() {
+            gate.countDown();
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sending = true;
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            Set<ResponseBodyEmitter.DataWithMediaType> parts = builder.build();
+            String name = null;
+            SessionResultResponseDTO result = null;
+            for (ResponseBodyEmitter.DataWithMediaType part : parts) {
+                if (part.getData() instanceof String text && text.startsWith("event:")) {
+                    name = text.substring("event:".length(), text.indexOf('\n'));
+                } else if (part.getData() instanceof SessionResultResponseDTO dto) {
+                    result = dto;
+                }
+            }
+            events.add(new SentEvent(name, result));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            completed = true;
+        }
+    }
+}
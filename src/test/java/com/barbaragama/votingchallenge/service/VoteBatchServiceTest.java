@@ -0,0 +1,299 @@
+package com.barbaragama.votingchallenge.service;
+
+import com.barbaragama.votingchallenge.config.VoteBatchProperties;
+import com.barbaragama.votingchallenge.domain.Agenda;
+import com.barbaragama.votingchallenge.domain.Associate;
+import com.barbaragama.votingchallenge.domain.Session;
+import com.barbaragama.votingchallenge.dto.request.VoteRequestDTO;
+import com.barbaragama.votingchallenge.dto.response.VoteBatchItemResponseDTO;
+import com.barbaragama.votingchallenge.enums.CpfEligibility;
+import com.barbaragama.votingchallenge.enums.SessionStatus;
+import com.barbaragama.votingchallenge.enums.VoteOption;
+import com.barbaragama.votingchallenge.enums.VoteOutcome;
+import com.barbaragama.votingchallenge.exception.AppException;
+import com.barbaragama.votingchallenge.exception.VoteRejectedException;
+import com.barbaragama.votingchallenge.facade.CpfValidationFacade;
+import com.barbaragama.votingchallenge.repositories.AssociateRepository;
+import com.barbaragama.votingchallenge.repositories.SessionRepository;
+import com.barbaragama.votingchallenge.repositories.UniqueKeys;
+import com.barbaragama.votingchallenge.repositories.VoteJdbcRepository;
+import com.barbaragama.votingchallenge.repositories.VoteRepository;
+import com.barbaragama.votingchallenge.service.SessionWindowRegistry.SessionWindow;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VoteBatchServiceTest {
+
+    @Mock
+    private SessionRepository sessionRepository;
+    @Mock
+    private SessionValidationService sessionValidationService;
+    @Mock
+    private AssociateRepository associateRepository;
+    @Mock
+    private VoteRepository voteRepository;
+    @Mock
+    private VoteJdbcRepository voteJdbcRepository;
+    @Mock
+    private VoteTallyService voteTallyService;
+    @Mock
+    private VotedAssociateRegistry votedAssociateRegistry;
+    @Mock
+    private CpfValidationFacade cpfValidationFacade;
+    @Mock
+    private AssociateIdCache associateIdCache;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private VoteBatchService voteBatchService;
+    private Session session;
+    private Associate existing;
+
+    @BeforeEach
+    void setUp() {
+        voteBatchService = new VoteBatchService(sessionRepository, sessionValidationService, associateRepository, voteRepository, voteJdbcRepository,
+                new UniqueKeys(sql -> null), new VoteValidationService(), voteTallyService, votedAssociateRegistry, cpfValidationFacade, associateIdCache, transactionTemplate,
+                Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper(), new VoteBatchProperties(3, 500));
+
+        session = Session.builder()
+                .id(UUID.randomUUID())
+                .endTime(LocalDateTime.now().plusMinutes(10))
+                .sessionStatus(SessionStatus.OPEN)
+                .build();
+        existing = Associate.builder().id(UUID.randomUUID()).name("Maria Silva").cpf("376.368.240-60").build();
+
+        lenient().when(sessionValidationService.admitVote(session.getId())).thenAnswer(invocation ->
+                new SessionWindow(session.getId(), UUID.randomUUID(), "Agenda", 0, Long.MAX_VALUE, false));
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    @DisplayName("Should resolve the whole batch with set-based queries and insert accepted votes together")
+    void castVotesSuccess() {
+        when(sessionRepository.findAllById(Set.of(session.getId()))).thenReturn(List.of(session));
+        when(associateRepository.findByCpfIn(any())).thenReturn(List.of(existing));
+        when(voteRepository.findVotedAssociateIds(eq(session.getId()), any())).thenReturn(Set.of());
+        allEligible();
+        when(associateRepository.saveAll(any())).thenAnswer(invocation -> {
+            Iterable<Associate> associates = invocation.getArgument(0);
+            associates.forEach(associate -> associate.setId(UUID.randomUUID()));
+            return associates;
+        });
+
+        List<VoteBatchItemResponseDTO> result = voteBatchService.castVotes(List.of(
+                vote(existing.getCpf(), "YES"),
+                vote("486.681.640-66", "NO")));
+
+        assertEquals(2, result.size());
+        assertTrue(result.stream().allMatch(item -> item.getStatus() == 200));
+        verify(voteJdbcRepository, times(1)).batchInsert(argThat(rows -> rows.size() == 2), anyInt());
+        verify(voteTallyService).recordVote(session.getId(), VoteOption.YES);
+        verify(voteTallyService).recordVote(session.getId(), VoteOption.NO);
+    }
+
+    @Test
+    @DisplayName("Should report a status per vote for invalid, duplicate and unknown-session entries")
+    void castVotesPerItemStatus() {
+        UUID unknownSession = UUID.randomUUID();
+        VoteRequestDTO unknown = vote("486.681.640-66", "YES");
+        unknown.setSessionId(unknownSession);
+        when(sessionRepository.findAllById(any())).thenReturn(List.of(session));
+        when(associateRepository.findByCpfIn(any())).thenReturn(List.of(existing));
+        when(voteRepository.findVotedAssociateIds(eq(session.getId()), any())).thenReturn(Set.of(existing.getId()));
+
+        List<VoteBatchItemResponseDTO> result = voteBatchService.castVotes(List.of(
+                vote(existing.getCpf(), "YES"),
+                vote(existing.getCpf(), "MAYBE"),
+                unknown));
+
+        assertEquals(HttpStatus.FORBIDDEN.value(), result.get(0).getStatus());
+        assertEquals(HttpStatus.BAD_REQUEST.value(), result.get(1).getStatus());
+        assertEquals(HttpStatus.NOT_FOUND.value(), result.get(2).getStatus());
+        verifyNoInteractions(voteJdbcRepository, cpfValidationFacade);
+    }
+
+    @Test
+    @DisplayName("Should reject repeated votes of the same associate within the batch")
+    void castVotesDuplicateWithinBatch() {
+        when(sessionRepository.findAllById(any())).thenReturn(List.of(session));
+        when(associateRepository.findByCpfIn(any())).thenReturn(List.of(existing));
+        when(voteRepository.findVotedAssociateIds(eq(session.getId()), any())).thenReturn(Set.of());
+        allEligible();
+
+        List<VoteBatchItemResponseDTO> result = voteBatchService.castVotes(List.of(
+                vote(existing.getCpf(), "YES"),
+                vote(existing.getCpf(), "NO")));
+
+        assertEquals(200, result.get(0).getStatus());
+        assertEquals(HttpStatus.FORBIDDEN.value(), result.get(1).getStatus());
+    }
+
+    @Test
+    @DisplayName("Should hold the session's final count until the batch is inserted and refuse it once the session closed")
+    void holdsWriterUntilInserted() throws InterruptedException {
+        SessionWindowRegistry registry = new SessionWindowRegistry(sessionRepository);
+        Session open = new Session(Agenda.builder().id(UUID.randomUUID()).build(), 10);
+        open.setId(session.getId());
+        SessionWindow window = registry.register(open);
+        when(sessionValidationService.admitVote(session.getId())).thenAnswer(invocation ->
+                window.admitWriter() ? window : failClosed());
+        when(sessionRepository.findAllById(any())).thenReturn(List.of(session));
+        when(associateRepository.findByCpfIn(any())).thenReturn(List.of(existing));
+        when(voteRepository.findVotedAssociateIds(eq(session.getId()), any())).thenReturn(Set.of());
+        allEligible();
+        doAnswer(invocation -> {
+            assertTrue(registry.close(session.getId()));
+            assertFalse(registry.awaitWriters(session.getId(), Duration.ZERO));
+            return null;
+        }).when(voteJdbcRepository).batchInsert(any(), anyInt());
+
+        assertEquals(200, voteBatchService.castVotes(List.of(vote(existing.getCpf(), "YES"))).get(0).getStatus());
+        assertTrue(registry.awaitWriters(session.getId(), Duration.ZERO));
+
+        List<VoteBatchItemResponseDTO> late = voteBatchService.castVotes(List.of(vote("486.681.640-66", "NO")));
+        assertEquals(HttpStatus.BAD_REQUEST.value(), late.get(0).getStatus());
+        assertEquals("The voting session is closed", late.get(0).getMessage());
+    }
+
+    @Test
+    @DisplayName("Should ask the client to retry a vote whose single insert failed for a reason other than a duplicate")
+    void castVotesSingleInsertFailure() {
+        Associate other = Associate.builder().id(UUID.randomUUID()).name("Joao Souza").cpf("486.681.640-66").build();
+        when(sessionRepository.findAllById(any())).thenReturn(List.of(session));
+        when(associateRepository.findByCpfIn(any())).thenReturn(List.of(existing, other));
+        when(voteRepository.findVotedAssociateIds(eq(session.getId()), any())).thenReturn(Set.of());
+        allEligible();
+        doThrow(new QueryTimeoutException("batch timed out"))
+                .when(voteJdbcRepository).batchInsert(argThat(rows -> rows.size() == 2), anyInt());
+        doThrow(new CannotAcquireLockException("lock timed out"))
+                .when(voteJdbcRepository).batchInsert(argThat(rows -> rows.size() == 1 && rows.get(0).associateId().equals(existing.getId())), eq(1));
+
+        List<VoteBatchItemResponseDTO> result = voteBatchService.castVotes(List.of(
+                vote(existing.getCpf(), "YES"),
+                vote(other.getCpf(), "NO")));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), result.get(0).getStatus());
+        assertEquals(200, result.get(1).getStatus());
+        verify(voteTallyService, never()).recordVote(session.getId(), VoteOption.YES);
+        verify(voteTallyService).recordVote(session.getId(), VoteOption.NO);
+    }
+
+    @Test
+    @DisplayName("Should check the CPFs of the whole batch with one eligibility lookup")
+    void castVotesChecksCpfsOnce() {
+        when(sessionRepository.findAllById(any())).thenReturn(List.of(session));
+        when(associateRepository.findByCpfIn(any())).thenReturn(List.of(existing));
+        when(voteRepository.findVotedAssociateIds(eq(session.getId()), any())).thenReturn(Set.of());
+        when(cpfValidationFacade.validateCpfsForVoting(Set.of(existing.getCpf(), "486.681.640-66", "111.444.777-35"))).thenReturn(Map.of(
+                existing.getCpf(), CpfEligibility.ABLE_TO_VOTE,
+                "486.681.640-66", CpfEligibility.UNABLE_TO_VOTE,
+                "111.444.777-35", CpfEligibility.INVALID_CPF));
+
+        List<VoteBatchItemResponseDTO> result = voteBatchService.castVotes(List.of(
+                vote(existing.getCpf(), "YES"),
+                vote("486.681.640-66", "NO"),
+                vote("111.444.777-35", "NO")));
+
+        assertEquals(200, result.get(0).getStatus());
+        assertEquals(HttpStatus.FORBIDDEN.value(), result.get(1).getStatus());
+        assertEquals("Associate is not able to vote", result.get(1).getMessage());
+        assertEquals(HttpStatus.NOT_FOUND.value(), result.get(2).getStatus());
+        assertEquals("Invalid CPF", result.get(2).getMessage());
+        verify(cpfValidationFacade, times(1)).validateCpfsForVoting(any());
+        verify(cpfValidationFacade, never()).validateCpfForVoting(any());
+    }
+
+    @Test
+    @DisplayName("Should ask the client to retry every vote of a batch whose eligibility lookup failed")
+    void castVotesCpfLookupFailure() {
+        when(sessionRepository.findAllById(any())).thenReturn(List.of(session));
+        when(associateRepository.findByCpfIn(any())).thenReturn(List.of(existing));
+        when(voteRepository.findVotedAssociateIds(eq(session.getId()), any())).thenReturn(Set.of());
+        when(cpfValidationFacade.validateCpfsForVoting(any()))
+                .thenThrow(new AppException("CPF validation service is unavailable, try again later", HttpStatus.SERVICE_UNAVAILABLE));
+
+        List<VoteBatchItemResponseDTO> result = voteBatchService.castVotes(List.of(
+                vote(existing.getCpf(), "YES"),
+                vote("486.681.640-66", "NO")));
+
+        assertTrue(result.stream().allMatch(item -> item.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value()));
+        verifyNoInteractions(voteJdbcRepository);
+    }
+
+    @Test
+    @DisplayName("Should parse NDJSON streams")
+    void castVotesNdjson() {
+        when(sessionRepository.findAllById(any())).thenReturn(List.of());
+        String body = """
+                {"sessionId":"%s","option":"YES","cpf":"376.368.240-60","name":"Maria"}
+                {"sessionId":"%s","option":"NO","cpf":"486.681.640-66","name":"Joao"}
+                """.formatted(session.getId(), session.getId());
+
+        List<VoteBatchItemResponseDTO> result = voteBatchService.castVotes(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(2, result.size());
+        assertEquals(1, result.get(1).getIndex());
+        verify(associateRepository, never()).findByCpfIn(any());
+    }
+
+    @Test
+    @DisplayName("Should reject batches larger than the configured maximum")
+    void castVotesTooLarge() {
+        List<VoteRequestDTO> votes = List.of(vote("1", "YES"), vote("2", "YES"), vote("3", "YES"), vote("4", "YES"));
+
+        AppException exception = assertThrows(AppException.class, () -> voteBatchService.castVotes(votes));
+
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, exception.getStatus());
+    }
+
+    private void allEligible() {
+        when(cpfValidationFacade.validateCpfsForVoting(any())).thenAnswer(invocation -> invocation.<Collection<String>>getArgument(0).stream()
+                .collect(Collectors.toMap(Function.identity(), cpf -> CpfEligibility.ABLE_TO_VOTE)));
+    }
+
+    private static SessionWindow failClosed() {
+        throw new VoteRejectedException("The voting session is closed", HttpStatus.BAD_REQUEST, VoteOutcome.SESSION_CLOSED);
+    }
+
+    private VoteRequestDTO vote(String cpf, String option) {
+        VoteRequestDTO voteRequestDTO = new VoteRequestDTO();
+        voteRequestDTO.setSessionId(session.getId());
+        voteRequestDTO.setOption(option);
+        voteRequestDTO.setCpf(cpf);
+        voteRequestDTO.setName("Maria Silva");
+        return voteRequestDTO;
+    }
+}
@@ -0,0 +1,150 @@
+package com.barbaragama.votingchallenge.service;
+
+import com.barbaragama.votingchallenge.config.VoteExportProperties;
+import com.barbaragama.votingchallenge.enums.ExportFormat;
+import com.barbaragama.votingchallenge.enums.VoteOption;
+import com.barbaragama.votingchallenge.exception.AppException;
+import com.barbaragama.votingchallenge.repositories.SessionRepository;
+import com.barbaragama.votingchallenge.repositories.VoteJdbcRepository;
+import com.barbaragama.votingchallenge.repositories.VoteJdbcRepository.VoteExportRow;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VoteExportServiceTest {
+
+    @Mock
+    private SessionRepository sessionRepository;
+    @Mock
+    private VoteJdbcRepository voteJdbcRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private VoteExportService voteExportService;
+    private UUID sessionId;
+    private List<VoteExportRow> rows;
+
+    @BeforeEach
+    void setUp() {
+        voteExportService = new VoteExportService(sessionRepository, voteJdbcRepository, objectMapper,
+                transactionManager, new VoteExportProperties(100, 2, Duration.ofMinutes(10)));
+        sessionId = UUID.randomUUID();
+        rows = List.of(
+                new VoteExportRow(UUID.randomUUID(), UUID.randomUUID(), "111.444.777-35", VoteOption.YES, LocalDateTime.of(2025, 1, 1, 10, 0)),
+                new VoteExportRow(UUID.randomUUID(), UUID.randomUUID(), "376.368.240-60", VoteOption.NO, LocalDateTime.of(2025, 1, 1, 10, 1)),
+                new VoteExportRow(UUID.randomUUID(), UUID.randomUUID(), "529.982.247-25", VoteOption.YES, LocalDateTime.of(2025, 1, 1, 10, 2)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void streamRows() {
+        doAnswer(invocation -> {
+            rows.forEach(invocation.getArgument(2, Consumer.class));
+            return null;
+        }).when(voteJdbcRepository).streamBySession(eq(sessionId), eq(100), any());
+    }
+
+    @Nested
+    @DisplayName("export")
+    class Export {
+
+        @Test
+        @DisplayName("Should write a CSV header followed by one line per vote")
+        void exportCsv() throws IOException {
+            streamRows();
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            long written = voteExportService.export(sessionId, ExportFormat.CSV, out);
+
+            String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+            assertEquals(3, written);
+            assertEquals(4, lines.length);
+            assertEquals("vote_id,associate_id,cpf,option,voted_at", lines[0]);
+            assertEquals(rows.get(1).voteId() + "," + rows.get(1).associateId() + ",376.368.240-60,NO,2025-01-01T10:01", lines[2]);
+        }
+
+        @Test
+        @DisplayName("Should write one JSON object per line")
+        void exportNdjson() throws IOException {
+            streamRows();
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            voteExportService.export(sessionId, ExportFormat.NDJSON, out);
+
+            String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+            assertEquals(3, lines.length);
+            JsonNode first = objectMapper.readTree(lines[0]);
+            assertEquals(rows.get(0).voteId().toString(), first.get("voteId").asText());
+            assertEquals("111.444.777-35", first.get("cpf").asText());
+            assertEquals("YES", first.get("option").asText());
+        }
+
+        @Test
+        @DisplayName("Should flush to the output stream as rows are written")
+        void exportFlushesIncrementally() throws IOException {
+            streamRows();
+            AtomicInteger flushes = new AtomicInteger();
+            OutputStream out = new ByteArrayOutputStream() {
+                @Override
+                public void flush() {
+                    flushes.incrementAndGet();
+                }
+            };
+
+            voteExportService.export(sessionId, ExportFormat.CSV, out);
+
+            assertEquals(2, flushes.get());
+        }
+
+        @Test
+        @DisplayName("Should stop streaming when the client goes away")
+        void exportClientAborted() throws IOException {
+            streamRows();
+            OutputStream out = mock(OutputStream.class);
+            doThrow(new IOException("Broken pipe")).when(out).flush();
+
+            assertThrows(IOException.class, () -> voteExportService.export(sessionId, ExportFormat.CSV, out));
+        }
+    }
+
+    @Nested
+    @DisplayName("checkSessionExists")
+    class CheckSessionExists {
+
+        @Test
+        @DisplayName("Should throw not found when the session does not exist")
+        void sessionNotFound() {
+            when(sessionRepository.existsById(sessionId)).thenReturn(false);
+
+            AppException exception = assertThrows(AppException.class, () -> voteExportService.checkSessionExists(sessionId));
+
+            assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+            verifyNoInteractions(voteJdbcRepository);
+        }
+    }
+}
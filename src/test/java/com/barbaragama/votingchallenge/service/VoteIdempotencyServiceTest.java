@@ -0,0 +1,221 @@
+package com.barbaragama.votingchallenge.service;
+
+import com.barbaragama.votingchallenge.config.IdempotencyProperties;
+import com.barbaragama.votingchallenge.domain.IdempotencyKey;
+import com.barbaragama.votingchallenge.dto.request.VoteRequestDTO;
+import com.barbaragama.votingchallenge.dto.response.VoteResponseDTO;
+import com.barbaragama.votingchallenge.exception.AppException;
+import com.barbaragama.votingchallenge.repositories.IdempotencyKeyRepository;
+import com.barbaragama.votingchallenge.service.VoteIdempotencyService.IdempotentVote;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VoteIdempotencyServiceTest {
+
+    private static final String KEY = "kiosk-12-3f0c9a";
+
+    @Mock
+    private VoteService voteService;
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private VoteIdempotencyService voteIdempotencyService;
+    private VoteRequestDTO voteRequestDTO;
+    private VoteResponseDTO voteResponseDTO;
+
+    @BeforeEach
+    void setUp() {
+        voteIdempotencyService = new VoteIdempotencyService(voteService, idempotencyKeyRepository, transactionTemplate,
+                new IdempotencyProperties(1000, Duration.ofHours(24), Duration.ofSeconds(5)),
+                new SimpleMeterRegistry());
+
+        voteRequestDTO = new VoteRequestDTO();
+        voteRequestDTO.setSessionId(UUID.randomUUID());
+        voteRequestDTO.setName("João Silva");
+        voteRequestDTO.setCpf("486.681.640-66");
+        voteRequestDTO.setOption("YES");
+
+        voteResponseDTO = VoteResponseDTO.builder()
+                .associateId(UUID.randomUUID())
+                .sessionId(voteRequestDTO.getSessionId())
+                .option("YES")
+                .message("Vote successfully cast")
+                .build();
+
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().when(idempotencyKeyRepository.findByIdempotencyKeyAndExpiresAtAfter(eq(KEY), any())).thenReturn(Optional.empty());
+    }
+
+    @Nested
+    @DisplayName("First request")
+    class FirstRequest {
+
+        @Test
+        @DisplayName("Should cast the vote and store the key with the response")
+        void castsAndStores() {
+            when(voteService.castVote(voteRequestDTO)).thenReturn(voteResponseDTO);
+
+            IdempotentVote vote = voteIdempotencyService.castVote(KEY, voteRequestDTO);
+
+            assertFalse(vote.replayed());
+            assertEquals(voteResponseDTO, vote.response());
+            ArgumentCaptor<IdempotencyKey> stored = ArgumentCaptor.forClass(IdempotencyKey.class);
+            verify(idempotencyKeyRepository).saveAndFlush(stored.capture());
+            assertEquals(KEY, stored.getValue().getIdempotencyKey());
+            assertEquals(VoteIdempotencyService.fingerprint(voteRequestDTO), stored.getValue().getFingerprint());
+            assertEquals(voteResponseDTO.getAssociateId(), stored.getValue().getAssociateId());
+            assertTrue(stored.getValue().getExpiresAt().isAfter(LocalDateTime.now().plusHours(23)));
+            verify(idempotencyKeyRepository, never()).deleteExpired(any());
+        }
+
+        @Test
+        @DisplayName("Should not remember a rejected vote, so a retry casts it again")
+        void failureIsNotRemembered() {
+            when(voteService.castVote(voteRequestDTO))
+                    .thenThrow(new AppException("Voting session not found", HttpStatus.NOT_FOUND))
+                    .thenReturn(voteResponseDTO);
+
+            AppException exception = assertThrows(AppException.class, () -> voteIdempotencyService.castVote(KEY, voteRequestDTO));
+            assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+
+            IdempotentVote vote = voteIdempotencyService.castVote(KEY, voteRequestDTO);
+            assertFalse(vote.replayed());
+            verify(voteService, times(2)).castVote(voteRequestDTO);
+        }
+
+        @Test
+        @DisplayName("Should reject keys longer than the maximum")
+        void rejectsLongKeys() {
+            AppException exception = assertThrows(AppException.class,
+                    () -> voteIdempotencyService.castVote("k".repeat(VoteIdempotencyService.MAX_KEY_LENGTH + 1), voteRequestDTO));
+
+            assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+            verifyNoInteractions(voteService);
+        }
+    }
+
+    @Nested
+    @DisplayName("Retries")
+    class Retries {
+
+        @Test
+        @DisplayName("Should replay the original response from memory without casting again")
+        void replaysFromMemory() {
+            when(voteService.castVote(voteRequestDTO)).thenReturn(voteResponseDTO);
+            voteIdempotencyService.castVote(KEY, voteRequestDTO);
+
+            IdempotentVote vote = voteIdempotencyService.castVote(KEY, voteRequestDTO);
+
+            assertTrue(vote.replayed());
+            assertEquals(voteResponseDTO, vote.response());
+            verify(voteService, times(1)).castVote(any());
+            verify(idempotencyKeyRepository, times(1)).findByIdempotencyKeyAndExpiresAtAfter(eq(KEY), any());
+        }
+
+        @Test
+        @DisplayName("Should replay a key stored in the database by an earlier run")
+        void replaysFromDatabase() {
+            when(idempotencyKeyRepository.findByIdempotencyKeyAndExpiresAtAfter(eq(KEY), any())).thenReturn(Optional.of(IdempotencyKey.builder()
+                    .idempotencyKey(KEY)
+                    .fingerprint(VoteIdempotencyService.fingerprint(voteRequestDTO))
+                    .associateId(voteResponseDTO.getAssociateId())
+                    .sessionId(voteResponseDTO.getSessionId())
+                    .option("YES")
+                    .message("Vote successfully cast")
+                    .expiresAt(LocalDateTime.now().plusHours(1))
+                    .build()));
+
+            IdempotentVote vote = voteIdempotencyService.castVote(KEY, voteRequestDTO);
+
+            assertTrue(vote.replayed());
+            assertEquals(voteResponseDTO, vote.response());
+            verifyNoInteractions(voteService);
+        }
+
+        @Test
+        @DisplayName("Should reject a key reused with a different request")
+        void rejectsDifferentRequest() {
+            when(voteService.castVote(voteRequestDTO)).thenReturn(voteResponseDTO);
+            voteIdempotencyService.castVote(KEY, voteRequestDTO);
+
+            VoteRequestDTO other = new VoteRequestDTO();
+            other.setSessionId(voteRequestDTO.getSessionId());
+            other.setName(voteRequestDTO.getName());
+            other.setCpf(voteRequestDTO.getCpf());
+            other.setOption("NO");
+            AppException exception = assertThrows(AppException.class, () -> voteIdempotencyService.castVote(KEY, other));
+
+            assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, exception.getStatus());
+            verify(voteService, times(1)).castVote(any());
+        }
+
+        @Test
+        @DisplayName("Should make a concurrent retry wait for the first request and share its response")
+        void concurrentRetryWaits() throws Exception {
+            CountDownLatch casting = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            when(voteService.castVote(voteRequestDTO)).thenAnswer(invocation -> {
+                casting.countDown();
+                assertTrue(release.await(5, TimeUnit.SECONDS));
+                return voteResponseDTO;
+            });
+
+            CompletableFuture<IdempotentVote> first = CompletableFuture.supplyAsync(() -> voteIdempotencyService.castVote(KEY, voteRequestDTO));
+            assertTrue(casting.await(5, TimeUnit.SECONDS));
+            CompletableFuture<IdempotentVote> retry = CompletableFuture.supplyAsync(() -> voteIdempotencyService.castVote(KEY, voteRequestDTO));
+            Thread.sleep(50);
+            assertFalse(retry.isDone());
+            release.countDown();
+
+            assertFalse(first.get(5, TimeUnit.SECONDS).replayed());
+            IdempotentVote replayed = retry.get(5, TimeUnit.SECONDS);
+            assertTrue(replayed.replayed());
+            assertEquals(voteResponseDTO, replayed.response());
+            verify(voteService, times(1)).castVote(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Purge")
+    class Purge {
+
+        @Test
+        @DisplayName("Should delete expired keys in a transaction of its own")
+        void purgesExpiredKeys() {
+            when(idempotencyKeyRepository.deleteExpired(any())).thenReturn(3);
+
+            voteIdempotencyService.purgeExpired();
+
+            verify(transactionTemplate).execute(any());
+            verify(idempotencyKeyRepository).deleteExpired(argThat(now -> !now.isAfter(LocalDateTime.now())));
+            verifyNoInteractions(voteService);
+        }
+    }
+}
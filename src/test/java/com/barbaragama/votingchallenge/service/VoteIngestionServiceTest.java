@@ -0,0 +1,234 @@
+package com.barbaragama.votingchallenge.service;
+
+import com.barbaragama.votingchallenge.config.VoteIngestionProperties;
+import com.barbaragama.votingchallenge.config.ThreadMode;
+import com.barbaragama.votingchallenge.domain.Agenda;
+import com.barbaragama.votingchallenge.domain.Associate;
+import com.barbaragama.votingchallenge.domain.Session;
+import com.barbaragama.votingchallenge.dto.request.VoteRequestDTO;
+import com.barbaragama.votingchallenge.dto.response.VoteReceiptResponseDTO;
+import com.barbaragama.votingchallenge.enums.ReceiptStatus;
+import com.barbaragama.votingchallenge.enums.VoteOption;
+import com.barbaragama.votingchallenge.exception.AppException;
+import com.barbaragama.votingchallenge.repositories.SessionRepository;
+import com.barbaragama.votingchallenge.repositories.VoteJdbcRepository;
+import com.barbaragama.votingchallenge.service.SessionWindowRegistry.SessionWindow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VoteIngestionServiceTest {
+
+    @Mock
+    private SessionValidationService sessionValidationService;
+    @Mock
+    private AssociateService associateService;
+    @Mock
+    private VoteValidationService voteValidationService;
+    @Mock
+    private VoteJdbcRepository voteJdbcRepository;
+    @Mock
+    private VoteTallyService voteTallyService;
+    @Mock
+    private VotedAssociateRegistry votedAssociateRegistry;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private VoteIngestionService voteIngestionService;
+    private VoteRequestDTO voteRequestDTO;
+    private SessionWindowRegistry sessionWindowRegistry;
+    private SessionWindow window;
+    private Associate associate;
+
+    @BeforeEach
+    void setUp() {
+        voteIngestionService = new VoteIngestionService(sessionValidationService, associateService, voteValidationService,
+                voteJdbcRepository, voteTallyService, votedAssociateRegistry, transactionTemplate,
+                new VoteIngestionProperties(true, 1, 100, Duration.ofMillis(10), Duration.ofSeconds(1), Duration.ofMinutes(1),
+                        100, 3, Duration.ZERO), ThreadMode.platform());
+        ReflectionTestUtils.setField(voteIngestionService, "accepting", true);
+
+        Session session = new Session(Agenda.builder().id(UUID.randomUUID()).build(), 10);
+        session.setId(UUID.randomUUID());
+        sessionWindowRegistry = new SessionWindowRegistry(mock(SessionRepository.class));
+        window = sessionWindowRegistry.register(session);
+        associate = Associate.builder().id(UUID.randomUUID()).cpf("376.368.240-60").build();
+
+        voteRequestDTO = new VoteRequestDTO();
+        voteRequestDTO.setSessionId(window.id());
+        voteRequestDTO.setOption("YES");
+        voteRequestDTO.setCpf(associate.getCpf());
+        voteRequestDTO.setName("Maria Silva");
+
+        lenient().when(sessionValidationService.admitVote(window.id())).thenAnswer(invocation -> {
+            assertTrue(window.admitWriter());
+            return window;
+        });
+        lenient().when(associateService.validateAndGetAssociate(any(), any(), any())).thenReturn(associate);
+        lenient().when(voteValidationService.validateVoteOption("YES")).thenReturn(VoteOption.YES);
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    @DisplayName("Should enqueue a validated vote and return a pending receipt")
+    void submitReturnsPendingReceipt() {
+        VoteReceiptResponseDTO receipt = voteIngestionService.submit(voteRequestDTO);
+
+        assertNotNull(receipt.getReceiptId());
+        assertEquals(ReceiptStatus.PENDING, receipt.getStatus());
+        verifyNoInteractions(voteJdbcRepository);
+    }
+
+    @Test
+    @DisplayName("Should persist queued votes in a batch and update the receipt")
+    void flushPersistsBatch() {
+        VoteReceiptResponseDTO receipt = voteIngestionService.submit(voteRequestDTO);
+
+        assertEquals(1, voteIngestionService.flushPending());
+
+        verify(voteJdbcRepository).batchInsert(argThat(rows -> rows.size() == 1), eq(1));
+        verify(voteTallyService).recordVote(window.id(), VoteOption.YES);
+        assertEquals(ReceiptStatus.PERSISTED, voteIngestionService.getReceipt(receipt.getReceiptId()).getStatus());
+    }
+
+    @Test
+    @DisplayName("Should hold the session's final count until the queued vote is flushed")
+    void holdsWriterUntilFlushed() throws InterruptedException {
+        voteIngestionService.submit(voteRequestDTO);
+        assertTrue(sessionWindowRegistry.close(window.id()));
+
+        assertFalse(sessionWindowRegistry.awaitWriters(window.id(), Duration.ZERO));
+        voteIngestionService.flushPending();
+        assertTrue(sessionWindowRegistry.awaitWriters(window.id(), Duration.ZERO));
+    }
+
+    @Test
+    @DisplayName("Should release the session when a vote is refused before it is queued")
+    void releasesWriterOnRejection() throws InterruptedException {
+        when(voteValidationService.validateVoteOption("YES")).thenThrow(new AppException("Invalid option", HttpStatus.BAD_REQUEST));
+
+        assertThrows(AppException.class, () -> voteIngestionService.submit(voteRequestDTO));
+        assertTrue(sessionWindowRegistry.close(window.id()));
+        assertTrue(sessionWindowRegistry.awaitWriters(window.id(), Duration.ZERO));
+    }
+
+    @Test
+    @DisplayName("Should reject a receipt when the insert violates the unique vote constraint")
+    void flushRejectsDuplicate() {
+        doThrow(new DuplicateKeyException("duplicate")).when(voteJdbcRepository).batchInsert(any(), anyInt());
+        VoteReceiptResponseDTO receipt = voteIngestionService.submit(voteRequestDTO);
+
+        voteIngestionService.flushPending();
+
+        assertEquals(ReceiptStatus.REJECTED, voteIngestionService.getReceipt(receipt.getReceiptId()).getStatus());
+        verify(voteTallyService, never()).recordVote(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should retry a transient failure and persist the vote")
+    void flushRetriesTransientFailure() {
+        doThrow(new CannotAcquireLockException("lock timeout")).doNothing().when(voteJdbcRepository).batchInsert(any(), anyInt());
+        VoteReceiptResponseDTO receipt = voteIngestionService.submit(voteRequestDTO);
+
+        voteIngestionService.flushPending();
+
+        assertEquals(ReceiptStatus.PERSISTED, voteIngestionService.getReceipt(receipt.getReceiptId()).getStatus());
+        verify(voteJdbcRepository, times(2)).batchInsert(any(), anyInt());
+        verify(voteTallyService).recordVote(window.id(), VoteOption.YES);
+    }
+
+    @Test
+    @DisplayName("Should mark the receipt FAILED with the cause when transient failures outlast the retries")
+    void flushFailsAfterRetries() {
+        doThrow(new CannotAcquireLockException("lock timeout")).when(voteJdbcRepository).batchInsert(any(), anyInt());
+        VoteReceiptResponseDTO receipt = voteIngestionService.submit(voteRequestDTO);
+
+        voteIngestionService.flushPending();
+
+        VoteReceiptResponseDTO failed = voteIngestionService.getReceipt(receipt.getReceiptId());
+        assertEquals(ReceiptStatus.FAILED, failed.getStatus());
+        assertEquals("Vote could not be persisted: lock timeout", failed.getMessage());
+        verify(voteJdbcRepository, times(3)).batchInsert(any(), anyInt());
+        verify(voteTallyService, never()).recordVote(any(), any());
+        assertDoesNotThrow(() -> voteIngestionService.submit(voteRequestDTO));
+    }
+
+    @Test
+    @DisplayName("Should mark the receipt FAILED, not REJECTED, on an integrity violation other than a duplicate")
+    void flushFailsOnOtherIntegrityViolation() {
+        doThrow(new DataIntegrityViolationException("Referential integrity constraint violation"))
+                .when(voteJdbcRepository).batchInsert(any(), anyInt());
+        VoteReceiptResponseDTO receipt = voteIngestionService.submit(voteRequestDTO);
+
+        voteIngestionService.flushPending();
+
+        VoteReceiptResponseDTO failed = voteIngestionService.getReceipt(receipt.getReceiptId());
+        assertEquals(ReceiptStatus.FAILED, failed.getStatus());
+        assertEquals("Vote could not be persisted: Referential integrity constraint violation", failed.getMessage());
+        verify(voteJdbcRepository, times(2)).batchInsert(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should reject a second vote of the same associate while the first is still queued")
+    void submitRejectsInFlightDuplicate() {
+        voteIngestionService.submit(voteRequestDTO);
+
+        AppException exception = assertThrows(AppException.class, () -> voteIngestionService.submit(voteRequestDTO));
+
+        assertEquals(HttpStatus.FORBIDDEN, exception.getStatus());
+    }
+
+    @Test
+    @DisplayName("Should return 503 when the queue is full")
+    void submitRejectsWhenQueueFull() {
+        voteIngestionService.submit(voteRequestDTO);
+        when(associateService.validateAndGetAssociate(any(), any(), any()))
+                .thenReturn(Associate.builder().id(UUID.randomUUID()).build());
+
+        AppException exception = assertThrows(AppException.class, () -> voteIngestionService.submit(voteRequestDTO));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatus());
+    }
+
+    @Test
+    @DisplayName("Should return 404 for unknown receipts")
+    void getUnknownReceipt() {
+        AppException exception = assertThrows(AppException.class, () -> voteIngestionService.getReceipt(UUID.randomUUID()));
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+    }
+
+    @Test
+    @DisplayName("Should refuse votes when the pipeline is not running")
+    void submitRejectedWhenStopped() {
+        ReflectionTestUtils.setField(voteIngestionService, "accepting", false);
+
+        AppException exception = assertThrows(AppException.class, () -> voteIngestionService.submit(voteRequestDTO));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatus());
+        verifyNoInteractions(sessionValidationService);
+    }
+}
@@ -0,0 +1,173 @@
+package com.barbaragama.votingchallenge.service;
+
+import com.barbaragama.votingchallenge.config.RateLimitProperties;
+import com.barbaragama.votingchallenge.service.VoteRateLimiter.Rejection;
+import com.barbaragama.votingchallenge.service.VoteRateLimiter.Scope;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.util.unit.DataSize;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VoteRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private SimpleMeterRegistry meterRegistry;
+    private long start;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private VoteRateLimiter limiter(long cpfCapacity, long clientCapacity, long globalCapacity) {
+        VoteRateLimiter limiter = new VoteRateLimiter(new RateLimitProperties(true, cpfCapacity, 1, clientCapacity, 1, globalCapacity, 1,
+                1000, Duration.ofMinutes(10), DataSize.ofKilobytes(4)), meterRegistry);
+        // The global bucket starts full at construction, so the test clock starts after it.
+        start = System.nanoTime();
+        return limiter;
+    }
+
+    // The filter's two steps: client and global before the body is read, then the CPF.
+    private static Optional<Rejection> acquire(VoteRateLimiter limiter, String cpf, String clientAddress, long now) {
+        Optional<Rejection> rejection = limiter.tryAcquireClient(clientAddress, now);
+        return rejection.isPresent() ? rejection : limiter.tryAcquireCpf(cpf, clientAddress, now);
+    }
+
+    @Nested
+    @DisplayName("Per-CPF bucket")
+    class PerCpf {
+
+        @Test
+        @DisplayName("Should allow a burst up to the capacity and then ask the caller to wait for the next token")
+        void burstThenReject() {
+            VoteRateLimiter limiter = limiter(3, 100, 100);
+
+            for (int i = 0; i < 3; i++) {
+                assertTrue(acquire(limiter, "48668164066", "10.0.0.1", start).isEmpty());
+            }
+            Optional<Rejection> rejection = acquire(limiter, "48668164066", "10.0.0.1", start);
+
+            assertTrue(rejection.isPresent());
+            assertEquals(Scope.CPF, rejection.get().scope());
+            assertEquals(Duration.ofSeconds(1), rejection.get().retryAfter());
+            assertEquals(1, meterRegistry.get("voting.rate.limit.rejections").tag("scope", "cpf").counter().count());
+        }
+
+        @Test
+        @DisplayName("Should refill at the configured rate")
+        void refills() {
+            VoteRateLimiter limiter = limiter(1, 100, 100);
+            assertTrue(acquire(limiter, "48668164066", "10.0.0.1", start).isEmpty());
+            assertTrue(acquire(limiter, "48668164066", "10.0.0.1", start + SECOND / 2).isPresent());
+
+            assertTrue(acquire(limiter, "48668164066", "10.0.0.1", start + SECOND).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should keep a bucket per CPF")
+        void independentCpfs() {
+            VoteRateLimiter limiter = limiter(1, 100, 100);
+            assertTrue(acquire(limiter, "48668164066", "10.0.0.1", start).isEmpty());
+
+            assertTrue(acquire(limiter, "37636824060", "10.0.0.1", start).isEmpty());
+            assertTrue(acquire(limiter, null, "10.0.0.1", start).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should hand out exactly the capacity when many threads race for the same bucket")
+        void concurrentAcquire() throws Exception {
+            VoteRateLimiter limiter = limiter(50, 10_000, 10_000);
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            CountDownLatch ready = new CountDownLatch(1);
+            AtomicInteger allowed = new AtomicInteger();
+            try {
+                for (int i = 0; i < 500; i++) {
+                    executor.execute(() -> {
+                        try {
+                            ready.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        if (acquire(limiter, "48668164066", "10.0.0.1", start).isEmpty()) {
+                            allowed.incrementAndGet();
+                        }
+                    });
+                }
+                ready.countDown();
+            } finally {
+                executor.shutdown();
+                assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+            }
+
+            assertEquals(50, allowed.get());
+        }
+    }
+
+    @Nested
+    @DisplayName("Client and global buckets")
+    class ClientAndGlobal {
+
+        @Test
+        @DisplayName("Should limit a client across different CPFs")
+        void perClient() {
+            VoteRateLimiter limiter = limiter(10, 2, 100);
+            assertTrue(acquire(limiter, "48668164066", "10.0.0.1", start).isEmpty());
+            assertTrue(acquire(limiter, "37636824060", "10.0.0.1", start).isEmpty());
+
+            Optional<Rejection> rejection = acquire(limiter, "93541134780", "10.0.0.1", start);
+
+            assertEquals(Scope.CLIENT, rejection.orElseThrow().scope());
+            assertTrue(acquire(limiter, "93541134780", "10.0.0.2", start).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should limit all clients together")
+        void global() {
+            VoteRateLimiter limiter = limiter(10, 10, 2);
+            assertTrue(acquire(limiter, "48668164066", "10.0.0.1", start).isEmpty());
+            assertTrue(acquire(limiter, "37636824060", "10.0.0.2", start).isEmpty());
+
+            Optional<Rejection> rejection = acquire(limiter, "93541134780", "10.0.0.3", start);
+
+            assertEquals(Scope.GLOBAL, rejection.orElseThrow().scope());
+        }
+
+        @Test
+        @DisplayName("Should hand the client and global tokens back when the CPF bucket rejects")
+        void refundsOnCpfRejection() {
+            VoteRateLimiter limiter = limiter(1, 2, 2);
+            assertTrue(acquire(limiter, "48668164066", "10.0.0.1", start).isEmpty());
+            for (int i = 0; i < 5; i++) {
+                assertEquals(Scope.CPF, acquire(limiter, "48668164066", "10.0.0.1", start).orElseThrow().scope());
+            }
+
+            assertTrue(acquire(limiter, "37636824060", "10.0.0.1", start).isEmpty());
+            assertEquals(Scope.CLIENT, acquire(limiter, "93541134780", "10.0.0.1", start).orElseThrow().scope());
+        }
+
+        @Test
+        @DisplayName("Should hand the client token back when the global bucket rejects")
+        void refundsOnGlobalRejection() {
+            VoteRateLimiter limiter = limiter(10, 2, 1);
+            assertTrue(acquire(limiter, "48668164066", "10.0.0.1", start).isEmpty());
+
+            for (int i = 0; i < 5; i++) {
+                assertEquals(Scope.GLOBAL, acquire(limiter, "37636824060", "10.0.0.2", start).orElseThrow().scope());
+            }
+            assertTrue(acquire(limiter, "37636824060", "10.0.0.2", start + SECOND).isEmpty());
+        }
+    }
+}
@@ -6,7 +6,10 @@ import com.barbaragama.votingchallenge.domain.Vote;
 import com.barbaragama.votingchallenge.dto.request.VoteRequestDTO;
 import com.barbaragama.votingchallenge.dto.response.VoteResponseDTO;
 import com.barbaragama.votingchallenge.enums.VoteOption;
+import com.barbaragama.votingchallenge.enums.VoteOutcome;
 import com.barbaragama.votingchallenge.exception.AppException;
+import com.barbaragama.votingchallenge.exception.VoteRejectedException;
+import com.barbaragama.votingchallenge.repositories.UniqueKeys;
 import com.barbaragama.votingchallenge.repositories.VoteRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -16,9 +19,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.sql.SQLException;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -35,6 +45,16 @@ class VoteServiceTest {
     private AssociateService associateService;
     @Mock
     private VoteValidationService voteValidationService;
+    @Mock
+    private VoteTallyService voteTallyService;
+    @Mock
+    private VotedAssociateRegistry votedAssociateRegistry;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @Spy
+    private VoteMetrics voteMetrics = new VoteMetrics(meterRegistry);
+    @Spy
+    private UniqueKeys uniqueKeys = new UniqueKeys(sql -> null);
 
     @InjectMocks
     private VoteService voteService;
@@ -87,6 +107,8 @@ class VoteServiceTest {
             assertEquals(associate, savedVote.getAssociate());
             assertEquals(session, savedVote.getSession());
             assertEquals(VoteOption.YES, savedVote.getOption());
+            verify(voteTallyService).recordVote(session.getId(), VoteOption.YES);
+            verify(votedAssociateRegistry).recordVote(session.getId(), associate.getId());
         }
 
         @Test
@@ -98,6 +120,7 @@ class VoteServiceTest {
             when(voteRepository.save(any())).thenThrow(new RuntimeException("Database error"));
 
             assertThrows(RuntimeException.class, () -> voteService.castVote(voteRequestDTO));
+            verify(voteTallyService, never()).recordVote(any(), any());
         }
     }
 
@@ -147,6 +170,34 @@ class VoteServiceTest {
             verify(voteValidationService, never()).validateVoteOption(anyString());
         }
 
+        @Test
+        @DisplayName("Should reject as a duplicate a vote that loses the race to the unique vote key")
+        void associateVotedConcurrently() {
+            when(sessionValidationService.validateAndGetSession(voteRequestDTO.getSessionId())).thenReturn(session);
+            when(associateService.validateAndGetAssociate(voteRequestDTO.getName(), voteRequestDTO.getCpf(), session.getId())).thenReturn(associate);
+            when(voteValidationService.validateVoteOption(voteRequestDTO.getOption())).thenReturn(VoteOption.YES);
+            doThrow(violation("PUBLIC.UK_VOTE_ASSOCIATE_SESSION_INDEX_2")).when(voteRepository).flush();
+
+            VoteRejectedException exception = assertThrows(VoteRejectedException.class, () -> voteService.castVote(voteRequestDTO));
+
+            assertEquals("Associate has already voted in this session", exception.getMessage());
+            assertEquals(HttpStatus.FORBIDDEN, exception.getStatus());
+            assertEquals(1, votes(VoteOutcome.DUPLICATE));
+            verify(voteTallyService, never()).recordVote(any(), any());
+        }
+
+        @Test
+        @DisplayName("Should not treat other integrity violations as duplicate votes")
+        void otherIntegrityViolation() {
+            when(sessionValidationService.validateAndGetSession(voteRequestDTO.getSessionId())).thenReturn(session);
+            when(associateService.validateAndGetAssociate(voteRequestDTO.getName(), voteRequestDTO.getCpf(), session.getId())).thenReturn(associate);
+            when(voteValidationService.validateVoteOption(voteRequestDTO.getOption())).thenReturn(VoteOption.YES);
+            doThrow(violation("PUBLIC.UK_ASSOCIATE_CPF_INDEX_4")).when(voteRepository).flush();
+
+            assertThrows(DataIntegrityViolationException.class, () -> voteService.castVote(voteRequestDTO));
+            assertEquals(1, votes(VoteOutcome.ERROR));
+        }
+
         @Test
         @DisplayName("Should throw exception when associate is not able to vote")
         void associateNotAbleToVote() {
@@ -178,4 +229,81 @@ class VoteServiceTest {
             verify(voteRepository, never()).save(any());
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Metrics")
+    class Metrics {
+        @Test
+        @DisplayName("Should time each stage and record an accepted vote")
+        void recordAcceptedVote() {
+            when(sessionValidationService.validateAndGetSession(voteRequestDTO.getSessionId())).thenReturn(session);
+            when(associateService.validateAndGetAssociate(voteRequestDTO.getName(), voteRequestDTO.getCpf(), session.getId())).thenReturn(associate);
+            when(voteValidationService.validateVoteOption(voteRequestDTO.getOption())).thenReturn(VoteOption.YES);
+
+            voteService.castVote(voteRequestDTO);
+
+            assertEquals(1, votes(VoteOutcome.ACCEPTED));
+            assertEquals(1, meterRegistry.get("voting.vote.stage").tag("stage", "session_lookup").timer().count());
+            assertEquals(1, meterRegistry.get("voting.vote.stage").tag("stage", "insert").timer().count());
+            verify(voteRepository).flush();
+        }
+
+        @Test
+        @DisplayName("Should record the outcome carried by a rejected vote")
+        void recordRejectedVote() {
+            when(sessionValidationService.validateAndGetSession(voteRequestDTO.getSessionId())).thenReturn(session);
+            when(associateService.validateAndGetAssociate(voteRequestDTO.getName(), voteRequestDTO.getCpf(), session.getId()))
+                    .thenThrow(new VoteRejectedException("Associate has already voted in this session", HttpStatus.FORBIDDEN, VoteOutcome.DUPLICATE));
+
+            assertThrows(AppException.class, () -> voteService.castVote(voteRequestDTO));
+
+            assertEquals(1, votes(VoteOutcome.DUPLICATE));
+            assertEquals(0, votes(VoteOutcome.ACCEPTED));
+        }
+
+        @Test
+        @DisplayName("Should record a vote as an error when it fails unexpectedly")
+        void recordFailedVote() {
+            when(sessionValidationService.validateAndGetSession(voteRequestDTO.getSessionId())).thenReturn(session);
+            when(associateService.validateAndGetAssociate(voteRequestDTO.getName(), voteRequestDTO.getCpf(), session.getId())).thenReturn(associate);
+            when(voteValidationService.validateVoteOption(voteRequestDTO.getOption())).thenReturn(VoteOption.YES);
+            when(voteRepository.save(any())).thenThrow(new RuntimeException("Database error"));
+
+            assertThrows(RuntimeException.class, () -> voteService.castVote(voteRequestDTO));
+
+            assertEquals(1, votes(VoteOutcome.ERROR));
+        }
+
+        @Test
+        @DisplayName("Should record an accepted vote only once its transaction commits")
+        void recordAcceptedVoteAfterCommit() {
+            when(sessionValidationService.validateAndGetSession(voteRequestDTO.getSessionId())).thenReturn(session);
+            when(associateService.validateAndGetAssociate(voteRequestDTO.getName(), voteRequestDTO.getCpf(), session.getId())).thenReturn(associate);
+            when(voteValidationService.validateVoteOption(voteRequestDTO.getOption())).thenReturn(VoteOption.YES);
+
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                voteService.castVote(voteRequestDTO);
+                assertEquals(0, votes(VoteOutcome.ACCEPTED));
+
+                TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::beforeCompletion);
+                TransactionSynchronizationManager.getSynchronizations()
+                        .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+
+            assertEquals(1, votes(VoteOutcome.ACCEPTED));
+            assertEquals(1, meterRegistry.get("voting.vote.stage").tag("stage", "commit").timer().count());
+        }
+    }
+
+    private long votes(VoteOutcome outcome) {
+        return meterRegistry.get("voting.vote").tag("outcome", outcome.name().toLowerCase()).timer().count();
+    }
+
+    private static DataIntegrityViolationException violation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement", new ConstraintViolationException(
+                "could not execute statement", new SQLException("Unique index or primary key violation", "23505"), constraintName));
+    }
+}
@@ -0,0 +1,154 @@
+package com.barbaragama.votingchallenge.service;
+
+import com.barbaragama.votingchallenge.dto.projection.VoteCountProjection;
+import com.barbaragama.votingchallenge.enums.SessionStatus;
+import com.barbaragama.votingchallenge.enums.VoteOption;
+import com.barbaragama.votingchallenge.repositories.SessionRepository;
+import com.barbaragama.votingchallenge.repositories.VoteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VoteTallyServiceTest {
+
+    @Mock
+    private VoteRepository voteRepository;
+    @Mock
+    private SessionRepository sessionRepository;
+
+    @InjectMocks
+    private VoteTallyService voteTallyService;
+
+    private UUID sessionId;
+
+    @BeforeEach
+    void setUp() {
+        sessionId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should rebuild the counts of open sessions only from the vote table")
+    void rebuildFromRepository() {
+        UUID emptySessionId = UUID.randomUUID();
+        when(sessionRepository.findIdsByStatus(SessionStatus.OPEN)).thenReturn(List.of(sessionId, emptySessionId));
+        when(voteRepository.countGroupedBySessionAndOption(List.of(sessionId, emptySessionId))).thenReturn(List.of(
+                count(sessionId, VoteOption.YES, 4),
+                count(sessionId, VoteOption.NO, 1)));
+
+        voteTallyService.rebuild();
+        VoteTallyService.VoteCounts counts = voteTallyService.getCounts(sessionId);
+
+        assertEquals(4, counts.yesVotes());
+        assertEquals(1, counts.noVotes());
+        assertEquals(5, counts.totalVotes());
+        assertEquals(0, voteTallyService.findCounts(emptySessionId).totalVotes());
+        assertNull(voteTallyService.findCounts(UUID.randomUUID()));
+        verify(voteRepository, never()).countGroupedByOption(any());
+    }
+
+    @Test
+    @DisplayName("Should not count votes on startup when no session is open")
+    void rebuildWithoutOpenSessions() {
+        when(sessionRepository.findIdsByStatus(SessionStatus.OPEN)).thenReturn(List.of());
+
+        voteTallyService.rebuild();
+
+        verifyNoInteractions(voteRepository);
+    }
+
+    @Test
+    @DisplayName("Should count concurrent votes without touching the database")
+    void recordConcurrentVotes() throws InterruptedException {
+        voteTallyService.registerSession(sessionId);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1000; i++) {
+            VoteOption option = i % 4 == 0 ? VoteOption.NO : VoteOption.YES;
+            executor.execute(() -> voteTallyService.recordVote(sessionId, option));
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        VoteTallyService.VoteCounts counts = voteTallyService.getCounts(sessionId);
+        assertEquals(750, counts.yesVotes());
+        assertEquals(250, counts.noVotes());
+        verifyNoInteractions(voteRepository);
+    }
+
+    @Test
+    @DisplayName("Should load counts once for sessions unknown to the tally")
+    void loadUnknownSessionOnce() {
+        when(voteRepository.countGroupedByOption(sessionId)).thenReturn(List.of(count(sessionId, VoteOption.NO, 2)));
+
+        voteTallyService.getCounts(sessionId);
+        VoteTallyService.VoteCounts counts = voteTallyService.getCounts(sessionId);
+
+        assertEquals(2, counts.noVotes());
+        verify(voteRepository, times(1)).countGroupedByOption(sessionId);
+    }
+
+    @Test
+    @DisplayName("Should keep a vote committed while an unknown session is being loaded")
+    void voteDuringLoadIsKept() {
+        // The vote commits after the first count's snapshot, so only the recount sees it.
+        when(voteRepository.countGroupedByOption(sessionId))
+                .thenAnswer(invocation -> {
+                    voteTallyService.recordVote(sessionId, VoteOption.YES);
+                    return List.of(count(sessionId, VoteOption.YES, 2));
+                })
+                .thenReturn(List.of(count(sessionId, VoteOption.YES, 3)));
+
+        VoteTallyService.VoteCounts counts = voteTallyService.getCounts(sessionId);
+
+        assertEquals(3, counts.yesVotes());
+        voteTallyService.recordVote(sessionId, VoteOption.NO);
+        assertEquals(new VoteTallyService.VoteCounts(3, 1), voteTallyService.getCounts(sessionId));
+        verify(voteRepository, times(2)).countGroupedByOption(sessionId);
+    }
+
+    @Test
+    @DisplayName("Should not count twice a vote recorded before the load counted it")
+    void voteBeforeCountIsNotDoubled() {
+        when(voteRepository.countGroupedByOption(sessionId)).thenReturn(List.of(count(sessionId, VoteOption.NO, 1)));
+
+        voteTallyService.recordVote(sessionId, VoteOption.NO);
+
+        assertEquals(new VoteTallyService.VoteCounts(0, 1), voteTallyService.getCounts(sessionId));
+        verify(voteRepository, times(1)).countGroupedByOption(sessionId);
+    }
+
+    private VoteCountProjection count(UUID sessionId, VoteOption option, long total) {
+        return new VoteCountProjection() {
+            @Override
+            public UUID getSessionId() {
+                return sessionId;
+            }
+
+            @Override
+            public VoteOption getOption() {
+                return option;
+            }
+
+            @Override
+            public long getTotal() {
+                return total;
+            }
+        };
+    }
+}
@@ -0,0 +1,119 @@
+package com.barbaragama.votingchallenge.service;
+
+import com.barbaragama.votingchallenge.config.VotedFilterProperties;
+import com.barbaragama.votingchallenge.domain.Session;
+import com.barbaragama.votingchallenge.event.SessionClosedEvent;
+import com.barbaragama.votingchallenge.repositories.AssociateRepository;
+import com.barbaragama.votingchallenge.repositories.SessionRepository;
+import com.barbaragama.votingchallenge.repositories.VoteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VotedAssociateRegistryTest {
+
+    @Mock
+    private VoteRepository voteRepository;
+    @Mock
+    private SessionRepository sessionRepository;
+    @Mock
+    private AssociateRepository associateRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private VotedAssociateRegistry registry;
+    private UUID sessionId;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        registry = new VotedAssociateRegistry(voteRepository, sessionRepository, associateRepository,
+                new VotedFilterProperties(0.01, 1024), meterRegistry);
+        sessionId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should answer definite negatives without querying the vote table")
+    void definiteNegativeSkipsQuery() {
+        registry.openSession(sessionId);
+
+        assertFalse(registry.hasVoted(sessionId, UUID.randomUUID()));
+        verify(voteRepository, never()).existsByAssociateIdAndSessionId(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should confirm recorded votes through the exact set")
+    void recordedVoteIsFound() {
+        UUID associateId = UUID.randomUUID();
+        registry.openSession(sessionId);
+
+        registry.recordVote(sessionId, associateId);
+
+        assertTrue(registry.hasVoted(sessionId, associateId));
+        verifyNoInteractions(voteRepository);
+    }
+
+    @Test
+    @DisplayName("Should keep the observed false-positive rate close to the configured one")
+    void falsePositiveRateWithinBounds() {
+        registry.openSession(sessionId);
+        for (int i = 0; i < 1024; i++) {
+            registry.recordVote(sessionId, UUID.randomUUID());
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertFalse(registry.hasVoted(sessionId, UUID.randomUUID()));
+        }
+
+        double falsePositives = meterRegistry.get("voting.voted.filter.checks").tag("result", "false_positive").counter().count();
+        assertTrue(falsePositives / 10_000 < 0.03, "false-positive share was " + falsePositives / 10_000);
+        assertTrue(meterRegistry.get("voting.voted.filter.expected.false.positive.rate").gauge().value() <= 0.011);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the vote table for sessions it does not track")
+    void untrackedSessionQueriesRepository() {
+        UUID associateId = UUID.randomUUID();
+        when(voteRepository.existsByAssociateIdAndSessionId(associateId, sessionId)).thenReturn(true);
+
+        assertTrue(registry.hasVoted(sessionId, associateId));
+    }
+
+    @Test
+    @DisplayName("Should warm open sessions from the vote table on startup")
+    void warmFromRepository() {
+        UUID associateId = UUID.randomUUID();
+        Session session = Session.builder().id(sessionId).endTime(LocalDateTime.now().plusMinutes(5)).build();
+        when(sessionRepository.findByEndTimeAfter(any())).thenReturn(List.of(session));
+        when(voteRepository.findAssociateIdsBySessionId(sessionId)).thenReturn(List.of(associateId));
+
+        registry.afterSingletonsInstantiated();
+
+        assertTrue(registry.hasVoted(sessionId, associateId));
+        verify(voteRepository, never()).existsByAssociateIdAndSessionId(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should release a session once it is closed")
+    void releaseClosedSessions() {
+        UUID associateId = UUID.randomUUID();
+        registry.openSession(sessionId);
+
+        registry.onSessionClosed(new SessionClosedEvent(sessionId, Instant.now()));
+        registry.hasVoted(sessionId, associateId);
+
+        verify(voteRepository).existsByAssociateIdAndSessionId(associateId, sessionId);
+    }
+}